@@ -0,0 +1,97 @@
+package com.tss.bank.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tss.bank.dto.response.CacheStatsResponse;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Write-through cache of committed balances keyed by account id. Balance changes are
+ * applied after commit from {@link AccountBalanceChangedEvent}; a miss falls back to the
+ * database outside any transaction. Both paths go through a strict version check, so a late
+ * event or a slow load can never replace a newer balance.
+ */
+@Component
+public class AccountBalanceCache {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${cache.account-balance.maximum-size:200000}")
+    private long maximumSize;
+
+    @Value("${cache.account-balance.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Integer, BalanceSnapshot> balances;
+
+    @PostConstruct
+    void init() {
+        balances = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<BalanceSnapshot> get(Integer accountId) {
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        BalanceSnapshot cached = balances.getIfPresent(accountId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<BalanceSnapshot> loaded = accountRepository.findBalanceSnapshot(accountId);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The caller's transaction may see its own uncommitted balance; serve it but don't cache it
+            return loaded;
+        }
+        return loaded.map(this::install);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(AccountBalanceChangedEvent event) {
+        balances.asMap().compute(event.getAccountId(), (id, current) -> {
+            if (event.getLastTxnTime() == null && current == null) {
+                // Without a transaction time the snapshot is incomplete; the next read loads it
+                return null;
+            }
+            BalanceSnapshot updated = new BalanceSnapshot(id, event.getBalance(), event.getBalanceVersion(),
+                    event.getLastTxnTime() != null ? event.getLastTxnTime() : current.lastTxnTime());
+            return updated.isNewerThan(current) ? updated : current;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountMetadataChanged(AccountMetadataChangedEvent event) {
+        balances.invalidate(event.getAccountId());
+    }
+
+    public void invalidate(Integer accountId) {
+        balances.invalidate(accountId);
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("account-balance", balances.stats(), balances.estimatedSize());
+    }
+
+    private BalanceSnapshot install(BalanceSnapshot loaded) {
+        return balances.asMap().merge(loaded.accountId(), loaded,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tss.bank.cache;
+
+import com.tss.bank.entity.Account;
+
+/**
+ * Balance-free view of an account that is safe to cache. Anything balance-related
+ * must still be read from the database.
+ */
+public record AccountMetadata(Integer accountId, String accountNumber, Integer ownerUserId,
+                              Account.Status status, Integer branchId) {
+
+    public boolean isActive() {
+        return status == Account.Status.ACTIVE;
+    }
+
+    public boolean isOwnedBy(Integer userId) {
+        return userId != null && userId.equals(ownerUserId);
+    }
+}
@@ -0,0 +1,137 @@
+package com.tss.bank.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tss.bank.dto.response.CacheStatsResponse;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Near cache of {@link AccountMetadata} keyed by account id, with a secondary
+ * account number -> id map. Entries expire after a TTL and are bounded in size;
+ * misses are not cached, so a newly opened account is visible immediately. Concurrent
+ * misses on one id share a single load, and a load that overlaps an invalidation serves
+ * its result without caching it.
+ */
+@Component
+public class AccountMetadataCache {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${cache.account-metadata.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${cache.account-metadata.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Integer, AccountMetadata> byId;
+    private Cache<String, Integer> idByNumber;
+    private final KeyGenerations generations = new KeyGenerations();
+
+    @PostConstruct
+    void init() {
+        byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        idByNumber = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AccountMetadata> findById(Integer accountId) {
+        if (accountId == null) {
+            return Optional.empty();
+        }
+        // One load per id at a time; an invalidation of the id waits on the same entry lock
+        AccountMetadata[] loaded = new AccountMetadata[1];
+        AccountMetadata cached = byId.get(accountId, id -> {
+            long generation = generations.current(id);
+            loaded[0] = accountRepository.findMetadataById(id).orElse(null);
+            return loaded[0] != null && generations.unchanged(id, generation) ? loaded[0] : null;
+        });
+        if (cached == null) {
+            return Optional.ofNullable(loaded[0]);
+        }
+        if (cached == loaded[0]) {
+            idByNumber.put(cached.accountNumber(), cached.accountId());
+        }
+        return Optional.of(cached);
+    }
+
+    public Optional<AccountMetadata> findByAccountNumber(String accountNumber) {
+        if (accountNumber == null) {
+            return Optional.empty();
+        }
+        Integer accountId = idByNumber.getIfPresent(accountNumber);
+        if (accountId != null) {
+            Optional<AccountMetadata> metadata = findById(accountId);
+            // Guard against a number that was reassigned since it was cached
+            if (metadata.isPresent() && accountNumber.equals(metadata.get().accountNumber())) {
+                return metadata;
+            }
+            idByNumber.invalidate(accountNumber);
+        }
+        // The account id is only known after the load, so any invalidation since counts
+        long total = generations.total();
+        Optional<AccountMetadata> loaded = accountRepository.findMetadataByAccountNumber(accountNumber);
+        loaded.ifPresent(metadata -> install(metadata, () -> generations.unchangedTotal(total)));
+        return loaded;
+    }
+
+    public boolean isOwnedBy(Integer accountId, Integer userId) {
+        return findById(accountId).map(metadata -> metadata.isOwnedBy(userId)).orElse(false);
+    }
+
+    public void invalidate(Integer accountId) {
+        generations.advance(accountId);
+        AccountMetadata cached = byId.getIfPresent(accountId);
+        byId.invalidate(accountId);
+        if (cached != null) {
+            idByNumber.invalidate(cached.accountNumber());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountMetadataChanged(AccountMetadataChangedEvent event) {
+        invalidate(event.getAccountId());
+        if (event.getAccountNumber() != null) {
+            idByNumber.invalidate(event.getAccountNumber());
+        }
+    }
+
+    public void invalidateAll() {
+        generations.advanceAll();
+        byId.invalidateAll();
+        idByNumber.invalidateAll();
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("account-metadata", byId.stats(), byId.estimatedSize());
+    }
+
+    // compute holds the entry lock that invalidate also takes, so the check cannot race it
+    private void install(AccountMetadata metadata, BooleanSupplier unchanged) {
+        AccountMetadata installed = byId.asMap().compute(metadata.accountId(),
+                (id, current) -> current == null && unchanged.getAsBoolean() ? metadata : current);
+        if (installed == metadata) {
+            idByNumber.put(metadata.accountNumber(), metadata.accountId());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tss.bank.cache;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Committed balance of an account at a given balance version. Balance writers hold the
+ * account row lock, so each committed balance carries a distinct version.
+ */
+public record BalanceSnapshot(Integer accountId, BigDecimal balance, long version, Date lastTxnTime) {
+
+    public BalanceSnapshot(Integer accountId, BigDecimal balance, Long version, Date lastTxnTime) {
+        this(accountId, balance, version == null ? 0L : version.longValue(), lastTxnTime);
+    }
+
+    boolean isNewerThan(BalanceSnapshot other) {
+        return other == null || version > other.version;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tss.bank.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Invalidation counters for cache keys, striped so memory stays fixed however many keys
+ * pass through. A loader reads the key's generation before going to the database and only
+ * installs its result if the generation is unchanged, so a load that read a row before a
+ * commit cannot put it back after that commit's invalidation. Keys sharing a stripe only
+ * cost each other an occasional uncached load. Loads whose key is not known up front
+ * check {@link #total()} instead.
+ */
+final class KeyGenerations {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLong total = new AtomicLong();
+
+    long current(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    long total() {
+        return total.get();
+    }
+
+    /** Call before removing the key from the cache. */
+    void advance(Object key) {
+        generations.incrementAndGet(stripe(key));
+        total.incrementAndGet();
+    }
+
+    void advanceAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        total.incrementAndGet();
+    }
+
+    boolean unchanged(Object key, long generation) {
+        return generations.get(stripe(key)) == generation;
+    }
+
+    boolean unchangedTotal(long generation) {
+        return total.get() == generation;
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.tss.bank.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tss.bank.dto.response.CacheStatsResponse;
+import com.tss.bank.event.NotificationCountersChangedEvent;
+import com.tss.bank.repository.NotificationCounterRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Per-user unread and total notification counts, loaded from the user's
+ * notification_counters row on first read. A user's entry is dropped after commit whenever
+ * their counters change, so unread-count polling is a map lookup and never reads the
+ * notifications table. Pollers missing at once share one load, and a load that overlaps a
+ * drop serves its result without caching it.
+ */
+@Component
+public class NotificationCounterCache {
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Value("${cache.notification-counts.maximum-size:200000}")
+    private long maximumSize;
+
+    @Value("${cache.notification-counts.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Integer, Counts> byUser;
+    private final KeyGenerations generations = new KeyGenerations();
+
+    @PostConstruct
+    void init() {
+        byUser = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Counts get(Integer userId) {
+        if (userId == null) {
+            return Counts.EMPTY;
+        }
+        // One load per user at a time; a drop of the same user waits on the entry lock
+        Counts[] loaded = new Counts[1];
+        Counts cached = byUser.get(userId, id -> {
+            long generation = generations.current(id);
+            loaded[0] = load(id);
+            return generations.unchanged(id, generation) ? loaded[0] : null;
+        });
+        return cached != null ? cached : loaded[0];
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCountersChanged(NotificationCountersChangedEvent event) {
+        if (event.getUserId() != null) {
+            generations.advance(event.getUserId());
+            byUser.invalidate(event.getUserId());
+        }
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("notification-counts", byUser.stats(), byUser.estimatedSize());
+    }
+
+    // No row means nothing has been sent to the user yet
+    private Counts load(Integer userId) {
+        return counterRepository.findById(userId)
+                .map(counter -> new Counts(counter.getUnreadCount(), counter.getTotalCount()))
+                .orElse(Counts.EMPTY);
+    }
+
+    public record Counts(long unread, long total) {
+
+        static final Counts EMPTY = new Counts(0, 0);
+
+        public long read() {
+            return total - unread;
+        }
+    }
+}
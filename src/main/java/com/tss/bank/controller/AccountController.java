@@ -3,18 +3,26 @@ package com.tss.bank.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.tss.bank.dto.request.AccountCreationRequest;
 import com.tss.bank.dto.request.BalanceInquiryRequest;
+import com.tss.bank.dto.request.BulkAccountOpeningRequest;
 import com.tss.bank.dto.response.AccountResponse;
 import com.tss.bank.dto.response.ApiResponse;
 import com.tss.bank.dto.response.BalanceInquiryResponse;
+import com.tss.bank.dto.response.BalanceRangePageResponse;
+import com.tss.bank.dto.response.BulkAccountRowResult;
+import com.tss.bank.dto.response.UserBalanceSummaryResponse;
 import com.tss.bank.service.AccountService;
 import com.tss.bank.service.AuthorizationService;
+import com.tss.bank.service.BulkAccountOpeningService;
+import com.tss.bank.service.UserBalanceSummaryService;
 
 import jakarta.validation.Valid;
 
@@ -32,6 +40,12 @@ public class AccountController {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+
+    @Autowired
+    private BulkAccountOpeningService bulkAccountOpeningService;
+
     // Account Management
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -42,6 +56,17 @@ public class AccountController {
                 .body(new ApiResponse<>(true, "Account created successfully", accountResponse));
     }
 
+    // Returns one CSV line per input row so the onboarding team can reconcile the file
+    @PostMapping(value = "/bulk", produces = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> openAccountsInBulk(@Valid @RequestBody BulkAccountOpeningRequest request) {
+        List<BulkAccountRowResult> results = bulkAccountOpeningService.openAccounts(request.getRows());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bulk-account-results.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(bulkAccountOpeningService.toCsv(results));
+    }
+
     @GetMapping("/{accountId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<AccountResponse>> getAccountDetails(@PathVariable Integer accountId) {
@@ -105,6 +130,21 @@ public class AccountController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Total user balance retrieved successfully", totalBalance));
     }
 
+    @GetMapping("/my-balance-summary")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserBalanceSummaryResponse>> getMyBalanceSummary() {
+        Integer userId = authorizationService.getCurrentUserId();
+        UserBalanceSummaryResponse summary = userBalanceSummaryService.getSummary(userId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Balance summary retrieved successfully", summary));
+    }
+
+    @PostMapping("/balance-summaries/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Long>> verifyBalanceSummaries() {
+        long corrected = userBalanceSummaryService.verifyAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Balance summaries verified", corrected));
+    }
+
     // Account Status Management
     @PostMapping("/{accountId}/freeze")
     @PreAuthorize("hasRole('ADMIN')")
@@ -165,11 +205,21 @@ public class AccountController {
 
     @GetMapping("/minimum-balance/{minBalance}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<AccountResponse>>> getAccountsByMinBalance(@PathVariable BigDecimal minBalance) {
-        List<AccountResponse> accounts = accountService.findAccountsByMinBalance(minBalance);
+    public ResponseEntity<ApiResponse<BalanceRangePageResponse>> getAccountsByMinBalance(
+            @PathVariable BigDecimal minBalance,
+            @RequestParam(required = false) Integer afterAccountId,
+            @RequestParam(defaultValue = "100") int size) {
+        BalanceRangePageResponse accounts = accountService.findAccountsByMinBalance(minBalance, afterAccountId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Accounts by minimum balance retrieved successfully", accounts));
     }
 
+    @GetMapping("/minimum-balance/{minBalance}/count")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Long>> countAccountsByMinBalance(@PathVariable BigDecimal minBalance) {
+        long count = accountService.countAccountsByMinBalance(minBalance);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Account count by minimum balance retrieved successfully", count));
+    }
+
     // Statistics
     @GetMapping("/stats/total-count")
     @PreAuthorize("hasRole('ADMIN')")
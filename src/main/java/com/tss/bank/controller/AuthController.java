@@ -14,9 +14,13 @@ import com.tss.bank.dto.response.ApiResponse;
 import com.tss.bank.dto.response.UserResponse;
 import com.tss.bank.entity.User;
 import com.tss.bank.entity.Admin;
+import com.tss.bank.exception.PasswordHashingBusyException;
 
 import java.util.Optional;
+import com.tss.bank.security.JwtPrincipal;
 import com.tss.bank.security.JwtUtil;
+import com.tss.bank.security.TokenRevocationList;
+import com.tss.bank.security.VerifiedTokenCache;
 import com.tss.bank.service.UserService;
 import com.tss.bank.service.AdminService;
 import com.tss.bank.service.OTPService;
@@ -42,6 +46,12 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -129,6 +139,9 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(false, "Invalid admin credentials", null));
             
+        } catch (PasswordHashingBusyException e) {
+            // Surfaced as 503 by the exception handler rather than as a failed login
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(false, "Admin authentication failed: " + e.getMessage(), null));
@@ -175,6 +188,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(false, "Invalid user credentials", null));
             
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse<>(false, "Authentication failed: " + e.getMessage(), null));
@@ -240,11 +255,19 @@ public class AuthController {
         try {
             if (token != null && token.startsWith("Bearer ")) {
                 String jwtToken = token.substring(7);
-                String username = jwtUtil.extractUsername(jwtToken);
-                String role = jwtUtil.extractRole(jwtToken);
+                JwtPrincipal principal = jwtUtil.verify(jwtToken);
+                if (tokenRevocationList.isRevoked(principal)) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(new ApiResponse<>(false, "Token has been revoked", null));
+                }
+                String username = principal.username();
+                String role = principal.role();
                 
-                // Generate new token
-                String newToken = jwtUtil.generateToken(username, role);
+                // Generate new token, keeping the userId claim that ownership checks rely on
+                String newToken = jwtUtil.generateToken(username, role, principal.userId());
+                // The old token must not stay usable alongside its replacement
+                tokenRevocationList.revoke(principal);
+                verifiedTokenCache.invalidate(jwtToken);
                 
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", newToken);
@@ -262,4 +285,23 @@ public class AuthController {
                     .body(new ApiResponse<>(false, "Token refresh failed: " + e.getMessage(), null));
         }
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader("Authorization") String token) {
+        try {
+            if (token != null && token.startsWith("Bearer ")) {
+                String jwtToken = token.substring(7);
+                tokenRevocationList.revoke(jwtUtil.verify(jwtToken));
+                verifiedTokenCache.invalidate(jwtToken);
+                return ResponseEntity.ok(new ApiResponse<>(true, "Logged out successfully", null));
+            }
+
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, "Invalid token format", null));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, "Logout failed: " + e.getMessage(), null));
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.tss.bank.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.tss.bank.cache.AccountBalanceCache;
+import com.tss.bank.cache.AccountMetadataCache;
+import com.tss.bank.cache.NotificationCounterCache;
+import com.tss.bank.dto.response.ApiResponse;
+import com.tss.bank.dto.response.CacheStatsResponse;
+import com.tss.bank.index.OwnershipIndex;
+import com.tss.bank.security.TokenBucketRateLimiter;
+import com.tss.bank.security.VerifiedTokenCache;
+
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private AccountMetadataCache accountMetadataCache;
+
+    @Autowired
+    private AccountBalanceCache accountBalanceCache;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private OwnershipIndex ownershipIndex;
+
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        List<CacheStatsResponse> stats = List.of(accountMetadataCache.getStats(), accountBalanceCache.getStats(),
+                verifiedTokenCache.getStats(), ownershipIndex.getStats(), rateLimiter.getStats(),
+                notificationCounterCache.getStats());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Cache statistics retrieved successfully", stats));
+    }
+
+    @PostMapping("/account-metadata/invalidate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> invalidateAccountMetadata() {
+        accountMetadataCache.invalidateAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Account metadata cache cleared", null));
+    }
+
+    @PostMapping("/ownership/invalidate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> invalidateOwnership() {
+        ownershipIndex.invalidateAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Ownership index cleared", null));
+    }
+}
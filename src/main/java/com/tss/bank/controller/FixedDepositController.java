@@ -9,9 +9,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.tss.bank.dto.request.FdApplicationBatchApprovalRequest;
+import com.tss.bank.dto.request.FdRateCardRequest;
 import com.tss.bank.dto.request.FixedDepositRequest;
+import com.tss.bank.dto.response.FdApplicationBatchApprovalResponse;
+import com.tss.bank.dto.response.FdLiabilityProjectionResponse;
+import com.tss.bank.dto.response.FdMaturityRunResponse;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.dto.response.FdRateCardResponse;
 import com.tss.bank.dto.response.FixedDepositResponse;
 import com.tss.bank.dto.response.ApiResponse;
+import com.tss.bank.service.FdApplicationApprovalService;
+import com.tss.bank.service.FdMaturityService;
+import com.tss.bank.service.FdRateCardService;
 import com.tss.bank.service.FixedDepositService;
 import com.tss.bank.service.AuthorizationService;
 
@@ -32,6 +42,15 @@ public class FixedDepositController {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private FdMaturityService fdMaturityService;
+
+    @Autowired
+    private FdRateCardService fdRateCardService;
+
+    @Autowired
+    private FdApplicationApprovalService fdApplicationApprovalService;
+
     // Main Operations
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -115,6 +134,49 @@ public class FixedDepositController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Maturity date calculated successfully", maturityDate));
     }
 
+    // Quotes and Rate Card
+    @GetMapping("/quote")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdQuoteResponse>> getQuote(
+            @RequestParam BigDecimal amount,
+            @RequestParam Integer tenureMonths,
+            @RequestParam(defaultValue = "false") boolean seniorCitizen) {
+        FdQuoteResponse quote = fdRateCardService.getQuote(amount, tenureMonths, seniorCitizen);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Quote calculated successfully", quote));
+    }
+
+    @GetMapping("/quotes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<FdQuoteResponse>>> getQuoteGrid(
+            @RequestParam BigDecimal amount,
+            @RequestParam(defaultValue = "false") boolean seniorCitizen) {
+        List<FdQuoteResponse> quotes = fdRateCardService.getQuoteGrid(amount, seniorCitizen);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Quotes calculated successfully", quotes));
+    }
+
+    @GetMapping("/rate-card")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdRateCardResponse>> getCurrentRateCard() {
+        FdRateCardResponse rateCard = fdRateCardService.getCurrentRateCard();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rate card retrieved successfully", rateCard));
+    }
+
+    @GetMapping("/rate-card/{version}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdRateCardResponse>> getRateCard(@PathVariable Integer version) {
+        FdRateCardResponse rateCard = fdRateCardService.getRateCard(version);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rate card retrieved successfully", rateCard));
+    }
+
+    @PostMapping("/rate-card")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdRateCardResponse>> publishRateCard(@Valid @RequestBody FdRateCardRequest request) {
+        Integer adminId = authorizationService.getCurrentUserId();
+        FdRateCardResponse rateCard = fdRateCardService.publishRateCard(request, adminId);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, "Rate card published successfully", rateCard));
+    }
+
     // Maturity Processing
     @GetMapping("/matured")
     @PreAuthorize("hasRole('ADMIN')")
@@ -125,9 +187,42 @@ public class FixedDepositController {
 
     @PostMapping("/process-matured")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<String>> processMaturedDeposits() {
-        fixedDepositService.processMaturedDeposits();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Matured deposits processed successfully", "All matured deposits have been processed"));
+    public ResponseEntity<ApiResponse<FdMaturityRunResponse>> processMaturedDeposits() {
+        FdMaturityRunResponse run = fixedDepositService.processMaturedDeposits();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Matured deposits processed successfully", run));
+    }
+
+    // FD Applications
+    @PostMapping("/applications/batch-approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdApplicationBatchApprovalResponse>> batchApproveApplications(
+            @Valid @RequestBody FdApplicationBatchApprovalRequest request) {
+        Integer adminId = authorizationService.getCurrentUserId();
+        FdApplicationBatchApprovalResponse response = fdApplicationApprovalService.approveApplications(request, adminId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "FD applications processed", response));
+    }
+
+    @GetMapping("/liability-projection")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdLiabilityProjectionResponse>> getLiabilityProjection(
+            @RequestParam(defaultValue = "120") int months) {
+        FdLiabilityProjectionResponse projection = fixedDepositService.getLiabilityProjection(months);
+        return ResponseEntity.ok(new ApiResponse<>(true, "FD liability projection generated successfully", projection));
+    }
+
+    @GetMapping("/maturity-runs/latest")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdMaturityRunResponse>> getLatestMaturityRun() {
+        return fdMaturityService.getLatestRun()
+                .map(run -> ResponseEntity.ok(new ApiResponse<>(true, "Latest FD maturity run retrieved successfully", run)))
+                .orElseGet(() -> ResponseEntity.ok(new ApiResponse<>(true, "No FD maturity run found", null)));
+    }
+
+    @GetMapping("/maturity-runs/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<FdMaturityRunResponse>> getMaturityRun(@PathVariable Integer runId) {
+        FdMaturityRunResponse run = fdMaturityService.getRun(runId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "FD maturity run retrieved successfully", run));
     }
 
     // Analytics
@@ -14,6 +14,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.tss.bank.dto.response.ApiResponse;
+import com.tss.bank.dto.response.NotificationPageResponse;
+import com.tss.bank.dto.response.NotificationResponse;
 import com.tss.bank.service.NotificationService;
 import com.tss.bank.service.AuthorizationService;
 
@@ -68,29 +70,44 @@ public class NotificationController {
     // Get Notifications
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUserNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getUserNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getUserNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getUserNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "User notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/unread")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getUnreadNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getUnreadNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getUnreadNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getUnreadNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Unread notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/read")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getReadNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getReadNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getReadNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getReadNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Read notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/admin/{adminId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAdminNotifications(@PathVariable Integer adminId) {
-        List<Map<String, Object>> notifications = notificationService.getAdminNotifications(adminId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getAdminNotifications(
+            @PathVariable Integer adminId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        NotificationPageResponse notifications = notificationService.getAdminNotifications(adminId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Admin notifications retrieved successfully", notifications));
     }
 
@@ -98,6 +115,7 @@ public class NotificationController {
     @PostMapping("/{notificationId}/mark-read")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> markAsRead(@PathVariable Integer notificationId) {
+        authorizationService.validateUserAccess(notificationService.getNotificationUserId(notificationId));
         notificationService.markAsRead(notificationId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification marked as read", "Status updated"));
     }
@@ -105,6 +123,7 @@ public class NotificationController {
     @PostMapping("/{notificationId}/mark-unread")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> markAsUnread(@PathVariable Integer notificationId) {
+        authorizationService.validateUserAccess(notificationService.getNotificationUserId(notificationId));
         notificationService.markAsUnread(notificationId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification marked as unread", "Status updated"));
     }
@@ -112,6 +131,7 @@ public class NotificationController {
     @PostMapping("/user/{userId}/mark-all-read")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> markAllAsRead(@PathVariable Integer userId) {
+        authorizationService.validateUserAccess(userId);
         notificationService.markAllAsRead(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "All notifications marked as read", "Status updated"));
     }
@@ -119,6 +139,7 @@ public class NotificationController {
     @DeleteMapping("/{notificationId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> deleteNotification(@PathVariable Integer notificationId) {
+        authorizationService.validateUserAccess(notificationService.getNotificationUserId(notificationId));
         notificationService.deleteNotification(notificationId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification deleted successfully", "Notification removed"));
     }
@@ -126,6 +147,7 @@ public class NotificationController {
     @DeleteMapping("/user/{userId}/clear-all")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<String>> clearAllNotifications(@PathVariable Integer userId) {
+        authorizationService.validateUserAccess(userId);
         notificationService.clearAllNotifications(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "All notifications cleared", "Notifications removed"));
     }
@@ -133,56 +155,83 @@ public class NotificationController {
     // Type-based Queries
     @GetMapping("/user/{userId}/type/{type}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getNotificationsByType(
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getNotificationsByType(
             @PathVariable Integer userId,
-            @PathVariable String type) {
-        List<Map<String, Object>> notifications = notificationService.getNotificationsByType(userId, type);
+            @PathVariable String type,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getNotificationsByType(userId, type, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notifications by type retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/alerts")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAlertNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getAlertNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getAlertNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getAlertNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Alert notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/warnings")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getWarningNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getWarningNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getWarningNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getWarningNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Warning notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/info")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getInfoNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getInfoNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getInfoNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getInfoNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Info notifications retrieved successfully", notifications));
     }
 
     // Date-based Queries
     @GetMapping("/user/{userId}/date-range")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getNotificationsByDateRange(
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getNotificationsByDateRange(
             @PathVariable Integer userId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Map<String, Object>> notifications = notificationService.getNotificationsByDateRange(userId, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getNotificationsByDateRange(userId, startDate, endDate,
+                beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notifications by date range retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/today")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getTodayNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getTodayNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getTodayNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getTodayNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "Today's notifications retrieved successfully", notifications));
     }
 
     @GetMapping("/user/{userId}/this-week")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getThisWeekNotifications(@PathVariable Integer userId) {
-        List<Map<String, Object>> notifications = notificationService.getThisWeekNotifications(userId);
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getThisWeekNotifications(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer beforeNotificationId,
+            @RequestParam(defaultValue = "20") int size) {
+        authorizationService.validateUserAccess(userId);
+        NotificationPageResponse notifications = notificationService.getThisWeekNotifications(userId, beforeNotificationId, size);
         return ResponseEntity.ok(new ApiResponse<>(true, "This week's notifications retrieved successfully", notifications));
     }
 
@@ -190,6 +239,7 @@ public class NotificationController {
     @GetMapping("/user/{userId}/counts")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getNotificationCounts(@PathVariable Integer userId) {
+        authorizationService.validateUserAccess(userId);
         Map<String, Long> counts = notificationService.getNotificationCounts(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Notification counts retrieved successfully", counts));
     }
@@ -197,6 +247,7 @@ public class NotificationController {
     @GetMapping("/user/{userId}/unread-count")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Long>> getUnreadNotificationCount(@PathVariable Integer userId) {
+        authorizationService.validateUserAccess(userId);
         long count = notificationService.getUnreadNotificationCount(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Unread notification count retrieved successfully", count));
     }
@@ -246,8 +297,8 @@ public class NotificationController {
     // Admin Operations
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllNotifications(Pageable pageable) {
-        Page<Map<String, Object>> notifications = notificationService.getAllNotifications(pageable);
+    public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getAllNotifications(Pageable pageable) {
+        Page<NotificationResponse> notifications = notificationService.getAllNotifications(pageable);
         return ResponseEntity.ok(new ApiResponse<>(true, "All notifications retrieved successfully", notifications));
     }
 
@@ -282,6 +333,7 @@ public class NotificationController {
     @GetMapping("/user/{userId}/preferences")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getUserNotificationPreferences(@PathVariable Integer userId) {
+        authorizationService.validateUserAccess(userId);
         Map<String, Object> preferences = notificationService.getUserNotificationPreferences(userId);
         return ResponseEntity.ok(new ApiResponse<>(true, "User notification preferences retrieved successfully", preferences));
     }
@@ -291,6 +343,7 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<String>> updateUserNotificationPreferences(
             @PathVariable Integer userId,
             @RequestBody Map<String, Object> preferences) {
+        authorizationService.validateUserAccess(userId);
         notificationService.updateUserNotificationPreferences(userId, preferences);
         return ResponseEntity.ok(new ApiResponse<>(true, "User notification preferences updated successfully", "Preferences updated"));
     }
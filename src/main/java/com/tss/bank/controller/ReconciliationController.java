@@ -0,0 +1,55 @@
+package com.tss.bank.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.tss.bank.dto.response.ApiResponse;
+import com.tss.bank.dto.response.ReconciliationDiscrepancyResponse;
+import com.tss.bank.dto.response.ReconciliationRunResponse;
+import com.tss.bank.service.ReconciliationService;
+
+@RestController
+@RequestMapping("/api/v1/admin/reconciliation")
+@CrossOrigin(origins = "*")
+public class ReconciliationController {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    // Run Management
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> runReconciliation() {
+        ReconciliationRunResponse run = reconciliationService.runReconciliation();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reconciliation run completed", run));
+    }
+
+    @GetMapping("/runs/latest")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> getLatestRun() {
+        return reconciliationService.getLatestRun()
+                .map(run -> ResponseEntity.ok(new ApiResponse<>(true, "Latest reconciliation run retrieved successfully", run)))
+                .orElseGet(() -> ResponseEntity.ok(new ApiResponse<>(true, "No reconciliation run found", null)));
+    }
+
+    @GetMapping("/runs/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> getRun(@PathVariable Integer runId) {
+        ReconciliationRunResponse run = reconciliationService.getRun(runId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reconciliation run retrieved successfully", run));
+    }
+
+    // Report
+    @GetMapping("/runs/{runId}/discrepancies")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Page<ReconciliationDiscrepancyResponse>>> getDiscrepancies(
+            @PathVariable Integer runId,
+            Pageable pageable) {
+        Page<ReconciliationDiscrepancyResponse> discrepancies = reconciliationService.getDiscrepancies(runId, pageable);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reconciliation discrepancies retrieved successfully", discrepancies));
+    }
+}
@@ -14,6 +14,7 @@ import com.tss.bank.dto.request.TransactionHistoryRequest;
 import com.tss.bank.dto.response.TransactionResponse;
 import com.tss.bank.dto.response.AccountStatementResponse;
 import com.tss.bank.dto.response.ApiResponse;
+import com.tss.bank.dto.response.TransactionSearchResponse;
 import com.tss.bank.service.TransactionService;
 import com.tss.bank.service.AuthorizationService;
 
@@ -225,4 +226,16 @@ public class TransactionController {
         List<TransactionResponse> transactions = transactionService.getHighValueTransactions(threshold);
         return ResponseEntity.ok(new ApiResponse<>(true, "High value transactions retrieved successfully", transactions));
     }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TransactionSearchResponse>> searchTransactions(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer accountId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date fromDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date toDate,
+            @RequestParam(defaultValue = "50") int limit) {
+        TransactionSearchResponse results = transactionService.searchTransactions(query, accountId, fromDate, toDate, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Transaction search completed successfully", results));
+    }
 }
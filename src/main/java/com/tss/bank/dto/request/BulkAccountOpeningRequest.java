@@ -0,0 +1,19 @@
+package com.tss.bank.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAccountOpeningRequest {
+    
+    @NotEmpty(message = "At least one row is required")
+    private List<BulkAccountRow> rows;
+}
@@ -0,0 +1,29 @@
+package com.tss.bank.dto.request;
+
+import com.tss.bank.entity.Account;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One account to open in a bulk request. Rows are validated individually by the
+ * service so that a bad row fails on its own instead of rejecting the whole file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAccountRow {
+    
+    private Integer userId;
+    
+    private String branchCode;
+    
+    // Defaults to SALARY when omitted
+    private Account.AccountType accountType;
+    
+    private BigDecimal initialBalance;
+}
@@ -20,6 +20,9 @@ public class FDApplicationRequest {
     @NotNull(message = "User ID is required")
     private Integer userId;
     
+    // Optional; defaults to the applicant's oldest active account at approval
+    private Integer accountId;
+    
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "1000.00", message = "Minimum FD application amount is 1000")
     private BigDecimal amount;
@@ -0,0 +1,33 @@
+package com.tss.bank.dto.request;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Selects PENDING FD applications to approve: either an explicit id list or the amount and
+ * date filters. Omitted filters match every pending application.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdApplicationBatchApprovalRequest {
+    
+    private List<Integer> fdAppIds;
+    
+    private BigDecimal minAmount;
+    
+    private BigDecimal maxAmount;
+    
+    private Date appliedBefore;
+    
+    @Min(value = 1, message = "At least one application must be selected")
+    private Integer maxApplications;
+}
@@ -0,0 +1,28 @@
+package com.tss.bank.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdRateCardRequest {
+    
+    @NotNull(message = "Senior citizen bonus is required")
+    @DecimalMin(value = "0.00", message = "Senior citizen bonus cannot be negative")
+    private BigDecimal seniorCitizenBonus;
+    
+    @Valid
+    @NotEmpty(message = "At least one rate slab is required")
+    private List<FdRateSlabRequest> slabs;
+}
@@ -0,0 +1,33 @@
+package com.tss.bank.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdRateSlabRequest {
+    
+    @NotNull(message = "Minimum tenure is required")
+    private Integer minTenureMonths;
+    
+    @NotNull(message = "Maximum tenure is required")
+    private Integer maxTenureMonths;
+    
+    @NotNull(message = "Minimum amount is required")
+    @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+    private BigDecimal minAmount;
+    
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0.00", message = "Rate cannot be negative")
+    @DecimalMax(value = "99.99", message = "Rate must be below 100")
+    private BigDecimal rate;
+}
@@ -0,0 +1,22 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceRangePageResponse {
+    
+    private BigDecimal minBalance;
+    private long totalMatches;
+    private List<AccountResponse> accounts;
+    // Pass as afterAccountId to fetch the next page; null on the last page
+    private Integer nextAfterAccountId;
+}
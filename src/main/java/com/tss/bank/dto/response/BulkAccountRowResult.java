@@ -0,0 +1,25 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAccountRowResult {
+    
+    private int rowNumber;
+    private Integer userId;
+    private String branchCode;
+    private Status status;
+    private Integer accountId;
+    private String accountNumber;
+    private String message;
+    
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+}
@@ -17,6 +17,7 @@ public class FDApplicationResponse {
     
     private Integer fdAppId;
     private Integer userId;
+    private Integer accountId;
     private BigDecimal amount;
     private Integer tenureMonths;
     private BigDecimal interestRate;
@@ -0,0 +1,30 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdApplicationApprovalResult {
+    
+    private Integer fdAppId;
+    private Integer userId;
+    private Integer accountId;
+    private BigDecimal amount;
+    private Status status;
+    private Integer fdId;
+    private BigDecimal interestRate;
+    private BigDecimal maturityAmount;
+    private String message;
+    
+    public enum Status {
+        // REJECTED applications are closed with the message as the reason; FAILED ones stay PENDING
+        APPROVED, REJECTED, SKIPPED, FAILED
+    }
+}
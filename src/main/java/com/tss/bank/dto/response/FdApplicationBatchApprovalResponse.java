@@ -0,0 +1,27 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdApplicationBatchApprovalResponse {
+    
+    private int selected;
+    private int approved;
+    private int rejected;
+    private int skipped;
+    private int failed;
+    private BigDecimal amountBooked;
+    private int chunksProcessed;
+    private int chunksFailed;
+    private long durationMs;
+    private List<FdApplicationApprovalResult> results;
+}
@@ -0,0 +1,23 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdCashFlowMonthResponse {
+    
+    // yyyy-MM
+    private String month;
+    private long depositCount;
+    private BigDecimal payoutAmount;
+    // Branch code -> payout; accounts without a branch are reported as UNASSIGNED
+    private Map<String, BigDecimal> payoutByBranch;
+}
@@ -0,0 +1,25 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdLiabilityProjectionResponse {
+    
+    private Date generatedAt;
+    private String fromMonth;
+    private int months;
+    private long depositCount;
+    private BigDecimal totalPayout;
+    // Overdue payouts are reported in the first month
+    private List<FdCashFlowMonthResponse> cashFlows;
+}
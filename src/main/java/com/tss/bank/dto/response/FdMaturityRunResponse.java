@@ -0,0 +1,33 @@
+package com.tss.bank.dto.response;
+
+import com.tss.bank.entity.FdMaturityRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdMaturityRunResponse {
+    
+    private Integer runId;
+    private FdMaturityRun.Status status;
+    private Date asOf;
+    private Integer checkpointFdId;
+    private Date startedAt;
+    private Date finishedAt;
+    private Long durationMs;
+    private Long depositsMatured;
+    private Long depositsSkipped;
+    private Long depositsFailed;
+    private BigDecimal amountCredited;
+    private Integer chunksProcessed;
+    private Integer chunksFailed;
+    private Integer resumeCount;
+    private String errorMessage;
+}
@@ -0,0 +1,26 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdQuoteResponse {
+    
+    private BigDecimal amount;
+    private Integer tenureMonths;
+    private boolean seniorCitizen;
+    private BigDecimal interestRate;
+    private BigDecimal interestAmount;
+    private BigDecimal maturityAmount;
+    // Maturity date for a deposit booked today
+    private Date maturityDate;
+    private Integer rateCardVersion;
+}
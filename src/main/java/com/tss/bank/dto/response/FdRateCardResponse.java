@@ -0,0 +1,24 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdRateCardResponse {
+    
+    private Integer rateCardId;
+    private Integer version;
+    private BigDecimal seniorCitizenBonus;
+    private Integer publishedBy;
+    private Date createdAt;
+    private List<FdRateSlabResponse> slabs;
+}
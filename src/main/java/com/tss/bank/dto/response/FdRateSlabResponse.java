@@ -0,0 +1,20 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdRateSlabResponse {
+    
+    private Integer minTenureMonths;
+    private Integer maxTenureMonths;
+    private BigDecimal minAmount;
+    private BigDecimal rate;
+}
@@ -0,0 +1,19 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPageResponse {
+    
+    private List<NotificationResponse> notifications;
+    // Pass as beforeNotificationId to fetch the next (older) page; null on the last page
+    private Integer nextBeforeNotificationId;
+}
@@ -0,0 +1,25 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationDiscrepancyResponse {
+    
+    private Long discrepancyId;
+    private Integer runId;
+    private Integer accountId;
+    private String accountNumber;
+    private BigDecimal ledgerBalance;
+    private BigDecimal transactionNet;
+    private BigDecimal difference;
+    private Date detectedAt;
+}
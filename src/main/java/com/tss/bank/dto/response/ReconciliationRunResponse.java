@@ -0,0 +1,27 @@
+package com.tss.bank.dto.response;
+
+import com.tss.bank.entity.ReconciliationRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationRunResponse {
+    
+    private Integer runId;
+    private ReconciliationRun.Status status;
+    private Date startedAt;
+    private Date finishedAt;
+    private Long durationMs;
+    private Long accountsChecked;
+    private Integer chunksProcessed;
+    private Integer chunksFailed;
+    private Long discrepancyCount;
+    private String errorMessage;
+}
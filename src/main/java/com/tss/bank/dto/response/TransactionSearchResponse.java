@@ -0,0 +1,19 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchResponse {
+    
+    private List<TransactionResponse> transactions;
+    private long totalMatches;
+    private long tookMs;
+}
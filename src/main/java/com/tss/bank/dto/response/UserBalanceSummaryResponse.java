@@ -0,0 +1,23 @@
+package com.tss.bank.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBalanceSummaryResponse {
+    
+    private Integer userId;
+    private BigDecimal totalBalance;
+    private Integer accountCount;
+    private BigDecimal activeFdTotal;
+    private Date updatedAt;
+    private Date verifiedAt;
+}
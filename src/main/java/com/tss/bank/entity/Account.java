@@ -8,23 +8,31 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@NamedEntityGraph(name = "Account.withUser", attributeNodes = @NamedAttributeNode("user"))
 @Table(name = "accounts")
 public class Account {
     @Id
@@ -32,15 +40,17 @@ public class Account {
     @Column(name = "account_id")
     private Integer accountId;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
     
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "branch_id")
     private Branch branch;
 
-    @Column(name = "account_number", nullable = false, length = 20)
+    @Column(name = "account_number", nullable = false, unique = true, length = 20)
     private String accountNumber;
     
     @Enumerated(EnumType.STRING)
@@ -54,13 +64,19 @@ public class Account {
     private Status status;
     @Column(name = "created_at")
     private Date createdAt;
+    // Bumped on every balance change; the balance cache never replaces a newer version
+    @Column(name = "balance_version")
+    private Long balanceVersion;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "account")
     private List<Transaction> transactions;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "account")
     private List<Beneficiary> beneficiaries;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "account")
     private List<FixedDeposit> fixedDeposits;
 
@@ -71,4 +87,30 @@ public class Account {
     public enum Status {
         ACTIVE, INACTIVE, CLOSED, SUSPENDED
     }
+
+    /**
+     * Sets a new balance and advances the balance version
+     */
+    public void applyBalance(BigDecimal newBalance) {
+        this.balance = newBalance;
+        this.balanceVersion = (balanceVersion == null ? 0L : balanceVersion) + 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Account)) {
+            return false;
+        }
+        Account other = (Account) o;
+        return accountId != null && accountId.equals(other.getAccountId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant per type so the hash is stable before and after the id is assigned
+        return Account.class.hashCode();
+    }
 }
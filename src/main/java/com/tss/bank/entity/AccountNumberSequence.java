@@ -0,0 +1,26 @@
+package com.tss.bank.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_number_sequences")
+public class AccountNumberSequence {
+    @Id
+    @Column(name = "sequence_name", length = 40)
+    private String sequenceName;
+
+    // First value not yet handed to any allocator block
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
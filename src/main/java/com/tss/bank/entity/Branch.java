@@ -3,13 +3,17 @@ package com.tss.bank.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.Date;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -65,13 +69,32 @@ public class Branch {
     @Column(name = "updated_at")
     private Date updatedAt;
     
+    @ToString.Exclude
     @OneToMany(mappedBy = "branch")
     private List<User> users;
     
+    @ToString.Exclude
     @OneToMany(mappedBy = "branch")
     private List<Account> accounts;
     
     public enum Status {
         ACTIVE, INACTIVE, CLOSED
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Branch)) {
+            return false;
+        }
+        Branch other = (Branch) o;
+        return branchId != null && branchId.equals(other.getBranchId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Branch.class.hashCode();
+    }
 }
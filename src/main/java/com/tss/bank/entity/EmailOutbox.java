@@ -0,0 +1,65 @@
+package com.tss.bank.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An email waiting to be sent, written in the same transaction as the change that caused
+ * it. The email dispatcher claims due rows, sends them and records the outcome; failed
+ * sends are retried with exponential backoff until the attempt limit is reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "email_id")
+    private Long emailId;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+    @Column(nullable = false, length = 255)
+    private String subject;
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+    @Column(nullable = false)
+    private Boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+    @Column(nullable = false)
+    private Integer attempts;
+    @Column(name = "next_attempt_at", nullable = false)
+    private Date nextAttemptAt;
+    // Set when a dispatcher claims the row; a stale claim means the sender died mid-send
+    @Column(name = "claimed_at")
+    private Date claimedAt;
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+    @Column(name = "sent_at")
+    private Date sentAt;
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+}
@@ -30,6 +30,9 @@ public class FDApplication {
 
     @Column(name = "user_id")
     private Integer userId;
+    // Account to debit on approval; when null the applicant's oldest active account is used
+    @Column(name = "account_id")
+    private Integer accountId;
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
     @Column(name = "tenure_months")
@@ -0,0 +1,66 @@
+package com.tss.bank.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "fd_maturity_runs")
+public class FdMaturityRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Integer runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 25)
+    private Status status;
+    // Deposits maturing on or before this instant belong to the run; kept fixed across resumes
+    @Column(name = "as_of", nullable = false)
+    private Date asOf;
+    // Every deposit with fdId <= checkpoint has been handled
+    @Column(name = "checkpoint_fd_id", nullable = false)
+    private Integer checkpointFdId;
+    @Column(name = "started_at")
+    private Date startedAt;
+    @Column(name = "finished_at")
+    private Date finishedAt;
+    @Column(name = "duration_ms")
+    private Long durationMs;
+    @Column(name = "deposits_matured")
+    private Long depositsMatured;
+    @Column(name = "deposits_skipped")
+    private Long depositsSkipped;
+    @Column(name = "deposits_failed")
+    private Long depositsFailed;
+    @Column(name = "amount_credited", precision = 18, scale = 2)
+    private BigDecimal amountCredited;
+    @Column(name = "chunks_processed")
+    private Integer chunksProcessed;
+    @Column(name = "chunks_failed")
+    private Integer chunksFailed;
+    @Column(name = "resume_count")
+    private Integer resumeCount;
+    @Column(name = "error_message", length = 255)
+    private String errorMessage;
+
+    public enum Status {
+        RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    }
+}
@@ -0,0 +1,42 @@
+package com.tss.bank.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One published version of the FD rate card. Cards are never edited; a change is a new
+ * version, and the highest version is the one in force.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "fd_rate_cards")
+public class FdRateCard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rate_card_id")
+    private Integer rateCardId;
+
+    @Column(nullable = false, unique = true)
+    private Integer version;
+    // Added to the slab rate for senior citizens, in percentage points
+    @Column(name = "senior_citizen_bonus", nullable = false, precision = 5, scale = 2)
+    private BigDecimal seniorCitizenBonus;
+    @Column(name = "published_by")
+    private Integer publishedBy;
+    @Column(name = "created_at")
+    private Date createdAt;
+}
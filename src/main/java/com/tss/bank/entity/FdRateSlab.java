@@ -0,0 +1,45 @@
+package com.tss.bank.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rate for a tenure range (inclusive) and an amount slab. A slab applies from its minimum
+ * amount up to the next higher minimum amount on the same card.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "fd_rate_slabs", indexes = {
+        @Index(name = "idx_fd_rate_slab_card", columnList = "rate_card_id")
+})
+public class FdRateSlab {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "slab_id")
+    private Integer slabId;
+
+    @Column(name = "rate_card_id", nullable = false)
+    private Integer rateCardId;
+    @Column(name = "min_tenure_months", nullable = false)
+    private Integer minTenureMonths;
+    @Column(name = "max_tenure_months", nullable = false)
+    private Integer maxTenureMonths;
+    @Column(name = "min_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal minAmount;
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal rate;
+}
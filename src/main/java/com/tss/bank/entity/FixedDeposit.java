@@ -8,22 +8,30 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
+@NamedEntityGraph(name = "FixedDeposit.withAccount", attributeNodes = @NamedAttributeNode("account"))
 @Table(name = "fixed_deposits")
 public class FixedDeposit {
     @Id
@@ -34,11 +42,13 @@ public class FixedDeposit {
     @Column(name = "fd_app_id")
     private Integer fdAppId;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private Account account;
 
@@ -65,4 +75,21 @@ public class FixedDeposit {
     public enum Status {
         ACTIVE, CLOSED, PENDING, MATURED, EARLY_CLOSE
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FixedDeposit)) {
+            return false;
+        }
+        FixedDeposit other = (FixedDeposit) o;
+        return fdId != null && fdId.equals(other.getFdId());
+    }
+
+    @Override
+    public int hashCode() {
+        return FixedDeposit.class.hashCode();
+    }
 }
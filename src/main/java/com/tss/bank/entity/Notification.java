@@ -0,0 +1,59 @@
+package com.tss.bank.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One inbox entry, addressed to either a user or an admin. Inbox pages are read newest
+ * first by id, so the indexes lead with the recipient and end with the id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user", columnList = "user_id, notification_id"),
+        @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read, notification_id"),
+        @Index(name = "idx_notifications_user_type", columnList = "user_id, type, notification_id"),
+        @Index(name = "idx_notifications_admin", columnList = "admin_id, notification_id"),
+        @Index(name = "idx_notifications_sent_at", columnList = "sent_at")
+})
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Integer notificationId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+    @Column(name = "admin_id")
+    private Integer adminId;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+    @Column(nullable = false, length = 500)
+    private String message;
+    @Column(nullable = false, length = 20)
+    private String type;
+    @Column(nullable = false, length = 10)
+    private String priority;
+
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead;
+    @Column(name = "sent_at", nullable = false)
+    private Date sentAt;
+    @Column(name = "read_at")
+    private Date readAt;
+}
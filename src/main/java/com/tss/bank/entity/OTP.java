@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "otps")
+@Table(name = "otps", indexes = @Index(name = "idx_otps_expires_at", columnList = "expires_at"))
 public class OTP {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
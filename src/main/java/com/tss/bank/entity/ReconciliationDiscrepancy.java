@@ -0,0 +1,46 @@
+package com.tss.bank.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "reconciliation_discrepancies", indexes = {
+        @Index(name = "idx_recon_discrepancy_run", columnList = "run_id")
+})
+public class ReconciliationDiscrepancy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "discrepancy_id")
+    private Long discrepancyId;
+
+    @Column(name = "run_id", nullable = false)
+    private Integer runId;
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+    @Column(name = "account_number", length = 20)
+    private String accountNumber;
+    @Column(name = "ledger_balance", precision = 15, scale = 2)
+    private BigDecimal ledgerBalance;
+    @Column(name = "transaction_net", precision = 15, scale = 2)
+    private BigDecimal transactionNet;
+    @Column(precision = 15, scale = 2)
+    private BigDecimal difference;
+    @Column(name = "detected_at")
+    private Date detectedAt;
+}
@@ -0,0 +1,53 @@
+package com.tss.bank.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "reconciliation_runs")
+public class ReconciliationRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Integer runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+    @Column(name = "started_at")
+    private Date startedAt;
+    @Column(name = "finished_at")
+    private Date finishedAt;
+    @Column(name = "duration_ms")
+    private Long durationMs;
+    @Column(name = "accounts_checked")
+    private Long accountsChecked;
+    @Column(name = "chunks_processed")
+    private Integer chunksProcessed;
+    @Column(name = "chunks_failed")
+    private Integer chunksFailed;
+    @Column(name = "discrepancy_count")
+    private Long discrepancyCount;
+    @Column(name = "error_message", length = 255)
+    private String errorMessage;
+
+    public enum Status {
+        RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    }
+}
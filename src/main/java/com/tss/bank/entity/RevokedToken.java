@@ -0,0 +1,36 @@
+package com.tss.bank.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An access token withdrawn before its expiry, identified by its jti claim. Rows are only
+ * needed until the token would have expired anyway and are purged after that.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Integer userId;
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+    @Column(name = "revoked_at", nullable = false)
+    private Date revokedAt;
+}
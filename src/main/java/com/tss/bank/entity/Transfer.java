@@ -16,10 +16,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -42,10 +46,12 @@ public class Transfer {
     @Column(name = "to_account_id")
     private Integer toAccountId;
     
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_account_id", insertable = false, updatable = false)
     private Account fromAccount;
     
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "to_account_id", insertable = false, updatable = false)
     private Account toAccount;
@@ -72,4 +78,21 @@ public class Transfer {
     
     @Column(name = "transaction_reference")
     private String transactionReference;
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Transfer)) {
+            return false;
+        }
+        Transfer other = (Transfer) o;
+        return transferId != null && transferId.equals(other.getTransferId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Transfer.class.hashCode();
+    }
+}
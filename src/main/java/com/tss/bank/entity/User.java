@@ -7,6 +7,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -16,10 +17,14 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -67,25 +72,32 @@ public class User {
     @Column(name = "email_verified_at")
     private Date emailVerifiedAt;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "branch_id")
     private Branch branch;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<Account> accounts;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<Transaction> transactions;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<Beneficiary> beneficiaries;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<FixedDeposit> fixedDeposits;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<UserSecurityAnswer> securityAnswers;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user")
     private List<UserEnquiry> enquiries;
 
@@ -96,4 +108,21 @@ public class User {
     public enum Role {
         USER, ADMIN, SUPER_ADMIN
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof User)) {
+            return false;
+        }
+        User other = (User) o;
+        return userId != null && userId.equals(other.getUserId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
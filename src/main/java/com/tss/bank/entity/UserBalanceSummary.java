@@ -0,0 +1,36 @@
+package com.tss.bank.entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "user_balance_summaries")
+public class UserBalanceSummary {
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "total_balance", nullable = false, precision = 17, scale = 2)
+    private BigDecimal totalBalance;
+    @Column(name = "account_count", nullable = false)
+    private Integer accountCount;
+    @Column(name = "active_fd_total", nullable = false, precision = 17, scale = 2)
+    private BigDecimal activeFdTotal;
+    @Column(name = "updated_at")
+    private Date updatedAt;
+    @Column(name = "verified_at")
+    private Date verifiedAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,10 +15,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -29,7 +34,8 @@ public class UserEnquiry {
     @Column(name = "enquiry_id")
     private Integer enquiryId;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -59,4 +65,21 @@ public class UserEnquiry {
     public enum Status {
         OPEN, CLOSED, PENDING
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserEnquiry)) {
+            return false;
+        }
+        UserEnquiry other = (UserEnquiry) o;
+        return enquiryId != null && enquiryId.equals(other.getEnquiryId());
+    }
+
+    @Override
+    public int hashCode() {
+        return UserEnquiry.class.hashCode();
+    }
 }
@@ -3,6 +3,7 @@ package com.tss.bank.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -11,10 +12,14 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -26,14 +31,33 @@ public class UserSecurityAnswer {
     @Column(name = "answer_id")
     private Integer answerId;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "question_id")
     private SecurityQuestion question;
 
     @Column(length = 100)
     private String answer;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserSecurityAnswer)) {
+            return false;
+        }
+        UserSecurityAnswer other = (UserSecurityAnswer) o;
+        return answerId != null && answerId.equals(other.getAnswerId());
+    }
+
+    @Override
+    public int hashCode() {
+        return UserSecurityAnswer.class.hashCode();
+    }
 }
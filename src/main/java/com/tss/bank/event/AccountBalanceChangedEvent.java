@@ -0,0 +1,30 @@
+package com.tss.bank.event;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import com.tss.bank.entity.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published in the same transaction as a balance change. lastTxnTime is null when the
+ * change did not record a transaction (e.g. an FD booking debit).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AccountBalanceChangedEvent {
+
+    private final Integer accountId;
+    private final BigDecimal balance;
+    private final long balanceVersion;
+    private final Date lastTxnTime;
+
+    public static AccountBalanceChangedEvent of(Account account, Date lastTxnTime) {
+        long version = account.getBalanceVersion() == null ? 0L : account.getBalanceVersion();
+        return new AccountBalanceChangedEvent(account.getAccountId(), account.getBalance(), version, lastTxnTime);
+    }
+}
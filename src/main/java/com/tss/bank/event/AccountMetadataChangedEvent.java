@@ -0,0 +1,22 @@
+package com.tss.bank.event;
+
+import com.tss.bank.entity.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when an account's number, owner, branch or status changes, or when the
+ * account is removed (status is then null), so in-memory views of the account can be
+ * refreshed once the change commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AccountMetadataChangedEvent {
+
+    private final Integer accountId;
+    private final String accountNumber;
+    private final Account.Status status;
+}
@@ -0,0 +1,16 @@
+package com.tss.bank.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Published when emails are written to the outbox, so they can be sent as soon as the transaction commits. */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmailQueuedEvent {
+
+    private final List<Long> emailIds;
+}
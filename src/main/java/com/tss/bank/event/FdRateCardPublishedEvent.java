@@ -0,0 +1,18 @@
+package com.tss.bank.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a new FD rate card version is saved; the quote engine swaps in the new
+ * table once the card commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FdRateCardPublishedEvent {
+
+    private final Integer rateCardId;
+    private final Integer version;
+}
@@ -0,0 +1,27 @@
+package com.tss.bank.event;
+
+import java.util.Date;
+
+import com.tss.bank.entity.FixedDeposit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a fixed deposit is booked or leaves the ACTIVE state, so the maturity
+ * calendar can schedule or drop its payout once the change commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FixedDepositChangedEvent {
+
+    private final Integer fdId;
+    private final FixedDeposit.Status status;
+    private final Date maturityDate;
+
+    public static FixedDepositChangedEvent of(FixedDeposit fixedDeposit) {
+        return new FixedDepositChangedEvent(fixedDeposit.getFdId(), fixedDeposit.getStatus(), fixedDeposit.getMaturityDate());
+    }
+}
@@ -0,0 +1,14 @@
+package com.tss.bank.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Published when a user's unread or total notification count changes, so cached counts can be dropped after commit. */
+@Getter
+@ToString
+@AllArgsConstructor
+public class NotificationCountersChangedEvent {
+
+    private final Integer userId;
+}
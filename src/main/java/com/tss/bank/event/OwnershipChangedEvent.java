@@ -0,0 +1,18 @@
+package com.tss.bank.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when an account or fixed deposit is added to or removed from a user, so the
+ * ownership index reloads that user once the change commits. A change of owner should
+ * publish one event for each user.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OwnershipChangedEvent {
+
+    private final Integer userId;
+}
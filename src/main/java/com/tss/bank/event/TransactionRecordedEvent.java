@@ -0,0 +1,22 @@
+package com.tss.bank.event;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever a row is written to the transactions table. Listeners that maintain
+ * in-memory views should react after commit so rolled-back postings are never observed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TransactionRecordedEvent {
+    
+    private final Integer txnId;
+    private final Integer accountId;
+    private final Date txnTime;
+    private final String description;
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,7 +27,9 @@ public class GlobalExceptionHandler {
         TransferApiException.class,
         SecurityQuestionApiException.class,
         UserEnquiryApiException.class,
-        FDApplicationApiException.class
+        FDApplicationApiException.class,
+        ReconciliationApiException.class,
+        NotificationApiException.class
     })
     public ResponseEntity<ResponseError> handleApiExceptions(BankApiException ex) {
         ResponseError error = new ResponseError(
@@ -38,6 +41,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    // Password-hashing pool saturated; clients should back off and retry
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ResponseError> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        ResponseError error = new ResponseError(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                System.currentTimeMillis(),
+                ex.getMessage(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     // Generic business exception (fallback for BankApiException)
     @ExceptionHandler(BankApiException.class)
     public ResponseEntity<ResponseError> handleBankApiException(BankApiException ex) {
@@ -0,0 +1,7 @@
+package com.tss.bank.exception;
+
+public class NotificationApiException extends BankApiException {
+    public NotificationApiException(String message) {
+        super(message);
+    }
+}
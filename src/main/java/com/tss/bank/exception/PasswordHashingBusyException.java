@@ -0,0 +1,19 @@
+package com.tss.bank.exception;
+
+/**
+ * The password-hashing pool is saturated. Mapped to 503 with a Retry-After header so
+ * clients back off instead of queueing more work on request threads.
+ */
+public class PasswordHashingBusyException extends BankApiException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
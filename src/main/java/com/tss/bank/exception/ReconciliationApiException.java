@@ -0,0 +1,7 @@
+package com.tss.bank.exception;
+
+public class ReconciliationApiException extends BankApiException {
+    public ReconciliationApiException(String message) {
+        super(message);
+    }
+}
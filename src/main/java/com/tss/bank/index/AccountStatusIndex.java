@@ -0,0 +1,110 @@
+package com.tss.bank.index;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tss.bank.entity.Account;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory index of accounts that are not ACTIVE, one bitset per status keyed by
+ * accountId. Only the (small) set of non-active accounts is loaded at startup, and
+ * status changes are applied after commit, so hot paths can reject frozen accounts
+ * without reading the account row.
+ */
+@Component
+public class AccountStatusIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStatusIndex.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final Map<Account.Status, BitSet> byStatus = new EnumMap<>(Account.Status.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void load() {
+        long start = System.nanoTime();
+        int loaded = 0;
+        lock.writeLock().lock();
+        try {
+            byStatus.clear();
+            for (Object[] row : accountRepository.findNonActiveStatuses()) {
+                set((Integer) row[0], (Account.Status) row[1]);
+                loaded++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Account status index loaded {} non-active accounts in {} ms",
+                loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isFrozen(Integer accountId) {
+        return hasStatus(accountId, Account.Status.SUSPENDED);
+    }
+
+    /** True if the account is known to be in any status other than ACTIVE. */
+    public boolean isBlocked(Integer accountId) {
+        if (accountId == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            for (BitSet bits : byStatus.values()) {
+                if (bits.get(accountId)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasStatus(Integer accountId, Account.Status status) {
+        if (accountId == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            BitSet bits = byStatus.get(status);
+            return bits != null && bits.get(accountId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountMetadataChanged(AccountMetadataChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            set(event.getAccountId(), event.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock; a null or ACTIVE status just clears the account
+    private void set(Integer accountId, Account.Status status) {
+        for (BitSet bits : byStatus.values()) {
+            bits.clear(accountId);
+        }
+        if (status != null && status != Account.Status.ACTIVE) {
+            byStatus.computeIfAbsent(status, s -> new BitSet()).set(accountId);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.tss.bank.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory index of account balances grouped into log-scaled buckets (four per power of
+ * ten), each holding its members ordered by accountId. A min-balance query counts every
+ * bucket above the threshold's bucket by size and only compares balances inside the one
+ * boundary bucket. Updates are applied after commit and ignore stale balance versions.
+ */
+@Component
+public class BalanceRangeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceRangeIndex.class);
+
+    static final int BUCKETS_PER_DECADE = 4;
+    // Bucket 0 holds balances below 1; the last bucket is open-ended
+    static final int BUCKET_COUNT = 64;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${index.balance-range.load-page-size:10000}")
+    private int loadPageSize;
+
+    private final List<TreeMap<Integer, BigDecimal>> buckets = new ArrayList<>(BUCKET_COUNT);
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BalanceRangeIndex() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.add(new TreeMap<>());
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        long start = System.nanoTime();
+        int afterId = 0;
+        List<Object[]> page;
+        do {
+            page = accountRepository.findBalanceRowsAfter(afterId, PageRequest.of(0, loadPageSize));
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : page) {
+                    afterId = (Integer) row[0];
+                    Long version = (Long) row[2];
+                    put(afterId, (BigDecimal) row[1], version == null ? 0L : version);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.size() == loadPageSize);
+        log.info("Balance range index loaded {} accounts in {} ms",
+                entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Number of accounts whose balance is at least {@code minBalance}. */
+    public long countAtLeast(BigDecimal minBalance) {
+        int boundary = bucketOf(minBalance);
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (int i = boundary + 1; i < BUCKET_COUNT; i++) {
+                count += buckets.get(i).size();
+            }
+            for (BigDecimal balance : buckets.get(boundary).values()) {
+                if (balance.compareTo(minBalance) >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} account ids with a balance of at least {@code minBalance}, in
+     * ascending id order and strictly after {@code afterAccountId} (null for the first page).
+     */
+    public List<Integer> accountIdsAtLeast(BigDecimal minBalance, Integer afterAccountId, int limit) {
+        int boundary = bucketOf(minBalance);
+        int after = afterAccountId == null ? Integer.MIN_VALUE : afterAccountId;
+        TreeSet<Integer> page = new TreeSet<>();
+        lock.readLock().lock();
+        try {
+            for (int i = boundary; i < BUCKET_COUNT; i++) {
+                int taken = 0;
+                // Each bucket is id-ordered, so no bucket can contribute more than limit ids
+                for (Map.Entry<Integer, BigDecimal> member : buckets.get(i).tailMap(after, false).entrySet()) {
+                    if (i == boundary && member.getValue().compareTo(minBalance) < 0) {
+                        continue;
+                    }
+                    page.add(member.getKey());
+                    if (++taken == limit) {
+                        break;
+                    }
+                }
+                while (page.size() > limit) {
+                    page.pollLast();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(page);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(AccountBalanceChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            put(event.getAccountId(), event.getBalance(), event.getBalanceVersion());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountMetadataChanged(AccountMetadataChangedEvent event) {
+        if (event.getStatus() != null) {
+            return;
+        }
+        // A null status means the account row was deleted
+        lock.writeLock().lock();
+        try {
+            Entry removed = entries.remove(event.getAccountId());
+            if (removed != null) {
+                buckets.get(removed.bucket()).remove(event.getAccountId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static int bucketOf(BigDecimal balance) {
+        if (balance.compareTo(BigDecimal.ONE) < 0) {
+            return 0;
+        }
+        // Math.log10 is monotonic, so b >= x always implies bucketOf(b) >= bucketOf(x)
+        int bucket = 1 + (int) Math.floor(Math.log10(balance.doubleValue()) * BUCKETS_PER_DECADE);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    // Caller holds the write lock
+    private void put(Integer accountId, BigDecimal balance, long version) {
+        if (accountId == null || balance == null) {
+            return;
+        }
+        Entry current = entries.get(accountId);
+        if (current != null && current.version() >= version) {
+            return;
+        }
+        int bucket = bucketOf(balance);
+        if (current != null && current.bucket() != bucket) {
+            buckets.get(current.bucket()).remove(accountId);
+        }
+        buckets.get(bucket).put(accountId, balance);
+        entries.put(accountId, new Entry(bucket, version));
+    }
+
+    private record Entry(int bucket, long version) {
+    }
+}
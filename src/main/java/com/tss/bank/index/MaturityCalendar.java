@@ -0,0 +1,188 @@
+package com.tss.bank.index;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.service.FdMaturityService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Time wheel of upcoming FD maturities. Deposits maturing within the next
+ * {@code horizon-days} are loaded in day-sized windows and kept in fixed-width time slots;
+ * a short tick pays out every deposit whose maturity has passed, so payouts follow the
+ * deposits' own maturity times instead of one nightly batch. Bookings and early closures
+ * are applied after commit. The nightly maturity run still catches anything missed here.
+ */
+@Component
+public class MaturityCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(MaturityCalendar.class);
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private FdMaturityService fdMaturityService;
+
+    @Value("${fd-maturity.calendar.horizon-days:7}")
+    private int horizonDays;
+
+    @Value("${fd-maturity.calendar.slot-seconds:60}")
+    private long slotSeconds;
+
+    @Value("${fd-maturity.calendar.load-page-size:5000}")
+    private int loadPageSize;
+
+    // Slot number (maturity millis / slot width) -> deposits maturing in that slot
+    private final ConcurrentSkipListMap<Long, Set<Integer>> slots = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, Long> maturityById = new ConcurrentHashMap<>();
+
+    private volatile long loadedUntil;
+    private volatile boolean ready;
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        // Look back one day so maturities missed while the application was down fire on the first tick
+        loadedUntil = now - DAY_MILLIS;
+        extendTo(now + horizonDays * DAY_MILLIS);
+        ready = true;
+    }
+
+    @Scheduled(cron = "${fd-maturity.calendar.extend-cron:0 0 * * * *}")
+    public void extendHorizon() {
+        extendTo(System.currentTimeMillis() + horizonDays * DAY_MILLIS);
+    }
+
+    @Scheduled(fixedDelayString = "${fd-maturity.calendar.tick-ms:5000}")
+    public void tick() {
+        if (!ready) {
+            return;
+        }
+        List<Integer> due = pollDue(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        int matured = fdMaturityService.matureDeposits(due);
+        log.info("Maturity calendar fired {} deposits, {} matured", due.size(), matured);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFixedDepositChanged(FixedDepositChangedEvent event) {
+        if (event.getStatus() == FixedDeposit.Status.ACTIVE && event.getMaturityDate() != null
+                && event.getMaturityDate().getTime() <= loadedUntil) {
+            add(event.getFdId(), event.getMaturityDate().getTime());
+        } else {
+            remove(event.getFdId());
+        }
+    }
+
+    public int size() {
+        return maturityById.size();
+    }
+
+    public Date getLoadedUntil() {
+        return new Date(loadedUntil);
+    }
+
+    // Loads (loadedUntil, until] one day window at a time
+    private synchronized void extendTo(long until) {
+        long start = System.nanoTime();
+        int loaded = 0;
+        while (loadedUntil < until) {
+            long windowEnd = Math.min(loadedUntil + DAY_MILLIS, until);
+            Date from = new Date(loadedUntil);
+            Date to = new Date(windowEnd);
+            int afterId = 0;
+            List<Object[]> page;
+            do {
+                page = fixedDepositRepository.findMaturityRowsBetween(from, to, afterId, PageRequest.of(0, loadPageSize));
+                for (Object[] row : page) {
+                    afterId = (Integer) row[0];
+                    add(afterId, ((Date) row[1]).getTime());
+                    loaded++;
+                }
+            } while (page.size() == loadPageSize);
+            loadedUntil = windowEnd;
+        }
+        if (loaded > 0) {
+            log.info("Maturity calendar loaded {} deposits up to {} in {} ms",
+                    loaded, new Date(loadedUntil), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private List<Integer> pollDue(long now) {
+        List<Integer> due = new ArrayList<>();
+        NavigableMap<Long, Set<Integer>> candidates = slots.headMap(slotOf(now), true);
+        for (Map.Entry<Long, Set<Integer>> slot : candidates.entrySet()) {
+            Iterator<Integer> members = slot.getValue().iterator();
+            while (members.hasNext()) {
+                Integer fdId = members.next();
+                Long maturity = maturityById.get(fdId);
+                if (maturity == null || maturity <= now) {
+                    members.remove();
+                    if (maturity != null && maturityById.remove(fdId, maturity)) {
+                        due.add(fdId);
+                    }
+                }
+            }
+            slots.computeIfPresent(slot.getKey(), (key, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+        return due;
+    }
+
+    private void add(Integer fdId, long maturity) {
+        Long previous = maturityById.put(fdId, maturity);
+        if (previous != null && slotOf(previous) != slotOf(maturity)) {
+            removeFromSlot(fdId, previous);
+        }
+        // Added inside compute so a concurrent pollDue cannot drop the slot between lookup and insert
+        slots.compute(slotOf(maturity), (key, members) -> {
+            Set<Integer> slot = members != null ? members : ConcurrentHashMap.<Integer>newKeySet();
+            slot.add(fdId);
+            return slot;
+        });
+    }
+
+    private void remove(Integer fdId) {
+        Long previous = maturityById.remove(fdId);
+        if (previous != null) {
+            removeFromSlot(fdId, previous);
+        }
+    }
+
+    private void removeFromSlot(Integer fdId, long maturity) {
+        slots.computeIfPresent(slotOf(maturity), (key, members) -> {
+            members.remove(fdId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private long slotOf(long millis) {
+        return millis / TimeUnit.SECONDS.toMillis(slotSeconds);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tss.bank.index;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tss.bank.dto.response.CacheStatsResponse;
+import com.tss.bank.event.OwnershipChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Per-user sorted arrays of owned account and fixed-deposit ids, loaded on a user's first
+ * check with two id-only queries. Ownership checks are a binary search. A user's entry is
+ * dropped after commit whenever an account or deposit is added to or removed from them.
+ */
+@Component
+public class OwnershipIndex {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Value("${index.ownership.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${index.ownership.ttl-seconds:900}")
+    private long ttlSeconds;
+
+    private Cache<Integer, Ownership> byUser;
+
+    @PostConstruct
+    void init() {
+        byUser = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public boolean ownsAccount(Integer userId, Integer accountId) {
+        if (userId == null || accountId == null) {
+            return false;
+        }
+        return Arrays.binarySearch(ownership(userId).accountIds(), accountId) >= 0;
+    }
+
+    public boolean ownsFixedDeposit(Integer userId, Integer fdId) {
+        if (userId == null || fdId == null) {
+            return false;
+        }
+        return Arrays.binarySearch(ownership(userId).fdIds(), fdId) >= 0;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOwnershipChanged(OwnershipChangedEvent event) {
+        if (event.getUserId() != null) {
+            byUser.invalidate(event.getUserId());
+        }
+    }
+
+    public void invalidateAll() {
+        byUser.invalidateAll();
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("ownership", byUser.stats(), byUser.estimatedSize());
+    }
+
+    private Ownership ownership(Integer userId) {
+        return byUser.get(userId, this::load);
+    }
+
+    private Ownership load(Integer userId) {
+        return new Ownership(sorted(accountRepository.findAccountIdsByUserId(userId)),
+                sorted(fixedDepositRepository.findFdIdsByUserId(userId)));
+    }
+
+    private static int[] sorted(List<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    private record Ownership(int[] accountIds, int[] fdIds) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.tss.bank.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of positive int ids stored as varint-encoded deltas, with a small sorted
+ * tail buffer absorbing recent additions. Ids normally arrive in ascending order and
+ * are appended to the compressed block; out-of-order ids are merged when the tail flushes.
+ * Not thread-safe: callers guard access.
+ */
+final class PostingList {
+
+    private static final int TAIL_CAPACITY = 128;
+
+    private byte[] data = new byte[16];
+    private int dataLength;
+    private int compressedCount;
+    private int lastCompressed;
+
+    private int[] tail = new int[8];
+    private int tailSize;
+
+    void add(int id) {
+        int pos = Arrays.binarySearch(tail, 0, tailSize, id);
+        if (pos >= 0 || (id <= lastCompressed && containsCompressed(id))) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, tail.length * 2);
+        }
+        System.arraycopy(tail, insertAt, tail, insertAt + 1, tailSize - insertAt);
+        tail[insertAt] = id;
+        tailSize++;
+        
+        if (tailSize >= TAIL_CAPACITY) {
+            flushTail();
+        }
+    }
+
+    int size() {
+        return compressedCount + tailSize;
+    }
+
+    /**
+     * Decodes the full list into a new ascending array.
+     */
+    int[] toArray() {
+        int[] compressed = decode();
+        if (tailSize == 0) {
+            return compressed;
+        }
+        return union(compressed, Arrays.copyOf(tail, tailSize));
+    }
+
+    // Only reached for out-of-order ids, which are rare
+    private boolean containsCompressed(int id) {
+        int offset = 0;
+        int current = 0;
+        for (int i = 0; i < compressedCount && current < id; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += delta;
+        }
+        return current == id;
+    }
+
+    private void flushTail() {
+        if (tail[0] > lastCompressed) {
+            for (int i = 0; i < tailSize; i++) {
+                append(tail[i]);
+            }
+        } else {
+            int[] merged = union(decode(), Arrays.copyOf(tail, tailSize));
+            data = new byte[Math.max(16, merged.length * 2)];
+            dataLength = 0;
+            compressedCount = 0;
+            lastCompressed = 0;
+            for (int id : merged) {
+                append(id);
+            }
+        }
+        tailSize = 0;
+    }
+
+    private void append(int id) {
+        int delta = id - lastCompressed;
+        if (dataLength + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((delta & ~0x7F) != 0) {
+            data[dataLength++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[dataLength++] = (byte) delta;
+        lastCompressed = id;
+        compressedCount++;
+    }
+
+    private int[] decode() {
+        int[] ids = new int[compressedCount];
+        int offset = 0;
+        int current = 0;
+        for (int i = 0; i < compressedCount; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += delta;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.length) {
+            result[n++] = b[j++];
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int n = 0;
+        if ((long) smaller.length * 16 < larger.length) {
+            // Very skewed sizes: probe the larger list instead of walking it
+            int from = 0;
+            for (int id : smaller) {
+                int pos = Arrays.binarySearch(larger, from, larger.length, id);
+                if (pos >= 0) {
+                    result[n++] = id;
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+                if (from >= larger.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < smaller.length && j < larger.length) {
+                if (smaller[i] < larger[j]) {
+                    i++;
+                } else if (smaller[i] > larger[j]) {
+                    j++;
+                } else {
+                    result[n++] = smaller[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,260 @@
+package com.tss.bank.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tss.bank.event.TransactionRecordedEvent;
+import com.tss.bank.repository.TransactionRepository;
+
+/**
+ * In-process inverted index over transaction descriptions. Each token maps to a compressed
+ * posting list of txnIds; account and time filters are answered from primitive arrays indexed
+ * by txnId, so a search never issues a LIKE scan. The index is bulk-loaded by keyset pages
+ * at startup and then kept current from committed {@link TransactionRecordedEvent}s.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchIndex.class);
+    
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSION = 1000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Value("${search.transactions.load-page-size:10000}")
+    private int loadPageSize;
+
+    private final ConcurrentSkipListMap<String, PostingList> postings = new ConcurrentSkipListMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<TransactionRecordedEvent> pendingWhileLoading = new ConcurrentLinkedQueue<>();
+    
+    private int[] accountIds = new int[1024];
+    private int[] txnMinutes = new int[1024];
+    private final BitSet indexed = new BitSet();
+    private int maxTxnId;
+    private long documentCount;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread loader = new Thread(this::loadIndex, "txn-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionRecorded(TransactionRecordedEvent event) {
+        if (!ready) {
+            pendingWhileLoading.add(event);
+            if (ready) {
+                // Loading finished between the check and the enqueue
+                drainPending();
+            }
+            return;
+        }
+        add(event.getTxnId(), event.getAccountId(), event.getTxnTime(), event.getDescription());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    /**
+     * AND-search over description tokens. A trailing '*' on a term matches every indexed
+     * token with that prefix. Results are newest first.
+     */
+    public SearchResult search(String query, Integer accountId, Date fromTime, Date toTime, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query, true));
+        if (terms.isEmpty()) {
+            return new SearchResult(new int[0], 0);
+        }
+        int fromMinute = fromTime != null ? toMinutes(fromTime) : Integer.MIN_VALUE;
+        int toMinute = toTime != null ? toMinutes(toTime) : Integer.MAX_VALUE;
+        
+        lock.readLock().lock();
+        try {
+            List<int[]> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                int[] ids = resolve(term);
+                if (ids.length == 0) {
+                    return new SearchResult(new int[0], 0);
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.length));
+            
+            int[] candidates = lists.get(0);
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = PostingList.intersect(candidates, lists.get(i));
+            }
+            
+            int[] hits = new int[Math.min(limit, candidates.length)];
+            int hitCount = 0;
+            long total = 0;
+            for (int i = candidates.length - 1; i >= 0; i--) {
+                int txnId = candidates[i];
+                if (accountId != null && accountIds[txnId] != accountId) {
+                    continue;
+                }
+                int minute = txnMinutes[txnId];
+                if (minute < fromMinute || minute > toMinute) {
+                    continue;
+                }
+                if (hitCount < hits.length) {
+                    hits[hitCount++] = txnId;
+                }
+                total++;
+            }
+            return new SearchResult(Arrays.copyOf(hits, hitCount), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] resolve(String term) {
+        if (!term.endsWith("*")) {
+            PostingList list = postings.get(term);
+            return list != null ? list.toArray() : new int[0];
+        }
+        String prefix = term.substring(0, term.length() - 1);
+        if (prefix.length() < MIN_TOKEN_LENGTH) {
+            return new int[0];
+        }
+        int[] union = new int[0];
+        int expanded = 0;
+        for (Map.Entry<String, PostingList> entry : postings.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()) {
+            union = PostingList.union(union, entry.getValue().toArray());
+            if (++expanded >= MAX_PREFIX_EXPANSION) {
+                break;
+            }
+        }
+        return union;
+    }
+
+    private void add(Integer txnId, Integer accountId, Date txnTime, String description) {
+        if (txnId == null || txnId <= 0) {
+            return;
+        }
+        Set<String> tokens = tokenize(description, false);
+        lock.writeLock().lock();
+        try {
+            if (indexed.get(txnId)) {
+                // Seen by both the bulk load and a committed event
+                return;
+            }
+            indexed.set(txnId);
+            ensureCapacity(txnId);
+            accountIds[txnId] = accountId != null ? accountId : 0;
+            txnMinutes[txnId] = txnTime != null ? toMinutes(txnTime) : 0;
+            maxTxnId = Math.max(maxTxnId, txnId);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(txnId);
+            }
+            documentCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void loadIndex() {
+        long start = System.currentTimeMillis();
+        try {
+            int afterId = 0;
+            List<Object[]> page;
+            do {
+                page = transactionRepository.findSearchRowsAfter(afterId, PageRequest.of(0, loadPageSize));
+                for (Object[] row : page) {
+                    add((Integer) row[0], (Integer) row[1], (Date) row[2], (String) row[3]);
+                    afterId = (Integer) row[0];
+                }
+            } while (page.size() == loadPageSize);
+            
+            ready = true;
+            drainPending();
+            log.info("Transaction search index loaded {} transactions, {} tokens in {} ms",
+                    documentCount, postings.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to load transaction search index", e);
+        }
+    }
+
+    /**
+     * Applies events committed while the bulk load ran. Ids are assigned at insert rather
+     * than at commit, so an event may sit below ids the load already passed; only ids that
+     * are already indexed are skipped.
+     */
+    private void drainPending() {
+        TransactionRecordedEvent event;
+        while ((event = pendingWhileLoading.poll()) != null) {
+            add(event.getTxnId(), event.getAccountId(), event.getTxnTime(), event.getDescription());
+        }
+    }
+
+    private void ensureCapacity(int txnId) {
+        if (txnId < accountIds.length) {
+            return;
+        }
+        int newLength = Math.max(txnId + 1, accountIds.length + (accountIds.length >> 1));
+        accountIds = Arrays.copyOf(accountIds, newLength);
+        txnMinutes = Arrays.copyOf(txnMinutes, newLength);
+    }
+
+    /**
+     * Lower-cased alphanumeric runs of at least two characters. Query text may keep a
+     * trailing '*' on a term to request prefix matching.
+     */
+    static Set<String> tokenize(String text, boolean allowPrefix) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String separators = allowPrefix ? "[^\\p{Alnum}*]+" : "[^\\p{Alnum}]+";
+        for (String raw : text.toLowerCase(Locale.ROOT).split(separators)) {
+            boolean prefix = allowPrefix && raw.endsWith("*");
+            String token = raw.replace("*", "");
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(prefix ? token + "*" : token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int toMinutes(Date date) {
+        return (int) (date.getTime() / 60_000L);
+    }
+
+    /**
+     * Matching txnIds (newest first, capped at the requested limit) and the total match count.
+     */
+    public record SearchResult(int[] txnIds, long totalMatches) {
+    }
+}
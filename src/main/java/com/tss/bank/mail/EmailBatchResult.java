@@ -0,0 +1,16 @@
+package com.tss.bank.mail;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of queuing a templated batch: the outbox ids of the queued emails, and the
+ * recipients that were not queued with the reason for each. Delivery failures after
+ * this point are recorded on the outbox rows.
+ */
+public record EmailBatchResult(List<Long> emailIds, Map<String, String> rejected) {
+
+    public int queuedCount() {
+        return emailIds.size();
+    }
+}
@@ -0,0 +1,198 @@
+package com.tss.bank.mail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.entity.EmailOutbox;
+import com.tss.bank.event.EmailQueuedEvent;
+import com.tss.bank.repository.EmailOutboxRepository;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Sends emails from the outbox on the {@code emailDispatchExecutor} pool. New emails are
+ * handed to the pool in batches as soon as their transaction commits; a poll picks up
+ * retries that have come due, emails the pool had no room for, and claims left behind by
+ * a crash. Each row is claimed with a conditional update before sending, so several
+ * instances can dispatch from the same table without sending an email twice, and each
+ * batch goes out over one connection from the {@link SmtpTransportPool}.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private SmtpTransportPool transportPool;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("emailDispatchExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${spring.mail.username:noreply@bankmanagement.com}")
+    private String fromEmail;
+
+    @Value("${email.dispatcher.batch-size:100}")
+    private int batchSize;
+
+    // Emails sent back to back over one SMTP connection by a single task
+    @Value("${email.dispatcher.send-batch-size:50}")
+    private int sendBatchSize;
+
+    @Value("${email.dispatcher.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.dispatcher.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${email.dispatcher.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${email.dispatcher.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        submitInBatches(event.getEmailIds());
+    }
+
+    @Scheduled(fixedDelayString = "${email.dispatcher.poll-ms:5000}")
+    public void dispatchDue() {
+        Date now = new Date();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Integer released = tx.execute(status -> emailOutboxRepository.releaseStaleClaims(EmailOutbox.Status.SENDING,
+                EmailOutbox.Status.PENDING, new Date(now.getTime() - TimeUnit.SECONDS.toMillis(claimTimeoutSeconds))));
+        if (released != null && released > 0) {
+            log.warn("Released {} email claims older than {} s", released, claimTimeoutSeconds);
+        }
+        submitInBatches(emailOutboxRepository.findDueIds(EmailOutbox.Status.PENDING, now, PageRequest.of(0, batchSize)));
+    }
+
+    /**
+     * Claims the emails and sends the ones this dispatcher won over a single pooled SMTP
+     * connection on the calling thread. Returns how many were claimed.
+     */
+    public int dispatch(List<Long> emailIds) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<Long> claimed = tx.execute(status -> {
+            Date now = new Date();
+            List<Long> won = new ArrayList<>(emailIds.size());
+            for (Long emailId : emailIds) {
+                if (emailOutboxRepository.claim(emailId, EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING, now) > 0) {
+                    won.add(emailId);
+                }
+            }
+            return won;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        List<EmailOutbox> emails = emailOutboxRepository.findAllById(claimed);
+        try (SmtpTransportPool.Connection connection = transportPool.borrow()) {
+            for (EmailOutbox email : emails) {
+                deliver(connection, email);
+            }
+        } catch (MessagingException e) {
+            // No connection came free in time; the whole batch is retried later
+            for (EmailOutbox email : emails) {
+                recordFailure(email, e, false);
+            }
+        }
+        for (EmailOutbox email : emails) {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setClaimedAt(null);
+        }
+        tx.executeWithoutResult(status -> emailOutboxRepository.saveAll(emails));
+        return emails.size();
+    }
+
+    private void submitInBatches(List<Long> emailIds) {
+        for (int from = 0; from < emailIds.size(); from += sendBatchSize) {
+            List<Long> batch = List.copyOf(emailIds.subList(from, Math.min(from + sendBatchSize, emailIds.size())));
+            if (!submit(batch)) {
+                break;
+            }
+        }
+    }
+
+    // Leaves the rows pending when the pool is full; the next poll submits them again
+    private boolean submit(List<Long> emailIds) {
+        try {
+            executor.execute(() -> dispatch(emailIds));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void deliver(SmtpTransportPool.Connection connection, EmailOutbox email) {
+        try {
+            connection.send(toMessage(email));
+            email.setStatus(EmailOutbox.Status.SENT);
+            email.setSentAt(new Date());
+            email.setLastError(null);
+        } catch (SendFailedException e) {
+            // The server refused the address itself; sending again will not change that
+            Address[] invalid = e.getInvalidAddresses();
+            recordFailure(email, e, invalid != null && invalid.length > 0);
+        } catch (Exception e) {
+            recordFailure(email, e, false);
+        }
+    }
+
+    private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = transportPool.createMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.getHtml());
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), email.getHtml());
+        return message;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception e, boolean permanent) {
+        int attempt = email.getAttempts() + 1;
+        String error = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        email.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (permanent || attempt >= maxAttempts) {
+            email.setStatus(EmailOutbox.Status.FAILED);
+            log.error("Email {} to {} failed after {} attempts: {}", email.getEmailId(), email.getRecipient(), attempt, error);
+            return;
+        }
+        // initial, 2x, 4x, ... capped at the maximum backoff
+        long backoff = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempt - 1, 30));
+        email.setStatus(EmailOutbox.Status.PENDING);
+        email.setNextAttemptAt(new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(backoff)));
+        log.warn("Email {} attempt {} failed, retrying in {} s: {}", email.getEmailId(), attempt, backoff, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tss.bank.mail;
+
+import java.util.Map;
+
+/** One recipient of a templated batch and the values for the template's placeholders. */
+public record EmailRecipient(String email, Map<String, String> values) {
+
+    public EmailRecipient {
+        values = values != null ? values : Map.of();
+    }
+}
@@ -0,0 +1,106 @@
+package com.tss.bank.mail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Subject and body with {@code {{name}}} placeholders, split into literal and variable
+ * segments once when the template is compiled. Rendering only appends segments to a
+ * presized builder, so a broadcast does not rescan a large HTML body for every recipient.
+ * Values placed into an HTML body are HTML-escaped; subjects are plain text.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final boolean html;
+    private final Compiled subject;
+    private final Compiled body;
+    private final Set<String> variables;
+
+    private EmailTemplate(String name, boolean html, Compiled subject, Compiled body) {
+        this.name = name;
+        this.html = html;
+        this.subject = subject;
+        this.body = body;
+        Set<String> names = new LinkedHashSet<>(subject.variableNames());
+        names.addAll(body.variableNames());
+        this.variables = Set.copyOf(names);
+    }
+
+    public static EmailTemplate compile(String name, String subject, String body, boolean html) {
+        return new EmailTemplate(name, html, Compiled.parse(name, subject), Compiled.parse(name, body));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    /** Throws {@link IllegalArgumentException} naming the first variable without a value. */
+    public String renderSubject(Map<String, String> values) {
+        return subject.render(name, values, false);
+    }
+
+    public String renderBody(Map<String, String> values) {
+        return body.render(name, values, html);
+    }
+
+    // Literal i is followed by variable i; there is one more literal than variables
+    private record Compiled(String[] literals, String[] variables, int literalLength) {
+
+        static Compiled parse(String templateName, String text) {
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
+            int literalLength = 0;
+            int from = 0;
+            int open;
+            while ((open = text.indexOf(OPEN, from)) >= 0) {
+                int close = text.indexOf(CLOSE, open + OPEN.length());
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder in email template " + templateName);
+                }
+                String literal = text.substring(from, open);
+                literals.add(literal);
+                literalLength += literal.length();
+                variables.add(text.substring(open + OPEN.length(), close).trim());
+                from = close + CLOSE.length();
+            }
+            String tail = text.substring(from);
+            literals.add(tail);
+            literalLength += tail.length();
+            return new Compiled(literals.toArray(String[]::new), variables.toArray(String[]::new), literalLength);
+        }
+
+        List<String> variableNames() {
+            return List.of(variables);
+        }
+
+        String render(String templateName, Map<String, String> values, boolean escapeHtml) {
+            StringBuilder out = new StringBuilder(literalLength + variables.length * 32);
+            for (int i = 0; i < variables.length; i++) {
+                out.append(literals[i]);
+                String value = values.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing value for " + variables[i] + " in email template " + templateName);
+                }
+                out.append(escapeHtml ? HtmlUtils.htmlEscape(value) : value);
+            }
+            return out.append(literals[variables.length]).toString();
+        }
+    }
+}
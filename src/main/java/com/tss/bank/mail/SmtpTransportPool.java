@@ -0,0 +1,183 @@
+package com.tss.bank.mail;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Fixed set of SMTP connections shared by the email dispatcher. A connection stays open
+ * between messages, so a batch pays for connect, EHLO, STARTTLS and AUTH once rather than
+ * once per email; it is reopened after {@code max-messages-per-connection} messages, after
+ * sitting idle longer than the server is likely to keep it, or after a transport error.
+ * Sends across all connections are spaced to stay under the provider's rate limit.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Value("${email.smtp.pool-size:4}")
+    private int poolSize;
+
+    @Value("${email.smtp.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMillis;
+
+    @Value("${email.smtp.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${email.smtp.idle-timeout-seconds:30}")
+    private long idleTimeoutSeconds;
+
+    // Zero disables throttling
+    @Value("${email.smtp.max-per-second:10}")
+    private int maxPerSecond;
+
+    private BlockingQueue<Connection> idle;
+    // Earliest System.nanoTime() at which the next message may go out
+    private final AtomicLong nextSendNanos = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    void init() throws NoSuchProviderException {
+        idle = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            idle.add(new Connection(mailSender.getSession().getTransport(mailSender.getProtocol())));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.disconnect();
+        }
+    }
+
+    public MimeMessage createMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /** Waits for a free connection; close the returned connection to hand it back. */
+    public Connection borrow() throws MessagingException {
+        try {
+            Connection connection = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new MessagingException("No SMTP connection became free within " + borrowTimeoutMillis + " ms");
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    public int available() {
+        return idle.size();
+    }
+
+    private void throttle() throws MessagingException {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        long now = System.nanoTime();
+        long slot = Math.max(now, nextSendNanos.getAndAccumulate(now, (next, at) -> Math.max(next, at) + interval));
+        try {
+            TimeUnit.NANOSECONDS.sleep(slot - now);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while throttling email sends", e);
+        }
+    }
+
+    /** One pooled SMTP connection, used by a single thread between borrow and close. */
+    public final class Connection implements AutoCloseable {
+
+        private final Transport transport;
+        // Tracked here because Transport.isConnected() costs a NOOP round trip
+        private boolean connected;
+        private int messagesSent;
+        private long lastUsedMillis;
+        private boolean broken;
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        /**
+         * Sends one message. A {@link SendFailedException} means the server refused this
+         * message's recipients and the connection is still good; any other failure closes
+         * the connection when it is handed back.
+         */
+        public void send(MimeMessage message) throws MessagingException {
+            throttle();
+            connectIfNeeded();
+            message.saveChanges();
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+                messagesSent++;
+                lastUsedMillis = System.currentTimeMillis();
+            } catch (SendFailedException e) {
+                lastUsedMillis = System.currentTimeMillis();
+                throw e;
+            } catch (MessagingException e) {
+                broken = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (broken || messagesSent >= maxMessagesPerConnection) {
+                disconnect();
+            }
+            idle.offer(this);
+        }
+
+        private void connectIfNeeded() throws MessagingException {
+            long idleMillis = System.currentTimeMillis() - lastUsedMillis;
+            if (connected && !broken && messagesSent < maxMessagesPerConnection
+                    && idleMillis < TimeUnit.SECONDS.toMillis(idleTimeoutSeconds)) {
+                return;
+            }
+            disconnect();
+            String username = mailSender.getUsername();
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    username == null || username.isEmpty() ? null : username, mailSender.getPassword());
+            connected = true;
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        private void disconnect() {
+            messagesSent = 0;
+            broken = false;
+            if (!connected) {
+                return;
+            }
+            connected = false;
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error closing SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.tss.bank.projection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.repository.FixedDepositRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Column store of ACTIVE fixed deposits (id, branch, maturity month, maturity amount in
+ * paise) held in primitive arrays sorted by fdId. A projection sums the columns into a
+ * branch x month grid with a fork-join reduction. Booked, matured and closed deposits are
+ * marked dirty after commit and re-read by id on the next refresh; a nightly rebuild
+ * drops the tombstones they leave behind.
+ */
+@Component
+public class FdLiabilityProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(FdLiabilityProjection.class);
+
+    public static final int MAX_MONTHS = 120;
+
+    // Month column value for a deposit that has left the ACTIVE state
+    private static final int TOMBSTONE = Integer.MIN_VALUE;
+    private static final int LEAF_SIZE = 1 << 16;
+    private static final int REFRESH_BATCH = 1000;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Value("${fd-liability.load-page-size:10000}")
+    private int loadPageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serialises rebuild and refresh; the columns lock is only held for the in-memory apply
+    private final ReentrantLock maintenance = new ReentrantLock();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    // Guarded by lock; the first size entries of each column are live
+    private Columns columns = new Columns(16);
+    // Branch id -> dense branch column; index 0 is reserved for accounts without a branch
+    private final Map<Integer, Integer> branchIndex = new HashMap<>();
+    private final List<Integer> branchIds = new ArrayList<>();
+
+    public FdLiabilityProjection() {
+        branchIds.add(null);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    /** Re-reads every ACTIVE deposit into fresh columns, dropping tombstones. */
+    @Scheduled(cron = "${fd-liability.rebuild-cron:0 45 0 * * *}")
+    public void rebuild() {
+        maintenance.lock();
+        try {
+            reload();
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    /** Re-reads deposits changed since the last refresh; cheap when nothing changed. */
+    @Scheduled(fixedDelayString = "${fd-liability.refresh-ms:60000}")
+    public void refresh() {
+        maintenance.lock();
+        try {
+            applyDirty();
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    /**
+     * Refresh for a reader: skipped while a rebuild or another refresh is running, leaving
+     * the changes to the scheduled refresh instead of blocking on the reload.
+     */
+    public boolean tryRefresh() {
+        if (!maintenance.tryLock()) {
+            return false;
+        }
+        try {
+            applyDirty();
+            return true;
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFixedDepositChanged(FixedDepositChangedEvent event) {
+        dirty.add(event.getFdId());
+    }
+
+    /** Sums payouts into a branch x month grid starting at the current month. */
+    public Curve project(int months) {
+        int startMonth = monthOf(new Date());
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            int branches = branchIds.size();
+            Grid grid = ForkJoinPool.commonPool().invoke(
+                    new ProjectionTask(current, 0, current.size, startMonth, months, branches));
+            return new Curve(startMonth, months, Collections.unmodifiableList(new ArrayList<>(branchIds)), grid.amounts, grid.counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int pendingRefreshCount() {
+        return dirty.size();
+    }
+
+    /** Months since year 0 in the system time zone, so consecutive months differ by one. */
+    public static int monthOf(Date date) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return calendar.get(Calendar.YEAR) * 12 + calendar.get(Calendar.MONTH);
+    }
+
+    // Caller holds the maintenance lock
+    private void reload() {
+        long start = System.nanoTime();
+        Columns fresh = new Columns(Math.max(16, size()));
+        int afterId = 0;
+        List<Object[]> page;
+        do {
+            page = fixedDepositRepository.findProjectionRowsAfter(afterId, PageRequest.of(0, loadPageSize));
+            // The fresh columns are private until swapped in; the lock guards the shared branch index
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : page) {
+                    afterId = (Integer) row[0];
+                    if (row[2] != null && row[3] != null) {
+                        fresh.append(afterId, branchColumn((Integer) row[1]), monthOf((Date) row[2]), toPaise((BigDecimal) row[3]));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.size() == loadPageSize);
+
+        lock.writeLock().lock();
+        try {
+            columns = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("FD liability projection loaded {} deposits in {} ms",
+                fresh.size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Caller holds the maintenance lock
+    private void applyDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH) {
+            List<Integer> batch = ids.subList(from, Math.min(from + REFRESH_BATCH, ids.size()));
+            List<Object[]> rows = fixedDepositRepository.findProjectionRowsByIds(batch);
+            lock.writeLock().lock();
+            try {
+                applyRefresh(batch, rows);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyRefresh(Collection<Integer> batch, List<Object[]> rows) {
+        Map<Integer, Object[]> active = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            active.put((Integer) row[0], row);
+        }
+        for (Integer fdId : batch) {
+            Object[] row = active.get(fdId);
+            if (row == null || row[2] == null || row[3] == null) {
+                columns.tombstone(fdId);
+            } else {
+                columns.upsert(fdId, branchColumn((Integer) row[1]), monthOf((Date) row[2]), toPaise((BigDecimal) row[3]));
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private int branchColumn(Integer branchId) {
+        if (branchId == null) {
+            return 0;
+        }
+        return branchIndex.computeIfAbsent(branchId, id -> {
+            branchIds.add(id);
+            return branchIds.size() - 1;
+        });
+    }
+
+    private int liveCount() {
+        Columns current = columns;
+        int live = 0;
+        for (int i = 0; i < current.size; i++) {
+            if (current.months[i] != TOMBSTONE) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Projection result: {@code amounts[branch * months + m]} is the payout in paise for
+     * branch column {@code branch} in month {@code startMonth + m}; {@code branchIds[0]} is null.
+     */
+    public record Curve(int startMonth, int months, List<Integer> branchIds, long[] amounts, long[] counts) {
+    }
+
+    private record Grid(long[] amounts, long[] counts) {
+    }
+
+    private static final class ProjectionTask extends RecursiveTask<Grid> {
+
+        private final Columns columns;
+        private final int from;
+        private final int to;
+        private final int startMonth;
+        private final int months;
+        private final int branches;
+
+        ProjectionTask(Columns columns, int from, int to, int startMonth, int months, int branches) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+            this.startMonth = startMonth;
+            this.months = months;
+            this.branches = branches;
+        }
+
+        @Override
+        protected Grid compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                ProjectionTask left = new ProjectionTask(columns, from, mid, startMonth, months, branches);
+                left.fork();
+                Grid right = new ProjectionTask(columns, mid, to, startMonth, months, branches).compute();
+                Grid merged = left.join();
+                for (int i = 0; i < merged.amounts.length; i++) {
+                    merged.amounts[i] += right.amounts[i];
+                    merged.counts[i] += right.counts[i];
+                }
+                return merged;
+            }
+            long[] amounts = new long[branches * months];
+            long[] counts = new long[branches * months];
+            int[] monthColumn = columns.months;
+            int[] branchColumn = columns.branches;
+            long[] amountColumn = columns.amounts;
+            for (int i = from; i < to; i++) {
+                int month = monthColumn[i];
+                if (month == TOMBSTONE) {
+                    continue;
+                }
+                // Deposits already past maturity but not yet paid out fall in the first month
+                int offset = Math.max(0, month - startMonth);
+                if (offset >= months) {
+                    continue;
+                }
+                int cell = branchColumn[i] * months + offset;
+                amounts[cell] += amountColumn[i];
+                counts[cell]++;
+            }
+            return new Grid(amounts, counts);
+        }
+    }
+
+    private static final class Columns {
+
+        private int[] fdIds;
+        private int[] branches;
+        private int[] months;
+        private long[] amounts;
+        private int size;
+
+        Columns(int capacity) {
+            fdIds = new int[capacity];
+            branches = new int[capacity];
+            months = new int[capacity];
+            amounts = new long[capacity];
+        }
+
+        void append(int fdId, int branch, int month, long amount) {
+            insertAt(size, fdId, branch, month, amount);
+        }
+
+        void upsert(int fdId, int branch, int month, long amount) {
+            int index = Arrays.binarySearch(fdIds, 0, size, fdId);
+            if (index >= 0) {
+                branches[index] = branch;
+                months[index] = month;
+                amounts[index] = amount;
+            } else {
+                // New deposits nearly always have the highest id, so this is usually an append
+                insertAt(-index - 1, fdId, branch, month, amount);
+            }
+        }
+
+        void tombstone(int fdId) {
+            int index = Arrays.binarySearch(fdIds, 0, size, fdId);
+            if (index >= 0) {
+                months[index] = TOMBSTONE;
+                amounts[index] = 0;
+            }
+        }
+
+        private void insertAt(int index, int fdId, int branch, int month, long amount) {
+            if (size == fdIds.length) {
+                int capacity = fdIds.length + (fdIds.length >> 1);
+                fdIds = Arrays.copyOf(fdIds, capacity);
+                branches = Arrays.copyOf(branches, capacity);
+                months = Arrays.copyOf(months, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+            }
+            if (index < size) {
+                System.arraycopy(fdIds, index, fdIds, index + 1, size - index);
+                System.arraycopy(branches, index, branches, index + 1, size - index);
+                System.arraycopy(months, index, months, index + 1, size - index);
+                System.arraycopy(amounts, index, amounts, index + 1, size - index);
+            }
+            fdIds[index] = fdId;
+            branches[index] = branch;
+            months[index] = month;
+            amounts[index] = amount;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.tss.bank.rate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.entity.FdRateCard;
+import com.tss.bank.entity.FdRateSlab;
+import com.tss.bank.event.FdRateCardPublishedEvent;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.repository.FdRateCardRepository;
+import com.tss.bank.repository.FdRateSlabRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serves FD quotes from the current {@link FdRateTable}. The table and the per-tenure
+ * maturity dates for today are immutable snapshots behind volatile references, so a quote
+ * is an array lookup plus one multiply-and-round with no locking.
+ */
+@Component
+public class FdQuoteEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FdQuoteEngine.class);
+
+    // Version 1 reproduces the rates that used to be hard-coded in FixedDepositServiceImpl
+    private static final BigDecimal DEFAULT_SENIOR_CITIZEN_BONUS = new BigDecimal("0.50");
+    private static final BigDecimal DEFAULT_MIN_AMOUNT = new BigDecimal("1000.00");
+
+    private static final int SENIOR_CITIZEN_AGE = 60;
+
+    @Autowired
+    private FdRateCardRepository rateCardRepository;
+
+    @Autowired
+    private FdRateSlabRepository rateSlabRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile FdRateTable table;
+    private volatile MaturityDates maturityDates;
+
+    @PostConstruct
+    void load() {
+        FdRateCard card = rateCardRepository.findTopByOrderByVersionDesc()
+                .orElseGet(this::seedDefaultCard);
+        install(card);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRateCardPublished(FdRateCardPublishedEvent event) {
+        rateCardRepository.findTopByOrderByVersionDesc().ifPresent(this::install);
+    }
+
+    public FdRateTable currentTable() {
+        return table;
+    }
+
+    public BigDecimal rate(BigDecimal amount, int tenureMonths, boolean seniorCitizen) {
+        BigDecimal rate = table.rate(tenureMonths, paise(amount), seniorCitizen);
+        if (rate == null) {
+            throw noRate(amount, tenureMonths);
+        }
+        return rate;
+    }
+
+    public FdQuoteResponse quote(BigDecimal amount, int tenureMonths, boolean seniorCitizen) {
+        FdRateTable current = table;
+        long principal = paise(amount);
+        return quote(current, amount, principal, tenureMonths, seniorCitizen, todaysMaturityDates());
+    }
+
+    /** One quote per tenure the card covers for this amount, shortest tenure first. */
+    public List<FdQuoteResponse> quoteGrid(BigDecimal amount, boolean seniorCitizen) {
+        FdRateTable current = table;
+        long principal = paise(amount);
+        MaturityDates dates = todaysMaturityDates();
+        List<FdQuoteResponse> grid = new ArrayList<>(FdRateTable.MAX_TENURE - FdRateTable.MIN_TENURE + 1);
+        for (int tenure = FdRateTable.MIN_TENURE; tenure <= FdRateTable.MAX_TENURE; tenure++) {
+            if (current.interestPaise(tenure, principal, seniorCitizen) >= 0) {
+                grid.add(quote(current, amount, principal, tenure, seniorCitizen, dates));
+            }
+        }
+        if (grid.isEmpty()) {
+            throw new FixedDepositApiException("No FD rates are available for amount " + amount);
+        }
+        return grid;
+    }
+
+    /** Whether a holder born on this date gets the senior-citizen bonus today. */
+    public static boolean isSeniorCitizen(Date dateOfBirth) {
+        if (dateOfBirth == null) {
+            return false;
+        }
+        LocalDate born = Instant.ofEpochMilli(dateOfBirth.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+        return Period.between(born, LocalDate.now()).getYears() >= SENIOR_CITIZEN_AGE;
+    }
+
+    private FdQuoteResponse quote(FdRateTable current, BigDecimal amount, long principal, int tenureMonths,
+                                  boolean seniorCitizen, MaturityDates dates) {
+        long interest = current.interestPaise(tenureMonths, principal, seniorCitizen);
+        if (interest < 0) {
+            throw noRate(amount, tenureMonths);
+        }
+        return FdQuoteResponse.builder()
+                .amount(amount)
+                .tenureMonths(tenureMonths)
+                .seniorCitizen(seniorCitizen)
+                .interestRate(current.rate(tenureMonths, principal, seniorCitizen))
+                .interestAmount(BigDecimal.valueOf(interest, 2))
+                .maturityAmount(BigDecimal.valueOf(principal + interest, 2))
+                .maturityDate(new Date(dates.millis[tenureMonths - FdRateTable.MIN_TENURE]))
+                .rateCardVersion(current.getVersion())
+                .build();
+    }
+
+    private void install(FdRateCard card) {
+        List<FdRateSlab> slabs = rateSlabRepository.findByRateCardIdOrderByMinTenureMonthsAscMinAmountAsc(card.getRateCardId());
+        table = FdRateTable.build(card.getVersion(), card.getSeniorCitizenBonus(), slabs);
+        log.info("FD rate card version {} loaded with {} slabs", card.getVersion(), slabs.size());
+    }
+
+    private FdRateCard seedDefaultCard() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            FdRateCard card = rateCardRepository.save(FdRateCard.builder()
+                    .version(1)
+                    .seniorCitizenBonus(DEFAULT_SENIOR_CITIZEN_BONUS)
+                    .createdAt(new Date())
+                    .build());
+            rateSlabRepository.saveAll(List.of(
+                    slab(card, 6, 11, "6.50"),
+                    slab(card, 12, 23, "7.00"),
+                    slab(card, 24, 35, "7.50"),
+                    slab(card, 36, FdRateTable.MAX_TENURE, "8.00")));
+            log.info("Seeded default FD rate card");
+            return card;
+        });
+    }
+
+    private FdRateSlab slab(FdRateCard card, int minTenure, int maxTenure, String rate) {
+        return FdRateSlab.builder()
+                .rateCardId(card.getRateCardId())
+                .minTenureMonths(minTenure)
+                .maxTenureMonths(maxTenure)
+                .minAmount(DEFAULT_MIN_AMOUNT)
+                .rate(new BigDecimal(rate))
+                .build();
+    }
+
+    // Recomputed at most once a day, on the first quote after midnight
+    private MaturityDates todaysMaturityDates() {
+        MaturityDates dates = maturityDates;
+        long now = System.currentTimeMillis();
+        if (dates == null || now >= dates.validUntil) {
+            dates = MaturityDates.forToday();
+            maturityDates = dates;
+        }
+        return dates;
+    }
+
+    private static long paise(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new FixedDepositApiException("Amount must be greater than zero");
+        }
+        try {
+            return FdRateTable.toPaise(amount);
+        } catch (ArithmeticException e) {
+            throw new FixedDepositApiException("Amount can have at most two decimal places");
+        }
+    }
+
+    private static FixedDepositApiException noRate(BigDecimal amount, int tenureMonths) {
+        if (!FdRateTable.inRange(tenureMonths)) {
+            return new FixedDepositApiException("FD tenure must be between " + FdRateTable.MIN_TENURE
+                    + " and " + FdRateTable.MAX_TENURE + " months");
+        }
+        return new FixedDepositApiException("No FD rate for amount " + amount + " and tenure " + tenureMonths + " months");
+    }
+
+    private static final class MaturityDates {
+        private final long[] millis;
+        private final long validUntil;
+
+        private MaturityDates(long[] millis, long validUntil) {
+            this.millis = millis;
+            this.validUntil = validUntil;
+        }
+
+        static MaturityDates forToday() {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate today = LocalDate.now(zone);
+            long[] millis = new long[FdRateTable.MAX_TENURE - FdRateTable.MIN_TENURE + 1];
+            Calendar calendar = Calendar.getInstance();
+            for (int i = 0; i < millis.length; i++) {
+                calendar.setTimeInMillis(today.atStartOfDay(zone).toInstant().toEpochMilli());
+                calendar.add(Calendar.MONTH, FdRateTable.MIN_TENURE + i);
+                millis[i] = calendar.getTimeInMillis();
+            }
+            long validUntil = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            return new MaturityDates(millis, validUntil);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.tss.bank.rate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.tss.bank.entity.FdRateSlab;
+
+/**
+ * Immutable lookup table built from one rate card: for every tenure and amount slab it
+ * holds the rate and the precomputed interest factor R * round(T / 12, 4) / 100 scaled by
+ * 10^8, so interest on a principal in paise is one multiply and one rounding division.
+ * This matches the existing simple-interest formula exactly.
+ */
+public final class FdRateTable {
+
+    public static final int MIN_TENURE = 6;
+    public static final int MAX_TENURE = 120;
+
+    static final long FACTOR_SCALE = 100_000_000L;
+
+    private final int version;
+    private final BigDecimal seniorCitizenBonus;
+    // Ascending slab floors in paise; index i covers [floors[i], floors[i + 1])
+    private final long[] amountFloors;
+    // [senior ? 1 : 0][tenure - MIN_TENURE][slab]; null / -1 where no slab applies
+    private final BigDecimal[][][] rates;
+    private final long[][][] factors;
+
+    private FdRateTable(int version, BigDecimal seniorCitizenBonus, long[] amountFloors,
+                        BigDecimal[][][] rates, long[][][] factors) {
+        this.version = version;
+        this.seniorCitizenBonus = seniorCitizenBonus;
+        this.amountFloors = amountFloors;
+        this.rates = rates;
+        this.factors = factors;
+    }
+
+    public static FdRateTable build(int version, BigDecimal seniorCitizenBonus, List<FdRateSlab> slabs) {
+        TreeSet<Long> floors = new TreeSet<>();
+        for (FdRateSlab slab : slabs) {
+            floors.add(toPaise(slab.getMinAmount()));
+        }
+        long[] amountFloors = floors.stream().mapToLong(Long::longValue).toArray();
+
+        int tenures = MAX_TENURE - MIN_TENURE + 1;
+        BigDecimal[][][] rates = new BigDecimal[2][tenures][amountFloors.length];
+        long[][][] factors = new long[2][tenures][amountFloors.length];
+        BigDecimal bonus = seniorCitizenBonus.setScale(2, RoundingMode.HALF_UP);
+
+        for (int t = 0; t < tenures; t++) {
+            int tenure = MIN_TENURE + t;
+            long years = yearsScaled(tenure);
+            for (int a = 0; a < amountFloors.length; a++) {
+                BigDecimal rate = rateFor(slabs, tenure, amountFloors[a]);
+                for (int senior = 0; senior < 2; senior++) {
+                    if (rate == null) {
+                        factors[senior][t][a] = -1;
+                        continue;
+                    }
+                    BigDecimal effective = senior == 1 ? rate.add(bonus) : rate;
+                    rates[senior][t][a] = effective;
+                    // R (scale 2) * T (scale 4) is already R * T / 100 at scale 8
+                    factors[senior][t][a] = effective.unscaledValue().longValueExact() * years;
+                }
+            }
+        }
+        return new FdRateTable(version, bonus, amountFloors, rates, factors);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public BigDecimal getSeniorCitizenBonus() {
+        return seniorCitizenBonus;
+    }
+
+    /** Rate for the tenure and amount, or null when the card has no slab for them. */
+    public BigDecimal rate(int tenureMonths, long principalPaise, boolean seniorCitizen) {
+        int slab = slabIndex(principalPaise);
+        if (slab < 0 || !inRange(tenureMonths)) {
+            return null;
+        }
+        return rates[seniorCitizen ? 1 : 0][tenureMonths - MIN_TENURE][slab];
+    }
+
+    /** Interest in paise, rounded half-up, or -1 when the card has no slab for the tenure and amount. */
+    public long interestPaise(int tenureMonths, long principalPaise, boolean seniorCitizen) {
+        int slab = slabIndex(principalPaise);
+        if (slab < 0 || !inRange(tenureMonths)) {
+            return -1;
+        }
+        long factor = factors[seniorCitizen ? 1 : 0][tenureMonths - MIN_TENURE][slab];
+        if (factor < 0) {
+            return -1;
+        }
+        if (factor != 0 && principalPaise > (Long.MAX_VALUE - FACTOR_SCALE / 2) / factor) {
+            // Only very large principals overflow the long product
+            return BigDecimal.valueOf(principalPaise).multiply(BigDecimal.valueOf(factor))
+                    .divide(BigDecimal.valueOf(FACTOR_SCALE), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return (principalPaise * factor + FACTOR_SCALE / 2) / FACTOR_SCALE;
+    }
+
+    public static boolean inRange(int tenureMonths) {
+        return tenureMonths >= MIN_TENURE && tenureMonths <= MAX_TENURE;
+    }
+
+    public static long toPaise(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private int slabIndex(long principalPaise) {
+        int index = Arrays.binarySearch(amountFloors, principalPaise);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    // round(tenure / 12, 4) * 10^4, the same rounding as the original calculation
+    private static long yearsScaled(int tenure) {
+        return new BigDecimal(tenure).divide(new BigDecimal("12"), 4, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+
+    // Slab covering the tenure with the highest minimum amount not above the floor
+    private static BigDecimal rateFor(List<FdRateSlab> slabs, int tenure, long floorPaise) {
+        FdRateSlab best = null;
+        for (FdRateSlab slab : slabs) {
+            if (tenure < slab.getMinTenureMonths() || tenure > slab.getMaxTenureMonths()) {
+                continue;
+            }
+            long min = toPaise(slab.getMinAmount());
+            if (min <= floorPaise && (best == null || min > toPaise(best.getMinAmount()))) {
+                best = slab;
+            }
+        }
+        return best == null ? null : best.getRate().setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,19 @@
+package com.tss.bank.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.AccountNumberSequence;
+
+import jakarta.persistence.LockModeType;
+
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountNumberSequence s WHERE s.sequenceName = :name")
+    Optional<AccountNumberSequence> findForUpdate(@Param("name") String name);
+}
@@ -1,33 +1,107 @@
 package com.tss.bank.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.tss.bank.cache.AccountMetadata;
+import com.tss.bank.cache.BalanceSnapshot;
 import com.tss.bank.entity.Account;
 
+import jakarta.persistence.LockModeType;
+
 public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     Optional<Account> findByAccountNumber(String accountNumber);
     
     List<Account> findByUserUserId(Integer userId);
     
+    @EntityGraph("Account.withUser")
+    Optional<Account> findWithUserByAccountId(Integer accountId);
+    
     boolean existsByAccountNumber(String accountNumber);
     
+    @Query("SELECT new com.tss.bank.cache.AccountMetadata(a.accountId, a.accountNumber, u.userId, a.status, b.branchId) " +
+           "FROM Account a LEFT JOIN a.user u LEFT JOIN a.branch b WHERE a.accountId = :accountId")
+    Optional<AccountMetadata> findMetadataById(@Param("accountId") Integer accountId);
+    
+    @Query("SELECT new com.tss.bank.cache.AccountMetadata(a.accountId, a.accountNumber, u.userId, a.status, b.branchId) " +
+           "FROM Account a LEFT JOIN a.user u LEFT JOIN a.branch b WHERE a.accountNumber = :accountNumber")
+    Optional<AccountMetadata> findMetadataByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // Locks in id order so concurrent batch writers cannot deadlock on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :accountIds ORDER BY a.accountId ASC")
+    List<Account> findAllForUpdate(@Param("accountIds") Collection<Integer> accountIds);
+    
+    // Balance writers load through this so concurrent postings serialise and each commit
+    // publishes a distinct balance version
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Integer accountId);
+    
     boolean existsByAccountIdAndUserUserId(Integer accountId, Integer userId);
     
     List<Account> findByBalanceGreaterThanEqual(BigDecimal balance);
     
+    @Query("SELECT new com.tss.bank.cache.BalanceSnapshot(a.accountId, a.balance, a.balanceVersion, " +
+           "COALESCE((SELECT MAX(t.txnTime) FROM Transaction t WHERE t.account = a), a.createdAt)) " +
+           "FROM Account a WHERE a.accountId = :accountId")
+    Optional<BalanceSnapshot> findBalanceSnapshot(@Param("accountId") Integer accountId);
+    
+    // Keyset page of (accountId, balance, balanceVersion) rows for the balance range index load
+    @Query("SELECT a.accountId, a.balance, a.balanceVersion FROM Account a WHERE a.accountId > :afterId ORDER BY a.accountId ASC")
+    List<Object[]> findBalanceRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+    
+    @Query("SELECT a.accountId, a.status FROM Account a WHERE a.status <> com.tss.bank.entity.Account.Status.ACTIVE")
+    List<Object[]> findNonActiveStatuses();
+    
+    @Query("SELECT a.user.userId, MIN(a.accountId) FROM Account a WHERE a.user.userId IN :userIds " +
+           "AND a.status = com.tss.bank.entity.Account.Status.ACTIVE GROUP BY a.user.userId")
+    List<Object[]> findOldestActiveAccountIds(@Param("userIds") Collection<Integer> userIds);
+    
+    @Query("SELECT a.accountId FROM Account a WHERE a.user.userId = :userId")
+    List<Integer> findAccountIdsByUserId(@Param("userId") Integer userId);
+    
     @Query("SELECT SUM(a.balance) FROM Account a WHERE a.user.userId = :userId")
     BigDecimal getTotalBalanceByUserId(@Param("userId") Integer userId);
     
+    // Rows of (userId, SUM(balance), COUNT(*)) for the given users
+    @Query("SELECT a.user.userId, COALESCE(SUM(a.balance), 0), COUNT(a) FROM Account a " +
+           "WHERE a.user.userId IN :userIds GROUP BY a.user.userId")
+    List<Object[]> sumBalancesByUserIds(@Param("userIds") Collection<Integer> userIds);
+    
     @Query("SELECT COUNT(a) FROM Account a WHERE a.balance >= :minBalance")
     long countByBalanceGreaterThanEqual(@Param("minBalance") BigDecimal minBalance);
     
     @Query("SELECT a FROM Account a WHERE a.user.userId = :userId AND a.balance >= :minBalance")
     List<Account> findByUserIdAndMinBalance(@Param("userId") Integer userId, @Param("minBalance") BigDecimal minBalance);
+    
+    @Query("SELECT MIN(a.accountId) FROM Account a")
+    Integer findMinAccountId();
+    
+    @Query("SELECT MAX(a.accountId) FROM Account a")
+    Integer findMaxAccountId();
+    
+    // Ledger balance next to the balance its postings explain, one row per account in the ID range:
+    // the net of all CREDIT/DEBIT rows, less FD principal booked from the account, plus FD payouts.
+    // FD movements change the balance without writing a transactions row.
+    @Query("SELECT a.accountId, a.accountNumber, a.balance, " +
+           "COALESCE((SELECT SUM(CASE WHEN t.txnType = 'CREDIT' THEN t.amount ELSE -t.amount END) " +
+           "          FROM Transaction t WHERE t.account = a), 0) " +
+           "- COALESCE((SELECT SUM(f.amount) FROM FixedDeposit f " +
+           "            WHERE f.account = a AND f.status <> 'PENDING'), 0) " +
+           "+ COALESCE((SELECT SUM(f.maturityAmount) FROM FixedDeposit f " +
+           "            WHERE f.account = a AND f.status IN ('MATURED', 'EARLY_CLOSE')), 0) " +
+           "FROM Account a " +
+           "WHERE a.accountId BETWEEN :fromId AND :toId")
+    List<Object[]> findBalanceAndTransactionNetInRange(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
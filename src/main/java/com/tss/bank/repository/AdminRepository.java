@@ -1,8 +1,10 @@
 package com.tss.bank.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.tss.bank.entity.Admin;
 
@@ -15,4 +17,7 @@ public interface AdminRepository extends JpaRepository<Admin, Integer> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT a.adminId FROM Admin a ORDER BY a.adminId")
+    List<Integer> findAllAdminIds();
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface BranchRepository extends JpaRepository<Branch, Integer> {
     
     Optional<Branch> findByBranchCode(String branchCode);
     
+    List<Branch> findByBranchCodeIn(Collection<String> branchCodes);
+    
     Optional<Branch> findByIfscCode(String ifscCode);
     
     List<Branch> findByStatus(Branch.Status status);
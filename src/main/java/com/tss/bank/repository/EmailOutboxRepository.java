@@ -0,0 +1,29 @@
+package com.tss.bank.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.EmailOutbox;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.emailId FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") EmailOutbox.Status status, @Param("now") Date now, Pageable pageable);
+
+    // Conditional update, so only one dispatcher (on any instance) wins a row
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :to, e.claimedAt = :now WHERE e.emailId = :emailId AND e.status = :from")
+    int claim(@Param("emailId") Long emailId, @Param("from") EmailOutbox.Status from,
+              @Param("to") EmailOutbox.Status to, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :to WHERE e.status = :from AND e.claimedAt < :cutoff")
+    int releaseStaleClaims(@Param("from") EmailOutbox.Status from, @Param("to") EmailOutbox.Status to,
+                           @Param("cutoff") Date cutoff);
+}
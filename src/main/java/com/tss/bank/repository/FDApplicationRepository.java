@@ -1,12 +1,20 @@
 package com.tss.bank.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.tss.bank.entity.FDApplication;
 
+import jakarta.persistence.LockModeType;
+
 public interface FDApplicationRepository extends JpaRepository<FDApplication, Integer> {
 
     List<FDApplication> findByUserId(Integer userId);
@@ -20,4 +28,17 @@ public interface FDApplicationRepository extends JpaRepository<FDApplication, In
     List<FDApplication> findByAmountGreaterThanEqual(BigDecimal minAmount);
     
     Long countByStatus(FDApplication.Status status);
+    
+    // Keyset page of PENDING application ids for batch approval; null filters match everything
+    @Query("SELECT f.fdAppId FROM FDApplication f WHERE f.status = 'PENDING' AND f.fdAppId > :afterId " +
+           "AND (:minAmount IS NULL OR f.amount >= :minAmount) AND (:maxAmount IS NULL OR f.amount <= :maxAmount) " +
+           "AND (:appliedBefore IS NULL OR f.applicationDate < :appliedBefore) ORDER BY f.fdAppId ASC")
+    List<Integer> findPendingIdsAfter(@Param("afterId") Integer afterId, @Param("minAmount") BigDecimal minAmount,
+                                      @Param("maxAmount") BigDecimal maxAmount, @Param("appliedBefore") Date appliedBefore,
+                                      Pageable pageable);
+    
+    // Applications approved or rejected since they were selected drop out
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FDApplication f WHERE f.fdAppId IN :fdAppIds AND f.status = 'PENDING' ORDER BY f.fdAppId ASC")
+    List<FDApplication> findPendingForUpdate(@Param("fdAppIds") Collection<Integer> fdAppIds);
 }
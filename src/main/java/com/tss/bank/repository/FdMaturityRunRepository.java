@@ -0,0 +1,14 @@
+package com.tss.bank.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tss.bank.entity.FdMaturityRun;
+
+public interface FdMaturityRunRepository extends JpaRepository<FdMaturityRun, Integer> {
+
+    Optional<FdMaturityRun> findTopByOrderByRunIdDesc();
+    
+    Optional<FdMaturityRun> findTopByStatusOrderByRunIdDesc(FdMaturityRun.Status status);
+}
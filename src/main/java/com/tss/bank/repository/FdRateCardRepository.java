@@ -0,0 +1,14 @@
+package com.tss.bank.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tss.bank.entity.FdRateCard;
+
+public interface FdRateCardRepository extends JpaRepository<FdRateCard, Integer> {
+
+    Optional<FdRateCard> findTopByOrderByVersionDesc();
+    
+    Optional<FdRateCard> findByVersion(Integer version);
+}
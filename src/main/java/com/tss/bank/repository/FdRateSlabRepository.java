@@ -0,0 +1,12 @@
+package com.tss.bank.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tss.bank.entity.FdRateSlab;
+
+public interface FdRateSlabRepository extends JpaRepository<FdRateSlab, Integer> {
+
+    List<FdRateSlab> findByRateCardIdOrderByMinTenureMonthsAscMinAmountAsc(Integer rateCardId);
+}
@@ -1,30 +1,78 @@
 package com.tss.bank.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.tss.bank.entity.FixedDeposit;
 
+import jakarta.persistence.LockModeType;
+
 public interface FixedDepositRepository extends JpaRepository<FixedDeposit, Integer> {
 
     List<FixedDeposit> findByAccountAccountId(Integer accountId);
     
+    @EntityGraph("FixedDeposit.withAccount")
+    Optional<FixedDeposit> findWithAccountByFdId(Integer fdId);
+    
     List<FixedDeposit> findByStatus(FixedDeposit.Status status);
     
     List<FixedDeposit> findByAccountUserUserId(Integer userId);
     
+    @EntityGraph("FixedDeposit.withAccount")
     @Query("SELECT fd FROM FixedDeposit fd WHERE fd.maturityDate <= :date AND fd.status = 'ACTIVE'")
     List<FixedDeposit> findMaturedDeposits(@Param("date") Date date);
     
+    // Keyset page of ACTIVE deposit ids that matured on or before asOf
+    @Query("SELECT fd.fdId FROM FixedDeposit fd WHERE fd.status = 'ACTIVE' AND fd.maturityDate <= :asOf " +
+           "AND fd.fdId > :afterId ORDER BY fd.fdId ASC")
+    List<Integer> findMaturedIdsAfter(@Param("asOf") Date asOf, @Param("afterId") Integer afterId, Pageable pageable);
+    
+    // Keyset page of (fdId, maturityDate) for ACTIVE deposits maturing in (from, to], for the maturity calendar
+    @Query("SELECT fd.fdId, fd.maturityDate FROM FixedDeposit fd WHERE fd.status = 'ACTIVE' " +
+           "AND fd.maturityDate > :from AND fd.maturityDate <= :to AND fd.fdId > :afterId ORDER BY fd.fdId ASC")
+    List<Object[]> findMaturityRowsBetween(@Param("from") Date from, @Param("to") Date to,
+                                           @Param("afterId") Integer afterId, Pageable pageable);
+    
+    @Query("SELECT fd.fdId FROM FixedDeposit fd WHERE fd.user.userId = :userId")
+    List<Integer> findFdIdsByUserId(@Param("userId") Integer userId);
+    
+    // Keyset page of (fdId, branchId, maturityDate, maturityAmount) for ACTIVE deposits, for the liability projection
+    @Query("SELECT fd.fdId, b.branchId, fd.maturityDate, fd.maturityAmount FROM FixedDeposit fd " +
+           "JOIN fd.account a LEFT JOIN a.branch b WHERE fd.status = 'ACTIVE' AND fd.fdId > :afterId ORDER BY fd.fdId ASC")
+    List<Object[]> findProjectionRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+    
+    @Query("SELECT fd.fdId, b.branchId, fd.maturityDate, fd.maturityAmount FROM FixedDeposit fd " +
+           "JOIN fd.account a LEFT JOIN a.branch b WHERE fd.status = 'ACTIVE' AND fd.fdId IN :fdIds")
+    List<Object[]> findProjectionRowsByIds(@Param("fdIds") Collection<Integer> fdIds);
+    
+    // Serialises manual closes with the maturity engine, which locks the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fd FROM FixedDeposit fd WHERE fd.fdId = :fdId")
+    Optional<FixedDeposit> findByIdForUpdate(@Param("fdId") Integer fdId);
+    
+    // Locks the deposits only; rows closed or matured since the id scan drop out
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fd FROM FixedDeposit fd WHERE fd.fdId IN :fdIds AND fd.status = 'ACTIVE' AND fd.maturityDate <= :asOf")
+    List<FixedDeposit> findMaturedForUpdate(@Param("fdIds") Collection<Integer> fdIds, @Param("asOf") Date asOf);
+    
     @Query("SELECT SUM(fd.amount) FROM FixedDeposit fd WHERE fd.account.accountId = :accountId AND fd.status = 'ACTIVE'")
     BigDecimal getTotalActiveDepositsByAccount(@Param("accountId") Integer accountId);
     
+    // Rows of (userId, SUM(amount)) over ACTIVE deposits for the given users
+    @Query("SELECT fd.user.userId, COALESCE(SUM(fd.amount), 0) FROM FixedDeposit fd " +
+           "WHERE fd.status = 'ACTIVE' AND fd.user.userId IN :userIds GROUP BY fd.user.userId")
+    List<Object[]> sumActiveDepositsByUserIds(@Param("userIds") Collection<Integer> userIds);
+    
     @Query("SELECT COUNT(fd) FROM FixedDeposit fd WHERE fd.status = :status")
     long countByStatus(@Param("status") FixedDeposit.Status status);
     
@@ -0,0 +1,32 @@
+package com.tss.bank.repository;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.NotificationCounter;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Integer> {
+
+    // Atomic in-place adjustment; a return of 0 means the user has no counter row yet
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount + :unreadDelta, " +
+           "c.totalCount = c.totalCount + :totalDelta, c.updatedAt = :now WHERE c.userId = :userId")
+    int applyDelta(@Param("userId") Integer userId,
+                   @Param("unreadDelta") long unreadDelta,
+                   @Param("totalDelta") long totalDelta,
+                   @Param("now") Date now);
+
+    // One new notification for each of these users
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount + 1, c.totalCount = c.totalCount + 1, " +
+           "c.updatedAt = :now WHERE c.userId IN :userIds")
+    int incrementAll(@Param("userIds") Collection<Integer> userIds, @Param("now") Date now);
+
+    @Query("SELECT COALESCE(SUM(c.unreadCount), 0) FROM NotificationCounter c")
+    long sumUnreadCounts();
+}
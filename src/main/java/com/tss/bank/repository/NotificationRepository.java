@@ -0,0 +1,86 @@
+package com.tss.bank.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.Notification;
+
+public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+
+    // Inbox pages, newest first: pass the last id of one page as beforeId to read the next
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.notificationId < :beforeId " +
+           "ORDER BY n.notificationId DESC")
+    List<Notification> findUserInbox(@Param("userId") Integer userId, @Param("beforeId") Integer beforeId,
+                                     Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.isRead = :isRead " +
+           "AND n.notificationId < :beforeId ORDER BY n.notificationId DESC")
+    List<Notification> findUserInboxByRead(@Param("userId") Integer userId, @Param("isRead") boolean isRead,
+                                           @Param("beforeId") Integer beforeId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.type = :type " +
+           "AND n.notificationId < :beforeId ORDER BY n.notificationId DESC")
+    List<Notification> findUserInboxByType(@Param("userId") Integer userId, @Param("type") String type,
+                                           @Param("beforeId") Integer beforeId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.sentAt >= :from AND n.sentAt < :to " +
+           "AND n.notificationId < :beforeId ORDER BY n.notificationId DESC")
+    List<Notification> findUserInboxSentBetween(@Param("userId") Integer userId, @Param("from") Date from,
+                                                @Param("to") Date to, @Param("beforeId") Integer beforeId,
+                                                Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.adminId = :adminId AND n.notificationId < :beforeId " +
+           "ORDER BY n.notificationId DESC")
+    List<Notification> findAdminInbox(@Param("adminId") Integer adminId, @Param("beforeId") Integer beforeId,
+                                      Pageable pageable);
+
+    long countBySentAtGreaterThanEqual(Date sentAt);
+
+    // Conditional state changes: the row count says whether the user's unread counter moves
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.notificationId = :notificationId " +
+           "AND n.isRead = false")
+    int markRead(@Param("notificationId") Integer notificationId, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = false, n.readAt = null WHERE n.notificationId = :notificationId " +
+           "AND n.isRead = true")
+    int markUnread(@Param("notificationId") Integer notificationId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now WHERE n.userId = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Integer userId, @Param("now") Date now);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.notificationId = :notificationId")
+    int deleteNotification(@Param("notificationId") Integer notificationId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.notificationId = :notificationId AND n.isRead = :isRead")
+    int deleteNotificationInState(@Param("notificationId") Integer notificationId, @Param("isRead") boolean isRead);
+
+    // Deleted separately by read state, so the unread counter moves by exactly what was removed
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.isRead = :isRead")
+    int deleteUserNotifications(@Param("userId") Integer userId, @Param("isRead") boolean isRead);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.isRead = :isRead AND n.sentAt < :cutoff")
+    int deleteUserNotificationsSentBefore(@Param("userId") Integer userId, @Param("isRead") boolean isRead,
+                                          @Param("cutoff") Date cutoff);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.adminId IS NOT NULL AND n.sentAt < :cutoff")
+    int deleteAdminNotificationsSentBefore(@Param("cutoff") Date cutoff);
+
+    @Query("SELECT DISTINCT n.userId FROM Notification n WHERE n.sentAt < :cutoff AND n.userId > :afterUserId " +
+           "ORDER BY n.userId ASC")
+    List<Integer> findUserIdsWithNotificationsSentBefore(@Param("cutoff") Date cutoff,
+                                                         @Param("afterUserId") Integer afterUserId, Pageable pageable);
+}
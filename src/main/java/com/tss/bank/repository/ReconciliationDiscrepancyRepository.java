@@ -0,0 +1,14 @@
+package com.tss.bank.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tss.bank.entity.ReconciliationDiscrepancy;
+
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+
+    Page<ReconciliationDiscrepancy> findByRunId(Integer runId, Pageable pageable);
+
+    long countByRunId(Integer runId);
+}
@@ -0,0 +1,12 @@
+package com.tss.bank.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tss.bank.entity.ReconciliationRun;
+
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Integer> {
+
+    Optional<ReconciliationRun> findTopByOrderByRunIdDesc();
+}
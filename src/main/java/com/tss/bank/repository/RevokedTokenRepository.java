@@ -0,0 +1,25 @@
+package com.tss.bank.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    long countByExpiresAtAfter(Date now);
+
+    // Keyset page of jtis that still need to be rejected
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now AND r.jti > :afterJti ORDER BY r.jti")
+    List<String> findLiveJtisAfter(@Param("now") Date now, @Param("afterJti") String afterJti, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
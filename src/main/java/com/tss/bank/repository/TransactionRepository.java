@@ -7,6 +7,7 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +24,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     
     Page<Transaction> findByAccountUserUserIdOrderByTxnTimeDesc(Integer userId, Pageable pageable);
     
+    @EntityGraph("Transaction.withAccount")
+    Optional<Transaction> findWithAccountByTxnId(Integer txnId);
+    
     List<Transaction> findByTxnType(Transaction.TxnType txnType);
     
     List<Transaction> findByChannel(Transaction.Channel channel);
@@ -69,4 +73,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     
     @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId ORDER BY t.txnTime DESC LIMIT 1")
     Optional<Transaction> findTopByAccountAccountIdOrderByTxnTimeDesc(@Param("accountId") Integer accountId);
-}
+    
+    // Keyset page of (txnId, accountId, txnTime, description) rows for the search index load
+    @Query("SELECT t.txnId, t.account.accountId, t.txnTime, t.description FROM Transaction t WHERE t.txnId > :afterId ORDER BY t.txnId ASC")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.tss.bank.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tss.bank.entity.UserBalanceSummary;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserBalanceSummaryRepository extends JpaRepository<UserBalanceSummary, Integer> {
+
+    // Atomic in-place adjustment; a return of 0 means the user has no summary row yet
+    @Modifying
+    @Query("UPDATE UserBalanceSummary s SET s.totalBalance = s.totalBalance + :balanceDelta, " +
+           "s.accountCount = s.accountCount + :accountDelta, s.activeFdTotal = s.activeFdTotal + :fdDelta, " +
+           "s.updatedAt = :now WHERE s.userId = :userId")
+    int applyDelta(@Param("userId") Integer userId,
+                   @Param("balanceDelta") BigDecimal balanceDelta,
+                   @Param("accountDelta") int accountDelta,
+                   @Param("fdDelta") BigDecimal fdDelta,
+                   @Param("now") Date now);
+
+    @Query("SELECT s.userId FROM UserBalanceSummary s WHERE s.userId > :afterUserId ORDER BY s.userId ASC")
+    List<Integer> findUserIdsAfter(@Param("afterUserId") Integer afterUserId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserBalanceSummary s WHERE s.userId IN :userIds")
+    List<UserBalanceSummary> findAllForUpdate(@Param("userIds") Collection<Integer> userIds);
+}
@@ -1,5 +1,6 @@
 package com.tss.bank.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,8 +28,16 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     
     List<User> findByStatus(User.Status status);
     
+    // Rows of (userId, status) for the given users
+    @Query("SELECT u.userId, u.status FROM User u WHERE u.userId IN :userIds")
+    List<Object[]> findStatusesByUserIds(@Param("userIds") Collection<Integer> userIds);
+    
     Page<User> findByStatus(User.Status status, Pageable pageable);
     
+    @Query("SELECT u.userId FROM User u WHERE u.status = :status AND u.userId > :afterUserId ORDER BY u.userId ASC")
+    List<Integer> findUserIdsByStatusAfter(@Param("status") User.Status status, @Param("afterUserId") Integer afterUserId,
+                                           Pageable pageable);
+    
     List<User> findByStatusAndApprovedBy(User.Status status, Integer approvedBy);
     
     long countByStatus(User.Status status);
@@ -0,0 +1,21 @@
+package com.tss.bank.security;
+
+import java.security.Principal;
+
+/**
+ * Claims of a verified access token. The JWT filter stores this as the authentication
+ * principal, so ownership checks read the caller's id and role without touching the token.
+ * {@code tokenId} is the jti claim, null for tokens issued before it was added.
+ */
+public record JwtPrincipal(Integer userId, String username, String role, String tokenId,
+                           long expiresAtMillis) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
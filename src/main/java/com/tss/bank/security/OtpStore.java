@@ -0,0 +1,357 @@
+package com.tss.bank.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.entity.OTP;
+import com.tss.bank.repository.OTPRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Live OTPs held in memory, one per (email, type), so issuing and verifying an OTP touch no
+ * table on the request path. Each OTP expires at its own deadline and is discarded after
+ * {@code otp.max-attempts} wrong codes. Inserts and closes are queued and written to
+ * {@code otps} in JDBC batches on a short schedule, which keeps the audit trail and lets
+ * a restart reload OTPs that were still live. Failed-attempt counts are not persisted, so
+ * they start again after a restart.
+ * <p>
+ * The queue is bounded; writes beyond {@code otp.write-behind.max-pending} are dropped and
+ * only cost audit rows. A batch is written in one transaction, so a failure leaves nothing
+ * behind; it is then replayed one row at a time, dropping rows the database rejects outright
+ * and giving up on a row after {@code otp.write-behind.max-retries} failed attempts.
+ */
+@Component
+public class OtpStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OtpStore.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO otps (otp_code, email, created_at, expires_at, is_used, is_verified, otp_type) "
+            + "VALUES (?, ?, ?, ?, false, false, ?)";
+    private static final String CLOSE_SQL = "UPDATE otps SET is_used = true, is_verified = ? WHERE otp_id = ?";
+
+    @Autowired
+    private OTPRepository otpRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${otp.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${otp.write-behind.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${otp.write-behind.max-retries:5}")
+    private int maxRetries;
+
+    private final Map<String, LiveOtp> live = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Write> writes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    // Rows left over from a failed replay, retried ahead of newer writes so row order is kept
+    private List<Write> failed = new ArrayList<>();
+    private TransactionTemplate batchTransaction;
+
+    private enum WriteType { INSERT, CLOSE }
+
+    private static final class Write {
+        private final WriteType type;
+        private final LiveOtp otp;
+        private final boolean verified;
+        // Failed single-row attempts; only touched by the flushing thread
+        private int attempts;
+
+        Write(WriteType type, LiveOtp otp, boolean verified) {
+            this.type = type;
+            this.otp = otp;
+            this.verified = verified;
+        }
+    }
+
+    private static final class LiveOtp {
+        private final String email;
+        private final OTP.OTPType type;
+        private final String code;
+        private final long createdAtMillis;
+        private final long expiresAtMillis;
+        private final AtomicInteger failedAttempts = new AtomicInteger();
+        // Assigned when the insert is flushed; only read by the flushing thread
+        private Integer otpId;
+
+        LiveOtp(String email, OTP.OTPType type, String code, long createdAtMillis, long expiresAtMillis) {
+            this.email = email;
+            this.type = type;
+            this.code = code;
+            this.createdAtMillis = createdAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    @PostConstruct
+    void load() {
+        batchTransaction = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        int loaded = 0;
+        for (OTP otp : otpRepository.findLiveOtps(now)) {
+            LiveOtp restored = new LiveOtp(otp.getEmail(), otp.getOtpType(), otp.getOtpCode(),
+                    millis(otp.getCreatedAt()), millis(otp.getExpiresAt()));
+            restored.otpId = otp.getOtpId();
+            // Rows come newest first; an older row for the same key was superseded
+            if (live.putIfAbsent(key(otp.getEmail(), otp.getOtpType()), restored) == null) {
+                loaded++;
+            } else {
+                enqueue(new Write(WriteType.CLOSE, restored, false));
+            }
+        }
+        log.info("OTP store restored {} live OTPs", loaded);
+    }
+
+    /** Makes {@code code} the only live OTP for the email and type, superseding any earlier one. */
+    public void issue(String email, OTP.OTPType type, String code, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        LiveOtp otp = new LiveOtp(email, type, code, now, now + ttlMillis);
+        // Queued before the OTP is visible, so its close can never be written ahead of its insert
+        enqueue(new Write(WriteType.INSERT, otp, false));
+        LiveOtp previous = live.put(key(email, type), otp);
+        if (previous != null) {
+            enqueue(new Write(WriteType.CLOSE, previous, false));
+        }
+    }
+
+    /** Consumes the OTP when the code matches; a wrong code counts towards the attempt limit. */
+    public boolean verify(String email, OTP.OTPType type, String code) {
+        String key = key(email, type);
+        LiveOtp otp = live.get(key);
+        if (otp == null || code == null) {
+            return false;
+        }
+        if (otp.expiresAtMillis <= System.currentTimeMillis()) {
+            live.remove(key, otp);
+            return false;
+        }
+        if (matches(otp, code)) {
+            // Only the caller that removes the entry wins, so an OTP verifies at most once
+            if (live.remove(key, otp)) {
+                enqueue(new Write(WriteType.CLOSE, otp, true));
+                return true;
+            }
+            return false;
+        }
+        if (otp.failedAttempts.incrementAndGet() >= maxAttempts && live.remove(key, otp)) {
+            enqueue(new Write(WriteType.CLOSE, otp, false));
+        }
+        return false;
+    }
+
+    /** Whether the code is currently valid, without consuming it or counting an attempt. */
+    public boolean isValid(String email, OTP.OTPType type, String code) {
+        LiveOtp otp = live.get(key(email, type));
+        return otp != null && code != null && otp.expiresAtMillis > System.currentTimeMillis() && matches(otp, code);
+    }
+
+    public int size() {
+        return live.size();
+    }
+
+    // Holds the flush monitor, so the count waits for a running flush to settle failed
+    public synchronized int pendingWrites() {
+        return queued.get() + failed.size();
+    }
+
+    // Expired OTPs stay unused in the table and are removed by the OTP purge
+    @Scheduled(fixedDelayString = "${otp.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        live.values().removeIf(otp -> otp.expiresAtMillis <= now);
+    }
+
+    @Scheduled(fixedDelayString = "${otp.write-behind.flush-ms:500}")
+    public synchronized void flush() {
+        long droppedWrites = dropped.getAndSet(0);
+        if (droppedWrites > 0) {
+            log.warn("OTP write-behind queue was full; dropped {} writes", droppedWrites);
+        }
+        while (true) {
+            List<Write> batch = failed;
+            failed = new ArrayList<>();
+            Write write;
+            while (batch.size() < batchSize && (write = writes.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (!writeOrReplay(batch) || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void enqueue(Write write) {
+        if (queued.incrementAndGet() > maxPending) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        writes.add(write);
+    }
+
+    /** Returns false when rows are left in {@code failed} for the next flush. */
+    private boolean writeOrReplay(List<Write> batch) {
+        List<LiveOtp> inserting = new ArrayList<>();
+        for (Write write : batch) {
+            if (write.type == WriteType.INSERT && write.otp.otpId == null) {
+                inserting.add(write.otp);
+            }
+        }
+        try {
+            batchTransaction.executeWithoutResult(status -> writeBatch(batch));
+            return true;
+        } catch (RuntimeException e) {
+            // Rolled back, so ids handed out by the batch insert never reached the table
+            for (LiveOtp otp : inserting) {
+                otp.otpId = null;
+            }
+            log.warn("OTP write-behind batch of {} writes failed, replaying row by row: {}", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Write write = batch.get(i);
+            try {
+                writeBatch(List.of(write));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping OTP {} write for {} rejected by the database: {}", write.type, write.otp.email, e.getMessage());
+            } catch (RuntimeException e) {
+                if (++write.attempts >= maxRetries) {
+                    log.error("Dropping OTP {} write for {} after {} attempts: {}",
+                            write.type, write.otp.email, write.attempts, e.getMessage());
+                    continue;
+                }
+                failed = new ArrayList<>(batch.subList(i, batch.size()));
+                log.error("OTP write-behind failed, {} writes will be retried: {}", failed.size(), e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeBatch(List<Write> batch) {
+        List<LiveOtp> inserts = new ArrayList<>();
+        List<Write> closes = new ArrayList<>();
+        for (Write write : batch) {
+            if (write.type == WriteType.INSERT) {
+                // A retried batch skips rows its earlier attempt already inserted
+                if (write.otp.otpId == null) {
+                    inserts.add(write.otp);
+                }
+            } else {
+                closes.add(write);
+            }
+        }
+        // Inserts first, so a close queued behind its insert in the same batch has the row id
+        if (!inserts.isEmpty()) {
+            insert(inserts);
+        }
+        // An OTP whose insert was dropped has no row to close
+        closes.removeIf(write -> write.otp.otpId == null);
+        if (!closes.isEmpty()) {
+            jdbcTemplate.batchUpdate(CLOSE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Write write = closes.get(i);
+                    ps.setBoolean(1, write.verified);
+                    ps.setInt(2, write.otp.otpId);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return closes.size();
+                }
+            });
+        }
+    }
+
+    private void insert(List<LiveOtp> inserts) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] { "otp_id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LiveOtp otp = inserts.get(i);
+                        ps.setString(1, otp.code);
+                        ps.setString(2, otp.email);
+                        ps.setTimestamp(3, new Timestamp(otp.createdAtMillis));
+                        ps.setTimestamp(4, new Timestamp(otp.expiresAtMillis));
+                        ps.setString(5, otp.type.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != inserts.size()) {
+            throw new IllegalStateException("Expected " + inserts.size() + " generated keys but got " + keyList.size());
+        }
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).otpId = ((Number) keyList.get(i).values().iterator().next()).intValue();
+        }
+    }
+
+    private static boolean matches(LiveOtp otp, String code) {
+        return MessageDigest.isEqual(otp.code.getBytes(StandardCharsets.US_ASCII), code.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String key(String email, OTP.OTPType type) {
+        return type.name() + ':' + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,163 @@
+package com.tss.bank.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.tss.bank.exception.PasswordHashingBusyException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Runs every BCrypt hash and check on the bounded {@code passwordHashingExecutor} rather
+ * than on request threads, so a login storm cannot take every Tomcat thread and core.
+ * When the pool and its queue are full, callers fail fast with
+ * {@link PasswordHashingBusyException}. The BCrypt cost is calibrated at startup to the
+ * highest strength that stays within the target latency on this hardware. A successful
+ * check against a weaker hash, or against a seeded admin's plain-text password, returns a
+ * fresh hash for the caller to store.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${password-hashing.bcrypt.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${password-hashing.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password-hashing.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${password-hashing.wait-millis:5000}")
+    private long waitMillis;
+
+    @Value("${password-hashing.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    private BCryptPasswordEncoder encoder;
+    private int strength;
+
+    /** Outcome of a password check; {@code upgradedHash} is non-null when the stored hash should be replaced. */
+    public record Verification(boolean matched, String upgradedHash) {
+    }
+
+    @PostConstruct
+    void calibrate() {
+        strength = minStrength;
+        long millis = measure(strength);
+        // Each strength step doubles the cost
+        while (strength < maxStrength && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        encoder = new BCryptPasswordEncoder(strength);
+        log.info("BCrypt strength calibrated to {} (~{} ms per hash, target {} ms)", strength, millis, targetMillis);
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /** Checks a password against a BCrypt hash; any other stored value never matches. */
+    public Verification verify(String rawPassword, String storedHash) {
+        return verify(rawPassword, storedHash, false);
+    }
+
+    /**
+     * Like {@link #verify}, but a stored value that is not a BCrypt hash is compared as plain
+     * text. Only for admin rows, which were seeded with plain-text passwords.
+     */
+    public Verification verifyAllowingPlainText(String rawPassword, String storedHash) {
+        return verify(rawPassword, storedHash, true);
+    }
+
+    private Verification verify(String rawPassword, String storedHash, boolean allowPlainText) {
+        if (rawPassword == null || storedHash == null) {
+            return new Verification(false, null);
+        }
+        return run(() -> {
+            if (!BCRYPT.matcher(storedHash).find()) {
+                if (!allowPlainText) {
+                    return new Verification(false, null);
+                }
+                boolean matched = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                        storedHash.getBytes(StandardCharsets.UTF_8));
+                return new Verification(matched, matched ? encoder.encode(rawPassword) : null);
+            }
+            if (!encoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            return new Verification(true, encoder.upgradeEncoding(storedHash) ? encoder.encode(rawPassword) : null);
+        });
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        return new PasswordHashingBusyException("Authentication service is busy, please retry shortly", retryAfterSeconds);
+    }
+
+    // Fastest of a few runs after a warm-up, so JIT and a cold cache do not skew the result
+    private static long measure(int strength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(strength);
+        probe.encode(CALIBRATION_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return Math.max(1, best);
+    }
+}
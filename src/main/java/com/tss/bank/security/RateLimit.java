@@ -0,0 +1,22 @@
+package com.tss.bank.security;
+
+/**
+ * A token-bucket limit: {@code capacity} requests, refilled evenly over {@code periodSeconds}.
+ * Written as {@code capacity/periodSeconds} in configuration, e.g. {@code 5/60}.
+ */
+public record RateLimit(int capacity, long periodSeconds) {
+
+    public RateLimit {
+        if (capacity < 1 || periodSeconds < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    public static RateLimit parse(String spec) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit must be capacity/periodSeconds: " + spec);
+        }
+        return new RateLimit(Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()));
+    }
+}
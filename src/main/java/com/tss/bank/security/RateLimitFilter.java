@@ -0,0 +1,230 @@
+package com.tss.bank.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.bank.error.ResponseError;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects over-limit requests to the login, OTP and registration endpoints with 429 before
+ * they reach a controller or the database. Each route has a per-IP limit and, where the
+ * request names an account, a per-username or per-email limit. Limits are configured per
+ * route as {@code ip=20/60,username=5/60}. Bodies read for the account key are capped at
+ * 16 KB and larger ones are rejected with 413. Other paths pass straight through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH = "/api/v1/auth";
+    static final int MAX_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.auth.login-step1:ip=20/60,username=5/60}")
+    private String loginStep1;
+
+    @Value("${rate-limit.auth.login-step2:ip=20/60,email=5/60}")
+    private String loginStep2;
+
+    @Value("${rate-limit.auth.admin-login:ip=10/60,username=5/60}")
+    private String adminLogin;
+
+    @Value("${rate-limit.auth.verify-email:ip=20/60,email=5/60}")
+    private String verifyEmail;
+
+    @Value("${rate-limit.auth.resend-verification-otp:ip=10/60,email=1/60}")
+    private String resendVerificationOtp;
+
+    @Value("${rate-limit.auth.register:ip=5/60}")
+    private String register;
+
+    private final Map<String, Route> routes = new HashMap<>();
+
+    // Where the per-account key of a route is read from
+    private enum KeySource { NONE, BODY, QUERY }
+
+    private record Route(String name, RateLimit ipLimit, String keyField, RateLimit keyLimit, KeySource source) {
+    }
+
+    @PostConstruct
+    void init() {
+        addRoute("login-step1", loginStep1, KeySource.BODY);
+        addRoute("login-step2", loginStep2, KeySource.BODY);
+        addRoute("admin-login", adminLogin, KeySource.BODY);
+        addRoute("verify-email", verifyEmail, KeySource.BODY);
+        addRoute("resend-verification-otp", resendVerificationOtp, KeySource.QUERY);
+        addRoute("register", register, KeySource.NONE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !routes.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = routes.get(request.getServletPath());
+        HttpServletRequest forwarded = request;
+
+        if (route.ipLimit() != null) {
+            long waitMillis = rateLimiter.tryAcquire(route.name() + ":ip:" + request.getRemoteAddr(), route.ipLimit());
+            if (waitMillis > 0) {
+                reject(response, waitMillis);
+                return;
+            }
+        }
+        if (route.keyLimit() != null) {
+            String key;
+            if (route.source() == KeySource.BODY) {
+                // Read once here and replayed to the controller; one extra byte tells a full body from a cut one
+                byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                        ? null : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+                if (body == null || body.length > MAX_BODY_BYTES) {
+                    writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Request body must not exceed " + MAX_BODY_BYTES + " bytes");
+                    return;
+                }
+                CachedBodyRequest cached = new CachedBodyRequest(request, body);
+                forwarded = cached;
+                key = bodyField(cached.body, route.keyField());
+            } else {
+                key = request.getParameter(route.keyField());
+            }
+            if (key != null && !key.isBlank()) {
+                String bucketKey = route.name() + ":" + route.keyField() + ":" + key.trim().toLowerCase(Locale.ROOT);
+                long waitMillis = rateLimiter.tryAcquire(bucketKey, route.keyLimit());
+                if (waitMillis > 0) {
+                    reject(response, waitMillis);
+                    return;
+                }
+            }
+        }
+        chain.doFilter(forwarded, response);
+    }
+
+    private void addRoute(String name, String spec, KeySource source) {
+        Map<String, RateLimit> limits = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.split("=", 2);
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid rate limit for " + name + ": " + spec);
+            }
+            limits.put(entry[0].trim(), RateLimit.parse(entry[1]));
+        }
+        RateLimit ipLimit = limits.remove("ip");
+        String keyField = null;
+        RateLimit keyLimit = null;
+        if (source != KeySource.NONE && !limits.isEmpty()) {
+            Map.Entry<String, RateLimit> key = limits.entrySet().iterator().next();
+            keyField = key.getKey();
+            keyLimit = key.getValue();
+        }
+        routes.put(AUTH + "/" + name, new Route(name, ipLimit, keyField, keyLimit, source));
+    }
+
+    private String bodyField(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            // Malformed bodies are left for request validation to reject
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests, please retry in " + retryAfterSeconds + " seconds");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ResponseError error = new ResponseError(status.value(), System.currentTimeMillis(), message, null);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+    }
+}
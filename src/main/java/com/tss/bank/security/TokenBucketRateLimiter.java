@@ -0,0 +1,97 @@
+package com.tss.bank.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tss.bank.dto.response.CacheStatsResponse;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Per-key token buckets in a bounded Caffeine map. A bucket that has been idle for its
+ * whole refill period is full again, so it is evicted at that point and recreated on the
+ * next request. Each bucket has its own lock, so contention is limited to requests for
+ * the same key.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    @Value("${rate-limit.maximum-keys:200000}")
+    private long maximumKeys;
+
+    private Cache<String, Bucket> buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfter(new Expiry<String, Bucket>() {
+                    @Override
+                    public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+                        return bucket.periodNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+                        return bucket.periodNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+                        return bucket.periodNanos;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Takes one token from the key's bucket. Returns 0 when the request is allowed, otherwise
+     * the number of milliseconds until a token will be available.
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    long tryAcquire(String key, RateLimit limit, long nowNanos) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit, nowNanos));
+        return bucket.tryConsume(nowNanos);
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("rate-limit-buckets", buckets.stats(), buckets.estimatedSize());
+    }
+
+    private static final class Bucket {
+
+        private final long capacityNanos;
+        private final long nanosPerToken;
+        private final long periodNanos;
+        // Tokens are held as nanoseconds of refill time, so refill needs no division
+        private long available;
+        private long lastRefill;
+
+        Bucket(RateLimit limit, long now) {
+            this.periodNanos = TimeUnit.SECONDS.toNanos(limit.periodSeconds());
+            this.nanosPerToken = periodNanos / limit.capacity();
+            this.capacityNanos = nanosPerToken * limit.capacity();
+            this.available = capacityNanos;
+            this.lastRefill = now;
+        }
+
+        synchronized long tryConsume(long now) {
+            available = Math.min(capacityNanos, available + (now - lastRefill));
+            lastRefill = now;
+            if (available >= nanosPerToken) {
+                available -= nanosPerToken;
+                return 0;
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanosPerToken - available));
+        }
+    }
+}
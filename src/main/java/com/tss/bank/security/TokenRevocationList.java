@@ -0,0 +1,124 @@
+package com.tss.bank.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.entity.RevokedToken;
+import com.tss.bank.repository.RevokedTokenRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * jti-based revocation list persisted in {@code revoked_tokens}, fronted by a Bloom filter
+ * of every unexpired revoked jti. Most tokens were never revoked, so the common check is a
+ * few bit probes; only a filter hit (a revoked token or a false positive) reaches the
+ * database. The filter is rebuilt on a schedule, sized from the live revocation count, and
+ * expired rows are purged at the same time. Revocations made on another instance are seen
+ * here after its next rebuild.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.load-page-size:10000}")
+    private int loadPageSize;
+
+    private volatile BloomFilter filter;
+    // Revocations made here, kept until expiry so a rebuild racing with them cannot drop them
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    /** Whether the token was revoked; tokens issued before jti claims existed cannot be. */
+    public boolean isRevoked(JwtPrincipal principal) {
+        String jti = principal.tokenId();
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return localRevocations.containsKey(jti) || revokedTokenRepository.existsById(jti);
+    }
+
+    /** Idempotent: revoking an already revoked token, even concurrently, is not an error. */
+    public void revoke(JwtPrincipal principal) {
+        String jti = principal.tokenId();
+        if (jti == null || principal.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        if (!revokedTokenRepository.existsById(jti)) {
+            try {
+                revokedTokenRepository.save(RevokedToken.builder()
+                        .jti(jti)
+                        .userId(principal.userId())
+                        .expiresAt(new Date(principal.expiresAtMillis()))
+                        .revokedAt(new Date())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent logout or refresh of the same token inserted the row first
+                log.debug("Token {} was already revoked concurrently", jti);
+            }
+        }
+        synchronized (this) {
+            localRevocations.put(jti, principal.expiresAtMillis());
+            filter.put(jti);
+        }
+    }
+
+    @Scheduled(cron = "${jwt.revocation.rebuild-cron:0 */15 * * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        Date now = new Date();
+        int purged = new TransactionTemplate(transactionManager)
+                .execute(status -> revokedTokenRepository.deleteExpired(now));
+        long live = revokedTokenRepository.countByExpiresAtAfter(now);
+        // Twice the live count leaves room for revocations until the next rebuild
+        BloomFilter fresh = new BloomFilter(Math.max(expectedRevocations, live * 2), falsePositiveRate);
+
+        String afterJti = "";
+        List<String> page;
+        do {
+            page = revokedTokenRepository.findLiveJtisAfter(now, afterJti, PageRequest.of(0, loadPageSize));
+            for (String jti : page) {
+                fresh.put(jti);
+                afterJti = jti;
+            }
+        } while (page.size() == loadPageSize);
+
+        long nowMillis = now.getTime();
+        synchronized (this) {
+            localRevocations.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            localRevocations.keySet().forEach(fresh::put);
+            filter = fresh;
+        }
+        log.info("Token revocation filter rebuilt with {} live revocations ({} bits, {} hashes), {} expired purged in {} ms",
+                live, fresh.bitCount(), fresh.hashCount(), purged, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,100 @@
+package com.tss.bank.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tss.bank.dto.response.CacheStatsResponse;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Principals of tokens whose signature has already been verified, keyed by a SHA-256
+ * digest of the token so raw tokens are never held in memory. Each entry expires at its
+ * token's own exp claim, so a hit never returns an expired principal, and is held for at
+ * most {@code jwt.verified-cache.max-ttl-seconds} either way.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    @Value("${jwt.verified-cache.maximum-size:50000}")
+    private long maximumSize;
+
+    @Value("${jwt.verified-cache.max-ttl-seconds:3600}")
+    private long maxTtlSeconds;
+
+    private Cache<String, JwtPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public JwtPrincipal get(String token) {
+        JwtPrincipal principal = principals.getIfPresent(digest(token));
+        // Caffeine expiry is approximate; never hand out a principal past its exp
+        if (principal != null && principal.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        principals.put(digest(token), principal);
+    }
+
+    public void invalidate(String token) {
+        principals.invalidate(digest(token));
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from("verified-tokens", principals.stats(), principals.estimatedSize());
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    // Tokens without an exp claim report Long.MAX_VALUE, which would overflow in nanos
+    long remainingNanos(JwtPrincipal principal) {
+        long remainingMillis = principal.expiresAtMillis() - System.currentTimeMillis();
+        long cappedMillis = Math.min(Math.max(0, remainingMillis), TimeUnit.SECONDS.toMillis(maxTtlSeconds));
+        return TimeUnit.MILLISECONDS.toNanos(cappedMillis);
+    }
+}
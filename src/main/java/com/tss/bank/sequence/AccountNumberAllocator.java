@@ -0,0 +1,158 @@
+package com.tss.bank.sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.entity.AccountNumberSequence;
+import com.tss.bank.repository.AccountNumberSequenceRepository;
+
+/**
+ * Hands out account numbers of the form AC + 10 digit sequence + Luhn check digit.
+ * Numbers are reserved from the account_number_sequences row in blocks, each in its own
+ * short transaction, and then handed out from memory with a single atomic increment.
+ * Unused numbers of a block are skipped after a restart; uniqueness never depends on
+ * an existence check. Legacy AC + 6 digit numbers remain valid and parsable.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNumberAllocator.class);
+
+    public static final String PREFIX = "AC";
+    static final String SEQUENCE_NAME = "ACCOUNT_NUMBER";
+    private static final int SEQUENCE_DIGITS = 10;
+    private static final int LEGACY_DIGITS = 6;
+    private static final long MAX_SEQUENCE = 9_999_999_999L;
+
+    @Autowired
+    private AccountNumberSequenceRepository sequenceRepository;
+
+    private final TransactionTemplate reserveTemplate;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private final Object refillLock = new Object();
+
+    @Value("${account-number.block-size:100}")
+    private int blockSize;
+
+    public AccountNumberAllocator(PlatformTransactionManager transactionManager) {
+        this.reserveTemplate = new TransactionTemplate(transactionManager);
+        this.reserveTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return format(value);
+            }
+            // Only the thread that finds the block exhausted pays for the refill
+            synchronized (refillLock) {
+                if (current.get() == block) {
+                    current.set(reserveBlock(blockSize));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves a dedicated block of exactly {@code count} numbers with one sequence update,
+     * for bulk openings that would otherwise drain the shared block many times over.
+     */
+    public List<String> allocateBlock(int count) {
+        Block block = reserveBlock(count);
+        List<String> numbers = new ArrayList<>(count);
+        for (long value = block.next.get(); value < block.limit; value++) {
+            numbers.add(format(value));
+        }
+        return numbers;
+    }
+
+    /** Accepts both the current check-digit format and the legacy AC + 6 digit format. */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || !accountNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        String digits = accountNumber.substring(PREFIX.length());
+        if (!digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        if (digits.length() == LEGACY_DIGITS) {
+            return true;
+        }
+        return digits.length() == SEQUENCE_DIGITS + 1
+                && luhnCheckDigit(digits.substring(0, SEQUENCE_DIGITS)) == digits.charAt(SEQUENCE_DIGITS) - '0';
+    }
+
+    static String format(long value) {
+        String digits = String.format("%0" + SEQUENCE_DIGITS + "d", value);
+        return PREFIX + digits + luhnCheckDigit(digits);
+    }
+
+    static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private Block reserveBlock(int size) {
+        long start;
+        try {
+            start = reserveTemplate.execute(status -> advanceSequence(size));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the sequence row first; its row is now lockable
+            start = reserveTemplate.execute(status -> advanceSequence(size));
+        }
+        if (start + size - 1 > MAX_SEQUENCE) {
+            throw new IllegalStateException("Account number sequence exhausted");
+        }
+        log.debug("Reserved account numbers {} to {}", start, start + size - 1);
+        return new Block(start, start + size);
+    }
+
+    private long advanceSequence(int size) {
+        AccountNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> sequenceRepository.saveAndFlush(AccountNumberSequence.builder()
+                        .sequenceName(SEQUENCE_NAME)
+                        .nextValue(1L)
+                        .build()));
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        return start;
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0);
+
+        final AtomicLong next;
+        final long limit;
+
+        Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.tss.bank.dto.request.AccountCreationRequest;
 import com.tss.bank.dto.request.BalanceInquiryRequest;
 import com.tss.bank.dto.response.AccountResponse;
 import com.tss.bank.dto.response.BalanceInquiryResponse;
+import com.tss.bank.dto.response.BalanceRangePageResponse;
 import com.tss.bank.entity.Account;
 
 public interface AccountService {
@@ -51,5 +52,6 @@ public interface AccountService {
     
     // Admin Operations
     Page<AccountResponse> findAllAccounts(Pageable pageable);
-    List<AccountResponse> findAccountsByMinBalance(BigDecimal minBalance);
+    BalanceRangePageResponse findAccountsByMinBalance(BigDecimal minBalance, Integer afterAccountId, int size);
+    long countAccountsByMinBalance(BigDecimal minBalance);
 }
@@ -5,40 +5,28 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import com.tss.bank.security.JwtUtil;
-import com.tss.bank.repository.AccountRepository;
-import com.tss.bank.repository.FixedDepositRepository;
-import com.tss.bank.entity.Account;
-import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.cache.AccountMetadata;
+import com.tss.bank.cache.AccountMetadataCache;
 import com.tss.bank.exception.SecurityApiException;
+import com.tss.bank.index.OwnershipIndex;
+import com.tss.bank.security.JwtPrincipal;
 
-import jakarta.servlet.http.HttpServletRequest;
-import java.util.Optional;
 
 @Service
 public class AuthorizationService {
 
     @Autowired
-    private JwtUtil jwtUtil;
-
-    @Autowired
-    private HttpServletRequest request;
-    
-    @Autowired
-    private AccountRepository accountRepository;
+    private AccountMetadataCache accountMetadataCache;
     
     @Autowired
-    private FixedDepositRepository fixedDepositRepository;
+    private OwnershipIndex ownershipIndex;
 
     /**
-     * Get the current authenticated user's ID from JWT token
+     * Get the current authenticated user's ID from the verified token principal
      */
     public Integer getCurrentUserId() {
-        String token = extractTokenFromRequest();
-        if (token != null) {
-            return jwtUtil.extractUserId(token);
-        }
-        return null;
+        JwtPrincipal principal = currentPrincipal();
+        return principal != null ? principal.userId() : null;
     }
 
     /**
@@ -56,11 +44,8 @@ public class AuthorizationService {
      * Get the current authenticated user's role
      */
     public String getCurrentUserRole() {
-        String token = extractTokenFromRequest();
-        if (token != null) {
-            return jwtUtil.extractRole(token);
-        }
-        return null;
+        JwtPrincipal principal = currentPrincipal();
+        return principal != null ? principal.role() : null;
     }
 
     /**
@@ -105,8 +90,8 @@ public class AuthorizationService {
             return false;
         }
         
-        // Check account ownership in the database
-        return accountRepository.existsByAccountIdAndUserUserId(accountId, currentUserId);
+        // Check account ownership against the in-memory ownership index
+        return ownershipIndex.ownsAccount(currentUserId, accountId);
     }
 
     /**
@@ -131,13 +116,8 @@ public class AuthorizationService {
             return false;
         }
         
-        // Check FD ownership in the database
-        Optional<FixedDeposit> fdOptional = fixedDepositRepository.findById(fdId);
-        if (fdOptional.isPresent()) {
-            FixedDeposit fd = fdOptional.get();
-            return fd.getUser().getUserId().equals(currentUserId);
-        }
-        return false;
+        // Check FD ownership against the in-memory ownership index
+        return ownershipIndex.ownsFixedDeposit(currentUserId, fdId);
     }
 
     /**
@@ -158,7 +138,7 @@ public class AuthorizationService {
             throw new SecurityApiException("Authentication required: No valid JWT token found");
         }
 
-        if (!isCurrentUserAdmin() && !accountRepository.existsByAccountIdAndUserUserId(accountId, currentUserId)) {
+        if (!isCurrentUserAdmin() && !ownershipIndex.ownsAccount(currentUserId, accountId)) {
             throw new SecurityApiException("Access denied: You can only perform transactions on your own accounts");
         }
     }
@@ -173,13 +153,12 @@ public class AuthorizationService {
         }
 
         // Always validate that the user owns the source account
-        if (!isCurrentUserAdmin() && !accountRepository.existsByAccountIdAndUserUserId(fromAccountId, currentUserId)) {
+        if (!isCurrentUserAdmin() && !ownershipIndex.ownsAccount(currentUserId, fromAccountId)) {
             throw new SecurityApiException("Access denied: You can only transfer from your own accounts");
         }
 
         // Additional validation: Check if destination account exists (can be any account in the bank)
-        Optional<Account> toAccount = accountRepository.findByAccountNumber(toAccountNumber);
-        if (!toAccount.isPresent()) {
+        if (accountMetadataCache.findByAccountNumber(toAccountNumber).isEmpty()) {
             throw new SecurityApiException("Invalid destination account: Account not found");
         }
     }
@@ -193,7 +172,7 @@ public class AuthorizationService {
             throw new SecurityApiException("Authentication required: No valid JWT token found");
         }
 
-        if (!isCurrentUserAdmin() && !accountRepository.existsByAccountIdAndUserUserId(accountId, currentUserId)) {
+        if (!isCurrentUserAdmin() && !ownershipIndex.ownsAccount(currentUserId, accountId)) {
             throw new SecurityApiException("Access denied: You can only create/manage FDs for your own accounts");
         }
     }
@@ -202,11 +181,9 @@ public class AuthorizationService {
      * Get account owner's user ID
      */
     public Integer getAccountOwnerId(Integer accountId) {
-        Optional<Account> account = accountRepository.findById(accountId);
-        if (account.isPresent()) {
-            return account.get().getUser().getUserId();
-        }
-        return null;
+        return accountMetadataCache.findById(accountId)
+                .map(AccountMetadata::ownerUserId)
+                .orElse(null);
     }
 
     /**
@@ -224,12 +201,12 @@ public class AuthorizationService {
     }
 
     /**
-     * Extract JWT token from the Authorization header
+     * Principal stored by JwtAuthenticationFilter, or null for unauthenticated requests
      */
-    private String extractTokenFromRequest() {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
+    private JwtPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal;
         }
         return null;
     }
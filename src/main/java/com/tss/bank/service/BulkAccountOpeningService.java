@@ -0,0 +1,13 @@
+package com.tss.bank.service;
+
+import java.util.List;
+
+import com.tss.bank.dto.request.BulkAccountRow;
+import com.tss.bank.dto.response.BulkAccountRowResult;
+
+public interface BulkAccountOpeningService {
+    
+    List<BulkAccountRowResult> openAccounts(List<BulkAccountRow> rows);
+    
+    String toCsv(List<BulkAccountRowResult> results);
+}
@@ -0,0 +1,9 @@
+package com.tss.bank.service;
+
+import com.tss.bank.dto.request.FdApplicationBatchApprovalRequest;
+import com.tss.bank.dto.response.FdApplicationBatchApprovalResponse;
+
+public interface FdApplicationApprovalService {
+    
+    FdApplicationBatchApprovalResponse approveApplications(FdApplicationBatchApprovalRequest request, Integer approvedBy);
+}
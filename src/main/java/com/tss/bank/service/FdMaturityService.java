@@ -0,0 +1,18 @@
+package com.tss.bank.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.tss.bank.dto.response.FdMaturityRunResponse;
+
+public interface FdMaturityService {
+    
+    // Run Management
+    FdMaturityRunResponse runMaturity();
+    FdMaturityRunResponse getRun(Integer runId);
+    Optional<FdMaturityRunResponse> getLatestRun();
+    boolean isRunning();
+    
+    // Pays out the given deposits now if they are still ACTIVE and due; returns how many matured
+    int matureDeposits(List<Integer> fdIds);
+}
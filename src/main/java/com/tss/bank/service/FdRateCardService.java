@@ -0,0 +1,20 @@
+package com.tss.bank.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.tss.bank.dto.request.FdRateCardRequest;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.dto.response.FdRateCardResponse;
+
+public interface FdRateCardService {
+    
+    // Rate Card Management
+    FdRateCardResponse getCurrentRateCard();
+    FdRateCardResponse getRateCard(Integer version);
+    FdRateCardResponse publishRateCard(FdRateCardRequest request, Integer publishedBy);
+    
+    // Quotes
+    FdQuoteResponse getQuote(BigDecimal amount, Integer tenureMonths, boolean seniorCitizen);
+    List<FdQuoteResponse> getQuoteGrid(BigDecimal amount, boolean seniorCitizen);
+}
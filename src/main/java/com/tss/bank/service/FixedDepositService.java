@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.tss.bank.dto.request.FixedDepositRequest;
+import com.tss.bank.dto.response.FdLiabilityProjectionResponse;
+import com.tss.bank.dto.response.FdMaturityRunResponse;
 import com.tss.bank.dto.response.FixedDepositResponse;
 import com.tss.bank.entity.FixedDeposit;
 
@@ -29,7 +31,8 @@ public interface FixedDepositService {
     
     // Maturity processing
     List<FixedDepositResponse> getMaturedDeposits();
-    void processMaturedDeposits();
+    FdMaturityRunResponse processMaturedDeposits();
+    FdLiabilityProjectionResponse getLiabilityProjection(int months);
     
     // Analytics
     BigDecimal getTotalActiveDeposits(Integer accountId);
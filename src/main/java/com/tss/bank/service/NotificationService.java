@@ -7,6 +7,9 @@ import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.tss.bank.dto.response.NotificationPageResponse;
+import com.tss.bank.dto.response.NotificationResponse;
+
 public interface NotificationService {
     
     // Send Notifications
@@ -14,11 +17,12 @@ public interface NotificationService {
     void sendAdminNotification(Integer adminId, String title, String message, String type);
     void sendBroadcastNotification(String title, String message, String type, String targetAudience);
     
-    // Get Notifications
-    List<Map<String, Object>> getUserNotifications(Integer userId);
-    List<Map<String, Object>> getUnreadNotifications(Integer userId);
-    List<Map<String, Object>> getReadNotifications(Integer userId);
-    List<Map<String, Object>> getAdminNotifications(Integer adminId);
+    // Get Notifications (newest first; a null beforeNotificationId starts at the newest)
+    NotificationPageResponse getUserNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getUnreadNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getReadNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getAdminNotifications(Integer adminId, Integer beforeNotificationId, int size);
+    Integer getNotificationUserId(Integer notificationId);
     
     // Notification Management
     void markAsRead(Integer notificationId);
@@ -28,15 +32,16 @@ public interface NotificationService {
     void clearAllNotifications(Integer userId);
     
     // Type-based Queries
-    List<Map<String, Object>> getNotificationsByType(Integer userId, String type);
-    List<Map<String, Object>> getAlertNotifications(Integer userId);
-    List<Map<String, Object>> getWarningNotifications(Integer userId);
-    List<Map<String, Object>> getInfoNotifications(Integer userId);
+    NotificationPageResponse getNotificationsByType(Integer userId, String type, Integer beforeNotificationId, int size);
+    NotificationPageResponse getAlertNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getWarningNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getInfoNotifications(Integer userId, Integer beforeNotificationId, int size);
     
     // Date-based Queries
-    List<Map<String, Object>> getNotificationsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate);
-    List<Map<String, Object>> getTodayNotifications(Integer userId);
-    List<Map<String, Object>> getThisWeekNotifications(Integer userId);
+    NotificationPageResponse getNotificationsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate,
+                                                         Integer beforeNotificationId, int size);
+    NotificationPageResponse getTodayNotifications(Integer userId, Integer beforeNotificationId, int size);
+    NotificationPageResponse getThisWeekNotifications(Integer userId, Integer beforeNotificationId, int size);
     
     // Statistics
     Map<String, Long> getNotificationCounts(Integer userId);
@@ -49,7 +54,7 @@ public interface NotificationService {
     void sendPaymentReminder(Integer userId, String paymentType, String dueDate, String amount);
     
     // Admin Operations
-    Page<Map<String, Object>> getAllNotifications(Pageable pageable);
+    Page<NotificationResponse> getAllNotifications(Pageable pageable);
     Map<String, Object> getSystemNotificationStats();
     
     // Notification Templates
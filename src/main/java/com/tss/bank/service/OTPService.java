@@ -1,28 +1,56 @@
 package com.tss.bank.service;
 
 import com.tss.bank.entity.OTP;
-import com.tss.bank.repository.OTPRepository;
+import com.tss.bank.security.OtpStore;
+import com.tss.bank.security.RateLimit;
+import com.tss.bank.security.TokenBucketRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@Transactional
 public class OTPService {
 
+    private static final Logger log = LoggerFactory.getLogger(OTPService.class);
+
+    private static final String PURGE_SQL = "DELETE FROM otps WHERE expires_at < ? LIMIT ?";
+
     @Autowired
-    private OTPRepository otpRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private OtpStore otpStore;
+
     private static final int OTP_EXPIRY_MINUTES = 5;
+    // One OTP per email and type per minute
+    private static final RateLimit OTP_RATE_LIMIT = new RateLimit(1, 60);
     private static final SecureRandom random = new SecureRandom();
 
+    @Value("${otp.purge.chunk-size:1000}")
+    private int purgeChunkSize;
+
+    @Value("${otp.purge.pause-ms:100}")
+    private long purgePauseMillis;
+
+    @Value("${otp.purge.retention-hours:24}")
+    private long purgeRetentionHours;
+
     public String generateAndSendOTP(String email, OTP.OTPType otpType) {
         // Rate limiting check
         if (hasRecentOTP(email, otpType)) {
@@ -32,21 +60,8 @@ public class OTPService {
         // Generate 6-digit OTP
         String otpCode = String.format("%06d", random.nextInt(1000000));
         
-        // Delete any existing unused OTPs for this email and type
-        otpRepository.deleteByEmailAndOtpType(email, otpType);
-        
-        // Create new OTP
-        OTP otp = OTP.builder()
-                .otpCode(otpCode)
-                .email(email)
-                .otpType(otpType)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES))
-                .isUsed(false)
-                .isVerified(false)
-                .build();
-        
-        otpRepository.save(otp);
+        // Replaces any earlier OTP for this email and type; the row is written behind
+        otpStore.issue(email, otpType, otpCode, TimeUnit.MINUTES.toMillis(OTP_EXPIRY_MINUTES));
         
         // Send OTP via email
         String subject = getOTPEmailSubject(otpType);
@@ -56,40 +71,52 @@ public class OTPService {
         return otpCode; // Return for testing purposes only
     }
 
+    // Checked in memory instead of querying for the latest OTP
     private boolean hasRecentOTP(String email, OTP.OTPType otpType) {
-        Optional<OTP> recentOTP = otpRepository.findLatestUnusedOTP(email, otpType);
-        if (recentOTP.isPresent()) {
-            LocalDateTime createdAt = recentOTP.get().getCreatedAt();
-            return createdAt.isAfter(LocalDateTime.now().minusMinutes(1)); // 1 minute rate limit
-        }
-        return false;
+        return rateLimiter.tryAcquire("otp:" + otpType + ":" + email.toLowerCase(Locale.ROOT), OTP_RATE_LIMIT) > 0;
     }
 
     public boolean verifyOTP(String email, String otpCode, OTP.OTPType otpType) {
-        Optional<OTP> otpOptional = otpRepository.findValidOTP(
-            email, otpCode, otpType, LocalDateTime.now()
-        );
-        
-        if (otpOptional.isPresent()) {
-            OTP otp = otpOptional.get();
-            otp.setIsUsed(true);
-            otp.setIsVerified(true);
-            otpRepository.save(otp);
-            return true;
-        }
-        
-        return false;
+        return otpStore.verify(email, otpType, otpCode);
     }
 
     public boolean isOTPValid(String email, String otpCode, OTP.OTPType otpType) {
-        return otpRepository.findValidOTP(
-            email, otpCode, otpType, LocalDateTime.now()
-        ).isPresent();
+        return otpStore.isValid(email, otpType, otpCode);
     }
 
-    @Transactional
+    /**
+     * Deletes OTP rows that expired more than the retention period ago, in chunks of
+     * {@code otp.purge.chunk-size} with a pause between chunks so row locks are held only
+     * briefly and other writers to {@code otps} are never blocked for long.
+     */
+    @Scheduled(cron = "${otp.purge.cron:0 20 * * * *}")
     public void cleanupExpiredOTPs() {
-        otpRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        otpStore.evictExpired();
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(purgeRetentionHours));
+        long start = System.nanoTime();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, cutoff, purgeChunkSize);
+            purged += deleted;
+            if (deleted == purgeChunkSize && !pause(purgePauseMillis)) {
+                break;
+            }
+        } while (deleted == purgeChunkSize);
+        if (purged > 0) {
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("Purged {} expired OTPs in {} ms ({} rows/s)", purged, millis, purged * 1000 / millis);
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     private String getOTPEmailSubject(OTP.OTPType otpType) {
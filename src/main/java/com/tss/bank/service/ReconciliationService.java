@@ -0,0 +1,21 @@
+package com.tss.bank.service;
+
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.tss.bank.dto.response.ReconciliationDiscrepancyResponse;
+import com.tss.bank.dto.response.ReconciliationRunResponse;
+
+public interface ReconciliationService {
+    
+    // Run Management
+    ReconciliationRunResponse runReconciliation();
+    ReconciliationRunResponse getRun(Integer runId);
+    Optional<ReconciliationRunResponse> getLatestRun();
+    boolean isRunning();
+    
+    // Report
+    Page<ReconciliationDiscrepancyResponse> getDiscrepancies(Integer runId, Pageable pageable);
+}
@@ -11,6 +11,7 @@ import com.tss.bank.dto.request.TransactionRequest;
 import com.tss.bank.dto.request.TransactionHistoryRequest;
 import com.tss.bank.dto.response.TransactionResponse;
 import com.tss.bank.dto.response.AccountStatementResponse;
+import com.tss.bank.dto.response.TransactionSearchResponse;
 import com.tss.bank.entity.Transaction;
 
 public interface TransactionService {
@@ -51,4 +52,5 @@ public interface TransactionService {
     Page<TransactionResponse> getAllTransactions(Pageable pageable);
     List<TransactionResponse> getSuspiciousTransactions();
     List<TransactionResponse> getHighValueTransactions(BigDecimal threshold);
+    TransactionSearchResponse searchTransactions(String query, Integer accountId, Date fromDate, Date toDate, int limit);
 }
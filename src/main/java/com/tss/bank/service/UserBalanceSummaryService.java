@@ -0,0 +1,21 @@
+package com.tss.bank.service;
+
+import java.math.BigDecimal;
+
+import com.tss.bank.dto.response.UserBalanceSummaryResponse;
+
+public interface UserBalanceSummaryService {
+    
+    // Posting Hooks (called inside the transaction that changes the balance)
+    void recordBalanceChange(Integer userId, BigDecimal delta);
+    void recordAccountOpened(Integer userId, BigDecimal openingBalance);
+    void recordAccountsOpened(Integer userId, int count, BigDecimal openingTotal);
+    void recordAccountClosed(Integer userId, BigDecimal closingBalance);
+    void recordFixedDepositChange(Integer userId, BigDecimal balanceDelta, BigDecimal fdDelta);
+    
+    // Reads
+    UserBalanceSummaryResponse getSummary(Integer userId);
+    
+    // Verification
+    long verifyAll();
+}
@@ -1,32 +1,49 @@
 package com.tss.bank.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tss.bank.cache.AccountBalanceCache;
+import com.tss.bank.cache.AccountMetadata;
+import com.tss.bank.cache.AccountMetadataCache;
+import com.tss.bank.cache.BalanceSnapshot;
 import com.tss.bank.dto.request.AccountCreationRequest;
 import com.tss.bank.dto.request.BalanceInquiryRequest;
 import com.tss.bank.dto.response.AccountResponse;
 import com.tss.bank.dto.response.BalanceInquiryResponse;
+import com.tss.bank.dto.response.BalanceRangePageResponse;
 import com.tss.bank.entity.Account;
 import com.tss.bank.entity.Branch;
 import com.tss.bank.entity.Transaction;
 import com.tss.bank.entity.User;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.event.OwnershipChangedEvent;
+import com.tss.bank.event.TransactionRecordedEvent;
 import com.tss.bank.exception.AccountApiException;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.index.BalanceRangeIndex;
+import com.tss.bank.index.OwnershipIndex;
 import com.tss.bank.repository.AccountRepository;
 import com.tss.bank.repository.BranchRepository;
 import com.tss.bank.repository.TransactionRepository;
 import com.tss.bank.repository.UserRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
 import com.tss.bank.service.AccountService;
 import com.tss.bank.service.MappingService;
+import com.tss.bank.service.UserBalanceSummaryService;
 
 @Service
 @Transactional
@@ -47,7 +64,32 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private MappingService mappingService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+    
+    @Autowired
+    private AccountMetadataCache accountMetadataCache;
+    
+    @Autowired
+    private AccountBalanceCache accountBalanceCache;
+    
+    @Autowired
+    private OwnershipIndex ownershipIndex;
+    
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+    
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+    
+    @Autowired
+    private BalanceRangeIndex balanceRangeIndex;
+    
     private static final BigDecimal MINIMUM_BALANCE = new BigDecimal("500.00");
+    private static final int MAX_BALANCE_RANGE_PAGE_SIZE = 1000;
 
     @Override
     public AccountResponse createAccount(AccountCreationRequest request, Integer userId) {
@@ -65,11 +107,8 @@ public class AccountServiceImpl implements AccountService {
             throw new AccountApiException("Initial balance must be at least " + MINIMUM_BALANCE);
         }
         
-        // Generate unique account number
+        // Allocated from a reserved sequence block, unique without a lookup
         String accountNumber = generateAccountNumber();
-        while (existsByAccountNumber(accountNumber)) {
-            accountNumber = generateAccountNumber();
-        }
         
         // Validate and get branch
         Branch branch = validateAndGetBranch(request.getBranchCode());
@@ -89,6 +128,8 @@ public class AccountServiceImpl implements AccountService {
         
         // Record initial deposit transaction
         recordInitialDeposit(savedAccount, request.getInitialBalance());
+        userBalanceSummaryService.recordAccountOpened(userId, request.getInitialBalance());
+        eventPublisher.publishEvent(new OwnershipChangedEvent(userId));
         
         return mappingService.map(savedAccount, AccountResponse.class);
     }
@@ -107,29 +148,28 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BalanceInquiryResponse checkBalance(BalanceInquiryRequest request) {
-        Account account = findById(request.getAccountId())
+        // Served from the balance and metadata caches; both fall back to the database on a miss.
+        // Runs outside a transaction so a balance loaded on a miss is committed and can be cached
+        BalanceSnapshot balance = accountBalanceCache.get(request.getAccountId())
+                .orElseThrow(() -> new AccountApiException("Account not found with ID: " + request.getAccountId()));
+        AccountMetadata metadata = accountMetadataCache.findById(request.getAccountId())
                 .orElseThrow(() -> new AccountApiException("Account not found with ID: " + request.getAccountId()));
-        
-        // Get last transaction date
-        Date lastTransactionDate = transactionRepository
-                .findTopByAccountAccountIdOrderByTxnTimeDesc(account.getAccountId())
-                .map(Transaction::getTxnTime)
-                .orElse(account.getCreatedAt());
         
         return BalanceInquiryResponse.builder()
-                .accountId(account.getAccountId())
-                .accountNumber(account.getAccountNumber())
-                .availableBalance(account.getBalance())
-                .totalBalance(account.getBalance())
-                .lastTransactionDate(lastTransactionDate)
+                .accountId(balance.accountId())
+                .accountNumber(metadata.accountNumber())
+                .availableBalance(balance.balance())
+                .totalBalance(balance.balance())
+                .lastTransactionDate(balance.lastTxnTime())
                 .inquiryTime(new Date())
                 .build();
     }
 
     @Override
     public boolean validateAccountOwnership(Integer accountId, Integer userId) {
-        return accountRepository.existsByAccountIdAndUserUserId(accountId, userId);
+        return ownershipIndex.ownsAccount(userId, accountId);
     }
 
     @Override
@@ -143,27 +183,20 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public String generateAccountNumber() {
-        // Generate account number with format: AC + 6 digit unique number
-        String prefix = "AC";
-        Random random = new Random();
-        StringBuilder accountNumber = new StringBuilder(prefix);
-        
-        for (int i = 0; i < 6; i++) {
-            accountNumber.append(random.nextInt(10));
-        }
-        
-        return accountNumber.toString();
+        // Format: AC + 10 digit sequence + Luhn check digit
+        return accountNumberAllocator.nextAccountNumber();
     }
 
     @Override
     @Transactional
     public void creditAmount(Integer accountId, BigDecimal amount, String description) {
-        Account account = findById(accountId)
+        Account account = accountRepository.findByIdForUpdate(accountId)
                 .orElseThrow(() -> new AccountApiException("Account not found"));
         
         BigDecimal newBalance = account.getBalance().add(amount);
-        account.setBalance(newBalance);
+        account.applyBalance(newBalance);
         accountRepository.save(account);
+        userBalanceSummaryService.recordBalanceChange(account.getUser().getUserId(), amount);
         
         // Record transaction
         recordTransaction(account, Transaction.TxnType.CREDIT, amount, description, newBalance);
@@ -172,7 +205,11 @@ public class AccountServiceImpl implements AccountService {
     @Override
     @Transactional
     public void debitAmount(Integer accountId, BigDecimal amount, String description) {
-        Account account = findById(accountId)
+        if (accountStatusIndex.isFrozen(accountId)) {
+            throw new AccountApiException("Account is frozen");
+        }
+        
+        Account account = accountRepository.findByIdForUpdate(accountId)
                 .orElseThrow(() -> new AccountApiException("Account not found"));
         
         // Check sufficient balance
@@ -181,35 +218,53 @@ public class AccountServiceImpl implements AccountService {
         }
         
         BigDecimal newBalance = account.getBalance().subtract(amount);
-        account.setBalance(newBalance);
+        account.applyBalance(newBalance);
         accountRepository.save(account);
+        userBalanceSummaryService.recordBalanceChange(account.getUser().getUserId(), amount.negate());
         
         // Record transaction
         recordTransaction(account, Transaction.TxnType.DEBIT, amount, description, newBalance);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BigDecimal getAvailableBalance(Integer accountId) {
-        Account account = findById(accountId)
+        return accountBalanceCache.get(accountId)
+                .map(BalanceSnapshot::balance)
                 .orElseThrow(() -> new AccountApiException("Account not found"));
-        return account.getBalance();
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BigDecimal getTotalBalance(Integer accountId) {
         return getAvailableBalance(accountId);
     }
 
     @Override
     public void freezeAccount(Integer accountId) {
-        // Implementation would involve adding account status field
-        // For now, we'll throw an exception to indicate frozen account
-        throw new AccountApiException("Account operations are frozen");
+        Account account = findById(accountId)
+                .orElseThrow(() -> new AccountApiException("Account not found"));
+        
+        if (account.getStatus() == Account.Status.SUSPENDED) {
+            throw new AccountApiException("Account is already frozen");
+        }
+        if (account.getStatus() != Account.Status.ACTIVE) {
+            throw new AccountApiException("Only active accounts can be frozen");
+        }
+        
+        changeStatus(account, Account.Status.SUSPENDED);
     }
 
     @Override
     public void unfreezeAccount(Integer accountId) {
-        // Implementation would involve updating account status
+        Account account = findById(accountId)
+                .orElseThrow(() -> new AccountApiException("Account not found"));
+        
+        if (account.getStatus() != Account.Status.SUSPENDED) {
+            throw new AccountApiException("Account is not frozen");
+        }
+        
+        changeStatus(account, Account.Status.ACTIVE);
     }
 
     @Override
@@ -224,11 +279,14 @@ public class AccountServiceImpl implements AccountService {
         
         // In real implementation, we would set status to CLOSED instead of deleting
         accountRepository.delete(account);
+        userBalanceSummaryService.recordAccountClosed(account.getUser().getUserId(), account.getBalance());
+        eventPublisher.publishEvent(new AccountMetadataChangedEvent(accountId, account.getAccountNumber(), null));
+        eventPublisher.publishEvent(new OwnershipChangedEvent(account.getUser().getUserId()));
     }
 
     @Override
     public boolean isAccountActive(Integer accountId) {
-        return findById(accountId).isPresent();
+        return accountMetadataCache.findById(accountId).isPresent();
     }
 
     @Override
@@ -248,12 +306,12 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public boolean existsByAccountNumber(String accountNumber) {
-        return accountRepository.existsByAccountNumber(accountNumber);
+        return accountMetadataCache.findByAccountNumber(accountNumber).isPresent();
     }
 
     @Override
     public BigDecimal getTotalBalanceByUserId(Integer userId) {
-        return accountRepository.getTotalBalanceByUserId(userId);
+        return userBalanceSummaryService.getSummary(userId).getTotalBalance();
     }
 
     @Override
@@ -273,9 +331,37 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public List<AccountResponse> findAccountsByMinBalance(BigDecimal minBalance) {
-        List<Account> accounts = accountRepository.findByBalanceGreaterThanEqual(minBalance);
-        return mappingService.mapList(accounts, AccountResponse.class);
+    @Transactional(readOnly = true)
+    public BalanceRangePageResponse findAccountsByMinBalance(BigDecimal minBalance, Integer afterAccountId, int size) {
+        if (minBalance == null) {
+            throw new AccountApiException("Minimum balance is required");
+        }
+        if (size <= 0 || size > MAX_BALANCE_RANGE_PAGE_SIZE) {
+            throw new AccountApiException("Page size must be between 1 and " + MAX_BALANCE_RANGE_PAGE_SIZE);
+        }
+        
+        // Ids come from the balance range index; only the page itself is read from the database
+        List<Integer> ids = balanceRangeIndex.accountIdsAtLeast(minBalance, afterAccountId, size + 1);
+        boolean hasMore = ids.size() > size;
+        List<Integer> pageIds = hasMore ? ids.subList(0, size) : ids;
+        
+        List<Account> accounts = new ArrayList<>(accountRepository.findAllById(pageIds));
+        accounts.sort(Comparator.comparing(Account::getAccountId));
+        
+        return BalanceRangePageResponse.builder()
+                .minBalance(minBalance)
+                .totalMatches(balanceRangeIndex.countAtLeast(minBalance))
+                .accounts(mappingService.mapList(accounts, AccountResponse.class))
+                .nextAfterAccountId(hasMore ? pageIds.get(pageIds.size() - 1) : null)
+                .build();
+    }
+    
+    @Override
+    public long countAccountsByMinBalance(BigDecimal minBalance) {
+        if (minBalance == null) {
+            throw new AccountApiException("Minimum balance is required");
+        }
+        return balanceRangeIndex.countAtLeast(minBalance);
     }
     
     private void recordInitialDeposit(Account account, BigDecimal amount) {
@@ -291,7 +377,7 @@ public class AccountServiceImpl implements AccountService {
                 .createdAt(new Date())
                 .build();
         
-        transactionRepository.save(transaction);
+        publishRecorded(transactionRepository.save(transaction));
     }
     
     private void recordTransaction(Account account, Transaction.TxnType type, BigDecimal amount, 
@@ -308,7 +394,21 @@ public class AccountServiceImpl implements AccountService {
                 .createdAt(new Date())
                 .build();
         
-        transactionRepository.save(transaction);
+        publishRecorded(transactionRepository.save(transaction));
+    }
+    
+    private void changeStatus(Account account, Account.Status status) {
+        account.setStatus(status);
+        accountRepository.save(account);
+        // Metadata cache and status index pick this up once the change commits
+        eventPublisher.publishEvent(new AccountMetadataChangedEvent(account.getAccountId(),
+                account.getAccountNumber(), status));
+    }
+    
+    private void publishRecorded(Transaction transaction) {
+        eventPublisher.publishEvent(new TransactionRecordedEvent(transaction.getTxnId(),
+                transaction.getAccount().getAccountId(), transaction.getTxnTime(), transaction.getDescription()));
+        eventPublisher.publishEvent(AccountBalanceChangedEvent.of(transaction.getAccount(), transaction.getTxnTime()));
     }
     
     /**
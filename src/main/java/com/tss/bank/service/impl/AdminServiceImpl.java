@@ -8,7 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +20,7 @@ import com.tss.bank.exception.AdminApiException;
 import com.tss.bank.exception.UserApiException;
 import com.tss.bank.repository.AdminRepository;
 import com.tss.bank.repository.UserRepository;
+import com.tss.bank.security.PasswordHasher;
 import com.tss.bank.service.AdminService;
 import com.tss.bank.service.MappingService;
 
@@ -38,14 +38,14 @@ public class AdminServiceImpl implements AdminService {
     private MappingService mappingService;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Override
     public AdminResponse authenticateAdmin(AdminLoginRequest request) {
         Admin admin = adminRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new AdminApiException("Invalid username or password"));
         
-        if (!passwordEncoder.matches(request.getPassword(), admin.getPassword())) {
+        if (!checkPassword(admin, request.getPassword())) {
             throw new AdminApiException("Invalid username or password");
         }
         
@@ -56,13 +56,21 @@ public class AdminServiceImpl implements AdminService {
     public boolean validateAdminCredentials(String username, String password) {
         Optional<Admin> adminOpt = adminRepository.findByUsername(username);
         if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            // Use plain text comparison since passwords are stored as plain text
-            return password.equals(admin.getPassword());
+            return checkPassword(adminOpt.get(), password);
         }
         return false;
     }
 
+    // Seeded admins still hold plain-text passwords; the first successful login replaces them with a hash
+    private boolean checkPassword(Admin admin, String password) {
+        PasswordHasher.Verification verification = passwordHasher.verifyAllowingPlainText(password, admin.getPassword());
+        if (verification.upgradedHash() != null) {
+            admin.setPassword(verification.upgradedHash());
+            adminRepository.save(admin);
+        }
+        return verification.matched();
+    }
+
     @Override
     public UserResponse approveUser(Integer userId, Integer adminId) {
         User user = userRepository.findById(userId)
@@ -245,7 +253,7 @@ public class AdminServiceImpl implements AdminService {
         Admin admin = adminRepository.findById(adminId)
                 .orElseThrow(() -> new AdminApiException("Admin not found with ID: " + adminId));
         
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
         return true;
     }
@@ -289,7 +297,7 @@ public class AdminServiceImpl implements AdminService {
     public Admin save(Admin admin) {
         // Encode password if it's not already encoded
         if (admin.getPassword() != null && !admin.getPassword().startsWith("$2a$")) {
-            admin.setPassword(passwordEncoder.encode(admin.getPassword()));
+            admin.setPassword(passwordHasher.encode(admin.getPassword()));
         }
         return adminRepository.save(admin);
     }
@@ -0,0 +1,350 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.request.BulkAccountRow;
+import com.tss.bank.dto.response.BulkAccountRowResult;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.Transaction;
+import com.tss.bank.entity.User;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.OwnershipChangedEvent;
+import com.tss.bank.event.TransactionRecordedEvent;
+import com.tss.bank.exception.AccountApiException;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
+import com.tss.bank.service.BulkAccountOpeningService;
+import com.tss.bank.service.UserBalanceSummaryService;
+
+/**
+ * Opens accounts for a whole onboarding file at once. Users and branches are validated with
+ * one query each, account numbers come from a single reserved block, and the account and
+ * initial-deposit rows are written with JDBC batch inserts in chunks that commit on their own,
+ * so a failing chunk only fails its own rows.
+ */
+@Service
+public class BulkAccountOpeningServiceImpl implements BulkAccountOpeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAccountOpeningServiceImpl.class);
+
+    private static final BigDecimal MINIMUM_BALANCE = new BigDecimal("500.00");
+    private static final String INITIAL_DEPOSIT = "Initial deposit";
+
+    private static final String INSERT_ACCOUNT_SQL =
+            "INSERT INTO accounts (user_id, branch_id, account_number, account_type, balance, status, created_at, balance_version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transactions (user_id, account_id, txn_type, amount, description, txn_time, balance_after, channel, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CSV_HEADER = "row,user_id,branch_code,status,account_id,account_number,message";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bulk-accounts.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${bulk-accounts.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public List<BulkAccountRowResult> openAccounts(List<BulkAccountRow> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new AccountApiException("At least one row is required");
+        }
+        if (rows.size() > maxRows) {
+            throw new AccountApiException("A bulk request can open at most " + maxRows + " accounts");
+        }
+
+        BulkAccountRowResult[] results = new BulkAccountRowResult[rows.size()];
+        Map<Integer, User.Status> userStatuses = loadUserStatuses(rows);
+        Map<String, Branch> branches = loadBranches(rows);
+
+        List<PendingAccount> pending = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            BulkAccountRow row = rows.get(i);
+            String problem = validate(row, userStatuses, branches);
+            if (problem != null) {
+                results[i] = result(i, row, BulkAccountRowResult.Status.REJECTED, null, null, problem);
+            } else {
+                pending.add(new PendingAccount(i, row, branches.get(row.getBranchCode())));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            List<String> numbers = accountNumberAllocator.allocateBlock(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                pending.get(i).accountNumber = numbers.get(i);
+            }
+
+            TransactionTemplate chunkTemplate = new TransactionTemplate(transactionManager);
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<PendingAccount> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                try {
+                    chunkTemplate.executeWithoutResult(status -> insertChunk(chunk));
+                    for (PendingAccount account : chunk) {
+                        results[account.rowIndex] = result(account.rowIndex, account.row, BulkAccountRowResult.Status.CREATED,
+                                account.accountId, account.accountNumber, null);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Bulk account chunk starting at row {} failed", chunk.get(0).rowIndex + 1, e);
+                    for (PendingAccount account : chunk) {
+                        results[account.rowIndex] = result(account.rowIndex, account.row, BulkAccountRowResult.Status.FAILED,
+                                null, null, "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    }
+                }
+            }
+        }
+
+        log.info("Bulk account opening processed {} rows, {} accepted for insert", rows.size(), pending.size());
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public String toCsv(List<BulkAccountRowResult> results) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (BulkAccountRowResult result : results) {
+            csv.append(result.getRowNumber()).append(',')
+               .append(csvValue(result.getUserId())).append(',')
+               .append(csvValue(result.getBranchCode())).append(',')
+               .append(result.getStatus()).append(',')
+               .append(csvValue(result.getAccountId())).append(',')
+               .append(csvValue(result.getAccountNumber())).append(',')
+               .append(csvValue(result.getMessage())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private void insertChunk(List<PendingAccount> chunk) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        KeyHolder accountKeys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ACCOUNT_SQL, new String[] { "account_id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingAccount account = chunk.get(i);
+                        ps.setInt(1, account.row.getUserId());
+                        ps.setInt(2, account.branch.getBranchId());
+                        ps.setString(3, account.accountNumber);
+                        ps.setString(4, accountType(account.row).name());
+                        ps.setBigDecimal(5, account.row.getInitialBalance());
+                        ps.setString(6, Account.Status.ACTIVE.name());
+                        ps.setTimestamp(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                accountKeys);
+        assignKeys(accountKeys, chunk, (account, key) -> account.accountId = key);
+
+        KeyHolder transactionKeys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TRANSACTION_SQL, new String[] { "txn_id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingAccount account = chunk.get(i);
+                        ps.setInt(1, account.row.getUserId());
+                        ps.setInt(2, account.accountId);
+                        ps.setString(3, Transaction.TxnType.CREDIT.name());
+                        ps.setBigDecimal(4, account.row.getInitialBalance());
+                        ps.setString(5, INITIAL_DEPOSIT);
+                        ps.setTimestamp(6, now);
+                        ps.setBigDecimal(7, account.row.getInitialBalance());
+                        ps.setString(8, Transaction.Channel.BRANCH.name());
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                transactionKeys);
+        assignKeys(transactionKeys, chunk, (account, key) -> account.txnId = key);
+
+        // One summary update per user rather than per account
+        Map<Integer, List<PendingAccount>> byUser = chunk.stream()
+                .collect(Collectors.groupingBy(account -> account.row.getUserId()));
+        byUser.forEach((userId, accounts) -> userBalanceSummaryService.recordAccountsOpened(userId, accounts.size(),
+                accounts.stream().map(account -> account.row.getInitialBalance()).reduce(BigDecimal.ZERO, BigDecimal::add)));
+        byUser.keySet().forEach(userId -> eventPublisher.publishEvent(new OwnershipChangedEvent(userId)));
+
+        for (PendingAccount account : chunk) {
+            eventPublisher.publishEvent(new TransactionRecordedEvent(account.txnId, account.accountId, now, INITIAL_DEPOSIT));
+            eventPublisher.publishEvent(new AccountBalanceChangedEvent(account.accountId, account.row.getInitialBalance(), 0L, now));
+        }
+    }
+
+    private void assignKeys(KeyHolder keyHolder, List<PendingAccount> chunk,
+                            BiConsumer<PendingAccount, Integer> setter) {
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != chunk.size()) {
+            throw new IllegalStateException("Expected " + chunk.size() + " generated keys but got " + keys.size());
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Number key = (Number) keys.get(i).values().iterator().next();
+            setter.accept(chunk.get(i), key.intValue());
+        }
+    }
+
+    private String validate(BulkAccountRow row, Map<Integer, User.Status> userStatuses, Map<String, Branch> branches) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        if (row.getUserId() == null) {
+            return "User ID is required";
+        }
+        if (row.getBranchCode() == null || row.getBranchCode().trim().isEmpty()) {
+            return "Branch code is required for account creation";
+        }
+        if (row.getInitialBalance() == null || row.getInitialBalance().compareTo(MINIMUM_BALANCE) < 0) {
+            return "Initial balance must be at least " + MINIMUM_BALANCE;
+        }
+        User.Status userStatus = userStatuses.get(row.getUserId());
+        if (userStatus == null) {
+            return "User not found with ID: " + row.getUserId();
+        }
+        if (userStatus != User.Status.ACTIVE) {
+            return "User account is not active";
+        }
+        Branch branch = branches.get(row.getBranchCode());
+        if (branch == null) {
+            return "Branch not found with code: " + row.getBranchCode();
+        }
+        if (branch.getStatus() != Branch.Status.ACTIVE) {
+            return "Branch with code " + row.getBranchCode() + " is not active";
+        }
+        return null;
+    }
+
+    private Map<Integer, User.Status> loadUserStatuses(List<BulkAccountRow> rows) {
+        Set<Integer> userIds = new HashSet<>();
+        for (BulkAccountRow row : rows) {
+            if (row != null && row.getUserId() != null) {
+                userIds.add(row.getUserId());
+            }
+        }
+        Map<Integer, User.Status> statuses = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] status : userRepository.findStatusesByUserIds(userIds)) {
+                statuses.put((Integer) status[0], (User.Status) status[1]);
+            }
+        }
+        return statuses;
+    }
+
+    private Map<String, Branch> loadBranches(List<BulkAccountRow> rows) {
+        Set<String> branchCodes = new HashSet<>();
+        for (BulkAccountRow row : rows) {
+            if (row != null && row.getBranchCode() != null) {
+                branchCodes.add(row.getBranchCode());
+            }
+        }
+        if (branchCodes.isEmpty()) {
+            return Map.of();
+        }
+        return branchRepository.findByBranchCodeIn(branchCodes).stream()
+                .collect(Collectors.toMap(Branch::getBranchCode, Function.identity()));
+    }
+
+    private static Account.AccountType accountType(BulkAccountRow row) {
+        return row.getAccountType() != null ? row.getAccountType() : Account.AccountType.SALARY;
+    }
+
+    private static BulkAccountRowResult result(int rowIndex, BulkAccountRow row, BulkAccountRowResult.Status status,
+                                               Integer accountId, String accountNumber, String message) {
+        return BulkAccountRowResult.builder()
+                .rowNumber(rowIndex + 1)
+                .userId(row != null ? row.getUserId() : null)
+                .branchCode(row != null ? row.getBranchCode() : null)
+                .status(status)
+                .accountId(accountId)
+                .accountNumber(accountNumber)
+                .message(message)
+                .build();
+    }
+
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // The result file is opened in spreadsheets, which run text starting with these as a formula
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static final class PendingAccount {
+        private final int rowIndex;
+        private final BulkAccountRow row;
+        private final Branch branch;
+        private String accountNumber;
+        private Integer accountId;
+        private Integer txnId;
+
+        private PendingAccount(int rowIndex, BulkAccountRow row, Branch branch) {
+            this.rowIndex = rowIndex;
+            this.row = row;
+            this.branch = branch;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.request.FdApplicationBatchApprovalRequest;
+import com.tss.bank.dto.response.FdApplicationApprovalResult;
+import com.tss.bank.dto.response.FdApplicationBatchApprovalResponse;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.FDApplication;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.User;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.event.OwnershipChangedEvent;
+import com.tss.bank.exception.FDApplicationApiException;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.FDApplicationRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.FdApplicationApprovalService;
+import com.tss.bank.service.UserBalanceSummaryService;
+
+/**
+ * Approves PENDING FD applications in ID-ordered chunks, one transaction per chunk. Each
+ * chunk locks its applications and then their source accounts in account-id order, debits
+ * the accounts in memory, inserts the deposits with one JDBC batch and closes the
+ * applications with one batched status update. A failing chunk leaves its applications
+ * PENDING and does not affect the others.
+ */
+@Service
+public class FdApplicationApprovalServiceImpl implements FdApplicationApprovalService {
+
+    private static final Logger log = LoggerFactory.getLogger(FdApplicationApprovalServiceImpl.class);
+
+    private static final BigDecimal MINIMUM_FD_AMOUNT = new BigDecimal("1000");
+
+    private static final String INSERT_FIXED_DEPOSIT_SQL =
+            "INSERT INTO fixed_deposits (fd_app_id, user_id, account_id, amount, tenure_months, interest_rate, "
+            + "maturity_amount, start_date, maturity_date, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String APPROVE_APPLICATION_SQL =
+            "UPDATE fd_applications SET status = ?, interest_rate = ?, approved_by = ?, approved_at = ? "
+            + "WHERE fd_app_id = ? AND status = ?";
+    private static final String REJECT_APPLICATION_SQL =
+            "UPDATE fd_applications SET status = ?, rejection_reason = ?, approved_by = ?, approved_at = ? "
+            + "WHERE fd_app_id = ? AND status = ?";
+
+    @Autowired
+    private FDApplicationRepository fdApplicationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+
+    @Autowired
+    private FdQuoteEngine quoteEngine;
+
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${fd-applications.batch-size:500}")
+    private int batchSize;
+
+    @Value("${fd-applications.max-batch:50000}")
+    private int maxBatch;
+
+    @Override
+    public FdApplicationBatchApprovalResponse approveApplications(FdApplicationBatchApprovalRequest request, Integer approvedBy) {
+        long startNanos = System.nanoTime();
+        int limit = request.getMaxApplications() != null ? Math.min(request.getMaxApplications(), maxBatch) : maxBatch;
+        List<Integer> selected = selectApplications(request, limit);
+        if (selected.isEmpty()) {
+            throw new FDApplicationApiException("No pending FD applications match the selection");
+        }
+
+        List<FdApplicationApprovalResult> results = new ArrayList<>(selected.size());
+        int chunksProcessed = 0;
+        int chunksFailed = 0;
+        TransactionTemplate chunkTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < selected.size(); from += batchSize) {
+            List<Integer> chunk = selected.subList(from, Math.min(from + batchSize, selected.size()));
+            try {
+                results.addAll(chunkTemplate.execute(status -> approveChunk(chunk, approvedBy)));
+                chunksProcessed++;
+            } catch (RuntimeException e) {
+                log.error("FD application approval failed on fdAppId range {}-{}", chunk.get(0), chunk.get(chunk.size() - 1), e);
+                String message = "Batch approval failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (Integer fdAppId : chunk) {
+                    results.add(FdApplicationApprovalResult.builder()
+                            .fdAppId(fdAppId)
+                            .status(FdApplicationApprovalResult.Status.FAILED)
+                            .message(message)
+                            .build());
+                }
+                chunksFailed++;
+            }
+        }
+        results.sort(Comparator.comparing(FdApplicationApprovalResult::getFdAppId));
+
+        int[] counts = new int[FdApplicationApprovalResult.Status.values().length];
+        BigDecimal booked = BigDecimal.ZERO;
+        for (FdApplicationApprovalResult result : results) {
+            counts[result.getStatus().ordinal()]++;
+            if (result.getStatus() == FdApplicationApprovalResult.Status.APPROVED) {
+                booked = booked.add(result.getAmount());
+            }
+        }
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("FD application batch by admin {}: {} selected, {} approved, {} rejected, {} skipped, {} failed in {} ms",
+                approvedBy, selected.size(), counts[FdApplicationApprovalResult.Status.APPROVED.ordinal()],
+                counts[FdApplicationApprovalResult.Status.REJECTED.ordinal()],
+                counts[FdApplicationApprovalResult.Status.SKIPPED.ordinal()],
+                counts[FdApplicationApprovalResult.Status.FAILED.ordinal()], durationMs);
+
+        return FdApplicationBatchApprovalResponse.builder()
+                .selected(selected.size())
+                .approved(counts[FdApplicationApprovalResult.Status.APPROVED.ordinal()])
+                .rejected(counts[FdApplicationApprovalResult.Status.REJECTED.ordinal()])
+                .skipped(counts[FdApplicationApprovalResult.Status.SKIPPED.ordinal()])
+                .failed(counts[FdApplicationApprovalResult.Status.FAILED.ordinal()])
+                .amountBooked(booked)
+                .chunksProcessed(chunksProcessed)
+                .chunksFailed(chunksFailed)
+                .durationMs(durationMs)
+                .results(results)
+                .build();
+    }
+
+    private List<Integer> selectApplications(FdApplicationBatchApprovalRequest request, int limit) {
+        if (request.getFdAppIds() != null && !request.getFdAppIds().isEmpty()) {
+            if (request.getFdAppIds().size() > limit) {
+                throw new FDApplicationApiException("A batch can approve at most " + limit + " applications");
+            }
+            // Sorted so chunks lock applications in id order
+            return new ArrayList<>(new TreeSet<>(request.getFdAppIds()));
+        }
+        List<Integer> selected = new ArrayList<>();
+        int afterId = 0;
+        List<Integer> page;
+        do {
+            int pageSize = Math.min(batchSize, limit - selected.size());
+            page = fdApplicationRepository.findPendingIdsAfter(afterId, request.getMinAmount(), request.getMaxAmount(),
+                    request.getAppliedBefore(), PageRequest.of(0, pageSize));
+            selected.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1);
+            }
+        } while (page.size() == batchSize && selected.size() < limit);
+        return selected;
+    }
+
+    private List<FdApplicationApprovalResult> approveChunk(List<Integer> fdAppIds, Integer approvedBy) {
+        List<FDApplication> applications = fdApplicationRepository.findPendingForUpdate(fdAppIds);
+        List<FdApplicationApprovalResult> results = new ArrayList<>(fdAppIds.size());
+
+        Set<Integer> locked = new HashSet<>();
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> defaultAccountUsers = new HashSet<>();
+        for (FDApplication application : applications) {
+            locked.add(application.getFdAppId());
+            userIds.add(application.getUserId());
+            if (application.getAccountId() == null) {
+                defaultAccountUsers.add(application.getUserId());
+            }
+        }
+        for (Integer fdAppId : fdAppIds) {
+            if (!locked.contains(fdAppId)) {
+                results.add(FdApplicationApprovalResult.builder()
+                        .fdAppId(fdAppId)
+                        .status(FdApplicationApprovalResult.Status.SKIPPED)
+                        .message("Application is not pending")
+                        .build());
+            }
+        }
+        if (applications.isEmpty()) {
+            return results;
+        }
+
+        Map<Integer, Integer> defaultAccounts = new HashMap<>();
+        if (!defaultAccountUsers.isEmpty()) {
+            for (Object[] row : accountRepository.findOldestActiveAccountIds(defaultAccountUsers)) {
+                defaultAccounts.put((Integer) row[0], (Integer) row[1]);
+            }
+        }
+        Map<Integer, Date> datesOfBirth = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            datesOfBirth.put(user.getUserId(), user.getDateOfBirth());
+        }
+
+        // Accounts are locked in id order so concurrent batches and transfers cannot deadlock
+        Set<Integer> accountIds = new TreeSet<>();
+        for (FDApplication application : applications) {
+            Integer accountId = sourceAccountId(application, defaultAccounts);
+            if (accountId != null) {
+                accountIds.add(accountId);
+            }
+        }
+        Map<Integer, Account> accounts = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            for (Account account : accountRepository.findAllForUpdate(accountIds)) {
+                accounts.put(account.getAccountId(), account);
+            }
+        }
+
+        Date now = new Date();
+        Map<Integer, Date> maturityDates = new HashMap<>();
+        List<Approval> approvals = new ArrayList<>();
+        List<FdApplicationApprovalResult> rejections = new ArrayList<>();
+        Map<Integer, Account> debitedAccounts = new LinkedHashMap<>();
+        for (FDApplication application : applications) {
+            Integer accountId = sourceAccountId(application, defaultAccounts);
+            Account account = accountId != null ? accounts.get(accountId) : null;
+            String problem = validate(application, account);
+            FdQuoteResponse quote = null;
+            if (problem == null) {
+                try {
+                    quote = quoteEngine.quote(application.getAmount(), application.getTenureMonths(),
+                            FdQuoteEngine.isSeniorCitizen(datesOfBirth.get(application.getUserId())));
+                } catch (FixedDepositApiException e) {
+                    problem = e.getMessage();
+                }
+            }
+            if (problem == null && account.getBalance().compareTo(application.getAmount()) < 0) {
+                problem = "Insufficient balance in account";
+            }
+            if (problem != null) {
+                rejections.add(FdApplicationApprovalResult.builder()
+                        .fdAppId(application.getFdAppId())
+                        .userId(application.getUserId())
+                        .accountId(accountId)
+                        .amount(application.getAmount())
+                        .status(FdApplicationApprovalResult.Status.REJECTED)
+                        .message(problem)
+                        .build());
+                continue;
+            }
+
+            // Debited on the managed entity; the account updates are flushed as one JDBC batch on commit
+            account.applyBalance(account.getBalance().subtract(application.getAmount()));
+            debitedAccounts.put(account.getAccountId(), account);
+            Date maturityDate = maturityDates.computeIfAbsent(application.getTenureMonths(), tenure -> {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTime(now);
+                calendar.add(Calendar.MONTH, tenure);
+                return calendar.getTime();
+            });
+            approvals.add(new Approval(application, account, quote, maturityDate));
+        }
+
+        if (!approvals.isEmpty()) {
+            insertDeposits(approvals, now);
+        }
+        updateApplications(approvals, rejections, approvedBy, now);
+
+        Map<Integer, BigDecimal> userDeltas = new LinkedHashMap<>();
+        for (Approval approval : approvals) {
+            userDeltas.merge(approval.application.getUserId(), approval.application.getAmount(), BigDecimal::add);
+            eventPublisher.publishEvent(new FixedDepositChangedEvent(approval.fdId, FixedDeposit.Status.ACTIVE, approval.maturityDate));
+            results.add(FdApplicationApprovalResult.builder()
+                    .fdAppId(approval.application.getFdAppId())
+                    .userId(approval.application.getUserId())
+                    .accountId(approval.account.getAccountId())
+                    .amount(approval.application.getAmount())
+                    .status(FdApplicationApprovalResult.Status.APPROVED)
+                    .fdId(approval.fdId)
+                    .interestRate(approval.quote.getInterestRate())
+                    .maturityAmount(approval.quote.getMaturityAmount())
+                    .build());
+        }
+        userDeltas.forEach((userId, amount) ->
+                userBalanceSummaryService.recordFixedDepositChange(userId, amount.negate(), amount));
+        userDeltas.keySet().forEach(userId -> eventPublisher.publishEvent(new OwnershipChangedEvent(userId)));
+        for (Account account : debitedAccounts.values()) {
+            eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, null));
+        }
+        results.addAll(rejections);
+        return results;
+    }
+
+    private void insertDeposits(List<Approval> approvals, Date now) {
+        Timestamp timestamp = new Timestamp(now.getTime());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_FIXED_DEPOSIT_SQL, new String[] { "fd_id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Approval approval = approvals.get(i);
+                        ps.setInt(1, approval.application.getFdAppId());
+                        ps.setInt(2, approval.application.getUserId());
+                        ps.setInt(3, approval.account.getAccountId());
+                        ps.setBigDecimal(4, approval.application.getAmount());
+                        ps.setInt(5, approval.application.getTenureMonths());
+                        ps.setBigDecimal(6, approval.quote.getInterestRate());
+                        ps.setBigDecimal(7, approval.quote.getMaturityAmount());
+                        ps.setTimestamp(8, timestamp);
+                        ps.setTimestamp(9, new Timestamp(approval.maturityDate.getTime()));
+                        ps.setString(10, FixedDeposit.Status.ACTIVE.name());
+                        ps.setTimestamp(11, timestamp);
+                        ps.setTimestamp(12, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return approvals.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != approvals.size()) {
+            throw new IllegalStateException("Expected " + approvals.size() + " generated keys but got " + generated.size());
+        }
+        for (int i = 0; i < approvals.size(); i++) {
+            approvals.get(i).fdId = ((Number) generated.get(i).values().iterator().next()).intValue();
+        }
+    }
+
+    private void updateApplications(List<Approval> approvals, List<FdApplicationApprovalResult> rejections,
+                                    Integer approvedBy, Date now) {
+        Timestamp timestamp = new Timestamp(now.getTime());
+        if (!approvals.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPROVE_APPLICATION_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Approval approval = approvals.get(i);
+                    ps.setString(1, FDApplication.Status.APPROVED.name());
+                    ps.setBigDecimal(2, approval.quote.getInterestRate());
+                    ps.setObject(3, approvedBy);
+                    ps.setTimestamp(4, timestamp);
+                    ps.setInt(5, approval.application.getFdAppId());
+                    ps.setString(6, FDApplication.Status.PENDING.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return approvals.size();
+                }
+            });
+        }
+        if (!rejections.isEmpty()) {
+            jdbcTemplate.batchUpdate(REJECT_APPLICATION_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    FdApplicationApprovalResult rejection = rejections.get(i);
+                    ps.setString(1, FDApplication.Status.REJECTED.name());
+                    ps.setString(2, truncate(rejection.getMessage()));
+                    ps.setObject(3, approvedBy);
+                    ps.setTimestamp(4, timestamp);
+                    ps.setInt(5, rejection.getFdAppId());
+                    ps.setString(6, FDApplication.Status.PENDING.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rejections.size();
+                }
+            });
+        }
+    }
+
+    private String validate(FDApplication application, Account account) {
+        if (account == null) {
+            return application.getAccountId() == null ? "Applicant has no active account"
+                    : "Account not found with ID: " + application.getAccountId();
+        }
+        if (!account.getUser().getUserId().equals(application.getUserId())) {
+            return "Account " + account.getAccountId() + " does not belong to the applicant";
+        }
+        if (account.getStatus() != Account.Status.ACTIVE || accountStatusIndex.isFrozen(account.getAccountId())) {
+            return "Account is not active";
+        }
+        if (application.getAmount() == null || application.getAmount().compareTo(MINIMUM_FD_AMOUNT) < 0) {
+            return "Minimum FD amount is " + MINIMUM_FD_AMOUNT;
+        }
+        if (application.getTenureMonths() == null) {
+            return "FD tenure is required";
+        }
+        return null;
+    }
+
+    private static Integer sourceAccountId(FDApplication application, Map<Integer, Integer> defaultAccounts) {
+        return application.getAccountId() != null ? application.getAccountId() : defaultAccounts.get(application.getUserId());
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private static final class Approval {
+        private final FDApplication application;
+        private final Account account;
+        private final FdQuoteResponse quote;
+        private final Date maturityDate;
+        private Integer fdId;
+
+        Approval(FDApplication application, Account account, FdQuoteResponse quote, Date maturityDate) {
+            this.application = application;
+            this.account = account;
+            this.quote = quote;
+            this.maturityDate = maturityDate;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.response.FdMaturityRunResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.FdMaturityRun;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.FdMaturityRunRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.service.FdMaturityService;
+import com.tss.bank.service.MappingService;
+import com.tss.bank.service.UserBalanceSummaryService;
+
+/**
+ * Pays out matured fixed deposits in ID-ordered chunks. Each wave of up to
+ * {@code fd-maturity.parallelism} chunks runs on the bounded maturity executor, one
+ * transaction per chunk, and the run's checkpoint advances once the whole wave is done.
+ * A run interrupted by a crash is resumed from its checkpoint with its original cut-off.
+ */
+@Service
+public class FdMaturityServiceImpl implements FdMaturityService {
+
+    private static final Logger log = LoggerFactory.getLogger(FdMaturityServiceImpl.class);
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private FdMaturityRunRepository runRepository;
+
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MappingService mappingService;
+
+    @Autowired
+    @Qualifier("fdMaturityExecutor")
+    private ThreadPoolTaskExecutor fdMaturityExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${fd-maturity.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fd-maturity.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (runRepository.findTopByStatusOrderByRunIdDesc(FdMaturityRun.Status.RUNNING).isEmpty()) {
+            return;
+        }
+        Thread resumer = new Thread(() -> {
+            try {
+                runMaturity();
+            } catch (FixedDepositApiException e) {
+                log.warn("Could not resume FD maturity run: {}", e.getMessage());
+            }
+        }, "fd-maturity-resume");
+        resumer.setDaemon(true);
+        resumer.start();
+    }
+
+    @Scheduled(cron = "${fd-maturity.cron:0 15 0 * * *}")
+    public void scheduledMaturity() {
+        if (isRunning()) {
+            log.warn("Skipping scheduled FD maturity run: previous run still in progress");
+            return;
+        }
+        runMaturity();
+    }
+
+    @Override
+    public FdMaturityRunResponse runMaturity() {
+        if (!running.compareAndSet(false, true)) {
+            throw new FixedDepositApiException("An FD maturity run is already in progress");
+        }
+
+        long startNanos = System.nanoTime();
+        long priorDurationMs = 0;
+        FdMaturityRun run = null;
+        try {
+            // A RUNNING row with no live run in this process was interrupted; pick it up
+            run = runRepository.findTopByStatusOrderByRunIdDesc(FdMaturityRun.Status.RUNNING)
+                    .map(this::resume)
+                    .orElseGet(this::startRun);
+            priorDurationMs = run.getDurationMs() == null ? 0L : run.getDurationMs();
+
+            int checkpoint = run.getCheckpointFdId();
+            List<Integer> page;
+            do {
+                List<List<Integer>> wave = new ArrayList<>();
+                do {
+                    page = fixedDepositRepository.findMaturedIdsAfter(run.getAsOf(), checkpoint, PageRequest.of(0, chunkSize));
+                    if (!page.isEmpty()) {
+                        wave.add(page);
+                        checkpoint = page.get(page.size() - 1);
+                    }
+                } while (page.size() == chunkSize && wave.size() < parallelism);
+
+                if (!wave.isEmpty()) {
+                    applyWave(run, wave);
+                    run.setCheckpointFdId(checkpoint);
+                    run.setDurationMs(priorDurationMs + elapsedMs(startNanos));
+                    run = runRepository.save(run);
+                }
+            } while (page.size() == chunkSize);
+
+            run.setStatus(run.getChunksFailed() == 0 ? FdMaturityRun.Status.COMPLETED
+                    : FdMaturityRun.Status.COMPLETED_WITH_ERRORS);
+        } catch (Exception e) {
+            if (run == null) {
+                running.set(false);
+                throw e;
+            }
+            run.setStatus(FdMaturityRun.Status.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            log.error("FD maturity run {} failed", run.getRunId(), e);
+        } finally {
+            if (run != null) {
+                run.setFinishedAt(new Date());
+                run.setDurationMs(priorDurationMs + elapsedMs(startNanos));
+                run = runRepository.save(run);
+                running.set(false);
+            }
+        }
+
+        log.info("FD maturity run {} {}: {} matured ({} credited), {} skipped, {} failed, {} failed chunks in {} ms",
+                run.getRunId(), run.getStatus(), run.getDepositsMatured(), run.getAmountCredited(),
+                run.getDepositsSkipped(), run.getDepositsFailed(), run.getChunksFailed(), run.getDurationMs());
+        return mappingService.map(run, FdMaturityRunResponse.class);
+    }
+
+    @Override
+    public FdMaturityRunResponse getRun(Integer runId) {
+        FdMaturityRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new FixedDepositApiException("FD maturity run not found with ID: " + runId));
+        return mappingService.map(run, FdMaturityRunResponse.class);
+    }
+
+    @Override
+    public Optional<FdMaturityRunResponse> getLatestRun() {
+        return runRepository.findTopByOrderByRunIdDesc()
+                .map(run -> mappingService.map(run, FdMaturityRunResponse.class));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public int matureDeposits(List<Integer> fdIds) {
+        Date asOf = new Date();
+        int matured = 0;
+        for (int from = 0; from < fdIds.size(); from += chunkSize) {
+            List<Integer> chunk = fdIds.subList(from, Math.min(from + chunkSize, fdIds.size()));
+            matured += (int) matureChunk("calendar", chunk, asOf).matured();
+        }
+        return matured;
+    }
+
+    private FdMaturityRun startRun() {
+        return runRepository.save(FdMaturityRun.builder()
+                .status(FdMaturityRun.Status.RUNNING)
+                .asOf(new Date())
+                .checkpointFdId(0)
+                .startedAt(new Date())
+                .durationMs(0L)
+                .depositsMatured(0L)
+                .depositsSkipped(0L)
+                .depositsFailed(0L)
+                .amountCredited(BigDecimal.ZERO)
+                .chunksProcessed(0)
+                .chunksFailed(0)
+                .resumeCount(0)
+                .build());
+    }
+
+    private FdMaturityRun resume(FdMaturityRun run) {
+        run.setResumeCount(run.getResumeCount() + 1);
+        log.info("Resuming FD maturity run {} from fdId {} (as of {})",
+                run.getRunId(), run.getCheckpointFdId(), run.getAsOf());
+        return runRepository.save(run);
+    }
+
+    private void applyWave(FdMaturityRun run, List<List<Integer>> wave) {
+        Date asOf = run.getAsOf();
+        List<CompletableFuture<ChunkResult>> futures = new ArrayList<>(wave.size());
+        for (List<Integer> chunk : wave) {
+            futures.add(CompletableFuture.supplyAsync(() -> matureChunk("run " + run.getRunId(), chunk, asOf), fdMaturityExecutor));
+        }
+        for (CompletableFuture<ChunkResult> future : futures) {
+            ChunkResult result = future.join();
+            run.setDepositsMatured(run.getDepositsMatured() + result.matured());
+            run.setDepositsSkipped(run.getDepositsSkipped() + result.skipped());
+            run.setDepositsFailed(run.getDepositsFailed() + result.failed());
+            run.setAmountCredited(run.getAmountCredited().add(result.credited()));
+            if (result.chunkFailed()) {
+                run.setChunksFailed(run.getChunksFailed() + 1);
+            } else {
+                run.setChunksProcessed(run.getChunksProcessed() + 1);
+            }
+        }
+    }
+
+    private ChunkResult matureChunk(String source, List<Integer> fdIds, Date asOf) {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            return template.execute(status -> {
+                List<FixedDeposit> deposits = fixedDepositRepository.findMaturedForUpdate(fdIds, asOf);
+                // Accounts are locked (and loaded fresh) before crediting; parallel chunks may share an account
+                Set<Integer> accountIds = new TreeSet<>();
+                for (FixedDeposit fd : deposits) {
+                    accountIds.add(fd.getAccount().getAccountId());
+                }
+                if (!accountIds.isEmpty()) {
+                    accountRepository.findAllForUpdate(accountIds);
+                }
+                Date now = new Date();
+                Map<Integer, Account> creditedAccounts = new LinkedHashMap<>();
+                Map<Integer, BigDecimal[]> userDeltas = new LinkedHashMap<>();
+                BigDecimal credited = BigDecimal.ZERO;
+
+                // Accounts and deposits are managed entities; the updates are flushed as JDBC batches on commit
+                for (FixedDeposit fd : deposits) {
+                    Account account = fd.getAccount();
+                    account.applyBalance(account.getBalance().add(fd.getMaturityAmount()));
+                    creditedAccounts.put(account.getAccountId(), account);
+
+                    BigDecimal[] delta = userDeltas.computeIfAbsent(account.getUser().getUserId(),
+                            id -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+                    delta[0] = delta[0].add(fd.getMaturityAmount());
+                    delta[1] = delta[1].subtract(fd.getAmount());
+
+                    fd.setStatus(FixedDeposit.Status.MATURED);
+                    fd.setUpdatedAt(now);
+                    eventPublisher.publishEvent(FixedDepositChangedEvent.of(fd));
+                    credited = credited.add(fd.getMaturityAmount());
+                }
+
+                userDeltas.forEach((userId, delta) ->
+                        userBalanceSummaryService.recordFixedDepositChange(userId, delta[0], delta[1]));
+                for (Account account : creditedAccounts.values()) {
+                    eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, null));
+                }
+                return new ChunkResult(deposits.size(), fdIds.size() - deposits.size(), 0, credited, false);
+            });
+        } catch (Exception e) {
+            log.error("FD maturity {} failed on fdId range {}-{}", source, fdIds.get(0), fdIds.get(fdIds.size() - 1), e);
+            return new ChunkResult(0, 0, fdIds.size(), BigDecimal.ZERO, true);
+        }
+    }
+
+    private long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private record ChunkResult(long matured, long skipped, long failed, BigDecimal credited, boolean chunkFailed) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.dto.request.FdRateCardRequest;
+import com.tss.bank.dto.request.FdRateSlabRequest;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.dto.response.FdRateCardResponse;
+import com.tss.bank.dto.response.FdRateSlabResponse;
+import com.tss.bank.entity.FdRateCard;
+import com.tss.bank.entity.FdRateSlab;
+import com.tss.bank.event.FdRateCardPublishedEvent;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.rate.FdRateTable;
+import com.tss.bank.repository.FdRateCardRepository;
+import com.tss.bank.repository.FdRateSlabRepository;
+import com.tss.bank.service.FdRateCardService;
+
+@Service
+public class FdRateCardServiceImpl implements FdRateCardService {
+
+    private static final Logger log = LoggerFactory.getLogger(FdRateCardServiceImpl.class);
+
+    // Every tenure must be quotable for the smallest deposit FixedDepositServiceImpl accepts
+    private static final BigDecimal MINIMUM_FD_AMOUNT = new BigDecimal("1000");
+
+    @Autowired
+    private FdRateCardRepository rateCardRepository;
+
+    @Autowired
+    private FdRateSlabRepository rateSlabRepository;
+
+    @Autowired
+    private FdQuoteEngine quoteEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public FdRateCardResponse getCurrentRateCard() {
+        FdRateCard card = rateCardRepository.findTopByOrderByVersionDesc()
+                .orElseThrow(() -> new FixedDepositApiException("No FD rate card has been published"));
+        return toResponse(card);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FdRateCardResponse getRateCard(Integer version) {
+        FdRateCard card = rateCardRepository.findByVersion(version)
+                .orElseThrow(() -> new FixedDepositApiException("FD rate card not found with version: " + version));
+        return toResponse(card);
+    }
+
+    @Override
+    @Transactional
+    public FdRateCardResponse publishRateCard(FdRateCardRequest request, Integer publishedBy) {
+        validateSlabs(request.getSlabs());
+
+        int version = rateCardRepository.findTopByOrderByVersionDesc()
+                .map(latest -> latest.getVersion() + 1)
+                .orElse(1);
+        FdRateCard card = rateCardRepository.save(FdRateCard.builder()
+                .version(version)
+                .seniorCitizenBonus(request.getSeniorCitizenBonus())
+                .publishedBy(publishedBy)
+                .createdAt(new Date())
+                .build());
+
+        List<FdRateSlab> slabs = new ArrayList<>(request.getSlabs().size());
+        for (FdRateSlabRequest slab : request.getSlabs()) {
+            slabs.add(FdRateSlab.builder()
+                    .rateCardId(card.getRateCardId())
+                    .minTenureMonths(slab.getMinTenureMonths())
+                    .maxTenureMonths(slab.getMaxTenureMonths())
+                    .minAmount(slab.getMinAmount())
+                    .rate(slab.getRate())
+                    .build());
+        }
+        rateSlabRepository.saveAll(slabs);
+
+        // The quote engine swaps in the new table once this transaction commits
+        eventPublisher.publishEvent(new FdRateCardPublishedEvent(card.getRateCardId(), version));
+        log.info("FD rate card version {} published by user {} with {} slabs", version, publishedBy, slabs.size());
+        return toResponse(card, slabs);
+    }
+
+    // Quotes are served from the in-memory table and never touch the database
+    @Override
+    public FdQuoteResponse getQuote(BigDecimal amount, Integer tenureMonths, boolean seniorCitizen) {
+        return quoteEngine.quote(amount, tenureMonths, seniorCitizen);
+    }
+
+    @Override
+    public List<FdQuoteResponse> getQuoteGrid(BigDecimal amount, boolean seniorCitizen) {
+        return quoteEngine.quoteGrid(amount, seniorCitizen);
+    }
+
+    private void validateSlabs(List<FdRateSlabRequest> slabs) {
+        Set<String> keys = new HashSet<>();
+        for (FdRateSlabRequest slab : slabs) {
+            if (!FdRateTable.inRange(slab.getMinTenureMonths()) || !FdRateTable.inRange(slab.getMaxTenureMonths())) {
+                throw new FixedDepositApiException("Slab tenures must be between " + FdRateTable.MIN_TENURE
+                        + " and " + FdRateTable.MAX_TENURE + " months");
+            }
+            if (slab.getMinTenureMonths() > slab.getMaxTenureMonths()) {
+                throw new FixedDepositApiException("Slab minimum tenure cannot exceed its maximum tenure");
+            }
+            if (slab.getMinAmount().scale() > 2 || slab.getRate().scale() > 2) {
+                throw new FixedDepositApiException("Slab amounts and rates can have at most two decimal places");
+            }
+            // Two slabs may not claim the same tenure and amount floor
+            for (int tenure = slab.getMinTenureMonths(); tenure <= slab.getMaxTenureMonths(); tenure++) {
+                if (!keys.add(tenure + ":" + slab.getMinAmount().stripTrailingZeros().toPlainString())) {
+                    throw new FixedDepositApiException("Overlapping slabs for tenure " + tenure
+                            + " months and minimum amount " + slab.getMinAmount());
+                }
+            }
+        }
+        for (int tenure = FdRateTable.MIN_TENURE; tenure <= FdRateTable.MAX_TENURE; tenure++) {
+            final int t = tenure;
+            boolean covered = slabs.stream().anyMatch(slab -> t >= slab.getMinTenureMonths()
+                    && t <= slab.getMaxTenureMonths() && slab.getMinAmount().compareTo(MINIMUM_FD_AMOUNT) <= 0);
+            if (!covered) {
+                throw new FixedDepositApiException("No slab covers a " + MINIMUM_FD_AMOUNT + " deposit for " + tenure + " months");
+            }
+        }
+    }
+
+    private FdRateCardResponse toResponse(FdRateCard card) {
+        return toResponse(card, rateSlabRepository.findByRateCardIdOrderByMinTenureMonthsAscMinAmountAsc(card.getRateCardId()));
+    }
+
+    private FdRateCardResponse toResponse(FdRateCard card, List<FdRateSlab> slabs) {
+        List<FdRateSlabResponse> slabResponses = new ArrayList<>(slabs.size());
+        for (FdRateSlab slab : slabs) {
+            slabResponses.add(FdRateSlabResponse.builder()
+                    .minTenureMonths(slab.getMinTenureMonths())
+                    .maxTenureMonths(slab.getMaxTenureMonths())
+                    .minAmount(slab.getMinAmount())
+                    .rate(slab.getRate())
+                    .build());
+        }
+        return FdRateCardResponse.builder()
+                .rateCardId(card.getRateCardId())
+                .version(card.getVersion())
+                .seniorCitizenBonus(card.getSeniorCitizenBonus())
+                .publishedBy(card.getPublishedBy())
+                .createdAt(card.getCreatedAt())
+                .slabs(slabResponses)
+                .build();
+    }
+}
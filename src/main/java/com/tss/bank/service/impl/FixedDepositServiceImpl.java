@@ -1,29 +1,49 @@
 package com.tss.bank.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tss.bank.dto.request.FixedDepositRequest;
+import com.tss.bank.dto.response.FdCashFlowMonthResponse;
+import com.tss.bank.dto.response.FdLiabilityProjectionResponse;
+import com.tss.bank.dto.response.FdMaturityRunResponse;
+import com.tss.bank.dto.response.FdQuoteResponse;
 import com.tss.bank.dto.response.FixedDepositResponse;
 import com.tss.bank.entity.Account;
 import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.event.OwnershipChangedEvent;
 import com.tss.bank.exception.AccountApiException;
 import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.projection.FdLiabilityProjection;
+import com.tss.bank.rate.FdQuoteEngine;
 import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
 import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.service.FdMaturityService;
 import com.tss.bank.service.FixedDepositService;
 import com.tss.bank.service.MappingService;
+import com.tss.bank.service.UserBalanceSummaryService;
 
 @Service
 @Transactional
@@ -38,11 +58,26 @@ public class FixedDepositServiceImpl implements FixedDepositService {
     @Autowired
     private MappingService mappingService;
     
-    // Interest rates based on tenure (in months)
-    private static final BigDecimal RATE_6_TO_12_MONTHS = new BigDecimal("6.5");
-    private static final BigDecimal RATE_12_TO_24_MONTHS = new BigDecimal("7.0");
-    private static final BigDecimal RATE_24_TO_36_MONTHS = new BigDecimal("7.5");
-    private static final BigDecimal RATE_ABOVE_36_MONTHS = new BigDecimal("8.0");
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+    
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+    
+    @Autowired
+    private FdMaturityService fdMaturityService;
+    
+    @Autowired
+    private FdQuoteEngine quoteEngine;
+
+    @Autowired
+    private FdLiabilityProjection liabilityProjection;
+
+    @Autowired
+    private BranchRepository branchRepository;
     
     private static final BigDecimal MINIMUM_FD_AMOUNT = new BigDecimal("1000");
     private static final Integer MINIMUM_TENURE = 6;
@@ -50,8 +85,12 @@ public class FixedDepositServiceImpl implements FixedDepositService {
 
     @Override
     public FixedDepositResponse createFixedDeposit(FixedDepositRequest request) {
+        if (accountStatusIndex.isFrozen(request.getAccountId())) {
+            throw new FixedDepositApiException("Account is frozen");
+        }
+        
         // Validate account
-        Account account = accountRepository.findById(request.getAccountId())
+        Account account = accountRepository.findByIdForUpdate(request.getAccountId())
                 .orElseThrow(() -> new AccountApiException("Account not found with ID: " + request.getAccountId()));
         
         // Validate minimum amount
@@ -70,8 +109,11 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         }
         
         // Debit amount from account
-        account.setBalance(account.getBalance().subtract(request.getAmount()));
+        account.applyBalance(account.getBalance().subtract(request.getAmount()));
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, null));
+        userBalanceSummaryService.recordFixedDepositChange(account.getUser().getUserId(),
+                request.getAmount().negate(), request.getAmount());
         
         // Create FD
         FixedDeposit fixedDeposit = new FixedDeposit();
@@ -79,15 +121,19 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         fixedDeposit.setUser(account.getUser());
         fixedDeposit.setAmount(request.getAmount());
         fixedDeposit.setTenureMonths(request.getTenureMonths());
-        fixedDeposit.setInterestRate(calculateInterestRate(request.getTenureMonths()));
+        FdQuoteResponse quote = quoteEngine.quote(request.getAmount(), request.getTenureMonths(),
+                FdQuoteEngine.isSeniorCitizen(account.getUser().getDateOfBirth()));
+        fixedDeposit.setInterestRate(quote.getInterestRate());
         fixedDeposit.setStartDate(new Date());
         fixedDeposit.setMaturityDate(calculateMaturityDate(fixedDeposit.getStartDate(), request.getTenureMonths()));
-        fixedDeposit.setMaturityAmount(calculateMaturityAmount(request.getAmount(), fixedDeposit.getInterestRate(), request.getTenureMonths()));
+        fixedDeposit.setMaturityAmount(quote.getMaturityAmount());
         fixedDeposit.setStatus(FixedDeposit.Status.ACTIVE);
         fixedDeposit.setCreatedAt(new Date());
         fixedDeposit.setUpdatedAt(new Date());
         
         FixedDeposit savedFD = fixedDepositRepository.save(fixedDeposit);
+        eventPublisher.publishEvent(FixedDepositChangedEvent.of(savedFD));
+        eventPublisher.publishEvent(new OwnershipChangedEvent(account.getUser().getUserId()));
         return mappingService.map(savedFD, FixedDepositResponse.class);
     }
 
@@ -116,7 +162,8 @@ public class FixedDepositServiceImpl implements FixedDepositService {
 
     @Override
     public FixedDepositResponse prematureWithdrawal(Integer fdId, String reason) {
-        FixedDeposit fixedDeposit = fixedDepositRepository.findById(fdId)
+        // Locked before the status check so a concurrent payout cannot credit the same deposit twice
+        FixedDeposit fixedDeposit = fixedDepositRepository.findByIdForUpdate(fdId)
                 .orElseThrow(() -> new FixedDepositApiException("Fixed Deposit not found with ID: " + fdId));
         
         if (fixedDeposit.getStatus() != FixedDeposit.Status.ACTIVE) {
@@ -127,9 +174,12 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         BigDecimal prematureAmount = calculatePrematureAmount(fixedDeposit);
         
         // Credit amount back to account
-        Account account = fixedDeposit.getAccount();
-        account.setBalance(account.getBalance().add(prematureAmount));
+        Account account = lockAccount(fixedDeposit);
+        account.applyBalance(account.getBalance().add(prematureAmount));
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, null));
+        userBalanceSummaryService.recordFixedDepositChange(account.getUser().getUserId(),
+                prematureAmount, fixedDeposit.getAmount().negate());
         
         // Update FD status
         fixedDeposit.setStatus(FixedDeposit.Status.EARLY_CLOSE);
@@ -138,12 +188,14 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         fixedDeposit.setUpdatedAt(new Date());
         
         FixedDeposit updatedFD = fixedDepositRepository.save(fixedDeposit);
+        eventPublisher.publishEvent(FixedDepositChangedEvent.of(updatedFD));
         return mappingService.map(updatedFD, FixedDepositResponse.class);
     }
 
     @Override
     public FixedDepositResponse matureFixedDeposit(Integer fdId) {
-        FixedDeposit fixedDeposit = fixedDepositRepository.findById(fdId)
+        // Locked before the status check so a concurrent payout cannot credit the same deposit twice
+        FixedDeposit fixedDeposit = fixedDepositRepository.findByIdForUpdate(fdId)
                 .orElseThrow(() -> new FixedDepositApiException("Fixed Deposit not found with ID: " + fdId));
         
         if (fixedDeposit.getStatus() != FixedDeposit.Status.ACTIVE) {
@@ -155,29 +207,26 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         }
         
         // Credit maturity amount to account
-        Account account = fixedDeposit.getAccount();
-        account.setBalance(account.getBalance().add(fixedDeposit.getMaturityAmount()));
+        Account account = lockAccount(fixedDeposit);
+        account.applyBalance(account.getBalance().add(fixedDeposit.getMaturityAmount()));
         accountRepository.save(account);
+        eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, null));
+        userBalanceSummaryService.recordFixedDepositChange(account.getUser().getUserId(),
+                fixedDeposit.getMaturityAmount(), fixedDeposit.getAmount().negate());
         
         // Update FD status
         fixedDeposit.setStatus(FixedDeposit.Status.MATURED);
         fixedDeposit.setUpdatedAt(new Date());
         
         FixedDeposit updatedFD = fixedDepositRepository.save(fixedDeposit);
+        eventPublisher.publishEvent(FixedDepositChangedEvent.of(updatedFD));
         return mappingService.map(updatedFD, FixedDepositResponse.class);
     }
 
     @Override
     public BigDecimal calculateInterestRate(Integer tenureMonths) {
-        if (tenureMonths >= 6 && tenureMonths < 12) {
-            return RATE_6_TO_12_MONTHS;
-        } else if (tenureMonths >= 12 && tenureMonths < 24) {
-            return RATE_12_TO_24_MONTHS;
-        } else if (tenureMonths >= 24 && tenureMonths < 36) {
-            return RATE_24_TO_36_MONTHS;
-        } else {
-            return RATE_ABOVE_36_MONTHS;
-        }
+        // Base rate for a minimum-size, non-senior deposit on the current rate card
+        return quoteEngine.rate(MINIMUM_FD_AMOUNT, tenureMonths, false);
     }
 
     @Override
@@ -206,17 +255,10 @@ public class FixedDepositServiceImpl implements FixedDepositService {
     }
 
     @Override
-    public void processMaturedDeposits() {
-        List<FixedDeposit> maturedDeposits = fixedDepositRepository.findMaturedDeposits(new Date());
-        
-        for (FixedDeposit fd : maturedDeposits) {
-            try {
-                matureFixedDeposit(fd.getFdId());
-            } catch (Exception e) {
-                // Log error but continue processing other FDs
-                System.err.println("Error processing matured FD " + fd.getFdId() + ": " + e.getMessage());
-            }
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FdMaturityRunResponse processMaturedDeposits() {
+        // The maturity engine commits chunk by chunk, so it must not run inside this service's transaction
+        return fdMaturityService.runMaturity();
     }
 
     @Override
@@ -225,6 +267,60 @@ public class FixedDepositServiceImpl implements FixedDepositService {
         return total != null ? total : BigDecimal.ZERO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FdLiabilityProjectionResponse getLiabilityProjection(int months) {
+        if (months < 1 || months > FdLiabilityProjection.MAX_MONTHS) {
+            throw new FixedDepositApiException("Projection must cover between 1 and " + FdLiabilityProjection.MAX_MONTHS + " months");
+        }
+        // Skipped during the nightly rebuild; the scheduled refresh picks up what is left
+        liabilityProjection.tryRefresh();
+        FdLiabilityProjection.Curve curve = liabilityProjection.project(months);
+
+        List<String> branchCodes = new ArrayList<>(curve.branchIds().size());
+        Map<Integer, String> codesById = new HashMap<>();
+        branchRepository.findAllById(curve.branchIds().stream().filter(Objects::nonNull).toList())
+                .forEach(branch -> codesById.put(branch.getBranchId(), branch.getBranchCode()));
+        for (Integer branchId : curve.branchIds()) {
+            branchCodes.add(branchId == null ? "UNASSIGNED" : codesById.getOrDefault(branchId, "BRANCH-" + branchId));
+        }
+
+        List<FdCashFlowMonthResponse> cashFlows = new ArrayList<>(months);
+        long depositCount = 0;
+        long totalPaise = 0;
+        for (int m = 0; m < months; m++) {
+            long monthPaise = 0;
+            long monthCount = 0;
+            Map<String, BigDecimal> byBranch = new LinkedHashMap<>();
+            for (int b = 0; b < branchCodes.size(); b++) {
+                int cell = b * months + m;
+                if (curve.counts()[cell] > 0) {
+                    byBranch.merge(branchCodes.get(b), BigDecimal.valueOf(curve.amounts()[cell], 2), BigDecimal::add);
+                    monthPaise += curve.amounts()[cell];
+                    monthCount += curve.counts()[cell];
+                }
+            }
+            int month = curve.startMonth() + m;
+            cashFlows.add(FdCashFlowMonthResponse.builder()
+                    .month(String.format("%04d-%02d", month / 12, month % 12 + 1))
+                    .depositCount(monthCount)
+                    .payoutAmount(BigDecimal.valueOf(monthPaise, 2))
+                    .payoutByBranch(byBranch)
+                    .build());
+            depositCount += monthCount;
+            totalPaise += monthPaise;
+        }
+
+        return FdLiabilityProjectionResponse.builder()
+                .generatedAt(new Date())
+                .fromMonth(cashFlows.get(0).getMonth())
+                .months(months)
+                .depositCount(depositCount)
+                .totalPayout(BigDecimal.valueOf(totalPaise, 2))
+                .cashFlows(cashFlows)
+                .build();
+    }
+
     @Override
     public Page<FixedDepositResponse> findAllFixedDeposits(Pageable pageable) {
         Page<FixedDeposit> fdPage = fixedDepositRepository.findAll(pageable);
@@ -252,7 +348,12 @@ public class FixedDepositServiceImpl implements FixedDepositService {
     // Entity-based operations (for backward compatibility)
     @Override
     public FixedDeposit save(FixedDeposit fixedDeposit) {
-        return fixedDepositRepository.save(fixedDeposit);
+        FixedDeposit saved = fixedDepositRepository.save(fixedDeposit);
+        eventPublisher.publishEvent(FixedDepositChangedEvent.of(saved));
+        if (saved.getUser() != null) {
+            eventPublisher.publishEvent(new OwnershipChangedEvent(saved.getUser().getUserId()));
+        }
+        return saved;
     }
 
     @Override
@@ -301,13 +402,26 @@ public class FixedDepositServiceImpl implements FixedDepositService {
 
     @Override
     public void deleteById(Integer fdId) {
+        Integer ownerId = fixedDepositRepository.findById(fdId)
+                .map(fd -> fd.getUser() != null ? fd.getUser().getUserId() : null)
+                .orElse(null);
         fixedDepositRepository.deleteById(fdId);
+        eventPublisher.publishEvent(new FixedDepositChangedEvent(fdId, null, null));
+        eventPublisher.publishEvent(new OwnershipChangedEvent(ownerId));
     }
 
     @Override
     public FixedDeposit update(FixedDeposit fixedDeposit) {
         fixedDeposit.setUpdatedAt(new Date());
-        return fixedDepositRepository.save(fixedDeposit);
+        FixedDeposit updated = fixedDepositRepository.save(fixedDeposit);
+        eventPublisher.publishEvent(FixedDepositChangedEvent.of(updated));
+        return updated;
+    }
+
+    // The deposit's account is still an uninitialised proxy, so the locking query loads it fresh
+    private Account lockAccount(FixedDeposit fixedDeposit) {
+        return accountRepository.findByIdForUpdate(fixedDeposit.getAccount().getAccountId())
+                .orElseThrow(() -> new AccountApiException("Account not found with ID: " + fixedDeposit.getAccount().getAccountId()));
     }
 
     private BigDecimal calculatePrematureAmount(FixedDeposit fixedDeposit) {
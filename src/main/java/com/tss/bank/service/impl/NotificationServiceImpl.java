@@ -1,161 +1,345 @@
 package com.tss.bank.service.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.cache.NotificationCounterCache;
+import com.tss.bank.dto.response.NotificationPageResponse;
+import com.tss.bank.dto.response.NotificationResponse;
+import com.tss.bank.entity.Notification;
+import com.tss.bank.entity.NotificationCounter;
+import com.tss.bank.entity.User;
+import com.tss.bank.event.NotificationCountersChangedEvent;
+import com.tss.bank.exception.NotificationApiException;
+import com.tss.bank.repository.AdminRepository;
+import com.tss.bank.repository.NotificationCounterRepository;
+import com.tss.bank.repository.NotificationRepository;
+import com.tss.bank.repository.UserRepository;
 import com.tss.bank.service.NotificationService;
 
+/**
+ * Notification inbox backed by the notifications table. Each user's unread and total
+ * counts live in notification_counters and are adjusted in the same transaction as the
+ * change that moves them; every state change is a conditional update or delete whose row
+ * count is the exact counter delta. Counts are read through {@link NotificationCounterCache},
+ * and inbox queries page newest first by notification id instead of by offset.
+ */
 @Service
+@Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    private static final String TYPE_ALERT = "ALERT";
+    private static final String TYPE_WARNING = "WARNING";
+    private static final String TYPE_INFO = "INFO";
+    private static final String PRIORITY_HIGH = "HIGH";
+    private static final String PRIORITY_NORMAL = "NORMAL";
+
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final int MAX_TYPE_LENGTH = 20;
+
+    private static final String INSERT_SQL = "INSERT INTO notifications (user_id, admin_id, title, message, type, priority, "
+            + "is_read, sent_at) VALUES (?, ?, ?, ?, ?, ?, FALSE, ?)";
+    private static final String INSERT_COUNTER_SQL = "INSERT INTO notification_counters (user_id, unread_count, total_count, "
+            + "updated_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private NotificationCounterCache counterCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${notification.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${notification.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
     @Override
     public void sendUserNotification(Integer userId, String title, String message, String type) {
-        // Implementation placeholder
+        requireUser(userId);
+        send(userId, title, message, type, PRIORITY_NORMAL);
     }
 
     @Override
     public void sendAdminNotification(Integer adminId, String title, String message, String type) {
-        // Implementation placeholder
+        if (adminId == null || !adminRepository.existsById(adminId)) {
+            throw new NotificationApiException("Admin not found with ID: " + adminId);
+        }
+        validateContent(title, message);
+        notificationRepository.save(Notification.builder()
+                .adminId(adminId)
+                .title(title)
+                .message(message)
+                .type(normalizeType(type))
+                .priority(PRIORITY_NORMAL)
+                .isRead(false)
+                .sentAt(new Date())
+                .build());
     }
 
     @Override
     public void sendBroadcastNotification(String title, String message, String type, String targetAudience) {
-        // Implementation placeholder
+        validateContent(title, message);
+        String normalizedType = normalizeType(type);
+        String audience = targetAudience == null ? "" : targetAudience.trim().toUpperCase(Locale.ROOT);
+        if (!audience.equals("USERS") && !audience.equals("ADMINS") && !audience.equals("ALL")) {
+            throw new NotificationApiException("Target audience must be USERS, ADMINS or ALL");
+        }
+
+        long users = 0;
+        if (!audience.equals("ADMINS")) {
+            // Active users only, one chunk of ids at a time
+            Integer afterUserId = 0;
+            List<Integer> chunk;
+            do {
+                chunk = userRepository.findUserIdsByStatusAfter(User.Status.ACTIVE, afterUserId, PageRequest.of(0, bulkChunkSize));
+                if (!chunk.isEmpty()) {
+                    sendToUsers(chunk, title, message, normalizedType);
+                    users += chunk.size();
+                    afterUserId = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == bulkChunkSize);
+        }
+        List<Integer> adminIds = audience.equals("USERS") ? List.of() : adminRepository.findAllAdminIds();
+        if (!adminIds.isEmpty()) {
+            insert(adminIds, true, title, message, normalizedType, PRIORITY_NORMAL);
+        }
+        log.info("Broadcast notification '{}' sent to {} users and {} admins", title, users, adminIds.size());
     }
 
     @Override
-    public List<Map<String, Object>> getUserNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getUserNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return page(size, notificationRepository.findUserInbox(userId, before(beforeNotificationId), limit(size)));
     }
 
     @Override
-    public List<Map<String, Object>> getUnreadNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getUnreadNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return page(size, notificationRepository.findUserInboxByRead(userId, false, before(beforeNotificationId), limit(size)));
     }
 
     @Override
-    public List<Map<String, Object>> getReadNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getReadNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return page(size, notificationRepository.findUserInboxByRead(userId, true, before(beforeNotificationId), limit(size)));
     }
 
     @Override
-    public List<Map<String, Object>> getAdminNotifications(Integer adminId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getAdminNotifications(Integer adminId, Integer beforeNotificationId, int size) {
+        return page(size, notificationRepository.findAdminInbox(adminId, before(beforeNotificationId), limit(size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer getNotificationUserId(Integer notificationId) {
+        return find(notificationId).getUserId();
     }
 
     @Override
     public void markAsRead(Integer notificationId) {
-        // Implementation placeholder
+        Notification notification = find(notificationId);
+        if (notificationRepository.markRead(notificationId, new Date()) > 0) {
+            adjustCounters(notification.getUserId(), -1, 0);
+        }
     }
 
     @Override
     public void markAsUnread(Integer notificationId) {
-        // Implementation placeholder
+        Notification notification = find(notificationId);
+        if (notificationRepository.markUnread(notificationId) > 0) {
+            adjustCounters(notification.getUserId(), 1, 0);
+        }
     }
 
     @Override
     public void markAllAsRead(Integer userId) {
-        // Implementation placeholder
+        int marked = notificationRepository.markAllRead(userId, new Date());
+        adjustCounters(userId, -marked, 0);
     }
 
     @Override
     public void deleteNotification(Integer notificationId) {
-        // Implementation placeholder
+        Notification notification = find(notificationId);
+        Integer userId = notification.getUserId();
+        if (userId == null) {
+            notificationRepository.deleteNotification(notificationId);
+            return;
+        }
+        // The delete re-checks the read flag, so a concurrent mark cannot skew the unread counter
+        boolean read = notification.getIsRead();
+        int deleted = notificationRepository.deleteNotificationInState(notificationId, read);
+        if (deleted == 0) {
+            read = !read;
+            deleted = notificationRepository.deleteNotificationInState(notificationId, read);
+        }
+        adjustCounters(userId, read ? 0 : -deleted, -deleted);
     }
 
     @Override
     public void clearAllNotifications(Integer userId) {
-        // Implementation placeholder
+        int unread = notificationRepository.deleteUserNotifications(userId, false);
+        int read = notificationRepository.deleteUserNotifications(userId, true);
+        adjustCounters(userId, -unread, -(unread + read));
     }
 
     @Override
-    public List<Map<String, Object>> getNotificationsByType(Integer userId, String type) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getNotificationsByType(Integer userId, String type, Integer beforeNotificationId, int size) {
+        return page(size, notificationRepository.findUserInboxByType(userId, normalizeType(type),
+                before(beforeNotificationId), limit(size)));
     }
 
     @Override
-    public List<Map<String, Object>> getAlertNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getAlertNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return getNotificationsByType(userId, TYPE_ALERT, beforeNotificationId, size);
     }
 
     @Override
-    public List<Map<String, Object>> getWarningNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getWarningNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return getNotificationsByType(userId, TYPE_WARNING, beforeNotificationId, size);
     }
 
     @Override
-    public List<Map<String, Object>> getInfoNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getInfoNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        return getNotificationsByType(userId, TYPE_INFO, beforeNotificationId, size);
     }
 
     @Override
-    public List<Map<String, Object>> getNotificationsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getNotificationsByDateRange(Integer userId, LocalDate startDate, LocalDate endDate,
+                                                                Integer beforeNotificationId, int size) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new NotificationApiException("End date must not be before start date");
+        }
+        return page(size, notificationRepository.findUserInboxSentBetween(userId, startOf(startDate),
+                startOf(endDate.plusDays(1)), before(beforeNotificationId), limit(size)));
     }
 
     @Override
-    public List<Map<String, Object>> getTodayNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getTodayNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        LocalDate today = LocalDate.now();
+        return getNotificationsByDateRange(userId, today, today, beforeNotificationId, size);
     }
 
     @Override
-    public List<Map<String, Object>> getThisWeekNotifications(Integer userId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public NotificationPageResponse getThisWeekNotifications(Integer userId, Integer beforeNotificationId, int size) {
+        LocalDate today = LocalDate.now();
+        return getNotificationsByDateRange(userId, today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                today, beforeNotificationId, size);
     }
 
+    // Served from the counter cache; SUPPORTS keeps a cache hit from opening a transaction
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Map<String, Long> getNotificationCounts(Integer userId) {
-        Map<String, Long> counts = new HashMap<>();
-        counts.put("total", 0L);
-        counts.put("unread", 0L);
-        counts.put("read", 0L);
-        return counts;
+        NotificationCounterCache.Counts counts = counterCache.get(userId);
+        Map<String, Long> result = new HashMap<>();
+        result.put("total", counts.total());
+        result.put("unread", counts.unread());
+        result.put("read", counts.read());
+        return result;
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getUnreadNotificationCount(Integer userId) {
-        return 0L;
+        return counterCache.get(userId).unread();
     }
 
     @Override
     public void sendTransactionAlert(Integer userId, String transactionType, String amount) {
-        // Implementation placeholder
+        sendUserNotification(userId, "Transaction Alert",
+                "A " + transactionType + " of " + amount + " was processed on your account.", TYPE_ALERT);
     }
 
     @Override
     public void sendSecurityAlert(Integer userId, String alertType, String details) {
-        // Implementation placeholder
+        requireUser(userId);
+        send(userId, "Security Alert: " + alertType, details, TYPE_ALERT, PRIORITY_HIGH);
     }
 
     @Override
     public void sendAccountStatusChangeNotification(Integer userId, String oldStatus, String newStatus) {
-        // Implementation placeholder
+        sendUserNotification(userId, "Account Status Changed",
+                "Your account status changed from " + oldStatus + " to " + newStatus + ".", TYPE_INFO);
     }
 
     @Override
     public void sendPaymentReminder(Integer userId, String paymentType, String dueDate, String amount) {
-        // Implementation placeholder
+        sendUserNotification(userId, "Payment Reminder",
+                "Your " + paymentType + " payment of " + amount + " is due on " + dueDate + ".", TYPE_WARNING);
     }
 
     @Override
-    public Page<Map<String, Object>> getAllNotifications(Pageable pageable) {
-        return new PageImpl<>(new ArrayList<>(), pageable, 0);
+    @Transactional(readOnly = true)
+    public Page<NotificationResponse> getAllNotifications(Pageable pageable) {
+        return notificationRepository.findAll(pageable).map(this::toResponse);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getSystemNotificationStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalNotifications", 0L);
-        stats.put("unreadNotifications", 0L);
-        stats.put("todayNotifications", 0L);
+        stats.put("totalNotifications", notificationRepository.count());
+        stats.put("unreadNotifications", counterRepository.sumUnreadCounts());
+        stats.put("todayNotifications", notificationRepository.countBySentAtGreaterThanEqual(startOf(LocalDate.now())));
         return stats;
     }
 
@@ -185,11 +369,210 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public void sendBulkNotifications(List<Integer> userIds, String title, String message, String type) {
-        // Implementation placeholder
+        if (userIds == null || userIds.isEmpty()) {
+            throw new NotificationApiException("At least one user ID is required");
+        }
+        validateContent(title, message);
+        String normalizedType = normalizeType(type);
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(userIds));
+        distinct.removeIf(Objects::isNull);
+        int sent = 0;
+        for (int from = 0; from < distinct.size(); from += bulkChunkSize) {
+            List<Integer> chunk = distinct.subList(from, Math.min(from + bulkChunkSize, distinct.size()));
+            // Unknown ids are skipped rather than failing the whole batch
+            List<Integer> existing = new ArrayList<>();
+            for (Object[] row : userRepository.findStatusesByUserIds(chunk)) {
+                existing.add((Integer) row[0]);
+            }
+            if (!existing.isEmpty()) {
+                sendToUsers(existing, title, message, normalizedType);
+                sent += existing.size();
+            }
+        }
+        log.info("Bulk notification '{}' sent to {} of {} users", title, sent, distinct.size());
     }
 
     @Override
     public void cleanupOldNotifications(Integer daysOld) {
-        // Implementation placeholder
+        if (daysOld == null || daysOld < 1) {
+            throw new NotificationApiException("Days old must be at least 1");
+        }
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(daysOld));
+        long deleted = notificationRepository.deleteAdminNotificationsSentBefore(cutoff);
+        Integer afterUserId = 0;
+        List<Integer> userIds;
+        do {
+            userIds = notificationRepository.findUserIdsWithNotificationsSentBefore(cutoff, afterUserId,
+                    PageRequest.of(0, bulkChunkSize));
+            for (Integer userId : userIds) {
+                int unread = notificationRepository.deleteUserNotificationsSentBefore(userId, false, cutoff);
+                int read = notificationRepository.deleteUserNotificationsSentBefore(userId, true, cutoff);
+                adjustCounters(userId, -unread, -(unread + read));
+                deleted += unread + read;
+            }
+            if (!userIds.isEmpty()) {
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == bulkChunkSize);
+        log.info("Deleted {} notifications sent before {}", deleted, cutoff);
+    }
+
+    private void send(Integer userId, String title, String message, String type, String priority) {
+        validateContent(title, message);
+        notificationRepository.save(Notification.builder()
+                .userId(userId)
+                .title(title)
+                .message(message)
+                .type(normalizeType(type))
+                .priority(priority)
+                .isRead(false)
+                .sentAt(new Date())
+                .build());
+        adjustCounters(userId, 1, 1);
+    }
+
+    // One notification per user: a batched insert, then every counter moves by one
+    private void sendToUsers(List<Integer> userIds, String title, String message, String type) {
+        insert(userIds, false, title, message, type, PRIORITY_NORMAL);
+
+        Set<Integer> withCounters = new HashSet<>();
+        for (NotificationCounter counter : counterRepository.findAllById(userIds)) {
+            withCounters.add(counter.getUserId());
+        }
+        List<Integer> toIncrement = new ArrayList<>(withCounters);
+        Date now = new Date();
+        for (Integer userId : userIds) {
+            if (!withCounters.contains(userId) && !insertCounter(userId, 1, 1, now)) {
+                toIncrement.add(userId);
+            }
+        }
+        if (!toIncrement.isEmpty()) {
+            counterRepository.incrementAll(toIncrement, now);
+        }
+        for (Integer userId : userIds) {
+            eventPublisher.publishEvent(new NotificationCountersChangedEvent(userId));
+        }
+    }
+
+    private void insert(List<Integer> recipientIds, boolean admins, String title, String message, String type,
+                        String priority) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Integer recipientId = recipientIds.get(i);
+                if (admins) {
+                    ps.setNull(1, Types.INTEGER);
+                    ps.setInt(2, recipientId);
+                } else {
+                    ps.setInt(1, recipientId);
+                    ps.setNull(2, Types.INTEGER);
+                }
+                ps.setString(3, title);
+                ps.setString(4, message);
+                ps.setString(5, type);
+                ps.setString(6, priority);
+                ps.setTimestamp(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return recipientIds.size();
+            }
+        });
+    }
+
+    private void adjustCounters(Integer userId, long unreadDelta, long totalDelta) {
+        if (userId == null || (unreadDelta == 0 && totalDelta == 0)) {
+            return;
+        }
+        Date now = new Date();
+        if (counterRepository.applyDelta(userId, unreadDelta, totalDelta, now) == 0
+                && !insertCounter(userId, unreadDelta, totalDelta, now)) {
+            // A concurrent transaction created the row between our update and insert
+            counterRepository.applyDelta(userId, unreadDelta, totalDelta, now);
+        }
+        eventPublisher.publishEvent(new NotificationCountersChangedEvent(userId));
+    }
+
+    // The first change for a user creates the counter row holding that change; false if it already exists
+    private boolean insertCounter(Integer userId, long unread, long total, Date now) {
+        try {
+            jdbcTemplate.update(INSERT_COUNTER_SQL, userId, unread, total, new Timestamp(now.getTime()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void requireUser(Integer userId) {
+        if (userId == null || !userRepository.existsById(userId)) {
+            throw new NotificationApiException("User not found with ID: " + userId);
+        }
+    }
+
+    private Notification find(Integer notificationId) {
+        return notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new NotificationApiException("Notification not found with ID: " + notificationId));
+    }
+
+    private void validateContent(String title, String message) {
+        if (title == null || title.isBlank() || title.length() > MAX_TITLE_LENGTH) {
+            throw new NotificationApiException("Title is required and must not exceed " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (message == null || message.isBlank() || message.length() > MAX_MESSAGE_LENGTH) {
+            throw new NotificationApiException("Message is required and must not exceed " + MAX_MESSAGE_LENGTH + " characters");
+        }
+    }
+
+    private static String normalizeType(String type) {
+        if (type == null || type.isBlank() || type.length() > MAX_TYPE_LENGTH) {
+            throw new NotificationApiException("Notification type is required and must not exceed " + MAX_TYPE_LENGTH + " characters");
+        }
+        return type.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Pageable limit(int size) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new NotificationApiException("Page size must be between 1 and " + maxPageSize);
+        }
+        // One extra row tells whether another page follows
+        return PageRequest.of(0, size + 1);
+    }
+
+    private static Integer before(Integer beforeNotificationId) {
+        return beforeNotificationId != null ? beforeNotificationId : Integer.MAX_VALUE;
+    }
+
+    private static Date startOf(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private NotificationPageResponse page(int size, List<Notification> rows) {
+        boolean hasMore = rows.size() > size;
+        List<Notification> page = hasMore ? rows.subList(0, size) : rows;
+        List<NotificationResponse> notifications = new ArrayList<>(page.size());
+        for (Notification notification : page) {
+            notifications.add(toResponse(notification));
+        }
+        return NotificationPageResponse.builder()
+                .notifications(notifications)
+                .nextBeforeNotificationId(hasMore ? page.get(page.size() - 1).getNotificationId() : null)
+                .build();
+    }
+
+    private NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .notificationId(notification.getNotificationId())
+                .userId(notification.getUserId() != null ? notification.getUserId() : notification.getAdminId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .priority(notification.getPriority())
+                .isRead(notification.getIsRead())
+                .sentAt(notification.getSentAt())
+                .readAt(notification.getReadAt())
+                .status(notification.getIsRead() ? "READ" : "SENT")
+                .build();
     }
 }
@@ -0,0 +1,212 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.response.ReconciliationDiscrepancyResponse;
+import com.tss.bank.dto.response.ReconciliationRunResponse;
+import com.tss.bank.entity.ReconciliationDiscrepancy;
+import com.tss.bank.entity.ReconciliationRun;
+import com.tss.bank.exception.ReconciliationApiException;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.ReconciliationDiscrepancyRepository;
+import com.tss.bank.repository.ReconciliationRunRepository;
+import com.tss.bank.service.MappingService;
+import com.tss.bank.service.ReconciliationService;
+
+/**
+ * End-of-day check that every account's ledger balance equals the net of its transactions
+ * and fixed-deposit bookings and payouts.
+ * Accounts are walked in ID-range chunks; each chunk runs one aggregate query in its own
+ * transaction on the bounded reconciliation executor and writes any drift to the report table.
+ */
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationServiceImpl.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+    
+    @Autowired
+    private ReconciliationDiscrepancyRepository discrepancyRepository;
+    
+    @Autowired
+    private MappingService mappingService;
+    
+    @Autowired
+    @Qualifier("reconciliationExecutor")
+    private ThreadPoolTaskExecutor reconciliationExecutor;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${reconciliation.chunk-size:10000}")
+    private int chunkSize;
+    
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${reconciliation.cron:0 30 1 * * *}")
+    public void scheduledReconciliation() {
+        if (isRunning()) {
+            log.warn("Skipping scheduled reconciliation: previous run still in progress");
+            return;
+        }
+        runReconciliation();
+    }
+
+    @Override
+    public ReconciliationRunResponse runReconciliation() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReconciliationApiException("A reconciliation run is already in progress");
+        }
+        
+        long startNanos = System.nanoTime();
+        ReconciliationRun run = runRepository.save(ReconciliationRun.builder()
+                .status(ReconciliationRun.Status.RUNNING)
+                .startedAt(new Date())
+                .accountsChecked(0L)
+                .chunksProcessed(0)
+                .chunksFailed(0)
+                .discrepancyCount(0L)
+                .build());
+        
+        try {
+            Integer minId = accountRepository.findMinAccountId();
+            Integer maxId = accountRepository.findMaxAccountId();
+            
+            List<CompletableFuture<ChunkResult>> futures = new ArrayList<>();
+            if (minId != null && maxId != null) {
+                for (long from = minId; from <= maxId; from += chunkSize) {
+                    int fromId = (int) from;
+                    int toId = (int) Math.min(from + chunkSize - 1, maxId);
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> reconcileChunk(run.getRunId(), fromId, toId), reconciliationExecutor));
+                }
+            }
+            
+            long accountsChecked = 0;
+            long discrepancies = 0;
+            int failedChunks = 0;
+            for (CompletableFuture<ChunkResult> future : futures) {
+                ChunkResult result = future.join();
+                accountsChecked += result.accountsChecked();
+                discrepancies += result.discrepancies();
+                if (result.failed()) {
+                    failedChunks++;
+                }
+            }
+            
+            run.setAccountsChecked(accountsChecked);
+            run.setDiscrepancyCount(discrepancies);
+            run.setChunksProcessed(futures.size() - failedChunks);
+            run.setChunksFailed(failedChunks);
+            run.setStatus(failedChunks == 0 ? ReconciliationRun.Status.COMPLETED
+                    : ReconciliationRun.Status.COMPLETED_WITH_ERRORS);
+        } catch (Exception e) {
+            run.setStatus(ReconciliationRun.Status.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            log.error("Reconciliation run {} failed", run.getRunId(), e);
+        } finally {
+            run.setFinishedAt(new Date());
+            run.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+            runRepository.save(run);
+            running.set(false);
+        }
+        
+        log.info("Reconciliation run {} {}: {} accounts, {} discrepancies, {} failed chunks in {} ms",
+                run.getRunId(), run.getStatus(), run.getAccountsChecked(), run.getDiscrepancyCount(),
+                run.getChunksFailed(), run.getDurationMs());
+        return mappingService.map(run, ReconciliationRunResponse.class);
+    }
+
+    @Override
+    public ReconciliationRunResponse getRun(Integer runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new ReconciliationApiException("Reconciliation run not found with ID: " + runId));
+        return mappingService.map(run, ReconciliationRunResponse.class);
+    }
+
+    @Override
+    public Optional<ReconciliationRunResponse> getLatestRun() {
+        return runRepository.findTopByOrderByRunIdDesc()
+                .map(run -> mappingService.map(run, ReconciliationRunResponse.class));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public Page<ReconciliationDiscrepancyResponse> getDiscrepancies(Integer runId, Pageable pageable) {
+        return discrepancyRepository.findByRunId(runId, pageable)
+                .map(discrepancy -> mappingService.map(discrepancy, ReconciliationDiscrepancyResponse.class));
+    }
+    
+    private ChunkResult reconcileChunk(Integer runId, int fromId, int toId) {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            return template.execute(status -> {
+                List<Object[]> rows = accountRepository.findBalanceAndTransactionNetInRange(fromId, toId);
+                Date detectedAt = new Date();
+                List<ReconciliationDiscrepancy> drift = new ArrayList<>();
+                
+                for (Object[] row : rows) {
+                    BigDecimal ledgerBalance = (BigDecimal) row[2];
+                    BigDecimal transactionNet = (BigDecimal) row[3];
+                    if (ledgerBalance.compareTo(transactionNet) != 0) {
+                        drift.add(ReconciliationDiscrepancy.builder()
+                                .runId(runId)
+                                .accountId((Integer) row[0])
+                                .accountNumber((String) row[1])
+                                .ledgerBalance(ledgerBalance)
+                                .transactionNet(transactionNet)
+                                .difference(ledgerBalance.subtract(transactionNet))
+                                .detectedAt(detectedAt)
+                                .build());
+                    }
+                }
+                
+                if (!drift.isEmpty()) {
+                    discrepancyRepository.saveAll(drift);
+                }
+                return new ChunkResult(rows.size(), drift.size(), false);
+            });
+        } catch (Exception e) {
+            log.error("Reconciliation run {} failed on account range {}-{}", runId, fromId, toId, e);
+            return new ChunkResult(0, 0, true);
+        }
+    }
+    
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+    
+    private record ChunkResult(long accountsChecked, long discrepancies, boolean failed) {
+    }
+}
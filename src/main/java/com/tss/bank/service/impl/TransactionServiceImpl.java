@@ -1,12 +1,16 @@
 package com.tss.bank.service.impl;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -18,14 +22,20 @@ import com.tss.bank.dto.request.TransactionRequest;
 import com.tss.bank.dto.request.TransactionHistoryRequest;
 import com.tss.bank.dto.response.TransactionResponse;
 import com.tss.bank.dto.response.AccountStatementResponse;
+import com.tss.bank.dto.response.TransactionSearchResponse;
 import com.tss.bank.entity.Account;
 import com.tss.bank.entity.Transaction;
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.TransactionRecordedEvent;
 import com.tss.bank.exception.AccountApiException;
 import com.tss.bank.exception.TransactionApiException;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.index.TransactionSearchIndex;
 import com.tss.bank.repository.AccountRepository;
 import com.tss.bank.repository.TransactionRepository;
 import com.tss.bank.service.TransactionService;
 import com.tss.bank.service.MappingService;
+import com.tss.bank.service.UserBalanceSummaryService;
 
 @Service
 @Transactional
@@ -40,12 +50,25 @@ public class TransactionServiceImpl implements TransactionService {
     @Autowired
     private MappingService mappingService;
     
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private UserBalanceSummaryService userBalanceSummaryService;
+    
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+    
     // Transaction limits
     private static final BigDecimal DAILY_WITHDRAWAL_LIMIT = new BigDecimal("50000");
     private static final BigDecimal PER_TRANSACTION_LIMIT = new BigDecimal("25000");
     private static final BigDecimal MINIMUM_TRANSACTION_AMOUNT = new BigDecimal("1");
     private static final BigDecimal HIGH_VALUE_THRESHOLD = new BigDecimal("100000");
     private static final BigDecimal SUSPICIOUS_THRESHOLD = new BigDecimal("50000");
+    private static final int MAX_SEARCH_RESULTS = 500;
 
     @Override
     public TransactionResponse processDeposit(TransactionRequest request) {
@@ -59,12 +82,13 @@ public class TransactionServiceImpl implements TransactionService {
         }
         
         // Get account
-        Account account = accountRepository.findById(request.getAccountId())
+        Account account = accountRepository.findByIdForUpdate(request.getAccountId())
                 .orElseThrow(() -> new AccountApiException("Account not found with ID: " + request.getAccountId()));
         
         // Update account balance
-        account.setBalance(account.getBalance().add(request.getAmount()));
+        account.applyBalance(account.getBalance().add(request.getAmount()));
         accountRepository.save(account);
+        userBalanceSummaryService.recordBalanceChange(account.getUser().getUserId(), request.getAmount());
         
         // Record transaction
         recordTransaction(request.getAccountId(), Transaction.TxnType.CREDIT, 
@@ -83,6 +107,11 @@ public class TransactionServiceImpl implements TransactionService {
             throw new TransactionApiException("Invalid transaction type for withdrawal");
         }
         
+        // Frozen accounts are rejected before any database read
+        if (accountStatusIndex.isFrozen(request.getAccountId())) {
+            throw new TransactionApiException("Account is frozen");
+        }
+        
         // Validate transaction
         if (!validateTransaction(request)) {
             throw new TransactionApiException("Transaction validation failed");
@@ -98,7 +127,7 @@ public class TransactionServiceImpl implements TransactionService {
         }
         
         // Get account
-        Account account = accountRepository.findById(request.getAccountId())
+        Account account = accountRepository.findByIdForUpdate(request.getAccountId())
                 .orElseThrow(() -> new AccountApiException("Account not found with ID: " + request.getAccountId()));
         
         // Check sufficient balance
@@ -107,8 +136,9 @@ public class TransactionServiceImpl implements TransactionService {
         }
         
         // Update account balance
-        account.setBalance(account.getBalance().subtract(request.getAmount()));
+        account.applyBalance(account.getBalance().subtract(request.getAmount()));
         accountRepository.save(account);
+        userBalanceSummaryService.recordBalanceChange(account.getUser().getUserId(), request.getAmount().negate());
         
         // Record transaction
         recordTransaction(request.getAccountId(), Transaction.TxnType.DEBIT, 
@@ -168,7 +198,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public AccountStatementResponse generateAccountStatement(Integer accountId, Date fromDate, Date toDate) {
         // Get account details
-        Account account = accountRepository.findById(accountId)
+        Account account = accountRepository.findWithUserByAccountId(accountId)
                 .orElseThrow(() -> new AccountApiException("Account not found with ID: " + accountId));
         
         // Get transactions for the period
@@ -247,7 +277,10 @@ public class TransactionServiceImpl implements TransactionService {
                 .createdAt(new Date())
                 .build();
         
-        transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new TransactionRecordedEvent(saved.getTxnId(), accountId,
+                saved.getTxnTime(), saved.getDescription()));
+        eventPublisher.publishEvent(AccountBalanceChangedEvent.of(account, saved.getTxnTime()));
     }
 
     @Override
@@ -259,15 +292,15 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction.TxnType reverseType = originalTxn.getTxnType() == Transaction.TxnType.DEBIT ? 
                 Transaction.TxnType.CREDIT : Transaction.TxnType.DEBIT;
         
-        Account account = originalTxn.getAccount();
+        Account account = accountRepository.findByIdForUpdate(originalTxn.getAccount().getAccountId())
+                .orElseThrow(() -> new AccountApiException("Account not found"));
         
         // Update account balance
-        if (reverseType == Transaction.TxnType.CREDIT) {
-            account.setBalance(account.getBalance().add(originalTxn.getAmount()));
-        } else {
-            account.setBalance(account.getBalance().subtract(originalTxn.getAmount()));
-        }
+        BigDecimal delta = reverseType == Transaction.TxnType.CREDIT
+                ? originalTxn.getAmount() : originalTxn.getAmount().negate();
+        account.applyBalance(account.getBalance().add(delta));
         accountRepository.save(account);
+        userBalanceSummaryService.recordBalanceChange(account.getUser().getUserId(), delta);
         
         // Record reverse transaction
         recordTransaction(account.getAccountId(), reverseType, originalTxn.getAmount(), 
@@ -346,6 +379,42 @@ public class TransactionServiceImpl implements TransactionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSearchResponse searchTransactions(String query, Integer accountId, Date fromDate, Date toDate, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new TransactionApiException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new TransactionApiException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (!transactionSearchIndex.isReady()) {
+            throw new TransactionApiException("Transaction search index is still loading, please retry shortly");
+        }
+        
+        long start = System.nanoTime();
+        Date toTime = toDate != null ? getTodayEnd(toDate) : null;
+        TransactionSearchIndex.SearchResult result = transactionSearchIndex.search(query, accountId, fromDate, toTime, limit);
+        
+        // Hydrate only the page of hits by primary key and keep the index's newest-first order
+        List<Integer> ids = Arrays.stream(result.txnIds()).boxed().collect(Collectors.toList());
+        Map<Integer, Transaction> byId = new HashMap<>();
+        for (Transaction txn : transactionRepository.findAllById(ids)) {
+            byId.put(txn.getTxnId(), txn);
+        }
+        List<TransactionResponse> transactions = ids.stream()
+                .map(byId::get)
+                .filter(txn -> txn != null)
+                .map(txn -> mappingService.map(txn, TransactionResponse.class))
+                .collect(Collectors.toList());
+        
+        return TransactionSearchResponse.builder()
+                .transactions(transactions)
+                .totalMatches(result.totalMatches())
+                .tookMs((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
     // Helper methods
     private BigDecimal calculateOpeningBalance(Integer accountId, Date fromDate) {
         // Get all transactions before fromDate
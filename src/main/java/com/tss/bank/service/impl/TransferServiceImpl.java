@@ -14,6 +14,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.tss.bank.cache.AccountMetadata;
+import com.tss.bank.cache.AccountMetadataCache;
 import com.tss.bank.dto.request.TransferConfirmationRequest;
 import com.tss.bank.dto.request.TransferRequest;
 import com.tss.bank.dto.response.TransferConfirmationResponse;
@@ -21,8 +23,10 @@ import com.tss.bank.dto.response.TransferResponse;
 import com.tss.bank.entity.Account;
 import com.tss.bank.entity.Transfer;
 import com.tss.bank.exception.TransferApiException;
+import com.tss.bank.index.AccountStatusIndex;
 import com.tss.bank.repository.AccountRepository;
 import com.tss.bank.repository.TransferRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
 import com.tss.bank.service.AccountService;
 import com.tss.bank.service.MappingService;
 import com.tss.bank.service.TransferService;
@@ -38,6 +42,12 @@ public class TransferServiceImpl implements TransferService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private AccountMetadataCache accountMetadataCache;
+    
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+    
     @Autowired
     private AccountService accountService;
     
@@ -68,26 +78,31 @@ public class TransferServiceImpl implements TransferService {
             throw new TransferApiException("Source account ID is required");
         }
         
+        if (accountStatusIndex.isFrozen(request.getFromAccountId())) {
+            throw new TransferApiException("Source account is frozen");
+        }
+        
         if (request.getToAccountNumber() == null || request.getToAccountNumber().trim().isEmpty()) {
             throw new TransferApiException("Destination account number is required");
         }
         
-        Account fromAccount = accountRepository.findById(request.getFromAccountId())
+        // Pre-checks use cached metadata; processTransfer re-reads both accounts from the database
+        AccountMetadata fromAccount = accountMetadataCache.findById(request.getFromAccountId())
                 .orElseThrow(() -> new TransferApiException("Source account not found"));
         
-        Account toAccount = accountRepository.findByAccountNumber(request.getToAccountNumber())
+        AccountMetadata toAccount = accountMetadataCache.findByAccountNumber(request.getToAccountNumber())
                 .orElseThrow(() -> new TransferApiException("Destination account not found"));
 
-        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+        if (fromAccount.accountNumber().equals(toAccount.accountNumber())) {
             throw new TransferApiException("Source and destination accounts cannot be the same");
         }
         
         // Check account statuses
-        if (fromAccount.getStatus() != Account.Status.ACTIVE) {
+        if (!fromAccount.isActive()) {
             throw new TransferApiException("Source account is not active");
         }
         
-        if (toAccount.getStatus() != Account.Status.ACTIVE) {
+        if (!toAccount.isActive() || accountStatusIndex.isBlocked(toAccount.accountId())) {
             throw new TransferApiException("Destination account is not active");
         }
         
@@ -106,13 +121,13 @@ public class TransferServiceImpl implements TransferService {
         }
         
         // Process transfer directly
-        processTransfer(fromAccount.getAccountId(), toAccount.getAccountId(), 
+        processTransfer(fromAccount.accountId(), toAccount.accountId(), 
                        request.getAmount(), request.getDescription());
         
         // Create transfer record with SUCCESS status
         Transfer transfer = Transfer.builder()
-                .fromAccountId(fromAccount.getAccountId())
-                .toAccountId(toAccount.getAccountId())
+                .fromAccountId(fromAccount.accountId())
+                .toAccountId(toAccount.accountId())
                 .toAccountNumber(request.getToAccountNumber())
                 .amount(request.getAmount())
                 .description(request.getDescription())
@@ -152,7 +167,7 @@ public class TransferServiceImpl implements TransferService {
         // Generate transaction reference
         String transactionReference = generateTransferReference();
         
-        Account toAccount = accountRepository.findById(transfer.getToAccountId())
+        Account toAccount = accountRepository.findWithUserByAccountId(transfer.getToAccountId())
                 .orElseThrow(() -> new TransferApiException("Destination account not found"));
         
         return TransferConfirmationResponse.builder()
@@ -196,12 +211,13 @@ public class TransferServiceImpl implements TransferService {
         }
         
         // Check if source account exists
-        if (!accountRepository.existsById(request.getFromAccountId())) {
+        if (accountMetadataCache.findById(request.getFromAccountId()).isEmpty()) {
             return false;
         }
         
-        // Check if destination account exists
-        if (!accountRepository.existsByAccountNumber(request.getToAccountNumber())) {
+        // Check if destination account exists; malformed numbers are rejected without a query
+        if (!AccountNumberAllocator.isValid(request.getToAccountNumber())
+                || accountMetadataCache.findByAccountNumber(request.getToAccountNumber()).isEmpty()) {
             return false;
         }
         
@@ -212,7 +228,7 @@ public class TransferServiceImpl implements TransferService {
     @Override
     public boolean validateBeneficiaryAccount(String accountNumber, String ifscCode) {
         // In real implementation, validate with external bank APIs
-        return accountRepository.existsByAccountNumber(accountNumber);
+        return accountMetadataCache.findByAccountNumber(accountNumber).isPresent();
     }
 
     @Override
@@ -237,6 +253,10 @@ public class TransferServiceImpl implements TransferService {
     @Override
     @Transactional
     public void processTransfer(Integer fromAccountId, Integer toAccountId, BigDecimal amount, String description) {
+        if (accountStatusIndex.isFrozen(fromAccountId)) {
+            throw new TransferApiException("Source account is frozen");
+        }
+        
         try {
             // Validate accounts exist before processing
             Account fromAccount = accountRepository.findById(fromAccountId)
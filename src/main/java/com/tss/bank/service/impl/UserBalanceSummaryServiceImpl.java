@@ -0,0 +1,237 @@
+package com.tss.bank.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.dto.response.UserBalanceSummaryResponse;
+import com.tss.bank.entity.UserBalanceSummary;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserBalanceSummaryRepository;
+import com.tss.bank.service.MappingService;
+import com.tss.bank.service.UserBalanceSummaryService;
+
+/**
+ * Per-user totals kept in user_balance_summaries. Posting code adjusts the user's row with
+ * one atomic UPDATE inside the posting transaction, so reads are a primary-key lookup. Rows are
+ * created from the source tables on first read, or by the first posting that finds none,
+ * and a scheduled verifier recomputes them in batches under row locks and corrects any drift.
+ */
+@Service
+public class UserBalanceSummaryServiceImpl implements UserBalanceSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBalanceSummaryServiceImpl.class);
+
+    // Seeds a missing row, or applies the same delta if a concurrent transaction created it first
+    private static final String UPSERT_SQL = "INSERT INTO user_balance_summaries (user_id, total_balance, account_count, "
+            + "active_fd_total, updated_at, verified_at) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE total_balance = total_balance + ?, account_count = account_count + ?, "
+            + "active_fd_total = active_fd_total + ?, updated_at = VALUES(updated_at)";
+
+    @Autowired
+    private UserBalanceSummaryRepository summaryRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+    
+    @Autowired
+    private MappingService mappingService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${balance-summary.verify-batch-size:500}")
+    private int verifyBatchSize;
+    
+    private final AtomicBoolean verifying = new AtomicBoolean(false);
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBalanceChange(Integer userId, BigDecimal delta) {
+        applyDelta(userId, delta, 0, BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAccountOpened(Integer userId, BigDecimal openingBalance) {
+        applyDelta(userId, openingBalance, 1, BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAccountsOpened(Integer userId, int count, BigDecimal openingTotal) {
+        applyDelta(userId, openingTotal, count, BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAccountClosed(Integer userId, BigDecimal closingBalance) {
+        applyDelta(userId, closingBalance.negate(), -1, BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFixedDepositChange(Integer userId, BigDecimal balanceDelta, BigDecimal fdDelta) {
+        applyDelta(userId, balanceDelta, 0, fdDelta);
+    }
+
+    @Override
+    public UserBalanceSummaryResponse getSummary(Integer userId) {
+        UserBalanceSummary summary = summaryRepository.findById(userId)
+                .orElseGet(() -> createSummary(userId));
+        return mappingService.map(summary, UserBalanceSummaryResponse.class);
+    }
+
+    @Scheduled(cron = "${balance-summary.verify-cron:0 0 2 * * *}")
+    public void scheduledVerification() {
+        verifyAll();
+    }
+
+    @Override
+    public long verifyAll() {
+        if (!verifying.compareAndSet(false, true)) {
+            log.warn("Skipping balance summary verification: previous run still in progress");
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        long checked = 0;
+        long corrected = 0;
+        try {
+            TransactionTemplate batchTemplate = new TransactionTemplate(transactionManager);
+            Integer afterUserId = 0;
+            while (true) {
+                List<Integer> userIds = summaryRepository.findUserIdsAfter(afterUserId, PageRequest.of(0, verifyBatchSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                corrected += batchTemplate.execute(status -> verifyBatch(userIds));
+                checked += userIds.size();
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+            log.info("Balance summary verification checked {} users, corrected {} in {} ms",
+                    checked, corrected, (System.nanoTime() - startNanos) / 1_000_000);
+            return corrected;
+        } finally {
+            verifying.set(false);
+        }
+    }
+
+    private void applyDelta(Integer userId, BigDecimal balanceDelta, int accountDelta, BigDecimal fdDelta) {
+        if (userId == null) {
+            return;
+        }
+        Date now = new Date();
+        if (summaryRepository.applyDelta(userId, balanceDelta, accountDelta, fdDelta, now) > 0) {
+            return;
+        }
+        // No row yet. Seed it inside this transaction from the committed totals, which exclude
+        // this posting, plus the delta; a reader creating the row meanwhile blocks on our insert
+        Totals committed = readCommittedTotals(userId);
+        Timestamp timestamp = new Timestamp(now.getTime());
+        jdbcTemplate.update(UPSERT_SQL, userId,
+                committed.balance().add(balanceDelta), committed.accounts() + accountDelta,
+                committed.activeFds().add(fdDelta), timestamp, timestamp,
+                balanceDelta, accountDelta, fdDelta);
+    }
+
+    private Totals readCommittedTotals(Integer userId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template.execute(status -> computeTotals(List.of(userId)).getOrDefault(userId, Totals.EMPTY));
+    }
+
+    private UserBalanceSummary createSummary(Integer userId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return template.execute(status -> {
+                Totals totals = computeTotals(List.of(userId)).getOrDefault(userId, Totals.EMPTY);
+                Date now = new Date();
+                return summaryRepository.saveAndFlush(UserBalanceSummary.builder()
+                        .userId(userId)
+                        .totalBalance(totals.balance())
+                        .accountCount(totals.accounts())
+                        .activeFdTotal(totals.activeFds())
+                        .updatedAt(now)
+                        .verifiedAt(now)
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request created the row first
+            return summaryRepository.findById(userId).orElseThrow(() -> e);
+        }
+    }
+
+    private long verifyBatch(List<Integer> userIds) {
+        // Locking the rows first makes postings that have not yet adjusted them wait until
+        // after the recomputed values are written
+        List<UserBalanceSummary> summaries = summaryRepository.findAllForUpdate(userIds);
+        Map<Integer, Totals> actual = computeTotals(userIds);
+        Date now = new Date();
+        long corrected = 0;
+        for (UserBalanceSummary summary : summaries) {
+            Totals totals = actual.getOrDefault(summary.getUserId(), Totals.EMPTY);
+            if (summary.getTotalBalance().compareTo(totals.balance()) != 0
+                    || summary.getAccountCount() != totals.accounts()
+                    || summary.getActiveFdTotal().compareTo(totals.activeFds()) != 0) {
+                log.warn("Correcting balance summary for user {}: stored ({}, {}, {}) actual ({}, {}, {})",
+                        summary.getUserId(), summary.getTotalBalance(), summary.getAccountCount(),
+                        summary.getActiveFdTotal(), totals.balance(), totals.accounts(), totals.activeFds());
+                summary.setTotalBalance(totals.balance());
+                summary.setAccountCount(totals.accounts());
+                summary.setActiveFdTotal(totals.activeFds());
+                summary.setUpdatedAt(now);
+                corrected++;
+            }
+            summary.setVerifiedAt(now);
+        }
+        return corrected;
+    }
+
+    private Map<Integer, Totals> computeTotals(List<Integer> userIds) {
+        Map<Integer, BigDecimal> fdTotals = new HashMap<>();
+        for (Object[] row : fixedDepositRepository.sumActiveDepositsByUserIds(userIds)) {
+            fdTotals.put((Integer) row[0], (BigDecimal) row[1]);
+        }
+        Map<Integer, Totals> totals = new HashMap<>();
+        for (Object[] row : accountRepository.sumBalancesByUserIds(userIds)) {
+            Integer userId = (Integer) row[0];
+            totals.put(userId, new Totals((BigDecimal) row[1], ((Long) row[2]).intValue(),
+                    fdTotals.getOrDefault(userId, BigDecimal.ZERO)));
+        }
+        fdTotals.forEach((userId, fdTotal) ->
+                totals.putIfAbsent(userId, new Totals(BigDecimal.ZERO, 0, fdTotal)));
+        return totals;
+    }
+
+    private record Totals(BigDecimal balance, int accounts, BigDecimal activeFds) {
+        static final Totals EMPTY = new Totals(BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+}
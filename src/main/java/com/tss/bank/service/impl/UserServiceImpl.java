@@ -9,7 +9,6 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +22,7 @@ import com.tss.bank.entity.User;
 import com.tss.bank.exception.UserApiException;
 import com.tss.bank.repository.BranchRepository;
 import com.tss.bank.repository.UserRepository;
+import com.tss.bank.security.PasswordHasher;
 import com.tss.bank.service.MappingService;
 import com.tss.bank.service.UserService;
 import com.tss.bank.service.EmailService;
@@ -40,7 +40,7 @@ public class UserServiceImpl implements UserService {
     private MappingService mappingService;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     
     @Autowired
     private BranchRepository branchRepository;
@@ -76,7 +76,7 @@ public class UserServiceImpl implements UserService {
         Branch branch = validateAndGetBranch(request.getBranchCode());
         
         // Encode password
-        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        String encodedPassword = passwordHasher.encode(request.getPassword());
         
         // Create user entity
         User user = User.builder()
@@ -131,7 +131,13 @@ public class UserServiceImpl implements UserService {
         Optional<User> userOpt = findByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            return passwordEncoder.matches(password, user.getPassword());
+            PasswordHasher.Verification verification = passwordHasher.verify(password, user.getPassword());
+            if (verification.upgradedHash() != null) {
+                // Stored hash is weaker than the current BCrypt cost; replace it while the password is at hand
+                user.setPassword(verification.upgradedHash());
+                userRepository.save(user);
+            }
+            return verification.matched();
         }
         return false;
     }
@@ -166,7 +172,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserApiException("User not found with ID: " + userId));
         
         // Validate current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.verify(request.getCurrentPassword(), user.getPassword()).matched()) {
             throw new UserApiException("Current password is incorrect");
         }
         
@@ -176,7 +182,7 @@ public class UserServiceImpl implements UserService {
         }
         
         // Update password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHasher.encode(request.getNewPassword()));
         userRepository.save(user);
         
         return true;
@@ -189,7 +195,7 @@ public class UserServiceImpl implements UserService {
         
         // Generate temporary password (in real implementation, send via email)
         String tempPassword = generateTemporaryPassword();
-        user.setPassword(passwordEncoder.encode(tempPassword));
+        user.setPassword(passwordHasher.encode(tempPassword));
         userRepository.save(user);
         
         // TODO: Send email with temporary password
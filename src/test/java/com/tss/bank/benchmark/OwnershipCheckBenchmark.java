@@ -0,0 +1,106 @@
+package com.tss.bank.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.index.OwnershipIndex;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+
+/**
+ * Throughput of warm ownership checks. Each user owns {@code accountsPerUser} accounts and
+ * twice as many deposits; the repositories are stubs, so only the index lookup is measured.
+ * Run with {@code main} from the IDE or the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OwnershipCheckBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"3", "50"})
+    private int accountsPerUser;
+
+    private OwnershipIndex index;
+
+    @Setup
+    public void setUp() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        FixedDepositRepository fixedDepositRepository = mock(FixedDepositRepository.class);
+        when(accountRepository.findAccountIdsByUserId(anyInt()))
+                .thenAnswer(call -> ids(call.getArgument(0), accountsPerUser));
+        when(fixedDepositRepository.findFdIdsByUserId(anyInt()))
+                .thenAnswer(call -> ids(call.getArgument(0), accountsPerUser * 2));
+
+        index = new OwnershipIndex();
+        ReflectionTestUtils.setField(index, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(index, "fixedDepositRepository", fixedDepositRepository);
+        ReflectionTestUtils.setField(index, "maximumSize", (long) USERS);
+        ReflectionTestUtils.setField(index, "ttlSeconds", 3600L);
+        ReflectionTestUtils.invokeMethod(index, "init");
+        for (int userId = 1; userId <= USERS; userId++) {
+            index.ownsAccount(userId, 0);
+        }
+    }
+
+    @Benchmark
+    public boolean ownedAccount() {
+        int userId = 1 + ThreadLocalRandom.current().nextInt(USERS);
+        return index.ownsAccount(userId, userId * 1000 + ThreadLocalRandom.current().nextInt(accountsPerUser));
+    }
+
+    @Benchmark
+    public boolean ownedFixedDeposit() {
+        int userId = 1 + ThreadLocalRandom.current().nextInt(USERS);
+        return index.ownsFixedDeposit(userId, userId * 1000 + ThreadLocalRandom.current().nextInt(accountsPerUser * 2));
+    }
+
+    @Benchmark
+    public boolean foreignAccount() {
+        int userId = 1 + ThreadLocalRandom.current().nextInt(USERS);
+        return index.ownsAccount(userId, (userId % USERS + 1) * 1000);
+    }
+
+    // Ids are userId * 1000 + n, so every user's ids are disjoint
+    private static List<Integer> ids(int userId, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int n = count - 1; n >= 0; n--) {
+            ids.add(userId * 1000 + n);
+        }
+        return ids;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OwnershipCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
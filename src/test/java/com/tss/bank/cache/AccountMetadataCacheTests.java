@@ -0,0 +1,145 @@
+package com.tss.bank.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.entity.Account;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+/**
+ * Lookups by id and by number, concurrent misses sharing one load, and loads by either key
+ * that read the account before a commit finishing after that commit's invalidation.
+ */
+class AccountMetadataCacheTests {
+
+    private static final AccountMetadata ACTIVE = new AccountMetadata(7, "AC00000000075", 3, Account.Status.ACTIVE, 1);
+    private static final AccountMetadata CLOSED = new AccountMetadata(7, "AC00000000075", 3, Account.Status.CLOSED, 1);
+
+    private AccountRepository repository;
+    private AccountMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AccountRepository.class);
+        cache = new AccountMetadataCache();
+        ReflectionTestUtils.setField(cache, "accountRepository", repository);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        cache.init();
+    }
+
+    @Test
+    void numberLookupFillsTheIdEntry() {
+        when(repository.findMetadataByAccountNumber("AC00000000075")).thenReturn(Optional.of(ACTIVE));
+
+        assertThat(cache.findByAccountNumber("AC00000000075")).contains(ACTIVE);
+        assertThat(cache.findById(7)).contains(ACTIVE);
+        assertThat(cache.findByAccountNumber("AC00000000075")).contains(ACTIVE);
+        verify(repository, times(1)).findMetadataByAccountNumber("AC00000000075");
+        verify(repository, times(0)).findMetadataById(7);
+    }
+
+    @Test
+    void missesAreNotCached() {
+        when(repository.findMetadataById(7)).thenReturn(Optional.empty(), Optional.of(ACTIVE));
+
+        assertThat(cache.findById(7)).isEmpty();
+        assertThat(cache.findById(7)).contains(ACTIVE);
+    }
+
+    @Test
+    void idLoadOverlappingAnInvalidationIsNotCached() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(repository.findMetadataById(7)).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(committed.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(ACTIVE);
+        }).thenReturn(Optional.of(CLOSED));
+
+        CompletableFuture<Optional<AccountMetadata>> staleLoad = CompletableFuture.supplyAsync(() -> cache.findById(7));
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        // The invalidation bumps the generation, then waits on the entry the load holds
+        long generation = generations().current(7);
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(() -> cache.onAccountMetadataChanged(
+                new AccountMetadataChangedEvent(7, "AC00000000075", Account.Status.CLOSED)));
+        awaitAdvance(7, generation);
+        committed.countDown();
+
+        assertThat(staleLoad.get(10, TimeUnit.SECONDS)).contains(ACTIVE);
+        invalidation.get(10, TimeUnit.SECONDS);
+        assertThat(cache.findById(7)).contains(CLOSED);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findMetadataById(7)).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(ACTIVE);
+        });
+
+        List<CompletableFuture<Optional<AccountMetadata>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> cache.findById(7)));
+        }
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        release.countDown();
+
+        for (CompletableFuture<Optional<AccountMetadata>> lookup : lookups) {
+            assertThat(lookup.get(10, TimeUnit.SECONDS)).contains(ACTIVE);
+        }
+        verify(repository, times(1)).findMetadataById(7);
+    }
+
+    @Test
+    void numberLoadOverlappingAnInvalidationIsNotCached() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(repository.findMetadataByAccountNumber("AC00000000075")).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(committed.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(ACTIVE);
+        });
+        when(repository.findMetadataById(7)).thenReturn(Optional.of(CLOSED));
+
+        CompletableFuture<Optional<AccountMetadata>> staleLoad =
+                CompletableFuture.supplyAsync(() -> cache.findByAccountNumber("AC00000000075"));
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        cache.onAccountMetadataChanged(new AccountMetadataChangedEvent(7, "AC00000000075", Account.Status.CLOSED));
+        committed.countDown();
+
+        assertThat(staleLoad.get(10, TimeUnit.SECONDS)).contains(ACTIVE);
+        assertThat(cache.findById(7)).contains(CLOSED);
+    }
+
+    private KeyGenerations generations() {
+        return (KeyGenerations) ReflectionTestUtils.getField(cache, "generations");
+    }
+
+    private void awaitAdvance(Integer accountId, long generation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (generations().unchanged(accountId, generation)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
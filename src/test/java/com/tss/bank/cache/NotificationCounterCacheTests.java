@@ -0,0 +1,122 @@
+package com.tss.bank.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.entity.NotificationCounter;
+import com.tss.bank.event.NotificationCountersChangedEvent;
+import com.tss.bank.repository.NotificationCounterRepository;
+
+/**
+ * Loads, invalidation, concurrent pollers sharing one load, and a load that read the
+ * counter row before a commit finishing after that commit's invalidation.
+ */
+class NotificationCounterCacheTests {
+
+    private NotificationCounterRepository repository;
+    private NotificationCounterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationCounterRepository.class);
+        cache = new NotificationCounterCache();
+        ReflectionTestUtils.setField(cache, "counterRepository", repository);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    void loadsOnceUntilInvalidated() {
+        when(repository.findById(1)).thenReturn(Optional.of(counter(1, 3, 5)), Optional.of(counter(1, 2, 5)));
+
+        assertThat(cache.get(1)).isEqualTo(new NotificationCounterCache.Counts(3, 5));
+        assertThat(cache.get(1).read()).isEqualTo(2);
+        verify(repository, times(1)).findById(1);
+
+        cache.onCountersChanged(new NotificationCountersChangedEvent(1));
+
+        assertThat(cache.get(1)).isEqualTo(new NotificationCounterCache.Counts(2, 5));
+        assertThat(cache.get(2)).isEqualTo(new NotificationCounterCache.Counts(0, 0));
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(repository.findById(1)).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(committed.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(counter(1, 3, 3));
+        }).thenReturn(Optional.of(counter(1, 0, 3)));
+
+        CompletableFuture<NotificationCounterCache.Counts> staleLoad = CompletableFuture.supplyAsync(() -> cache.get(1));
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        // markAllAsRead commits while the load holds the old row; the drop waits on the entry
+        long generation = generations().current(1);
+        CompletableFuture<Void> drop = CompletableFuture.runAsync(
+                () -> cache.onCountersChanged(new NotificationCountersChangedEvent(1)));
+        awaitAdvance(1, generation);
+        committed.countDown();
+
+        assertThat(staleLoad.get(10, TimeUnit.SECONDS).unread()).isEqualTo(3);
+        drop.get(10, TimeUnit.SECONDS);
+        assertThat(cache.get(1).unread()).isZero();
+        verify(repository, times(2)).findById(1);
+    }
+
+    @Test
+    void concurrentPollersShareOneLoad() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(1)).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(counter(1, 4, 9));
+        });
+
+        List<CompletableFuture<NotificationCounterCache.Counts>> polls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            polls.add(CompletableFuture.supplyAsync(() -> cache.get(1)));
+        }
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        release.countDown();
+
+        for (CompletableFuture<NotificationCounterCache.Counts> poll : polls) {
+            assertThat(poll.get(10, TimeUnit.SECONDS)).isEqualTo(new NotificationCounterCache.Counts(4, 9));
+        }
+        verify(repository, times(1)).findById(1);
+    }
+
+    private KeyGenerations generations() {
+        return (KeyGenerations) ReflectionTestUtils.getField(cache, "generations");
+    }
+
+    private void awaitAdvance(Integer userId, long generation) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (generations().unchanged(userId, generation)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static NotificationCounter counter(Integer userId, long unread, long total) {
+        return NotificationCounter.builder().userId(userId).unreadCount(unread).totalCount(total).updatedAt(new Date()).build();
+    }
+}
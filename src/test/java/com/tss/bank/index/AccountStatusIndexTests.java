@@ -0,0 +1,268 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.cache.AccountBalanceCache;
+import com.tss.bank.cache.AccountMetadataCache;
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.dto.request.FixedDepositRequest;
+import com.tss.bank.dto.request.TransactionRequest;
+import com.tss.bank.dto.request.TransferRequest;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.Transaction;
+import com.tss.bank.entity.User;
+import com.tss.bank.exception.AccountApiException;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.exception.TransactionApiException;
+import com.tss.bank.exception.TransferApiException;
+import com.tss.bank.projection.FdLiabilityProjection;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
+import com.tss.bank.service.AccountService;
+import com.tss.bank.service.AuthorizationService;
+import com.tss.bank.service.FixedDepositService;
+import com.tss.bank.service.MappingService;
+import com.tss.bank.service.TransactionService;
+import com.tss.bank.service.TransferService;
+import com.tss.bank.service.impl.AccountServiceImpl;
+import com.tss.bank.service.impl.FdMaturityServiceImpl;
+import com.tss.bank.service.impl.FixedDepositServiceImpl;
+import com.tss.bank.service.impl.TransactionServiceImpl;
+import com.tss.bank.service.impl.TransferServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Freezing and unfreezing through the real account service with the real index: status
+ * guards, the index flipping only once the change commits, and withdrawals, transfers
+ * and deposit bookings turned away while frozen. Runs on H2 in MySQL mode for the
+ * summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-status;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AccountStatusIndex.class, AccountServiceImpl.class, TransactionServiceImpl.class, TransferServiceImpl.class,
+        FixedDepositServiceImpl.class, FdMaturityServiceImpl.class, UserBalanceSummaryServiceImpl.class,
+        AccountNumberAllocator.class, AccountMetadataCache.class, AccountBalanceCache.class, SchedulingConfig.class,
+        MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountStatusIndexTests {
+
+    @MockitoBean
+    private OwnershipIndex ownershipIndex;
+
+    @MockitoBean
+    private BalanceRangeIndex balanceRangeIndex;
+
+    @MockitoBean
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @MockitoBean
+    private AuthorizationService authorizationService;
+
+    @MockitoBean
+    private FdQuoteEngine quoteEngine;
+
+    @MockitoBean
+    private FdLiabilityProjection liabilityProjection;
+
+    @Autowired
+    private AccountStatusIndex accountStatusIndex;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private FixedDepositService fixedDepositService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void freezeRejectsNonActiveAndAlreadyFrozenAccounts() {
+        User user = user("freezes");
+        Account active = account(user, "freezes-active", Account.Status.ACTIVE);
+        Account inactive = account(user, "freezes-inactive", Account.Status.INACTIVE);
+        Account closed = account(user, "freezes-closed", Account.Status.CLOSED);
+
+        accountService.freezeAccount(active.getAccountId());
+
+        assertThat(statusOf(active)).isEqualTo(Account.Status.SUSPENDED);
+        assertThatThrownBy(() -> accountService.freezeAccount(active.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Account is already frozen");
+        assertThatThrownBy(() -> accountService.freezeAccount(inactive.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Only active accounts can be frozen");
+        assertThatThrownBy(() -> accountService.freezeAccount(closed.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Only active accounts can be frozen");
+        assertThat(statusOf(inactive)).isEqualTo(Account.Status.INACTIVE);
+        assertThat(statusOf(closed)).isEqualTo(Account.Status.CLOSED);
+        assertThat(accountStatusIndex.isFrozen(inactive.getAccountId())).isFalse();
+        assertThat(accountStatusIndex.isFrozen(closed.getAccountId())).isFalse();
+    }
+
+    @Test
+    void unfreezeRejectsAccountsThatAreNotFrozen() {
+        User user = user("unfreezes");
+        Account active = account(user, "thaws-active", Account.Status.ACTIVE);
+        Account inactive = account(user, "thaws-inactive", Account.Status.INACTIVE);
+
+        assertThatThrownBy(() -> accountService.unfreezeAccount(active.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Account is not frozen");
+        assertThatThrownBy(() -> accountService.unfreezeAccount(inactive.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Account is not frozen");
+
+        accountService.freezeAccount(active.getAccountId());
+        accountService.unfreezeAccount(active.getAccountId());
+
+        assertThat(statusOf(active)).isEqualTo(Account.Status.ACTIVE);
+        assertThat(accountStatusIndex.isFrozen(active.getAccountId())).isFalse();
+        assertThatThrownBy(() -> accountService.unfreezeAccount(active.getAccountId()))
+                .isInstanceOf(AccountApiException.class).hasMessage("Account is not frozen");
+    }
+
+    @Test
+    void indexFlipsOnlyAfterCommit() {
+        Account account = account(user("commits"), "commits", Account.Status.ACTIVE);
+        Integer accountId = account.getAccountId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            accountService.freezeAccount(accountId);
+            assertThat(accountStatusIndex.isFrozen(accountId)).isFalse();
+        });
+
+        assertThat(accountStatusIndex.isFrozen(accountId)).isTrue();
+        assertThat(accountStatusIndex.isBlocked(accountId)).isTrue();
+
+        transaction.executeWithoutResult(status -> {
+            accountService.unfreezeAccount(accountId);
+            assertThat(accountStatusIndex.isFrozen(accountId)).isTrue();
+        });
+
+        assertThat(accountStatusIndex.isFrozen(accountId)).isFalse();
+        assertThat(accountStatusIndex.isBlocked(accountId)).isFalse();
+
+        // A freeze that rolls back never reaches the index
+        transaction.executeWithoutResult(status -> {
+            accountService.freezeAccount(accountId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(statusOf(account)).isEqualTo(Account.Status.ACTIVE);
+        assertThat(accountStatusIndex.isFrozen(accountId)).isFalse();
+    }
+
+    @Test
+    void frozenAccountRejectsWithdrawalTransferAndDepositBooking() {
+        User user = user("frozen");
+        Account frozen = account(user, "frozen", Account.Status.ACTIVE);
+        Account payee = account(user("payee"), "frozen-payee", Account.Status.ACTIVE);
+        accountService.freezeAccount(frozen.getAccountId());
+
+        assertThatThrownBy(() -> transactionService.processWithdrawal(TransactionRequest.builder()
+                .accountId(frozen.getAccountId()).txnType(Transaction.TxnType.DEBIT)
+                .amount(new BigDecimal("100.00")).description("ATM").channel(Transaction.Channel.ATM)
+                .build()))
+                .isInstanceOf(TransactionApiException.class).hasMessage("Account is frozen");
+        assertThatThrownBy(() -> transferService.initiateTransfer(TransferRequest.builder()
+                .fromAccountId(frozen.getAccountId()).toAccountNumber(payee.getAccountNumber())
+                .ifscCode("TSSB0000001").amount(new BigDecimal("100.00")).description("Rent")
+                .beneficiaryName("payee")
+                .build()))
+                .isInstanceOf(TransferApiException.class).hasMessage("Source account is frozen");
+        assertThatThrownBy(() -> transferService.processTransfer(
+                frozen.getAccountId(), payee.getAccountId(), new BigDecimal("100.00"), "Rent"))
+                .isInstanceOf(TransferApiException.class).hasMessage("Source account is frozen");
+        assertThatThrownBy(() -> fixedDepositService.createFixedDeposit(FixedDepositRequest.builder()
+                .accountId(frozen.getAccountId()).amount(new BigDecimal("5000.00")).tenureMonths(12)
+                .build()))
+                .isInstanceOf(FixedDepositApiException.class).hasMessage("Account is frozen");
+
+        assertThat(balanceOf(frozen)).isEqualByComparingTo("10000.00");
+        assertThat(balanceOf(payee)).isEqualByComparingTo("10000.00");
+        assertThat(fixedDepositRepository.count()).isZero();
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+    }
+
+    private Account account(User user, String suffix, Account.Status status) {
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + suffix)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(new BigDecimal("10000.00")).status(status)
+                .createdAt(new Date())
+                .build());
+    }
+
+    private Account.Status statusOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getStatus();
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,176 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.event.AccountBalanceChangedEvent;
+import com.tss.bank.event.AccountMetadataChangedEvent;
+import com.tss.bank.repository.AccountRepository;
+
+/**
+ * Bucket boundaries, and counts and pages checked against a plain scan of the same
+ * balances, with thresholds placed on and around bucket edges.
+ */
+class BalanceRangeIndexTests {
+
+    private BalanceRangeIndex index;
+    private final Map<Integer, BigDecimal> balances = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        AccountRepository repository = mock(AccountRepository.class);
+        when(repository.findBalanceRowsAfter(anyInt(), any(Pageable.class))).thenReturn(List.of());
+        index = new BalanceRangeIndex();
+        ReflectionTestUtils.setField(index, "accountRepository", repository);
+        ReflectionTestUtils.setField(index, "loadPageSize", 100);
+        index.load();
+    }
+
+    @Test
+    void bucketOfSplitsEachDecadeIntoFour() {
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("-500.00"))).isZero();
+        assertThat(BalanceRangeIndex.bucketOf(BigDecimal.ZERO)).isZero();
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("0.99"))).isZero();
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("1.00"))).isEqualTo(1);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("9.99"))).isEqualTo(4);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("10.00"))).isEqualTo(5);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("10.01"))).isEqualTo(5);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("99999.99"))).isEqualTo(20);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("100000.00"))).isEqualTo(21);
+        // 10^0.25 = 1.7782..., the first quarter-decade edge
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("1.77"))).isEqualTo(1);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("1.78"))).isEqualTo(2);
+        assertThat(BalanceRangeIndex.bucketOf(new BigDecimal("1E+40"))).isEqualTo(BalanceRangeIndex.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void bucketOfIsMonotonicAcrossPowersOfTen() {
+        for (int exponent = 0; exponent <= 14; exponent++) {
+            BigDecimal power = BigDecimal.TEN.pow(exponent).setScale(2);
+            BigDecimal below = power.subtract(new BigDecimal("0.01"));
+            BigDecimal above = power.add(new BigDecimal("0.01"));
+
+            assertThat(BalanceRangeIndex.bucketOf(power)).isEqualTo(1 + exponent * BalanceRangeIndex.BUCKETS_PER_DECADE);
+            // Near 10^13 the double cannot tell the cent apart; that only widens the boundary bucket
+            assertThat(BalanceRangeIndex.bucketOf(below)).isLessThanOrEqualTo(BalanceRangeIndex.bucketOf(power));
+            if (exponent <= 12) {
+                assertThat(BalanceRangeIndex.bucketOf(below)).isLessThan(BalanceRangeIndex.bucketOf(power));
+            }
+            assertThat(BalanceRangeIndex.bucketOf(above)).isEqualTo(BalanceRangeIndex.bucketOf(power));
+        }
+    }
+
+    @Test
+    void countAtLeastMatchesScanOnAndAroundBoundaries() {
+        Random random = new Random(7);
+        for (int id = 1; id <= 2_000; id++) {
+            put(id, randomBalance(random), 1);
+        }
+        put(2_001, new BigDecimal("-25.00"), 1);
+        put(2_002, new BigDecimal("0.50"), 1);
+        put(2_003, new BigDecimal("100000.00"), 1);
+        put(2_004, new BigDecimal("99999.99"), 1);
+        put(2_005, new BigDecimal("9999999999999.99"), 1);
+        put(2_006, new BigDecimal("10000000000000.00"), 1);
+
+        for (BigDecimal threshold : thresholds()) {
+            assertThat(index.countAtLeast(threshold)).as("count >= %s", threshold).isEqualTo(scanCount(threshold));
+        }
+        assertThat(index.size()).isEqualTo(balances.size());
+    }
+
+    @Test
+    void pagingWalksEveryMatchingIdOnceInOrder() {
+        Random random = new Random(11);
+        for (int id = 1; id <= 1_500; id++) {
+            put(id * 3, randomBalance(random), 1);
+        }
+
+        for (BigDecimal threshold : thresholds()) {
+            for (int limit : new int[] {1, 7, 100, 5_000}) {
+                List<Integer> walked = new ArrayList<>();
+                Integer after = null;
+                List<Integer> page;
+                do {
+                    page = index.accountIdsAtLeast(threshold, after, limit);
+                    assertThat(page.size()).isLessThanOrEqualTo(limit);
+                    walked.addAll(page);
+                    after = page.isEmpty() ? after : page.get(page.size() - 1);
+                } while (page.size() == limit);
+
+                assertThat(walked).as("ids >= %s, limit %d", threshold, limit).isEqualTo(scanIds(threshold));
+            }
+        }
+    }
+
+    @Test
+    void staleVersionsAreIgnoredAndDeletesRemoveTheAccount() {
+        put(1, new BigDecimal("500.00"), 5);
+        put(1, new BigDecimal("5.00"), 4);
+        put(1, new BigDecimal("50.00"), 5);
+
+        assertThat(index.countAtLeast(new BigDecimal("500.00"))).isEqualTo(1);
+
+        put(1, new BigDecimal("50.00"), 6);
+
+        assertThat(index.countAtLeast(new BigDecimal("500.00"))).isZero();
+        assertThat(index.accountIdsAtLeast(new BigDecimal("50.00"), null, 10)).containsExactly(1);
+
+        index.onAccountMetadataChanged(new AccountMetadataChangedEvent(1, null, null));
+
+        assertThat(index.countAtLeast(BigDecimal.ZERO)).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    private void put(int accountId, BigDecimal balance, long version) {
+        index.onBalanceChanged(new AccountBalanceChangedEvent(accountId, balance, version, null));
+        balances.put(accountId, balance);
+    }
+
+    private long scanCount(BigDecimal threshold) {
+        return balances.values().stream().filter(b -> b.compareTo(threshold) >= 0).count();
+    }
+
+    private List<Integer> scanIds(BigDecimal threshold) {
+        return balances.entrySet().stream()
+                .filter(e -> e.getValue().compareTo(threshold) >= 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    // Log-uniform from 0.01 to 10^8, so every bucket in that range gets members
+    private static BigDecimal randomBalance(Random random) {
+        return BigDecimal.valueOf(Math.pow(10, random.nextDouble() * 10 - 2)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static List<BigDecimal> thresholds() {
+        List<BigDecimal> thresholds = new ArrayList<>(List.of(
+                new BigDecimal("-100.00"), BigDecimal.ZERO, new BigDecimal("0.01"), new BigDecimal("0.99"),
+                new BigDecimal("1.77"), new BigDecimal("1.78"), new BigDecimal("1E+12"),
+                new BigDecimal("9999999999999.99"), new BigDecimal("10000000000000.00")));
+        for (int exponent = 0; exponent <= 8; exponent++) {
+            BigDecimal power = BigDecimal.TEN.pow(exponent).setScale(2);
+            thresholds.add(power.subtract(new BigDecimal("0.01")));
+            thresholds.add(power);
+            thresholds.add(power.add(new BigDecimal("0.01")));
+        }
+        return thresholds;
+    }
+}
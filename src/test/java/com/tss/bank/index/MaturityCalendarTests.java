@@ -0,0 +1,165 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.service.FdMaturityService;
+
+/**
+ * Drives {@link MaturityCalendar} against a stubbed repository and maturity service: slot
+ * placement, booking and closing events, horizon reloads, and which slots a tick fires.
+ */
+class MaturityCalendarTests {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private FdMaturityService maturityService;
+    private MaturityCalendar calendar;
+    private final List<Object[]> activeRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        FixedDepositRepository repository = mock(FixedDepositRepository.class);
+        when(repository.findMaturityRowsBetween(any(Date.class), any(Date.class), anyInt(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Date from = invocation.getArgument(0);
+                    Date to = invocation.getArgument(1);
+                    int afterId = invocation.getArgument(2);
+                    Pageable pageable = invocation.getArgument(3);
+                    return activeRows.stream()
+                            .filter(row -> ((Date) row[1]).after(from) && !((Date) row[1]).after(to)
+                                    && (Integer) row[0] > afterId)
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+        maturityService = mock(FdMaturityService.class);
+        calendar = new MaturityCalendar();
+        ReflectionTestUtils.setField(calendar, "fixedDepositRepository", repository);
+        ReflectionTestUtils.setField(calendar, "fdMaturityService", maturityService);
+        ReflectionTestUtils.setField(calendar, "horizonDays", 7);
+        ReflectionTestUtils.setField(calendar, "slotSeconds", 60L);
+        ReflectionTestUtils.setField(calendar, "loadPageSize", 2);
+    }
+
+    @Test
+    void depositsLandInTheSlotCoveringTheirMaturity() {
+        calendar.load();
+        long slotStart = (System.currentTimeMillis() / MINUTE + 10) * MINUTE;
+
+        booked(1, slotStart);
+        booked(2, slotStart + MINUTE - 1);
+        booked(3, slotStart + MINUTE);
+
+        assertThat(slots()).containsOnlyKeys(slotStart / MINUTE, slotStart / MINUTE + 1);
+        assertThat(slots().get(slotStart / MINUTE)).containsExactlyInAnyOrder(1, 2);
+        assertThat(slots().get(slotStart / MINUTE + 1)).containsExactly(3);
+
+        // A changed maturity moves the deposit and drops the slot it leaves empty
+        booked(3, slotStart + 5 * MINUTE);
+
+        assertThat(slots()).containsOnlyKeys(slotStart / MINUTE, slotStart / MINUTE + 5);
+        assertThat(calendar.size()).isEqualTo(3);
+    }
+
+    @Test
+    void bookingsAddAndClosuresRemoveDeposits() {
+        calendar.load();
+        long now = System.currentTimeMillis();
+
+        // A batch approval publishes one ACTIVE event per booked deposit
+        for (int fdId = 1; fdId <= 4; fdId++) {
+            booked(fdId, now + fdId * DAY);
+        }
+        booked(5, now + 30 * DAY);
+
+        assertThat(calendar.size()).isEqualTo(4);
+
+        calendar.onFixedDepositChanged(new FixedDepositChangedEvent(2, FixedDeposit.Status.EARLY_CLOSE, new Date(now + 2 * DAY)));
+        calendar.onFixedDepositChanged(new FixedDepositChangedEvent(3, FixedDeposit.Status.MATURED, new Date(now + 3 * DAY)));
+        calendar.onFixedDepositChanged(new FixedDepositChangedEvent(99, FixedDeposit.Status.EARLY_CLOSE, null));
+
+        assertThat(calendar.size()).isEqualTo(2);
+        assertThat(slots().values()).flatMap(members -> members).containsExactlyInAnyOrder(1, 4);
+    }
+
+    @Test
+    void horizonReloadPicksUpLaterMaturities() {
+        long now = System.currentTimeMillis();
+        for (int fdId = 1; fdId <= 5; fdId++) {
+            activeRows.add(new Object[] { fdId, new Date(now + fdId * DAY - MINUTE) });
+        }
+        activeRows.add(new Object[] { 6, new Date(now + 10 * DAY) });
+        activeRows.add(new Object[] { 7, new Date(now + 12 * DAY) });
+        activeRows.add(new Object[] { 8, new Date(now - 2 * MINUTE) });
+        calendar.load();
+
+        assertThat(calendar.size()).isEqualTo(6);
+        assertThat(calendar.getLoadedUntil().getTime()).isBetween(now + 7 * DAY, System.currentTimeMillis() + 7 * DAY);
+
+        // Booked beyond the loaded window: left for the reload to find
+        booked(6, now + 10 * DAY);
+        assertThat(calendar.size()).isEqualTo(6);
+
+        ReflectionTestUtils.setField(calendar, "horizonDays", 14);
+        calendar.extendHorizon();
+
+        assertThat(calendar.size()).isEqualTo(8);
+        assertThat(slots().values()).flatMap(members -> members).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    void tickFiresOnlyDueDeposits() {
+        // Day-wide slots, so the current slot holds deposits on both sides of now
+        ReflectionTestUtils.setField(calendar, "slotSeconds", TimeUnit.DAYS.toSeconds(1));
+        calendar.load();
+        long now = System.currentTimeMillis();
+        long endOfCurrentSlot = (now / DAY + 1) * DAY - 1;
+        assumeTrue(endOfCurrentSlot - now > MINUTE, "too close to the slot boundary");
+
+        booked(1, now - DAY);
+        booked(2, now - MINUTE);
+        booked(3, endOfCurrentSlot);
+        booked(4, now + 3 * DAY);
+
+        calendar.tick();
+
+        verify(maturityService).matureDeposits(List.of(1, 2));
+        assertThat(calendar.size()).isEqualTo(2);
+        assertThat(slots()).containsOnlyKeys(now / DAY, now / DAY + 3);
+
+        calendar.tick();
+
+        verify(maturityService).matureDeposits(anyList());
+    }
+
+    private void booked(int fdId, long maturity) {
+        calendar.onFixedDepositChanged(new FixedDepositChangedEvent(fdId, FixedDeposit.Status.ACTIVE, new Date(maturity)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Set<Integer>> slots() {
+        return (Map<Long, Set<Integer>>) ReflectionTestUtils.getField(calendar, "slots");
+    }
+}
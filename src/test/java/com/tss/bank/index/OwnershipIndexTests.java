@@ -0,0 +1,242 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.cache.AccountBalanceCache;
+import com.tss.bank.cache.AccountMetadataCache;
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.dto.request.AccountCreationRequest;
+import com.tss.bank.dto.request.FdApplicationBatchApprovalRequest;
+import com.tss.bank.dto.request.FixedDepositRequest;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FDApplication;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.User;
+import com.tss.bank.projection.FdLiabilityProjection;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FDApplicationRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
+import com.tss.bank.service.AccountService;
+import com.tss.bank.service.FdApplicationApprovalService;
+import com.tss.bank.service.FixedDepositService;
+import com.tss.bank.service.MappingService;
+import com.tss.bank.service.impl.AccountServiceImpl;
+import com.tss.bank.service.impl.FdApplicationApprovalServiceImpl;
+import com.tss.bank.service.impl.FdMaturityServiceImpl;
+import com.tss.bank.service.impl.FixedDepositServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Ownership checks through the real services: each user's entry is cached before the
+ * change, so a check passing or failing right after commit shows the change's
+ * {@code OwnershipChangedEvent} dropped it. Runs on H2 in MySQL mode for the summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ownership;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OwnershipIndex.class, AccountServiceImpl.class, FixedDepositServiceImpl.class,
+        FdApplicationApprovalServiceImpl.class, FdMaturityServiceImpl.class, UserBalanceSummaryServiceImpl.class,
+        AccountNumberAllocator.class, AccountMetadataCache.class, AccountBalanceCache.class, SchedulingConfig.class,
+        MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OwnershipIndexTests {
+
+    @MockitoBean
+    private AccountStatusIndex accountStatusIndex;
+
+    @MockitoBean
+    private BalanceRangeIndex balanceRangeIndex;
+
+    @MockitoBean
+    private FdQuoteEngine quoteEngine;
+
+    @MockitoBean
+    private FdLiabilityProjection liabilityProjection;
+
+    @Autowired
+    private OwnershipIndex ownershipIndex;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private FixedDepositService fixedDepositService;
+
+    @Autowired
+    private FdApplicationApprovalService approvalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private FDApplicationRepository fdApplicationRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+        when(quoteEngine.quote(any(BigDecimal.class), anyInt(), anyBoolean())).thenAnswer(invocation ->
+                FdQuoteResponse.builder()
+                        .interestRate(new BigDecimal("7.00"))
+                        .maturityAmount(((BigDecimal) invocation.getArgument(0)).multiply(new BigDecimal("1.07")))
+                        .build());
+    }
+
+    @Test
+    void openedAccountIsAuthorizedRightAfterCommit() {
+        User user = user("opens");
+        Account existing = account(user, "opens-existing", "1000.00");
+        assertThat(ownershipIndex.ownsAccount(user.getUserId(), existing.getAccountId())).isTrue();
+
+        Integer opened = accountService.createAccount(AccountCreationRequest.builder()
+                .accountType(Account.AccountType.SAVINGS)
+                .initialBalance(new BigDecimal("1000.00"))
+                .branchCode("MAIN01")
+                .build(), user.getUserId()).getAccountId();
+
+        assertThat(ownershipIndex.ownsAccount(user.getUserId(), opened)).isTrue();
+    }
+
+    @Test
+    void bookedAndApprovedDepositsAreAuthorizedRightAfterCommit() {
+        User user = user("books");
+        Account account = account(user, "books", "50000.00");
+        assertThat(ownershipIndex.ownsFixedDeposit(user.getUserId(), Integer.MAX_VALUE)).isFalse();
+
+        Integer booked = fixedDepositService.createFixedDeposit(FixedDepositRequest.builder()
+                .accountId(account.getAccountId())
+                .amount(new BigDecimal("5000.00"))
+                .tenureMonths(12)
+                .build()).getFdId();
+
+        assertThat(ownershipIndex.ownsFixedDeposit(user.getUserId(), booked)).isTrue();
+
+        FDApplication application = fdApplicationRepository.save(FDApplication.builder()
+                .userId(user.getUserId()).accountId(account.getAccountId())
+                .amount(new BigDecimal("5000.00")).tenureMonths(12)
+                .applicationDate(new Date()).status(FDApplication.Status.PENDING)
+                .build());
+        Integer approved = approvalService.approveApplications(FdApplicationBatchApprovalRequest.builder()
+                .fdAppIds(List.of(application.getFdAppId())).build(), 1).getResults().get(0).getFdId();
+
+        assertThat(ownershipIndex.ownsFixedDeposit(user.getUserId(), approved)).isTrue();
+    }
+
+    @Test
+    void closedAccountAndDeletedDepositStopBeingAuthorized() {
+        User user = user("removes");
+        Account emptied = account(user, "removes-empty", "0.00");
+        Account funded = account(user, "removes-funded", "5000.00");
+        FixedDeposit fd = deposit(funded);
+        assertThat(ownershipIndex.ownsAccount(user.getUserId(), emptied.getAccountId())).isTrue();
+        assertThat(ownershipIndex.ownsFixedDeposit(user.getUserId(), fd.getFdId())).isTrue();
+
+        accountService.closeAccount(emptied.getAccountId());
+
+        assertThat(ownershipIndex.ownsAccount(user.getUserId(), emptied.getAccountId())).isFalse();
+        assertThat(ownershipIndex.ownsAccount(user.getUserId(), funded.getAccountId())).isTrue();
+
+        fixedDepositService.deleteById(fd.getFdId());
+
+        assertThat(ownershipIndex.ownsFixedDeposit(user.getUserId(), fd.getFdId())).isFalse();
+    }
+
+    @Test
+    void anotherUsersIdsAreNeverAccepted() {
+        User owner = user("owner");
+        User other = user("other");
+        Account account = account(owner, "owner", "5000.00");
+        FixedDeposit fd = deposit(account);
+        Account otherAccount = account(other, "other", "5000.00");
+
+        assertThat(ownershipIndex.ownsAccount(owner.getUserId(), account.getAccountId())).isTrue();
+        assertThat(ownershipIndex.ownsFixedDeposit(owner.getUserId(), fd.getFdId())).isTrue();
+        assertThat(ownershipIndex.ownsAccount(other.getUserId(), account.getAccountId())).isFalse();
+        assertThat(ownershipIndex.ownsFixedDeposit(other.getUserId(), fd.getFdId())).isFalse();
+        assertThat(ownershipIndex.ownsAccount(owner.getUserId(), otherAccount.getAccountId())).isFalse();
+        assertThat(ownershipIndex.ownsAccount(owner.getUserId(), null)).isFalse();
+        assertThat(ownershipIndex.ownsFixedDeposit(null, fd.getFdId())).isFalse();
+
+        // Reloading the other user's entry after a change of theirs still does not take in the owner's ids
+        accountService.closeAccount(account(other, "other-empty", "0.00").getAccountId());
+
+        assertThat(ownershipIndex.ownsAccount(other.getUserId(), account.getAccountId())).isFalse();
+        assertThat(ownershipIndex.ownsFixedDeposit(other.getUserId(), fd.getFdId())).isFalse();
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+    }
+
+    private Account account(User user, String suffix, String balance) {
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + suffix)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(new BigDecimal(balance)).status(Account.Status.ACTIVE)
+                .createdAt(new Date())
+                .build());
+    }
+
+    private FixedDeposit deposit(Account account) {
+        Date now = new Date();
+        return fixedDepositRepository.save(FixedDeposit.builder()
+                .user(account.getUser()).account(account)
+                .amount(new BigDecimal("1000.00")).tenureMonths(12).interestRate(new BigDecimal("7.00"))
+                .maturityAmount(new BigDecimal("1070.00"))
+                .startDate(now).maturityDate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(365)))
+                .status(FixedDeposit.Status.ACTIVE).createdAt(now).updatedAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,97 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link PostingList} behaves as a sorted set across the compressed block and
+ * the tail buffer, and that the merge helpers match a reference implementation.
+ */
+class PostingListTests {
+
+    @Test
+    void ascendingIdsRoundTripThroughCompression() {
+        PostingList list = new PostingList();
+        for (int id = 1; id <= 1000; id++) {
+            list.add(id * 3);
+        }
+
+        int[] ids = list.toArray();
+        assertThat(ids).hasSize(1000);
+        assertThat(list.size()).isEqualTo(1000);
+        assertThat(ids[0]).isEqualTo(3);
+        assertThat(ids[999]).isEqualTo(3000);
+    }
+
+    @Test
+    void largeGapsSurviveVarintEncoding() {
+        PostingList list = new PostingList();
+        int[] expected = { 1, 128, 16_512, 2_113_664, Integer.MAX_VALUE };
+        for (int id : expected) {
+            list.add(id);
+        }
+        for (int i = 0; i < 200; i++) {
+            // Push the ids above out of the tail into the compressed block
+            list.add(Integer.MAX_VALUE);
+        }
+
+        assertThat(list.toArray()).containsExactly(expected);
+        assertThat(list.size()).isEqualTo(expected.length);
+    }
+
+    @Test
+    void duplicatesAreIgnoredInTailAndCompressedBlock() {
+        PostingList list = new PostingList();
+        for (int id = 1; id <= 300; id++) {
+            list.add(id);
+        }
+        // 1..256 are compressed by now, 257..300 still in the tail
+        list.add(5);
+        list.add(256);
+        list.add(280);
+        list.add(300);
+
+        assertThat(list.size()).isEqualTo(300);
+        assertThat(list.toArray()).hasSize(300);
+    }
+
+    @Test
+    void outOfOrderIdsAreMergedIntoSortedOrder() {
+        Random random = new Random(42);
+        TreeSet<Integer> reference = new TreeSet<>();
+        PostingList list = new PostingList();
+        for (int i = 0; i < 5_000; i++) {
+            int id = 1 + random.nextInt(4_000);
+            reference.add(id);
+            list.add(id);
+            assertThat(list.size()).isEqualTo(reference.size());
+        }
+
+        assertThat(list.toArray()).containsExactly(reference.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Test
+    void unionKeepsEachIdOnce() {
+        assertThat(PostingList.union(new int[] { 1, 3, 5, 7 }, new int[] { 2, 3, 7, 9 }))
+                .containsExactly(1, 2, 3, 5, 7, 9);
+        assertThat(PostingList.union(new int[0], new int[] { 4 })).containsExactly(4);
+    }
+
+    @Test
+    void intersectMatchesForSimilarAndSkewedSizes() {
+        assertThat(PostingList.intersect(new int[] { 2, 4, 6, 8 }, new int[] { 1, 2, 3, 6, 9 }))
+                .containsExactly(2, 6);
+
+        int[] larger = new int[1_000];
+        for (int i = 0; i < larger.length; i++) {
+            larger[i] = i * 2;
+        }
+        // 3 * 16 < 1000, so this takes the binary-search path
+        assertThat(PostingList.intersect(new int[] { 3, 500, 1998 }, larger)).containsExactly(500, 1998);
+        assertThat(PostingList.intersect(new int[] { 2001 }, larger)).isEmpty();
+    }
+}
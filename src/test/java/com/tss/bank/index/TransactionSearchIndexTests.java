@@ -0,0 +1,102 @@
+package com.tss.bank.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.event.TransactionRecordedEvent;
+import com.tss.bank.repository.TransactionRepository;
+
+/**
+ * Drives {@link TransactionSearchIndex} against a stubbed repository: token and prefix
+ * search, account and time filters, and events that commit while the bulk load runs.
+ */
+class TransactionSearchIndexTests {
+
+    private static final Date DAY_ONE = new Date(1_700_000_000_000L);
+    private static final Date DAY_TWO = new Date(DAY_ONE.getTime() + 86_400_000L);
+
+    private TransactionRepository transactionRepository;
+    private TransactionSearchIndex index;
+    private final List<Object[]> committedRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.findSearchRowsAfter(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            int afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return committedRows.stream()
+                    .filter(row -> (Integer) row[0] > afterId)
+                    .limit(pageable.getPageSize())
+                    .toList();
+        });
+        index = new TransactionSearchIndex();
+        ReflectionTestUtils.setField(index, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(index, "loadPageSize", 2);
+    }
+
+    @Test
+    void searchesTokensPrefixesAndFilters() {
+        row(1, 10, DAY_ONE, "ATM withdrawal Pune");
+        row(2, 10, DAY_TWO, "Transfer to savings");
+        row(3, 20, DAY_TWO, "ATM withdrawal Mumbai");
+        row(4, 20, DAY_TWO, "Salary credit");
+        index.loadIndex();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.getDocumentCount()).isEqualTo(4);
+        assertThat(index.search("atm withdrawal", null, null, null, 10).txnIds()).containsExactly(3, 1);
+        assertThat(index.search("with*", null, null, null, 10).totalMatches()).isEqualTo(2);
+        assertThat(index.search("atm", 10, null, null, 10).txnIds()).containsExactly(1);
+        assertThat(index.search("atm", null, DAY_TWO, null, 10).txnIds()).containsExactly(3);
+        assertThat(index.search("atm pune", null, null, null, 10).txnIds()).containsExactly(1);
+        assertThat(index.search("atm salary", null, null, null, 10).txnIds()).isEmpty();
+        assertThat(index.search("a", null, null, null, 10).txnIds()).isEmpty();
+
+        TransactionSearchIndex.SearchResult limited = index.search("atm", null, null, null, 1);
+        assertThat(limited.txnIds()).containsExactly(3);
+        assertThat(limited.totalMatches()).isEqualTo(2);
+    }
+
+    @Test
+    void eventsAfterLoadAreSearchable() {
+        row(1, 10, DAY_ONE, "Opening deposit");
+        index.loadIndex();
+
+        index.onTransactionRecorded(new TransactionRecordedEvent(2, 10, DAY_TWO, "Rent payment"));
+
+        assertThat(index.search("rent", null, null, null, 10).txnIds()).containsExactly(2);
+        assertThat(index.getDocumentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void lateCommitBelowLoadedIdsIsIndexedOnce() {
+        row(1, 10, DAY_ONE, "Opening deposit");
+        row(3, 10, DAY_TWO, "Rent payment");
+        // Txn 2 got its id first but committed after the load passed id 3
+        index.onTransactionRecorded(new TransactionRecordedEvent(2, 10, DAY_TWO, "Late rent refund"));
+        // Txn 3 committed during the load and was also read by it
+        index.onTransactionRecorded(new TransactionRecordedEvent(3, 10, DAY_TWO, "Rent payment"));
+
+        index.loadIndex();
+
+        assertThat(index.search("rent", null, null, null, 10).txnIds()).containsExactly(3, 2);
+        assertThat(index.getDocumentCount()).isEqualTo(3);
+    }
+
+    private void row(int txnId, int accountId, Date txnTime, String description) {
+        committedRows.add(new Object[] { txnId, accountId, txnTime, description });
+    }
+}
@@ -0,0 +1,148 @@
+package com.tss.bank.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.entity.EmailOutbox;
+import com.tss.bank.repository.EmailOutboxRepository;
+import com.tss.bank.service.EmailService;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Queues emails through {@link EmailService} and checks that the dispatcher delivers them
+ * to a local GreenMail SMTP server, and retries and finally fails them when it is down.
+ * Templated batches are rendered per recipient and reject bad recipients up front.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=noreply@bank.test",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "email.dispatcher.poll-ms=200",
+        "email.dispatcher.max-attempts=2",
+        "email.dispatcher.initial-backoff-seconds=1"
+})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+@Import({ EmailService.class, EmailDispatcher.class, SmtpTransportPool.class, SchedulingConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTests {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedEmailIsSentAfterCommitAndMarkedSent() throws Exception {
+        emailService.sendHtmlEmail("user@example.com", "Your OTP", "<p>123456</p>");
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Your OTP");
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo("user@example.com");
+        assertThat(GreenMailUtil.getBody(received)).contains("123456");
+
+        EmailOutbox email = awaitEmail(e -> e.getStatus() == EmailOutbox.Status.SENT);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedSendsAreRetriedWithBackoffThenMarkedFailed() {
+        greenMail.stop();
+
+        emailService.sendSimpleEmail("user@example.com", "Statement", "Your statement is ready");
+
+        EmailOutbox retrying = awaitEmail(e -> e.getAttempts() == 1);
+        assertThat(retrying.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(retrying.getNextAttemptAt()).isAfter(retrying.getCreatedAt());
+        assertThat(retrying.getLastError()).isNotBlank();
+
+        EmailOutbox failed = awaitEmail(e -> e.getStatus() == EmailOutbox.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void batchIsRenderedPerRecipientAndRejectsBadRecipients() throws Exception {
+        EmailTemplate template = EmailTemplate.compile("statement", "Statement for {{name}}",
+                "<p>Dear {{name}}, your balance is {{balance}}</p>", true);
+        List<EmailRecipient> recipients = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            recipients.add(new EmailRecipient("user" + i + "@example.com", Map.of("name", "User " + i, "balance", "1" + i)));
+        }
+        recipients.add(new EmailRecipient("not an address", Map.of("name", "Nobody", "balance", "0")));
+        recipients.add(new EmailRecipient("partial@example.com", Map.of("name", "Partial")));
+
+        EmailBatchResult result = emailService.sendBatch(template, recipients);
+
+        assertThat(result.queuedCount()).isEqualTo(20);
+        assertThat(result.rejected()).containsOnlyKeys("not an address", "partial@example.com");
+        assertThat(result.rejected().get("partial@example.com")).contains("balance");
+
+        assertThat(greenMail.waitForIncomingEmail(10000, 20)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).extracting(MimeMessage::getSubject).contains("Statement for User 7");
+        assertThat(GreenMailUtil.getBody(received[0])).contains("your balance is");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (emailOutboxRepository.findAll().stream().anyMatch(e -> e.getStatus() != EmailOutbox.Status.SENT)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(emailOutboxRepository.findAll()).hasSize(20)
+                .allMatch(e -> e.getStatus() == EmailOutbox.Status.SENT && e.getAttempts() == 1);
+    }
+
+    private EmailOutbox awaitEmail(Predicate<EmailOutbox> condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            EmailOutbox email = emailOutboxRepository.findAll().stream().findFirst().orElse(null);
+            if (email != null && condition.test(email)) {
+                return email;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("Outbox email did not reach the expected state");
+    }
+}
@@ -0,0 +1,63 @@
+package com.tss.bank.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Placeholder rendering, including HTML escaping of values placed into HTML bodies.
+ */
+class EmailTemplateTests {
+
+    @Test
+    void rendersLiteralsAndValuesInOrder() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hi {{name}}", "{{ name }}, your code is {{code}}.", false);
+
+        assertThat(template.getVariables()).containsExactlyInAnyOrder("name", "code");
+        assertThat(template.renderSubject(Map.of("name", "Asha", "code", "42"))).isEqualTo("Hi Asha");
+        assertThat(template.renderBody(Map.of("name", "Asha", "code", "42"))).isEqualTo("Asha, your code is 42.");
+    }
+
+    @Test
+    void htmlBodyValuesAreEscaped() {
+        EmailTemplate template = EmailTemplate.compile("notice", "Notice for {{name}}", "<p>Dear {{name}}</p>", true);
+        Map<String, String> values = Map.of("name", "<a href=\"https://evil.test\">Tom & 'Jerry'</a>");
+
+        assertThat(template.renderBody(values))
+                .isEqualTo("<p>Dear &lt;a href=&quot;https://evil.test&quot;&gt;Tom &amp; &#39;Jerry&#39;&lt;/a&gt;</p>");
+        // The subject header is plain text, so it is left as given
+        assertThat(template.renderSubject(values)).isEqualTo("Notice for " + values.get("name"));
+    }
+
+    @Test
+    void plainTextBodyValuesAreNotEscaped() {
+        EmailTemplate template = EmailTemplate.compile("plain", "s", "Reason: {{reason}}", false);
+
+        assertThat(template.renderBody(Map.of("reason", "a < b & c"))).isEqualTo("Reason: a < b & c");
+    }
+
+    @Test
+    void builtInTemplatesEscapeUserAndAdminText() {
+        String body = EmailTemplates.USER_REJECTED.renderBody(Map.of(
+                "userName", "<script>alert(1)</script>",
+                "rejectionReason", "<img src=x onerror=alert(1)>"));
+
+        assertThat(body).doesNotContain("<script>", "<img");
+        assertThat(body).contains("&lt;script&gt;alert(1)&lt;/script&gt;", "&lt;img src=x onerror=alert(1)&gt;");
+    }
+
+    @Test
+    void missingValueAndUnclosedPlaceholderAreRejected() {
+        EmailTemplate template = EmailTemplate.compile("t", "s", "Hello {{name}}", true);
+
+        assertThatThrownBy(() -> template.renderBody(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing value for name in email template t");
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "s", "Hello {{name", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unclosed placeholder in email template broken");
+    }
+}
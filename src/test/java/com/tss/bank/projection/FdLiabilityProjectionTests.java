@@ -0,0 +1,232 @@
+package com.tss.bank.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.event.FixedDepositChangedEvent;
+import com.tss.bank.repository.FixedDepositRepository;
+
+/**
+ * Drives {@link FdLiabilityProjection} against a stubbed repository: column upserts and
+ * tombstones, month and branch bucketing, the fork-join sum against a plain loop, and
+ * reader refreshes that skip a running rebuild.
+ */
+class FdLiabilityProjectionTests {
+
+    private FixedDepositRepository repository;
+    private FdLiabilityProjection projection;
+    // fdId -> (fdId, branchId, maturityDate, maturityAmount), as the ACTIVE rows in the table
+    private final TreeMap<Integer, Object[]> activeRows = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(FixedDepositRepository.class);
+        when(repository.findProjectionRowsAfter(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            int afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return activeRows.tailMap(afterId, false).values().stream().limit(pageable.getPageSize()).toList();
+        });
+        when(repository.findProjectionRowsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream().map(activeRows::get).filter(row -> row != null).toList();
+        });
+        projection = new FdLiabilityProjection();
+        ReflectionTestUtils.setField(projection, "fixedDepositRepository", repository);
+        ReflectionTestUtils.setField(projection, "loadPageSize", 1000);
+    }
+
+    @Test
+    void refreshUpsertsAndTombstonesKeepingIdsSorted() {
+        row(10, 1, 2, "100.00");
+        row(30, 1, 3, "300.00");
+        projection.load();
+
+        row(20, 1, 2, "200.00");
+        row(30, 1, 4, "350.00");
+        row(40, 1, 5, "400.00");
+        activeRows.remove(10);
+        for (int fdId : new int[] {10, 20, 30, 40, 99}) {
+            changed(fdId);
+        }
+        projection.refresh();
+
+        assertThat(fdIds()).containsExactly(10, 20, 30, 40);
+        assertThat(projection.size()).isEqualTo(3);
+        assertThat(projection.pendingRefreshCount()).isZero();
+        FdLiabilityProjection.Curve curve = projection.project(12);
+        assertThat(amount(curve, 1, 2)).isEqualTo(20_000);
+        assertThat(amount(curve, 1, 3)).isZero();
+        assertThat(amount(curve, 1, 4)).isEqualTo(35_000);
+        assertThat(amount(curve, 1, 5)).isEqualTo(40_000);
+
+        // The rebuild drops the tombstone left for deposit 10
+        projection.rebuild();
+
+        assertThat(fdIds()).containsExactly(20, 30, 40);
+    }
+
+    @Test
+    void overdueDepositsLandInTheFirstMonth() {
+        row(1, null, -3, "1000.00");
+        row(2, null, -1, "500.50");
+        row(3, null, 0, "250.00");
+        row(4, null, 1, "125.00");
+        projection.load();
+
+        FdLiabilityProjection.Curve curve = projection.project(6);
+
+        assertThat(curve.startMonth()).isEqualTo(FdLiabilityProjection.monthOf(new Date()));
+        assertThat(amount(curve, null, 0)).isEqualTo(175_050);
+        assertThat(count(curve, null, 0)).isEqualTo(3);
+        assertThat(amount(curve, null, 1)).isEqualTo(12_500);
+    }
+
+    @Test
+    void depositsBeyondTheHorizonAreExcluded() {
+        row(1, 5, 11, "100.00");
+        row(2, 5, 12, "200.00");
+        row(3, 5, 60, "300.00");
+        projection.load();
+
+        FdLiabilityProjection.Curve curve = projection.project(12);
+
+        assertThat(Arrays.stream(curve.amounts()).sum()).isEqualTo(10_000);
+        assertThat(amount(curve, 5, 11)).isEqualTo(10_000);
+        assertThat(Arrays.stream(projection.project(13).amounts()).sum()).isEqualTo(30_000);
+    }
+
+    @Test
+    void depositsBucketByBranchWithNullBranchesInColumnZero() {
+        row(1, 7, 0, "100.00");
+        row(2, null, 0, "200.00");
+        row(3, 5, 0, "300.00");
+        row(4, 7, 0, "400.00");
+        row(5, null, 2, "500.00");
+        projection.load();
+
+        FdLiabilityProjection.Curve curve = projection.project(3);
+
+        assertThat(curve.branchIds()).containsExactly(null, 7, 5);
+        assertThat(amount(curve, null, 0)).isEqualTo(20_000);
+        assertThat(amount(curve, null, 2)).isEqualTo(50_000);
+        assertThat(amount(curve, 7, 0)).isEqualTo(50_000);
+        assertThat(count(curve, 7, 0)).isEqualTo(2);
+        assertThat(amount(curve, 5, 0)).isEqualTo(30_000);
+    }
+
+    @Test
+    void forkJoinSumMatchesAStraightLoop() {
+        int leafSize = (Integer) ReflectionTestUtils.getField(FdLiabilityProjection.class, "LEAF_SIZE");
+        int deposits = 3 * leafSize + 17;
+        int months = 24;
+        Integer[] branches = {null, 11, 12, 13};
+        Random random = new Random(5);
+        long[] expectedAmounts = new long[branches.length * months];
+        long[] expectedCounts = new long[branches.length * months];
+        for (int fdId = 1; fdId <= deposits; fdId++) {
+            int branch = random.nextInt(branches.length);
+            int offset = random.nextInt(months + 6) - 3;
+            long paise = 100_000 + random.nextInt(10_000_000);
+            row(fdId, branches[branch], offset, BigDecimal.valueOf(paise, 2).toPlainString());
+            if (offset < months) {
+                expectedAmounts[branch * months + Math.max(0, offset)] += paise;
+                expectedCounts[branch * months + Math.max(0, offset)]++;
+            }
+        }
+        ReflectionTestUtils.setField(projection, "loadPageSize", 50_000);
+        projection.load();
+
+        FdLiabilityProjection.Curve curve = projection.project(months);
+
+        // Branch columns follow first appearance, so compare in the test's branch order
+        assertThat(curve.branchIds()).containsExactlyInAnyOrder(branches);
+        long[] amounts = new long[expectedAmounts.length];
+        long[] counts = new long[expectedCounts.length];
+        for (int branch = 0; branch < branches.length; branch++) {
+            for (int month = 0; month < months; month++) {
+                amounts[branch * months + month] = amount(curve, branches[branch], month);
+                counts[branch * months + month] = count(curve, branches[branch], month);
+            }
+        }
+        assertThat(amounts).containsExactly(expectedAmounts);
+        assertThat(counts).containsExactly(expectedCounts);
+    }
+
+    @Test
+    void readerRefreshSkipsARunningRebuild() throws Exception {
+        row(1, null, 1, "100.00");
+        projection.load();
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findProjectionRowsAfter(anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            reloading.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return List.copyOf(activeRows.values());
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(projection::rebuild);
+        assertThat(reloading.await(10, TimeUnit.SECONDS)).isTrue();
+        row(2, null, 1, "200.00");
+        changed(2);
+
+        assertThat(projection.tryRefresh()).isFalse();
+        assertThat(projection.pendingRefreshCount()).isEqualTo(1);
+        assertThat(amount(projection.project(3), null, 1)).isEqualTo(10_000);
+
+        release.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+        assertThat(projection.tryRefresh()).isTrue();
+
+        assertThat(projection.pendingRefreshCount()).isZero();
+        assertThat(amount(projection.project(3), null, 1)).isEqualTo(30_000);
+    }
+
+    // A deposit maturing mid-month, monthOffset months from now
+    private void row(int fdId, Integer branchId, int monthOffset, String maturityAmount) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.DAY_OF_MONTH, 15);
+        calendar.add(Calendar.MONTH, monthOffset);
+        activeRows.put(fdId, new Object[] { fdId, branchId, calendar.getTime(), new BigDecimal(maturityAmount) });
+    }
+
+    private void changed(int fdId) {
+        projection.onFixedDepositChanged(new FixedDepositChangedEvent(fdId, FixedDeposit.Status.ACTIVE, null));
+    }
+
+    private static long amount(FdLiabilityProjection.Curve curve, Integer branchId, int month) {
+        return curve.amounts()[curve.branchIds().indexOf(branchId) * curve.months() + month];
+    }
+
+    private static long count(FdLiabilityProjection.Curve curve, Integer branchId, int month) {
+        return curve.counts()[curve.branchIds().indexOf(branchId) * curve.months() + month];
+    }
+
+    private List<Integer> fdIds() {
+        Object columns = ReflectionTestUtils.getField(projection, "columns");
+        int size = (Integer) ReflectionTestUtils.getField(columns, "size");
+        int[] ids = (int[]) ReflectionTestUtils.getField(columns, "fdIds");
+        return Arrays.stream(ids, 0, size).boxed().toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.tss.bank.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tss.bank.entity.FdRateSlab;
+import com.tss.bank.service.impl.FixedDepositServiceImpl;
+
+/**
+ * Interest from the precomputed table against the BigDecimal simple-interest formula in
+ * {@link FixedDepositServiceImpl#calculateMaturityAmount}, over every tenure, both senior
+ * flags and amounts on and around each slab edge up to the largest amount a deposit holds.
+ */
+class FdRateTableTests {
+
+    private static final BigDecimal SENIOR_BONUS = new BigDecimal("0.50");
+
+    // Amount slabs start at 1,000 / 1,00,000 / 1,00,00,000; tenure bands split at 12 and 36
+    private static final List<FdRateSlab> SLABS = List.of(
+            slab(6, 11, "1000.00", "6.50"),
+            slab(12, 35, "1000.00", "7.10"),
+            slab(36, 120, "1000.00", "7.75"),
+            slab(6, 11, "100000.00", "6.65"),
+            slab(12, 35, "100000.00", "7.33"),
+            slab(36, 120, "100000.00", "8.05"),
+            slab(6, 11, "10000000.00", "6.90"),
+            slab(12, 35, "10000000.00", "7.45"),
+            slab(36, 120, "10000000.00", "8.85"));
+
+    private final FixedDepositServiceImpl baseline = new FixedDepositServiceImpl();
+
+    @Test
+    void interestMatchesBaselineFormulaForEveryTenureAndSlabEdge() {
+        FdRateTable table = FdRateTable.build(1, SENIOR_BONUS, SLABS);
+
+        for (BigDecimal amount : amounts()) {
+            long principal = FdRateTable.toPaise(amount);
+            for (int tenure = FdRateTable.MIN_TENURE; tenure <= FdRateTable.MAX_TENURE; tenure++) {
+                for (boolean senior : new boolean[] {false, true}) {
+                    BigDecimal rate = expectedRate(tenure, amount, senior);
+                    BigDecimal interest = baseline.calculateMaturityAmount(amount, rate, tenure).subtract(amount);
+
+                    assertThat(table.rate(tenure, principal, senior))
+                            .as("rate for %s over %d months, senior=%s", amount, tenure, senior)
+                            .isEqualByComparingTo(rate);
+                    assertThat(table.interestPaise(tenure, principal, senior))
+                            .as("interest on %s over %d months, senior=%s", amount, tenure, senior)
+                            .isEqualTo(FdRateTable.toPaise(interest));
+                }
+            }
+        }
+    }
+
+    @Test
+    void noSlabBelowLowestMinimumOrOutsideTenureRange() {
+        FdRateTable table = FdRateTable.build(1, SENIOR_BONUS, SLABS);
+
+        assertThat(table.interestPaise(12, FdRateTable.toPaise(new BigDecimal("999.99")), false)).isEqualTo(-1);
+        assertThat(table.rate(12, FdRateTable.toPaise(new BigDecimal("999.99")), false)).isNull();
+        assertThat(table.interestPaise(5, 100_000L, false)).isEqualTo(-1);
+        assertThat(table.interestPaise(121, 100_000L, true)).isEqualTo(-1);
+    }
+
+    @Test
+    void tenureGapInTheCardHasNoQuote() {
+        FdRateTable table = FdRateTable.build(1, SENIOR_BONUS, List.of(
+                slab(6, 11, "1000.00", "6.50"),
+                slab(24, 120, "1000.00", "7.50")));
+
+        assertThat(table.interestPaise(18, 100_000L, false)).isEqualTo(-1);
+        assertThat(table.interestPaise(24, 100_000L, false)).isPositive();
+    }
+
+    private static List<BigDecimal> amounts() {
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (String edge : new String[] {"1000.00", "100000.00", "10000000.00"}) {
+            BigDecimal floor = new BigDecimal(edge);
+            amounts.add(floor);
+            amounts.add(floor.add(new BigDecimal("0.01")));
+            if (floor.compareTo(new BigDecimal("1000.00")) > 0) {
+                amounts.add(floor.subtract(new BigDecimal("0.01")));
+            }
+        }
+        amounts.add(new BigDecimal("1234.56"));
+        amounts.add(new BigDecimal("55555.55"));
+        amounts.add(new BigDecimal("7654321.09"));
+        // Past ~10^9 rupees the long product overflows and the table falls back to BigDecimal
+        amounts.add(new BigDecimal("999999999.99"));
+        amounts.add(new BigDecimal("1000000000.00"));
+        amounts.add(new BigDecimal("98765432109.87"));
+        amounts.add(new BigDecimal("9999999999999.99"));
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            long paise = 100_000L + (long) (random.nextDouble() * 1_000_000_000_000L);
+            amounts.add(BigDecimal.valueOf(paise, 2));
+        }
+        return amounts;
+    }
+
+    private static BigDecimal expectedRate(int tenure, BigDecimal amount, boolean senior) {
+        int band = tenure < 12 ? 0 : tenure < 36 ? 1 : 2;
+        int slab = amount.compareTo(new BigDecimal("10000000.00")) >= 0 ? 2
+                : amount.compareTo(new BigDecimal("100000.00")) >= 0 ? 1 : 0;
+        BigDecimal rate = SLABS.get(slab * 3 + band).getRate();
+        return senior ? rate.add(SENIOR_BONUS) : rate;
+    }
+
+    private static FdRateSlab slab(int minTenure, int maxTenure, String minAmount, String rate) {
+        return FdRateSlab.builder()
+                .rateCardId(1)
+                .minTenureMonths(minTenure)
+                .maxTenureMonths(maxTenure)
+                .minAmount(new BigDecimal(minAmount))
+                .rate(new BigDecimal(rate))
+                .build();
+    }
+}
@@ -0,0 +1,210 @@
+package com.tss.bank.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.dto.response.AccountResponse;
+import com.tss.bank.dto.response.BeneficiaryResponse;
+import com.tss.bank.dto.response.FixedDepositResponse;
+import com.tss.bank.dto.response.TransactionResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Beneficiary;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.Transaction;
+import com.tss.bank.entity.User;
+import com.tss.bank.service.MappingService;
+
+/**
+ * Runs the queries behind each list endpoint against a seeded in-memory database and
+ * asserts the number of JDBC statements, so that N+1 fetches show up as test failures.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({ ModelMapperConfig.class, MappingService.class })
+class ListQueryStatementCountTests {
+
+    private static final int ACCOUNTS_PER_USER = 3;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MappingService mappingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private BeneficiaryRepository beneficiaryRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private Account firstAccount;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Branch branch = entityManager.persist(Branch.builder()
+                .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                .status(Branch.Status.ACTIVE).createdAt(new Date())
+                .build());
+
+        for (int u = 0; u < 2; u++) {
+            User user = entityManager.persist(User.builder()
+                    .username("user" + u).password("secret").email("user" + u + "@example.com")
+                    .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                    .build());
+            if (owner == null) {
+                owner = user;
+            }
+            for (int a = 0; a < ACCOUNTS_PER_USER; a++) {
+                Account account = entityManager.persist(Account.builder()
+                        .user(user).branch(branch).accountNumber("AC" + u + a)
+                        .accountType(Account.AccountType.SAVINGS)
+                        .balance(new BigDecimal("200000.00")).status(Account.Status.ACTIVE)
+                        .createdAt(new Date())
+                        .build());
+                if (firstAccount == null) {
+                    firstAccount = account;
+                }
+                for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+                    entityManager.persist(Transaction.builder()
+                            .user(user).account(account).txnType(Transaction.TxnType.DEBIT)
+                            .amount(new BigDecimal("150000.00")).description("Transfer " + t)
+                            .txnTime(new Date()).channel(Transaction.Channel.ONLINE).createdAt(new Date())
+                            .build());
+                }
+                entityManager.persist(FixedDeposit.builder()
+                        .user(user).account(account).amount(new BigDecimal("10000.00"))
+                        .tenureMonths(12).status(FixedDeposit.Status.ACTIVE)
+                        .maturityDate(new Date(0)).createdAt(new Date())
+                        .build());
+                entityManager.persist(Beneficiary.builder()
+                        .user(user).account(account).beneficiaryName("Payee " + a)
+                        .beneficiaryAccountNumber("1234567890").isActive(true)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void userAccountsUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                accountRepository.findByUserUserId(owner.getUserId()), AccountResponse.class));
+    }
+
+    @Test
+    void highBalanceAccountsUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                accountRepository.findByBalanceGreaterThanEqual(BigDecimal.ZERO), AccountResponse.class));
+    }
+
+    @Test
+    void allAccountsPageUsesPageAndCountStatements() {
+        assertStatements(2, () -> mappingService.mapList(
+                accountRepository.findAll(PageRequest.of(0, 5)).getContent(), AccountResponse.class));
+    }
+
+    @Test
+    void accountTransactionsUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                transactionRepository.findByAccountAccountIdOrderByTxnTimeDesc(firstAccount.getAccountId()),
+                TransactionResponse.class));
+    }
+
+    @Test
+    void userTransactionsUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                transactionRepository.findByAccountUserUserIdOrderByTxnTimeDesc(owner.getUserId()),
+                TransactionResponse.class));
+    }
+
+    @Test
+    void transactionHistoryPageUsesPageAndCountStatements() {
+        assertStatements(2, () -> mappingService.mapList(
+                transactionRepository.findByAccountAccountIdOrderByTxnTimeDesc(firstAccount.getAccountId(),
+                        PageRequest.of(0, 2)).getContent(),
+                TransactionResponse.class));
+    }
+
+    @Test
+    void allTransactionsPageUsesPageAndCountStatements() {
+        assertStatements(2, () -> mappingService.mapList(
+                transactionRepository.findAll(PageRequest.of(0, 10)).getContent(), TransactionResponse.class));
+    }
+
+    @Test
+    void highValueAndSuspiciousTransactionsUseOneStatementEach() {
+        assertStatements(1, () -> mappingService.mapList(
+                transactionRepository.findHighValueTransactions(new BigDecimal("100000")), TransactionResponse.class));
+        assertStatements(1, () -> mappingService.mapList(
+                transactionRepository.findSuspiciousWithdrawals(new BigDecimal("50000"), new Date(0)),
+                TransactionResponse.class));
+    }
+
+    @Test
+    void statementLoadsAccountHolderWithAccount() {
+        assertStatements(1, () -> accountRepository.findWithUserByAccountId(firstAccount.getAccountId())
+                .orElseThrow().getUser().getUsername());
+    }
+
+    @Test
+    void userFixedDepositsUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                fixedDepositRepository.findByAccountUserUserId(owner.getUserId()), FixedDepositResponse.class));
+    }
+
+    @Test
+    void maturedDepositsFetchAccountsInTheSameStatement() {
+        assertStatements(1, () -> fixedDepositRepository.findMaturedDeposits(new Date()).stream()
+                .map(fd -> fd.getAccount().getBalance())
+                .toList());
+    }
+
+    @Test
+    void accountBeneficiariesUseOneStatement() {
+        assertStatements(1, () -> mappingService.mapList(
+                beneficiaryRepository.findByAccountAccountId(firstAccount.getAccountId()), BeneficiaryResponse.class));
+    }
+
+    private void assertStatements(long expected, Supplier<?> listCall) {
+        entityManager.clear();
+        statistics.clear();
+        Object result = listCall.get();
+        if (result instanceof List<?> list) {
+            assertThat(list).isNotEmpty();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+}
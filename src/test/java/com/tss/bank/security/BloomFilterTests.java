@@ -0,0 +1,74 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The filter must never miss an inserted key, and its false-positive rate must stay close
+ * to the rate it was sized for.
+ */
+class BloomFilterTests {
+
+    @Test
+    void insertedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(20_000, 0.001);
+        String[] keys = new String[20_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.put(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertThat(filter.mightContain(key)).as(key).isTrue();
+        }
+    }
+
+    @Test
+    void keysOfEveryTailLengthAreFound() {
+        // Covers the 16-byte block loop and every tail length of the murmur3 hash
+        BloomFilter filter = new BloomFilter(100, 0.001);
+        StringBuilder key = new StringBuilder();
+        for (int length = 0; length <= 48; length++) {
+            filter.put(key.toString());
+            assertThat(filter.mightContain(key.toString())).as("length %d", length).isTrue();
+            key.append((char) ('a' + length % 26));
+        }
+        assertThat(filter.mightContain("é-non-ascii-ключ")).isFalse();
+        filter.put("é-non-ascii-ключ");
+        assertThat(filter.mightContain("é-non-ascii-ключ")).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        assertFalsePositiveRate(50_000, 0.01);
+        assertFalsePositiveRate(50_000, 0.001);
+    }
+
+    @Test
+    void sizingFollowsTheStandardFormulas() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+
+        // m = -n ln p / (ln 2)^2 ~ 1.44M bits rounded up to whole words, k = m/n ln 2 ~ 10
+        assertThat(filter.bitCount()).isBetween(1_437_759L, 1_437_759L + 64);
+        assertThat(filter.hashCount()).isEqualTo(10);
+    }
+
+    private static void assertFalsePositiveRate(int insertions, double target) {
+        BloomFilter filter = new BloomFilter(insertions, target);
+        for (int i = 0; i < insertions; i++) {
+            filter.put("revoked-" + i);
+        }
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("live-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertThat(rate).as("false-positive rate for target %s", target).isLessThan(target * 1.5);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.entity.OTP;
+import com.tss.bank.repository.OTPRepository;
+
+/**
+ * Flushes the OTP write-behind queue into an in-memory database, including batches that
+ * hold a row the database rejects and a queue that has reached its bound.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "otp.write-behind.batch-size=10",
+        "otp.write-behind.max-pending=20"
+})
+@Import(OtpStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OtpStoreTests {
+
+    private static final long TTL = TimeUnit.MINUTES.toMillis(5);
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OTPRepository otpRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        otpStore.flush();
+        otpRepository.deleteAll();
+    }
+
+    @Test
+    void issuedAndVerifiedOtpsAreWrittenOnce() {
+        otpStore.issue("a@example.com", OTP.OTPType.LOGIN, "111111", TTL);
+        otpStore.issue("b@example.com", OTP.OTPType.LOGIN, "222222", TTL);
+        assertThat(otpStore.verify("a@example.com", OTP.OTPType.LOGIN, "111111")).isTrue();
+
+        otpStore.flush();
+
+        assertThat(otpStore.pendingWrites()).isZero();
+        assertThat(otpRepository.count()).isEqualTo(2);
+        assertThat(verifiedCount("a@example.com")).isEqualTo(1);
+        assertThat(verifiedCount("b@example.com")).isZero();
+    }
+
+    @Test
+    void rejectedRowIsDroppedAndTheRestOfTheBatchIsWritten() {
+        String tooLong = "x".repeat(120) + "@example.com";
+        otpStore.issue("a@example.com", OTP.OTPType.LOGIN, "111111", TTL);
+        otpStore.issue(tooLong, OTP.OTPType.LOGIN, "222222", TTL);
+        otpStore.issue("c@example.com", OTP.OTPType.LOGIN, "333333", TTL);
+        // Closes the poisoned OTP, which never got a row
+        assertThat(otpStore.verify(tooLong, OTP.OTPType.LOGIN, "222222")).isTrue();
+        assertThat(otpStore.verify("c@example.com", OTP.OTPType.LOGIN, "333333")).isTrue();
+
+        otpStore.flush();
+
+        assertThat(otpStore.pendingWrites()).isZero();
+        assertThat(otpRepository.count()).isEqualTo(2);
+        assertThat(verifiedCount("c@example.com")).isEqualTo(1);
+
+        // Write-behind keeps going after the bad row
+        otpStore.issue("d@example.com", OTP.OTPType.LOGIN, "444444", TTL);
+        otpStore.flush();
+        assertThat(otpRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void queueIsBounded() {
+        for (int i = 0; i < 30; i++) {
+            otpStore.issue("user" + i + "@example.com", OTP.OTPType.LOGIN, "123456", TTL);
+        }
+        assertThat(otpStore.pendingWrites()).isEqualTo(20);
+        // Dropped writes only cost audit rows; the OTPs still verify
+        assertThat(otpStore.verify("user29@example.com", OTP.OTPType.LOGIN, "123456")).isTrue();
+
+        otpStore.flush();
+
+        assertThat(otpStore.pendingWrites()).isZero();
+        assertThat(otpRepository.count()).isEqualTo(20);
+    }
+
+    private int verifiedCount(String email) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM otps WHERE email = ? AND is_used = true AND is_verified = true", Integer.class, email);
+    }
+}
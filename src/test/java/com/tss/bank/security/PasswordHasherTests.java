@@ -0,0 +1,78 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Plain-text stored values only match on the admin path, and matches against weak or
+ * plain-text values come back with a hash to store.
+ */
+class PasswordHasherTests {
+
+    private ThreadPoolTaskExecutor executor;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.initialize();
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "executor", executor);
+        ReflectionTestUtils.setField(hasher, "targetMillis", 1L);
+        ReflectionTestUtils.setField(hasher, "minStrength", 5);
+        ReflectionTestUtils.setField(hasher, "maxStrength", 5);
+        ReflectionTestUtils.setField(hasher, "waitMillis", 5000L);
+        ReflectionTestUtils.setField(hasher, "retryAfterSeconds", 1);
+        hasher.calibrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void plainTextStoredValueNeverMatchesOnTheUserPath() {
+        PasswordHasher.Verification verification = hasher.verify("secret", "secret");
+
+        assertThat(verification.matched()).isFalse();
+        assertThat(verification.upgradedHash()).isNull();
+    }
+
+    @Test
+    void plainTextStoredValueMatchesOnTheAdminPathAndIsUpgraded() {
+        PasswordHasher.Verification verification = hasher.verifyAllowingPlainText("secret", "secret");
+
+        assertThat(verification.matched()).isTrue();
+        assertThat(hasher.verify("secret", verification.upgradedHash()).matched()).isTrue();
+        assertThat(hasher.verifyAllowingPlainText("wrong", "secret").matched()).isFalse();
+    }
+
+    @Test
+    void bcryptHashesMatchOnBothPaths() {
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.verify("secret", hash)).isEqualTo(new PasswordHasher.Verification(true, null));
+        assertThat(hasher.verifyAllowingPlainText("secret", hash).matched()).isTrue();
+        assertThat(hasher.verify("wrong", hash).matched()).isFalse();
+        // The stored hash itself is not accepted as a password
+        assertThat(hasher.verifyAllowingPlainText(hash, hash).matched()).isFalse();
+    }
+
+    @Test
+    void weakerHashIsUpgraded() {
+        String weak = new BCryptPasswordEncoder(4).encode("secret");
+
+        PasswordHasher.Verification verification = hasher.verify("secret", weak);
+
+        assertThat(verification.matched()).isTrue();
+        assertThat(verification.upgradedHash()).isNotNull().startsWith("$2a$05$");
+    }
+}
@@ -0,0 +1,156 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.bank.error.ResponseError;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Per-username limits, Retry-After, oversized bodies, and the body being replayed to the
+ * rest of the chain after the filter has read it.
+ */
+class RateLimitFilterTests {
+
+    private static final String LOGIN = "/api/v1/auth/login-step1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter();
+        ReflectionTestUtils.setField(limiter, "maximumKeys", 1_000L);
+        limiter.init();
+
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "rateLimiter", limiter);
+        ReflectionTestUtils.setField(filter, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "loginStep1", "ip=20/60,username=2/60");
+        ReflectionTestUtils.setField(filter, "loginStep2", "ip=20/60,email=5/60");
+        ReflectionTestUtils.setField(filter, "adminLogin", "ip=10/60,username=5/60");
+        ReflectionTestUtils.setField(filter, "verifyEmail", "ip=20/60,email=5/60");
+        ReflectionTestUtils.setField(filter, "resendVerificationOtp", "ip=10/60,email=1/60");
+        ReflectionTestUtils.setField(filter, "register", "ip=5/60");
+        filter.init();
+    }
+
+    @Test
+    void bodyIsReplayedToTheController() throws Exception {
+        byte[] body = "{\"username\":\"alice\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = run(login(body), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getInputStream().readAllBytes()).isEqualTo(body);
+        assertThat(forwarded.getReader().readLine()).isEqualTo(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void overLimitUsernameGets429WithRetryAfter() throws Exception {
+        byte[] body = "{\"username\":\"Alice\"}".getBytes(StandardCharsets.UTF_8);
+        assertThat(run(login(body), new MockFilterChain()).getStatus()).isEqualTo(200);
+        // Keys are case-insensitive, so this is the same bucket
+        assertThat(run(login("{\"username\":\" alice \"}".getBytes(StandardCharsets.UTF_8)), new MockFilterChain()).getStatus())
+                .isEqualTo(200);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = run(login(body), chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(objectMapper.readValue(response.getContentAsByteArray(), ResponseError.class).getStatus()).isEqualTo(429);
+        assertThat(chain.getRequest()).isNull();
+
+        assertThat(run(login("{\"username\":\"bob\"}".getBytes(StandardCharsets.UTF_8)), new MockFilterChain()).getStatus())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void bodyAtTheLimitIsForwardedWhole() throws Exception {
+        byte[] body = jsonOfLength(RateLimitFilter.MAX_BODY_BYTES);
+        MockFilterChain chain = new MockFilterChain();
+
+        assertThat(run(login(body), chain).getStatus()).isEqualTo(200);
+        assertThat(((HttpServletRequest) chain.getRequest()).getInputStream().readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void oversizedBodyGets413InsteadOfBeingCut() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = run(login(jsonOfLength(RateLimitFilter.MAX_BODY_BYTES + 1)), chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(objectMapper.readValue(response.getContentAsByteArray(), ResponseError.class).getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void oversizedChunkedBodyGets413() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setServletPath(LOGIN);
+        request.setContent(jsonOfLength(RateLimitFilter.MAX_BODY_BYTES * 2));
+        MockFilterChain chain = new MockFilterChain();
+
+        assertThat(run(request, chain).getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void otherPathsPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts");
+        request.setServletPath("/api/v1/accounts");
+        request.setContent(jsonOfLength(RateLimitFilter.MAX_BODY_BYTES * 2));
+        MockFilterChain chain = new MockFilterChain();
+
+        assertThat(run(request, chain).getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, MockFilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest login(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN);
+        request.setServletPath(LOGIN);
+        request.setContentType("application/json");
+        request.setContent(body);
+        return request;
+    }
+
+    // {"username":"alice","padding":"xxx..."} of exactly length bytes
+    private static byte[] jsonOfLength(int length) {
+        String head = "{\"username\":\"alice\",\"padding\":\"";
+        String tail = "\"}";
+        char[] padding = new char[length - head.length() - tail.length()];
+        Arrays.fill(padding, 'x');
+        return (head + new String(padding) + tail).getBytes(StandardCharsets.UTF_8);
+    }
+}
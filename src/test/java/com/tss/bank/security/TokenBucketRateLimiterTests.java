@@ -0,0 +1,67 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Bucket draining, refill and wait times, driven by an explicit clock.
+ */
+class TokenBucketRateLimiterTests {
+
+    private static final RateLimit FIVE_PER_MINUTE = new RateLimit(5, 60);
+
+    private TokenBucketRateLimiter limiter;
+    private final long start = System.nanoTime();
+
+    @BeforeEach
+    void setUp() {
+        limiter = new TokenBucketRateLimiter();
+        ReflectionTestUtils.setField(limiter, "maximumKeys", 1_000L);
+        limiter.init();
+    }
+
+    @Test
+    void allowsCapacityThenReportsWaitForNextToken() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, start)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, start)).isEqualTo(12_000L);
+        assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, start + seconds(5))).isEqualTo(7_000L);
+    }
+
+    @Test
+    void refillsOneTokenPerIntervalAndNeverAboveCapacity() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k", FIVE_PER_MINUTE, start);
+        }
+
+        assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, start + seconds(12))).isZero();
+        assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, start + seconds(12))).isPositive();
+
+        // Ten minutes idle still only refills five tokens
+        long later = start + seconds(600);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, later)).isZero();
+        }
+        assertThat(limiter.tryAcquire("k", FIVE_PER_MINUTE, later)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimit one = new RateLimit(1, 60);
+
+        assertThat(limiter.tryAcquire("a", one, start)).isZero();
+        assertThat(limiter.tryAcquire("a", one, start)).isPositive();
+        assertThat(limiter.tryAcquire("b", one, start)).isZero();
+    }
+
+    private static long seconds(long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tss.bank.entity.RevokedToken;
+import com.tss.bank.repository.RevokedTokenRepository;
+
+/**
+ * Revocation against a stubbed repository, including a second revocation of the same
+ * token that loses the insert race.
+ */
+class TokenRevocationListTests {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(revocationList, "revokedTokenRepository", repository);
+        ReflectionTestUtils.setField(revocationList, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(revocationList, "expectedRevocations", 1_000L);
+        ReflectionTestUtils.setField(revocationList, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(revocationList, "loadPageSize", 100);
+        revocationList.load();
+    }
+
+    @Test
+    void revokedTokenIsReportedAndOthersAreNot() {
+        JwtPrincipal revoked = principal("jti-1");
+        revocationList.revoke(revoked);
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(principal("jti-2"))).isFalse();
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void losingTheInsertRaceIsNotAnError() {
+        when(repository.save(any(RevokedToken.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        JwtPrincipal principal = principal("jti-1");
+
+        assertThatCode(() -> revocationList.revoke(principal)).doesNotThrowAnyException();
+        assertThat(revocationList.isRevoked(principal)).isTrue();
+    }
+
+    @Test
+    void alreadyRevokedTokenIsNotInsertedAgain() {
+        when(repository.existsById("jti-1")).thenReturn(true);
+
+        revocationList.revoke(principal("jti-1"));
+
+        verify(repository, never()).save(any(RevokedToken.class));
+    }
+
+    private static JwtPrincipal principal(String jti) {
+        return new JwtPrincipal(7, "user", "USER", jti, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10));
+    }
+}
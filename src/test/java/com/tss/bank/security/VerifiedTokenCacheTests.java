@@ -0,0 +1,53 @@
+package com.tss.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Entry lifetimes follow the token's exp claim and are capped by the configured TTL,
+ * including tokens without an exp claim.
+ */
+class VerifiedTokenCacheTests {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "maxTtlSeconds", 3600L);
+        cache.init();
+    }
+
+    @Test
+    void tokenWithoutExpiryIsHeldForTheTtl() {
+        long nanos = cache.remainingNanos(principal(Long.MAX_VALUE));
+
+        assertThat(nanos).isEqualTo(TimeUnit.HOURS.toNanos(1));
+    }
+
+    @Test
+    void shortLivedTokenExpiresAtItsExpClaim() {
+        long nanos = cache.remainingNanos(principal(System.currentTimeMillis() + 60_000));
+
+        assertThat(nanos).isPositive().isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Test
+    void expiredTokenIsNotReturned() {
+        cache.put("expired", principal(System.currentTimeMillis() - 1));
+        cache.put("open-ended", principal(Long.MAX_VALUE));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("open-ended")).isNotNull();
+    }
+
+    private static JwtPrincipal principal(long expiresAtMillis) {
+        return new JwtPrincipal(1, "alice", "USER", "jti-1", expiresAtMillis);
+    }
+}
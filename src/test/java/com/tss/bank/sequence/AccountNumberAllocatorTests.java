@@ -0,0 +1,142 @@
+package com.tss.bank.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.tss.bank.entity.AccountNumberSequence;
+import com.tss.bank.repository.AccountNumberSequenceRepository;
+
+/**
+ * Check digits, the accepted number formats, and block reservation against a stubbed
+ * sequence row.
+ */
+class AccountNumberAllocatorTests {
+
+    private AccountNumberSequenceRepository repository;
+    private AccountNumberSequence sequence;
+    private AccountNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AccountNumberSequenceRepository.class);
+        sequence = AccountNumberSequence.builder()
+                .sequenceName(AccountNumberAllocator.SEQUENCE_NAME)
+                .nextValue(41L)
+                .build();
+        when(repository.findForUpdate(AccountNumberAllocator.SEQUENCE_NAME)).thenReturn(Optional.of(sequence));
+        allocator = new AccountNumberAllocator(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(allocator, "sequenceRepository", repository);
+        ReflectionTestUtils.setField(allocator, "blockSize", 10);
+    }
+
+    @Test
+    void luhnCheckDigitMatchesKnownValues() {
+        assertThat(AccountNumberAllocator.luhnCheckDigit("7992739871")).isEqualTo(3);
+        assertThat(AccountNumberAllocator.luhnCheckDigit("0000000000")).isZero();
+        assertThat(AccountNumberAllocator.luhnCheckDigit("0000000001")).isEqualTo(8);
+        assertThat(AccountNumberAllocator.luhnCheckDigit("9999999999")).isEqualTo(0);
+    }
+
+    @Test
+    void formatPadsToTenDigitsAndAppendsCheckDigit() {
+        assertThat(AccountNumberAllocator.format(1)).isEqualTo("AC00000000018");
+        assertThat(AccountNumberAllocator.format(7_992_739_871L)).isEqualTo("AC79927398713");
+        assertThat(AccountNumberAllocator.format(9_999_999_999L)).hasSize(13).startsWith("AC9999999999");
+    }
+
+    @Test
+    void acceptsCurrentAndLegacyFormats() {
+        assertThat(AccountNumberAllocator.isValid("AC79927398713")).isTrue();
+        assertThat(AccountNumberAllocator.isValid(AccountNumberAllocator.format(123_456_789L))).isTrue();
+        assertThat(AccountNumberAllocator.isValid("AC123456")).isTrue();
+
+        assertThat(AccountNumberAllocator.isValid(null)).isFalse();
+        assertThat(AccountNumberAllocator.isValid("")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("XY123456")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("ac123456")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC12345")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC1234567")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC12345A")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC7992739871")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC799273987130")).isFalse();
+        assertThat(AccountNumberAllocator.isValid("AC79927-98713")).isFalse();
+    }
+
+    @Test
+    void rejectsWrongCheckDigitsAndSingleDigitTypos() {
+        String number = AccountNumberAllocator.format(4_815_162_342L);
+        String payload = number.substring(0, number.length() - 1);
+        char check = number.charAt(number.length() - 1);
+        for (char digit = '0'; digit <= '9'; digit++) {
+            if (digit != check) {
+                assertThat(AccountNumberAllocator.isValid(payload + digit)).as(payload + digit).isFalse();
+            }
+        }
+
+        for (int i = AccountNumberAllocator.PREFIX.length(); i < number.length() - 1; i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit == number.charAt(i)) {
+                    continue;
+                }
+                String typo = number.substring(0, i) + digit + number.substring(i + 1);
+                assertThat(AccountNumberAllocator.isValid(typo)).as(typo).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void allocateBlockReservesExactlyTheRequestedRange() {
+        List<String> numbers = allocator.allocateBlock(3);
+
+        assertThat(numbers).containsExactly(
+                AccountNumberAllocator.format(41), AccountNumberAllocator.format(42), AccountNumberAllocator.format(43));
+        assertThat(numbers).allMatch(AccountNumberAllocator::isValid);
+        assertThat(sequence.getNextValue()).isEqualTo(44L);
+        assertThat(allocator.nextAccountNumber()).isEqualTo(AccountNumberAllocator.format(44));
+        assertThat(sequence.getNextValue()).isEqualTo(54L);
+    }
+
+    @Test
+    void createsTheSequenceRowWhenMissing() {
+        when(repository.findForUpdate(AccountNumberAllocator.SEQUENCE_NAME)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(AccountNumberSequence.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(allocator.nextAccountNumber()).isEqualTo(AccountNumberAllocator.format(1));
+        verify(repository, times(1)).saveAndFlush(any(AccountNumberSequence.class));
+    }
+
+    @Test
+    void concurrentCallersNeverShareANumber() throws InterruptedException {
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    issued.add(allocator.nextAccountNumber());
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(issued).hasSize(4_000).allMatch(AccountNumberAllocator::isValid);
+    }
+}
@@ -0,0 +1,204 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.dto.request.BulkAccountRow;
+import com.tss.bank.dto.response.BulkAccountRowResult;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.User;
+import com.tss.bank.entity.UserBalanceSummary;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.UserBalanceSummaryRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.sequence.AccountNumberAllocator;
+import com.tss.bank.service.impl.BulkAccountOpeningServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * The batch insert path end to end: rejected rows, several chunks, generated keys mapped
+ * back to the right rows, initial deposits, summaries, and a failing chunk that leaves the
+ * others committed. Runs on H2 in MySQL mode for the summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-accounts;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "bulk-accounts.batch-size=100"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BulkAccountOpeningServiceImpl.class, AccountNumberAllocator.class, UserBalanceSummaryServiceImpl.class,
+        MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkAccountOpeningServiceTests {
+
+    @Autowired
+    private BulkAccountOpeningServiceImpl bulkService;
+
+    @Autowired
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private UserBalanceSummaryRepository summaryRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void opensValidRowsAcrossChunksAndRejectsTheRest() {
+        User first = user("bulk-first", User.Status.ACTIVE);
+        User second = user("bulk-second", User.Status.ACTIVE);
+        User inactive = user("bulk-inactive", User.Status.INACTIVE);
+        List<BulkAccountRow> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            User owner = i % 2 == 0 ? first : second;
+            rows.add(row(owner.getUserId(), "MAIN01", new BigDecimal(1000 + i).setScale(2)));
+        }
+        rows.add(row(inactive.getUserId(), "MAIN01", new BigDecimal("1000.00")));
+        rows.add(row(first.getUserId(), "NOPE01", new BigDecimal("1000.00")));
+        rows.add(row(first.getUserId(), "MAIN01", new BigDecimal("499.99")));
+        rows.add(row(Integer.MAX_VALUE, "MAIN01", new BigDecimal("1000.00")));
+
+        List<BulkAccountRowResult> results = bulkService.openAccounts(rows);
+
+        assertThat(results).hasSize(254);
+        List<BulkAccountRowResult> created = results.subList(0, 250);
+        assertThat(created).allMatch(r -> r.getStatus() == BulkAccountRowResult.Status.CREATED);
+        assertThat(results.subList(250, 254)).allMatch(r -> r.getStatus() == BulkAccountRowResult.Status.REJECTED);
+        assertThat(created.stream().map(BulkAccountRowResult::getAccountNumber).collect(Collectors.toSet()))
+                .hasSize(250).allMatch(AccountNumberAllocator::isValid);
+
+        // Generated keys went back to the rows they were inserted for
+        for (int i = 0; i < created.size(); i++) {
+            BulkAccountRowResult result = created.get(i);
+            Object[] account = jdbcTemplate.queryForObject(
+                    "SELECT account_number, user_id, balance FROM accounts WHERE account_id = ?",
+                    (rs, n) -> new Object[] { rs.getString(1), rs.getInt(2), rs.getBigDecimal(3) }, result.getAccountId());
+            assertThat(account[0]).isEqualTo(result.getAccountNumber());
+            assertThat(account[1]).isEqualTo(rows.get(i).getUserId());
+            assertThat((BigDecimal) account[2]).isEqualByComparingTo(rows.get(i).getInitialBalance());
+            BigDecimal deposit = jdbcTemplate.queryForObject(
+                    "SELECT amount FROM transactions WHERE account_id = ? AND description = 'Initial deposit'",
+                    BigDecimal.class, result.getAccountId());
+            assertThat(deposit).isEqualByComparingTo(rows.get(i).getInitialBalance());
+        }
+
+        assertSummary(first.getUserId(), total(rows.subList(0, 250), first.getUserId()), 125);
+        assertSummary(second.getUserId(), total(rows.subList(0, 250), second.getUserId()), 125);
+        assertThat(summaryRepository.findById(inactive.getUserId())).isEmpty();
+    }
+
+    @Test
+    void failingChunkOnlyFailsItsOwnRows() {
+        User owner = user("bulk-chunks", User.Status.ACTIVE);
+        List<String> numbers = accountNumberAllocator.allocateBlock(300);
+        // The third chunk repeats a number from the first, so its inserts hit the unique key
+        List<String> withDuplicate = new ArrayList<>(numbers);
+        withDuplicate.set(250, numbers.get(0));
+        AccountNumberAllocator allocator = mock(AccountNumberAllocator.class);
+        when(allocator.allocateBlock(anyInt())).thenReturn(withDuplicate);
+        List<BulkAccountRow> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rows.add(row(owner.getUserId(), "MAIN01", new BigDecimal("1000.00")));
+        }
+
+        List<BulkAccountRowResult> results;
+        ReflectionTestUtils.setField(bulkService, "accountNumberAllocator", allocator);
+        try {
+            results = bulkService.openAccounts(rows);
+        } finally {
+            ReflectionTestUtils.setField(bulkService, "accountNumberAllocator", accountNumberAllocator);
+        }
+
+        assertThat(results.subList(0, 200)).allMatch(r -> r.getStatus() == BulkAccountRowResult.Status.CREATED);
+        assertThat(results.subList(200, 300)).allMatch(r -> r.getStatus() == BulkAccountRowResult.Status.FAILED
+                && r.getAccountId() == null && r.getMessage().startsWith("Batch insert failed"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE user_id = ?", Long.class,
+                owner.getUserId())).isEqualTo(200L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class,
+                owner.getUserId())).isEqualTo(200L);
+        assertSummary(owner.getUserId(), new BigDecimal("200000.00"), 200);
+    }
+
+    @Test
+    void csvNeutralisesFormulaValues() {
+        List<BulkAccountRowResult> results = List.of(
+                BulkAccountRowResult.builder().rowNumber(1).userId(-1).branchCode("=HYPERLINK(\"x\")")
+                        .status(BulkAccountRowResult.Status.REJECTED).message("Branch not found with code: =1+1").build(),
+                BulkAccountRowResult.builder().rowNumber(2).userId(7).branchCode("+MAIN")
+                        .status(BulkAccountRowResult.Status.REJECTED).message("-2").build(),
+                BulkAccountRowResult.builder().rowNumber(3).userId(8).branchCode("@SUM(A1)")
+                        .status(BulkAccountRowResult.Status.CREATED).accountId(5).accountNumber("AC00000000018").build());
+
+        String[] lines = bulkService.toCsv(results).split("\n");
+
+        assertThat(lines[1]).isEqualTo("1,-1,\"'=HYPERLINK(\"\"x\"\")\",REJECTED,,,Branch not found with code: =1+1");
+        assertThat(lines[2]).isEqualTo("2,7,'+MAIN,REJECTED,,,'-2");
+        assertThat(lines[3]).isEqualTo("3,8,'@SUM(A1),CREATED,5,AC00000000018,");
+    }
+
+    private User user(String username, User.Status status) {
+        return userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(status).role(User.Role.USER).branch(branch)
+                .build());
+    }
+
+    private static BulkAccountRow row(Integer userId, String branchCode, BigDecimal initialBalance) {
+        return BulkAccountRow.builder().userId(userId).branchCode(branchCode).initialBalance(initialBalance).build();
+    }
+
+    private static BigDecimal total(List<BulkAccountRow> rows, Integer userId) {
+        return rows.stream().filter(r -> r.getUserId().equals(userId))
+                .map(BulkAccountRow::getInitialBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void assertSummary(Integer userId, BigDecimal totalBalance, int accountCount) {
+        UserBalanceSummary summary = summaryRepository.findById(userId).orElseThrow();
+        assertThat(summary.getTotalBalance()).isEqualByComparingTo(totalBalance);
+        assertThat(summary.getAccountCount()).isEqualTo(accountCount);
+    }
+}
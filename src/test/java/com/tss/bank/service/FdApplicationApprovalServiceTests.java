@@ -0,0 +1,281 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.dto.request.FdApplicationBatchApprovalRequest;
+import com.tss.bank.dto.response.FdApplicationApprovalResult;
+import com.tss.bank.dto.response.FdApplicationBatchApprovalResponse;
+import com.tss.bank.dto.response.FdQuoteResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FDApplication;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.User;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FDApplicationRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.FdApplicationApprovalServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Chunked batch approval end to end: debits and linked deposits, each rejection reason,
+ * applications decided elsewhere, the default-account fallback, and a failing chunk that
+ * leaves the others committed. Runs on H2 in MySQL mode for the summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fd-approvals;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "fd-applications.batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ FdApplicationApprovalServiceImpl.class, UserBalanceSummaryServiceImpl.class,
+        MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FdApplicationApprovalServiceTests {
+
+    // Quotes for this amount blow up with an unexpected error, failing the whole chunk
+    private static final BigDecimal FAILING_AMOUNT = new BigDecimal("7777.00");
+
+    @MockitoBean
+    private AccountStatusIndex accountStatusIndex;
+
+    @MockitoBean
+    private FdQuoteEngine quoteEngine;
+
+    @Autowired
+    private FdApplicationApprovalService approvalService;
+
+    @Autowired
+    private FDApplicationRepository fdApplicationRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+        when(quoteEngine.quote(any(BigDecimal.class), anyInt(), anyBoolean())).thenAnswer(invocation -> {
+            BigDecimal amount = invocation.getArgument(0);
+            if (amount.compareTo(FAILING_AMOUNT) == 0) {
+                throw new IllegalStateException("Rate card unavailable");
+            }
+            return FdQuoteResponse.builder()
+                    .amount(amount)
+                    .tenureMonths(invocation.getArgument(1))
+                    .interestRate(new BigDecimal("7.00"))
+                    .maturityAmount(amount.multiply(new BigDecimal("1.07")).setScale(2, RoundingMode.HALF_UP))
+                    .build();
+        });
+    }
+
+    @Test
+    void approvedApplicationDebitsTheAccountAndBooksALinkedDeposit() {
+        User user = user("approve");
+        Account account = account(user, "approve", "5000.00", Account.Status.ACTIVE);
+        FDApplication application = application(user, account.getAccountId(), "2000.00");
+
+        FdApplicationBatchApprovalResponse response = approve(List.of(application.getFdAppId()), 42);
+
+        assertThat(response.getApproved()).isEqualTo(1);
+        assertThat(response.getAmountBooked()).isEqualByComparingTo("2000.00");
+        FdApplicationApprovalResult result = response.getResults().get(0);
+        assertThat(result.getStatus()).isEqualTo(FdApplicationApprovalResult.Status.APPROVED);
+        assertThat(balanceOf(account)).isEqualByComparingTo("3000.00");
+
+        FixedDeposit fd = fixedDepositRepository.findById(result.getFdId()).orElseThrow();
+        assertThat(fd.getFdAppId()).isEqualTo(application.getFdAppId());
+        assertThat(fd.getAccount().getAccountId()).isEqualTo(account.getAccountId());
+        assertThat(fd.getAmount()).isEqualByComparingTo("2000.00");
+        assertThat(fd.getMaturityAmount()).isEqualByComparingTo("2140.00");
+        assertThat(fd.getStatus()).isEqualTo(FixedDeposit.Status.ACTIVE);
+
+        FDApplication approved = fdApplicationRepository.findById(application.getFdAppId()).orElseThrow();
+        assertThat(approved.getStatus()).isEqualTo(FDApplication.Status.APPROVED);
+        assertThat(approved.getInterestRate()).isEqualByComparingTo("7.00");
+        assertThat(approved.getApprovedBy()).isEqualTo(42);
+    }
+
+    @Test
+    void insufficientForeignAndFrozenAccountsAreRejectedWithTheReason() {
+        User user = user("reject");
+        User other = user("reject-other");
+        Account poor = account(user, "reject-poor", "500.00", Account.Status.ACTIVE);
+        Account foreign = account(other, "reject-foreign", "50000.00", Account.Status.ACTIVE);
+        Account frozen = account(user, "reject-frozen", "50000.00", Account.Status.ACTIVE);
+        when(accountStatusIndex.isFrozen(frozen.getAccountId())).thenReturn(true);
+        FDApplication underfunded = application(user, poor.getAccountId(), "1000.00");
+        FDApplication stolen = application(user, foreign.getAccountId(), "1000.00");
+        FDApplication blocked = application(user, frozen.getAccountId(), "1000.00");
+
+        FdApplicationBatchApprovalResponse response = approve(
+                List.of(underfunded.getFdAppId(), stolen.getFdAppId(), blocked.getFdAppId()), 42);
+
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertRejected(underfunded, "Insufficient balance in account");
+        assertRejected(stolen, "Account " + foreign.getAccountId() + " does not belong to the applicant");
+        assertRejected(blocked, "Account is not active");
+        assertThat(balanceOf(poor)).isEqualByComparingTo("500.00");
+        assertThat(balanceOf(foreign)).isEqualByComparingTo("50000.00");
+        assertThat(balanceOf(frozen)).isEqualByComparingTo("50000.00");
+        assertThat(fixedDepositRepository.findAll()).noneMatch(fd -> fd.getUser().getUserId().equals(user.getUserId()));
+    }
+
+    @Test
+    void applicationNoLongerPendingIsSkipped() {
+        User user = user("skip");
+        Account account = account(user, "skip", "5000.00", Account.Status.ACTIVE);
+        FDApplication application = application(user, account.getAccountId(), "1000.00");
+        application.setStatus(FDApplication.Status.REJECTED);
+        fdApplicationRepository.save(application);
+
+        FdApplicationBatchApprovalResponse response = approve(List.of(application.getFdAppId()), 42);
+
+        assertThat(response.getSkipped()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(FdApplicationApprovalResult.Status.SKIPPED);
+        assertThat(fdApplicationRepository.findById(application.getFdAppId()).orElseThrow().getStatus())
+                .isEqualTo(FDApplication.Status.REJECTED);
+        assertThat(balanceOf(account)).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    void missingAccountFallsBackToTheOldestActiveAccount() {
+        User user = user("default");
+        Account closed = account(user, "default-closed", "9000.00", Account.Status.CLOSED);
+        Account oldest = account(user, "default-oldest", "9000.00", Account.Status.ACTIVE);
+        Account newest = account(user, "default-newest", "9000.00", Account.Status.ACTIVE);
+        FDApplication application = application(user, null, "1500.00");
+
+        FdApplicationBatchApprovalResponse response = approve(List.of(application.getFdAppId()), 42);
+
+        FdApplicationApprovalResult result = response.getResults().get(0);
+        assertThat(result.getStatus()).isEqualTo(FdApplicationApprovalResult.Status.APPROVED);
+        assertThat(result.getAccountId()).isEqualTo(oldest.getAccountId());
+        assertThat(balanceOf(oldest)).isEqualByComparingTo("7500.00");
+        assertThat(balanceOf(closed)).isEqualByComparingTo("9000.00");
+        assertThat(balanceOf(newest)).isEqualByComparingTo("9000.00");
+    }
+
+    @Test
+    void failingChunkStaysPendingWithoutAffectingTheOthers() {
+        User user = user("chunks");
+        Account account = account(user, "chunks", "100000.00", Account.Status.ACTIVE);
+        List<FDApplication> applications = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            // Chunk size is 2, so the failing amount takes the second chunk down
+            applications.add(application(user, account.getAccountId(), i == 3 ? FAILING_AMOUNT.toPlainString() : "1000.00"));
+        }
+
+        FdApplicationBatchApprovalResponse response = approve(
+                applications.stream().map(FDApplication::getFdAppId).toList(), 42);
+
+        assertThat(response.getChunksProcessed()).isEqualTo(2);
+        assertThat(response.getChunksFailed()).isEqualTo(1);
+        assertThat(response.getApproved()).isEqualTo(4);
+        assertThat(response.getFailed()).isEqualTo(2);
+        Map<Integer, FdApplicationApprovalResult> results = response.getResults().stream()
+                .collect(Collectors.toMap(FdApplicationApprovalResult::getFdAppId, Function.identity()));
+        for (int i = 0; i < applications.size(); i++) {
+            FDApplication application = applications.get(i);
+            boolean failed = i == 2 || i == 3;
+            assertThat(results.get(application.getFdAppId()).getStatus()).isEqualTo(failed
+                    ? FdApplicationApprovalResult.Status.FAILED : FdApplicationApprovalResult.Status.APPROVED);
+            if (failed) {
+                assertThat(results.get(application.getFdAppId()).getMessage()).contains("Rate card unavailable");
+            }
+            assertThat(fdApplicationRepository.findById(application.getFdAppId()).orElseThrow().getStatus())
+                    .isEqualTo(failed ? FDApplication.Status.PENDING : FDApplication.Status.APPROVED);
+        }
+        assertThat(balanceOf(account)).isEqualByComparingTo("96000.00");
+        assertThat(fixedDepositRepository.findAll().stream()
+                .filter(fd -> fd.getAccount().getAccountId().equals(account.getAccountId()))).hasSize(4);
+    }
+
+    private FdApplicationBatchApprovalResponse approve(List<Integer> fdAppIds, Integer approvedBy) {
+        return approvalService.approveApplications(
+                FdApplicationBatchApprovalRequest.builder().fdAppIds(fdAppIds).build(), approvedBy);
+    }
+
+    private void assertRejected(FDApplication application, String reason) {
+        FDApplication rejected = fdApplicationRepository.findById(application.getFdAppId()).orElseThrow();
+        assertThat(rejected.getStatus()).isEqualTo(FDApplication.Status.REJECTED);
+        assertThat(rejected.getRejectionReason()).isEqualTo(reason);
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+    }
+
+    private Account account(User user, String suffix, String balance, Account.Status status) {
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + suffix)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(new BigDecimal(balance)).status(status)
+                .createdAt(new Date())
+                .build());
+    }
+
+    private FDApplication application(User user, Integer accountId, String amount) {
+        return fdApplicationRepository.save(FDApplication.builder()
+                .userId(user.getUserId()).accountId(accountId)
+                .amount(new BigDecimal(amount)).tenureMonths(12)
+                .applicationDate(new Date()).status(FDApplication.Status.PENDING)
+                .build());
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,255 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.dto.response.FdMaturityRunResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FdMaturityRun;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.User;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FdMaturityRunRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.FdMaturityServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Chunked maturity runs end to end with three deposits per chunk and two chunks per wave:
+ * every deposit paid once, deposits closed after the id scan skipped, and a run that dies
+ * mid-way resumed from its checkpoint. Runs on H2 in MySQL mode for the summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fd-maturity;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "fd-maturity.chunk-size=3",
+        "fd-maturity.parallelism=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ FdMaturityServiceImpl.class, UserBalanceSummaryServiceImpl.class, SchedulingConfig.class,
+        MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FdMaturityServiceTests {
+
+    @Autowired
+    private FdMaturityServiceImpl maturityService;
+
+    @Autowired
+    private FdMaturityRunRepository runRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void runOverSeveralChunksPaysEachDepositOnce() {
+        Account first = account("chunks-first");
+        Account second = account("chunks-second");
+        List<FixedDeposit> deposits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deposits.add(maturedDeposit(i % 2 == 0 ? first : second));
+        }
+        FixedDeposit notYetDue = deposit(first, 30);
+
+        FdMaturityRunResponse run = maturityService.runMaturity();
+
+        assertThat(run.getStatus()).isEqualTo(FdMaturityRun.Status.COMPLETED);
+        assertThat(run.getDepositsMatured()).isEqualTo(10);
+        assertThat(run.getChunksProcessed()).isEqualTo(4);
+        assertThat(run.getAmountCredited()).isEqualByComparingTo("110000.00");
+        assertThat(balanceOf(first)).isEqualByComparingTo("55000.00");
+        assertThat(balanceOf(second)).isEqualByComparingTo("55000.00");
+        assertThat(deposits).allMatch(fd -> statusOf(fd) == FixedDeposit.Status.MATURED);
+        assertThat(statusOf(notYetDue)).isEqualTo(FixedDeposit.Status.ACTIVE);
+
+        FdMaturityRunResponse again = maturityService.runMaturity();
+
+        assertThat(again.getDepositsMatured()).isZero();
+        assertThat(balanceOf(first)).isEqualByComparingTo("55000.00");
+        assertThat(balanceOf(second)).isEqualByComparingTo("55000.00");
+    }
+
+    @Test
+    void depositsClosedAfterTheIdScanAreSkipped() {
+        Account account = account("closed-after-scan");
+        List<FixedDeposit> deposits = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deposits.add(maturedDeposit(account));
+        }
+        FixedDeposit closed = deposits.get(1);
+        // A premature close commits between the id page and the chunk locking its rows
+        FixedDepositRepository scanThenClose = mock(FixedDepositRepository.class, delegatesTo(fixedDepositRepository));
+        doAnswer(invocation -> {
+            List<Integer> ids = fixedDepositRepository.findMaturedIdsAfter(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            jdbcTemplate.update("UPDATE fixed_deposits SET status = 'EARLY_CLOSE' WHERE fd_id = ?", closed.getFdId());
+            return ids;
+        }).when(scanThenClose).findMaturedIdsAfter(any(Date.class), anyInt(), any(Pageable.class));
+
+        FdMaturityRunResponse run;
+        ReflectionTestUtils.setField(maturityService, "fixedDepositRepository", scanThenClose);
+        try {
+            run = maturityService.runMaturity();
+        } finally {
+            ReflectionTestUtils.setField(maturityService, "fixedDepositRepository", fixedDepositRepository);
+        }
+
+        assertThat(run.getDepositsMatured()).isEqualTo(2);
+        assertThat(run.getDepositsSkipped()).isEqualTo(1);
+        assertThat(statusOf(closed)).isEqualTo(FixedDeposit.Status.EARLY_CLOSE);
+        assertThat(balanceOf(account)).isEqualByComparingTo("22000.00");
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoint() throws InterruptedException {
+        Account account = account("resume");
+        List<FixedDeposit> deposits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deposits.add(maturedDeposit(account));
+        }
+        // The process dies while scanning the second wave, after the first wave's checkpoint is saved
+        AtomicInteger scans = new AtomicInteger();
+        List<Integer> afterIds = new CopyOnWriteArrayList<>();
+        FixedDepositRepository crashing = mock(FixedDepositRepository.class, delegatesTo(fixedDepositRepository));
+        doAnswer(invocation -> {
+            afterIds.add(invocation.getArgument(1));
+            if (scans.incrementAndGet() == 3) {
+                throw new Error("Simulated crash");
+            }
+            return fixedDepositRepository.findMaturedIdsAfter(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(crashing).findMaturedIdsAfter(any(Date.class), anyInt(), any(Pageable.class));
+
+        ReflectionTestUtils.setField(maturityService, "fixedDepositRepository", crashing);
+        try {
+            assertThatThrownBy(maturityService::runMaturity).hasMessage("Simulated crash");
+
+            FdMaturityRun interrupted = runRepository.findTopByOrderByRunIdDesc().orElseThrow();
+            assertThat(interrupted.getStatus()).isEqualTo(FdMaturityRun.Status.RUNNING);
+            assertThat(interrupted.getCheckpointFdId()).isEqualTo(deposits.get(5).getFdId());
+            assertThat(interrupted.getDepositsMatured()).isEqualTo(6);
+            assertThat(balanceOf(account)).isEqualByComparingTo("66000.00");
+
+            afterIds.clear();
+            maturityService.resumeInterruptedRun();
+            FdMaturityRun resumed = awaitFinished(interrupted.getRunId());
+
+            assertThat(resumed.getStatus()).isEqualTo(FdMaturityRun.Status.COMPLETED);
+            assertThat(resumed.getResumeCount()).isEqualTo(1);
+            assertThat(resumed.getAsOf()).isEqualTo(interrupted.getAsOf());
+            assertThat(resumed.getDepositsMatured()).isEqualTo(10);
+            assertThat(afterIds).first().isEqualTo(deposits.get(5).getFdId());
+        } finally {
+            ReflectionTestUtils.setField(maturityService, "fixedDepositRepository", fixedDepositRepository);
+        }
+        assertThat(balanceOf(account)).isEqualByComparingTo("110000.00");
+        assertThat(deposits).allMatch(fd -> statusOf(fd) == FixedDeposit.Status.MATURED);
+    }
+
+    private FdMaturityRun awaitFinished(Integer runId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        FdMaturityRun run;
+        do {
+            Thread.sleep(50);
+            run = runRepository.findById(runId).orElseThrow();
+        } while (run.getStatus() == FdMaturityRun.Status.RUNNING && System.nanoTime() < deadline);
+        return run;
+    }
+
+    private Account account(String username) {
+        User user = userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + username)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(BigDecimal.ZERO.setScale(2)).status(Account.Status.ACTIVE)
+                .createdAt(new Date())
+                .build());
+    }
+
+    // An ACTIVE deposit of 10,000 paying 11,000 that matured yesterday
+    private FixedDeposit maturedDeposit(Account account) {
+        return deposit(account, -1);
+    }
+
+    private FixedDeposit deposit(Account account, int maturesInDays) {
+        Date now = new Date();
+        return fixedDepositRepository.save(FixedDeposit.builder()
+                .user(account.getUser()).account(account)
+                .amount(new BigDecimal("10000.00")).tenureMonths(12).interestRate(new BigDecimal("10.00"))
+                .maturityAmount(new BigDecimal("11000.00"))
+                .startDate(new Date(now.getTime() - TimeUnit.DAYS.toMillis(365)))
+                .maturityDate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(maturesInDays)))
+                .status(FixedDeposit.Status.ACTIVE).createdAt(now).updatedAt(now)
+                .build());
+    }
+
+    private FixedDeposit.Status statusOf(FixedDeposit fd) {
+        return fixedDepositRepository.findById(fd.getFdId()).orElseThrow().getStatus();
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,196 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.User;
+import com.tss.bank.exception.FixedDepositApiException;
+import com.tss.bank.index.AccountStatusIndex;
+import com.tss.bank.projection.FdLiabilityProjection;
+import com.tss.bank.rate.FdQuoteEngine;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.FdMaturityServiceImpl;
+import com.tss.bank.service.impl.FixedDepositServiceImpl;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Manual closes racing the maturity payout for the same deposit. Whichever side locks the
+ * deposit first pays it; the other sees it is no longer active, so the account is credited
+ * once. Runs on H2 in MySQL mode for the summary upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fixed-deposits;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ FixedDepositServiceImpl.class, FdMaturityServiceImpl.class, UserBalanceSummaryServiceImpl.class,
+        SchedulingConfig.class, MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FixedDepositServiceTests {
+
+    @MockitoBean
+    private AccountStatusIndex accountStatusIndex;
+
+    @MockitoBean
+    private FdQuoteEngine quoteEngine;
+
+    @MockitoBean
+    private FdLiabilityProjection liabilityProjection;
+
+    @Autowired
+    private FixedDepositService fixedDepositService;
+
+    @Autowired
+    private FdMaturityService fdMaturityService;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void prematureCloseWaitingOnAPayoutDoesNotCreditAgain() throws Exception {
+        FixedDeposit fd = maturedDeposit("payout-first");
+
+        CompletableFuture<Void> close;
+        TransactionTemplate payout = new TransactionTemplate(transactionManager);
+        // The payout joins this transaction, so it holds the deposit lock until the template returns
+        close = payout.execute(status -> {
+            assertThat(fdMaturityService.matureDeposits(List.of(fd.getFdId()))).isEqualTo(1);
+            CompletableFuture<Void> waiting = CompletableFuture.runAsync(
+                    () -> fixedDepositService.prematureWithdrawal(fd.getFdId(), "need cash"));
+            sleep(300);
+            assertThat(waiting).isNotDone();
+            return waiting;
+        });
+
+        assertThatThrownBy(() -> close.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(FixedDepositApiException.class);
+        assertThat(fixedDepositRepository.findById(fd.getFdId()).orElseThrow().getStatus())
+                .isEqualTo(FixedDeposit.Status.MATURED);
+        assertThat(balanceOf(fd)).isEqualByComparingTo("11000.00");
+    }
+
+    @Test
+    void payoutWaitingOnAPrematureCloseSkipsTheDeposit() throws Exception {
+        FixedDeposit fd = maturedDeposit("close-first");
+
+        CompletableFuture<Integer> matured = new TransactionTemplate(transactionManager).execute(status -> {
+            fixedDepositService.prematureWithdrawal(fd.getFdId(), "need cash");
+            CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(
+                    () -> fdMaturityService.matureDeposits(List.of(fd.getFdId())));
+            sleep(300);
+            assertThat(waiting).isNotDone();
+            return waiting;
+        });
+
+        assertThat(matured.get(10, TimeUnit.SECONDS)).isZero();
+        FixedDeposit closed = fixedDepositRepository.findById(fd.getFdId()).orElseThrow();
+        assertThat(closed.getStatus()).isEqualTo(FixedDeposit.Status.EARLY_CLOSE);
+        assertThat(balanceOf(fd)).isEqualByComparingTo(closed.getMaturityAmount());
+    }
+
+    @Test
+    void secondManualMaturityIsRejected() {
+        FixedDeposit fd = maturedDeposit("manual");
+
+        fixedDepositService.matureFixedDeposit(fd.getFdId());
+
+        assertThatThrownBy(() -> fixedDepositService.matureFixedDeposit(fd.getFdId()))
+                .isInstanceOf(FixedDepositApiException.class)
+                .hasMessage("Fixed Deposit is not active");
+        assertThat(balanceOf(fd)).isEqualByComparingTo("11000.00");
+    }
+
+    // An ACTIVE deposit of 10,000 paying 11,000 that matured yesterday, on an empty account
+    private FixedDeposit maturedDeposit(String username) {
+        User user = userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + username)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(BigDecimal.ZERO.setScale(2)).status(Account.Status.ACTIVE)
+                .createdAt(new Date())
+                .build());
+        Date now = new Date();
+        return fixedDepositRepository.save(FixedDeposit.builder()
+                .user(user).account(account)
+                .amount(new BigDecimal("10000.00")).tenureMonths(12).interestRate(new BigDecimal("10.00"))
+                .maturityAmount(new BigDecimal("11000.00"))
+                .startDate(new Date(now.getTime() - TimeUnit.DAYS.toMillis(366)))
+                .maturityDate(new Date(now.getTime() - TimeUnit.DAYS.toMillis(1)))
+                .status(FixedDeposit.Status.ACTIVE).createdAt(now).updatedAt(now)
+                .build());
+    }
+
+    private BigDecimal balanceOf(FixedDeposit fd) {
+        return accountRepository.findById(fd.getAccount().getAccountId()).orElseThrow().getBalance();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.cache.NotificationCounterCache;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.NotificationCounter;
+import com.tss.bank.entity.User;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.NotificationCounterRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.NotificationServiceImpl;
+
+/**
+ * The unread and total counters against the notifications they count, through mark-all,
+ * deletes in either state, concurrent state changes, and concurrent first notifications
+ * racing to create the counter row.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-counters;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ NotificationServiceImpl.class, NotificationCounterCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationCounterTests {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void markAllAsReadClearsOnlyUnread() {
+        Integer userId = user("mark-all");
+        send(userId, 4);
+        List<Integer> ids = notificationIds(userId);
+        notificationService.markAsRead(ids.get(0));
+        notificationService.markAsRead(ids.get(0));
+
+        assertCounts(userId, 3, 4);
+
+        notificationService.markAllAsRead(userId);
+        notificationService.markAllAsRead(userId);
+
+        assertCounts(userId, 0, 4);
+        assertThat(notificationService.getNotificationCounts(userId)).isEqualTo(Map.of("total", 4L, "unread", 0L, "read", 4L));
+
+        notificationService.markAsUnread(ids.get(1));
+
+        assertCounts(userId, 1, 4);
+    }
+
+    @Test
+    void deletesAdjustCountersByTheDeletedState() {
+        Integer userId = user("delete-state");
+        send(userId, 3);
+        List<Integer> ids = notificationIds(userId);
+        notificationService.markAsRead(ids.get(0));
+
+        notificationService.deleteNotification(ids.get(0));
+        assertCounts(userId, 2, 2);
+
+        notificationService.deleteNotification(ids.get(1));
+        assertCounts(userId, 1, 1);
+
+        notificationService.clearAllNotifications(userId);
+        assertCounts(userId, 0, 0);
+    }
+
+    @Test
+    void concurrentStateChangesKeepCountersExact() throws Exception {
+        Integer userId = user("concurrent-state");
+        send(userId, 40);
+        List<Integer> ids = notificationIds(userId);
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            Random random = new Random(t);
+            workers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 60; i++) {
+                    Integer id = ids.get(random.nextInt(ids.size()));
+                    try {
+                        switch (random.nextInt(4)) {
+                            case 0 -> notificationService.markAsRead(id);
+                            case 1 -> notificationService.markAsUnread(id);
+                            case 2 -> notificationService.deleteNotification(id);
+                            default -> notificationService.markAllAsRead(userId);
+                        }
+                    } catch (RuntimeException e) {
+                        // Already deleted, or a lock conflict that rolled back the whole change
+                    }
+                }
+            }, pool));
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertCounts(userId, countNotifications(userId, false), countNotifications(userId, null));
+    }
+
+    @Test
+    void concurrentFirstNotificationsCreateOneCounterRow() throws Exception {
+        Integer userId = user("first-row");
+        int senders = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(senders);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < senders; t++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    assertThat(start.await(10, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                notificationService.sendUserNotification(userId, "Hello", "First message", "INFO");
+            }, pool));
+        }
+        start.countDown();
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertCounts(userId, senders, senders);
+    }
+
+    private Integer user(String username) {
+        return userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build()).getUserId();
+    }
+
+    private void send(Integer userId, int count) {
+        for (int i = 0; i < count; i++) {
+            notificationService.sendUserNotification(userId, "Title " + i, "Message " + i, "INFO");
+        }
+    }
+
+    private List<Integer> notificationIds(Integer userId) {
+        return jdbcTemplate.queryForList(
+                "SELECT notification_id FROM notifications WHERE user_id = ? ORDER BY notification_id", Integer.class, userId);
+    }
+
+    private long countNotifications(Integer userId, Boolean read) {
+        if (read == null) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ?", Long.class, userId);
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = ?",
+                Long.class, userId, read);
+    }
+
+    private void assertCounts(Integer userId, long unread, long total) {
+        NotificationCounter counter = counterRepository.findById(userId).orElseThrow();
+        assertThat(counter.getUnreadCount()).as("unread").isEqualTo(unread);
+        assertThat(counter.getTotalCount()).as("total").isEqualTo(total);
+        assertThat(countNotifications(userId, false)).isEqualTo(unread);
+        assertThat(countNotifications(userId, null)).isEqualTo(total);
+        assertThat(notificationService.getUnreadNotificationCount(userId)).isEqualTo(unread);
+    }
+}
@@ -0,0 +1,137 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.config.SchedulingConfig;
+import com.tss.bank.dto.response.ReconciliationDiscrepancyResponse;
+import com.tss.bank.dto.response.ReconciliationRunResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.FixedDeposit;
+import com.tss.bank.entity.ReconciliationRun;
+import com.tss.bank.entity.Transaction;
+import com.tss.bank.entity.User;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.FixedDepositRepository;
+import com.tss.bank.repository.TransactionRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.ReconciliationServiceImpl;
+
+/**
+ * Runs a reconciliation over accounts whose balances moved through transactions and
+ * fixed deposits, and checks that only genuine drift is reported.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "reconciliation.chunk-size=2"
+})
+@Import({ ReconciliationServiceImpl.class, MappingService.class, ModelMapperConfig.class, SchedulingConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReconciliationServiceTests {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    private Branch branch;
+    private User user;
+
+    @Test
+    void fixedDepositMovementsAreNotReportedAsDrift() {
+        branch = branchRepository.save(Branch.builder()
+                .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                .status(Branch.Status.ACTIVE).createdAt(new Date())
+                .build());
+        user = userRepository.save(User.builder()
+                .username("recon").password("x").email("recon@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+
+        Account postingsOnly = account("AC1", "700.00");
+        post(postingsOnly, Transaction.TxnType.CREDIT, "1000.00");
+        post(postingsOnly, Transaction.TxnType.DEBIT, "300.00");
+
+        Account activeDeposit = account("AC2", "600.00");
+        post(activeDeposit, Transaction.TxnType.CREDIT, "1000.00");
+        deposit(activeDeposit, "400.00", FixedDeposit.Status.ACTIVE, "432.00");
+
+        Account closedDeposits = account("AC3", "1041.00");
+        post(closedDeposits, Transaction.TxnType.CREDIT, "1000.00");
+        deposit(closedDeposits, "400.00", FixedDeposit.Status.MATURED, "440.00");
+        deposit(closedDeposits, "100.00", FixedDeposit.Status.EARLY_CLOSE, "101.00");
+
+        Account drifted = account("AC4", "900.00");
+        post(drifted, Transaction.TxnType.CREDIT, "1000.00");
+        deposit(drifted, "50.00", FixedDeposit.Status.ACTIVE, "54.00");
+
+        // No postings at all
+        account("AC5", "0.00");
+
+        ReconciliationRunResponse run = reconciliationService.runReconciliation();
+
+        assertThat(run.getStatus()).isEqualTo(ReconciliationRun.Status.COMPLETED);
+        assertThat(run.getAccountsChecked()).isEqualTo(5);
+        assertThat(run.getDiscrepancyCount()).isEqualTo(1);
+
+        ReconciliationDiscrepancyResponse discrepancy = reconciliationService
+                .getDiscrepancies(run.getRunId(), PageRequest.of(0, 10)).getContent().get(0);
+        assertThat(discrepancy.getAccountId()).isEqualTo(drifted.getAccountId());
+        assertThat(discrepancy.getTransactionNet()).isEqualByComparingTo("950.00");
+        assertThat(discrepancy.getDifference()).isEqualByComparingTo("-50.00");
+    }
+
+    private Account account(String accountNumber, String balance) {
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber(accountNumber)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(new BigDecimal(balance)).status(Account.Status.ACTIVE)
+                .createdAt(new Date())
+                .build());
+    }
+
+    private void post(Account account, Transaction.TxnType type, String amount) {
+        transactionRepository.save(Transaction.builder()
+                .user(user).account(account).txnType(type)
+                .amount(new BigDecimal(amount)).description(type.name())
+                .txnTime(new Date()).channel(Transaction.Channel.ONLINE).createdAt(new Date())
+                .build());
+    }
+
+    private void deposit(Account account, String amount, FixedDeposit.Status status, String maturityAmount) {
+        fixedDepositRepository.save(FixedDeposit.builder()
+                .user(user).account(account).amount(new BigDecimal(amount))
+                .maturityAmount(new BigDecimal(maturityAmount))
+                .tenureMonths(12).status(status)
+                .maturityDate(new Date()).createdAt(new Date())
+                .build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.tss.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tss.bank.config.ModelMapperConfig;
+import com.tss.bank.dto.response.UserBalanceSummaryResponse;
+import com.tss.bank.entity.Account;
+import com.tss.bank.entity.Branch;
+import com.tss.bank.entity.User;
+import com.tss.bank.entity.UserBalanceSummary;
+import com.tss.bank.repository.AccountRepository;
+import com.tss.bank.repository.BranchRepository;
+import com.tss.bank.repository.UserBalanceSummaryRepository;
+import com.tss.bank.repository.UserRepository;
+import com.tss.bank.service.impl.UserBalanceSummaryServiceImpl;
+
+/**
+ * Postings against users with and without a summary row, including a posting that is
+ * still open while a reader creates the row. Runs on H2 in MySQL mode for the upsert.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:balance-summary;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ UserBalanceSummaryServiceImpl.class, MappingService.class, ModelMapperConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserBalanceSummaryServiceTests {
+
+    @Autowired
+    private UserBalanceSummaryService summaryService;
+
+    @Autowired
+    private UserBalanceSummaryRepository summaryRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        if (branch == null) {
+            branch = branchRepository.findAll().stream().findFirst().orElseGet(() -> branchRepository.save(Branch.builder()
+                    .branchName("Main").branchCode("MAIN01").ifscCode("TSSB0000001")
+                    .city("Pune").state("MH").country("India").pincode("411001").address("1 Main Road")
+                    .status(Branch.Status.ACTIVE).createdAt(new Date())
+                    .build()));
+        }
+    }
+
+    @Test
+    void firstPostingSeedsTheRowFromCommittedTotals() {
+        Account account = openAccount("first", "1000.00");
+
+        post(account, "250.00");
+
+        assertSummary(account.getUser().getUserId(), "1250.00", 1);
+        assertThat(summaryService.verifyAll()).isZero();
+    }
+
+    @Test
+    void postingsAdjustAnExistingRow() {
+        Account account = openAccount("existing", "1000.00");
+        assertThat(summaryService.getSummary(account.getUser().getUserId()).getTotalBalance()).isEqualByComparingTo("1000.00");
+
+        post(account, "-300.00");
+        post(account, "50.00");
+
+        assertSummary(account.getUser().getUserId(), "750.00", 1);
+    }
+
+    @Test
+    void postingOpenWhileAReaderCreatesTheRowIsNotLost() throws Exception {
+        Account account = openAccount("racing", "1000.00");
+        Integer userId = account.getUser().getUserId();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> posting = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    changeBalance(account.getAccountId(), new BigDecimal("500.00"));
+                    recorded.countDown();
+                    await(commit);
+                }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The reader sees only committed data and has to wait for the posting's row
+        CompletableFuture<UserBalanceSummaryResponse> reader = CompletableFuture.supplyAsync(() -> summaryService.getSummary(userId));
+        Thread.sleep(300);
+        commit.countDown();
+        posting.get(10, TimeUnit.SECONDS);
+        reader.get(10, TimeUnit.SECONDS);
+
+        assertSummary(userId, "1500.00", 1);
+        assertThat(summaryService.verifyAll()).isZero();
+    }
+
+    private Account openAccount(String username, String balance) {
+        User user = userRepository.save(User.builder()
+                .username(username).password("x").email(username + "@example.com")
+                .status(User.Status.ACTIVE).role(User.Role.USER).branch(branch)
+                .build());
+        return accountRepository.save(Account.builder()
+                .user(user).branch(branch).accountNumber("AC-" + username)
+                .accountType(Account.AccountType.SAVINGS)
+                .balance(new BigDecimal(balance)).status(Account.Status.ACTIVE)
+                .createdAt(new Date())
+                .build());
+    }
+
+    private void post(Account account, String delta) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> changeBalance(account.getAccountId(), new BigDecimal(delta)));
+    }
+
+    private void changeBalance(Integer accountId, BigDecimal delta) {
+        Account locked = accountRepository.findByIdForUpdate(accountId).orElseThrow();
+        locked.applyBalance(locked.getBalance().add(delta));
+        accountRepository.saveAndFlush(locked);
+        summaryService.recordBalanceChange(locked.getUser().getUserId(), delta);
+    }
+
+    private void assertSummary(Integer userId, String totalBalance, int accountCount) {
+        UserBalanceSummary summary = summaryRepository.findById(userId).orElseThrow();
+        assertThat(summary.getTotalBalance()).isEqualByComparingTo(totalBalance);
+        assertThat(summary.getAccountCount()).isEqualTo(accountCount);
+        assertThat(summary.getActiveFdTotal()).isEqualByComparingTo("0");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}